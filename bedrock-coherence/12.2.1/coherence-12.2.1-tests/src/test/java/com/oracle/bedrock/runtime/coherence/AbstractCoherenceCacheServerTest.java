@@ -65,13 +65,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.oracle.bedrock.deferred.DeferredHelper.invoking;
 import static com.oracle.bedrock.testsupport.deferred.Eventually.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 
 /**
  * Functional Tests for {@link CoherenceCacheServer}s.
@@ -356,6 +360,109 @@ public abstract class AbstractCoherenceCacheServerTest extends AbstractTest
     }
 
 
+    /**
+     * Ensure that we can pipeline requests using an asynchronous NamedCache via a CoherenceCacheServer.
+     */
+    @Test
+    public void shouldAccessAsyncNamedCache()
+    {
+        Platform platform = getPlatform();
+
+        try (CoherenceCacheServer server = platform.launch(CoherenceCacheServer.class,
+                                                           ClusterPort.automatic(),
+                                                           LocalHost.only(),
+                                                           Console.system()))
+        {
+            CoherenceAsyncNamedCache<String, Integer> asyncCache = server.getAsyncCache("dist-async",
+                                                                                        String.class,
+                                                                                        Integer.class);
+
+            asyncCache.clear().join();
+
+            // ----- pipeline many puts -----
+            List<CompletableFuture<Integer>> puts = new ArrayList<>();
+
+            for (int i = 0; i < 100; i++)
+            {
+                puts.add(asyncCache.put(Integer.toString(i), i));
+            }
+
+            CompletableFuture.allOf(puts.toArray(new CompletableFuture[puts.size()])).join();
+
+            assertThat(asyncCache.size().join(), is(100));
+
+            // ----- coalesce many gets -----
+            List<CompletableFuture<Integer>> gets = new ArrayList<>();
+
+            for (int i = 0; i < 100; i++)
+            {
+                gets.add(asyncCache.get(Integer.toString(i)));
+            }
+
+            for (int i = 0; i < 100; i++)
+            {
+                assertThat(gets.get(i).join(), is(i));
+            }
+
+            assertThat(asyncCache.get("missing").join(), is(nullValue()));
+            assertThat(asyncCache.getNamedCache().size(), is(100));
+
+            // ----- a coalesced get must not observe a later put -----
+            CompletableFuture<Integer> before = asyncCache.get("0");
+
+            asyncCache.put("0", -1).join();
+
+            assertThat(before.join(), is(0));
+            assertThat(asyncCache.get("0").join(), is(-1));
+        }
+    }
+
+
+    /**
+     * Ensure that we can stream the contents of a NamedCache via a CoherenceCacheServer in pages.
+     */
+    @Test
+    public void shouldStreamNamedCache()
+    {
+        Platform platform = getPlatform();
+
+        try (CoherenceCacheServer server = platform.launch(CoherenceCacheServer.class,
+                                                           ClusterPort.automatic(),
+                                                           LocalHost.only(),
+                                                           Console.system()))
+        {
+            StreamingNamedCache<String, Integer> namedCache = server.getCache("dist-stream",
+                                                                              String.class,
+                                                                              Integer.class);
+
+            HashMap<String, Integer> map = new HashMap<>();
+
+            for (int i = 0; i < 250; i++)
+            {
+                map.put(Integer.toString(i), i);
+            }
+
+            namedCache.putAll(map);
+
+            try (Stream<String> keys = namedCache.keyStream(100))
+            {
+                assertThat(keys.collect(Collectors.toSet()), is(map.keySet()));
+            }
+
+            try (Stream<Map.Entry<String, Integer>> entries = namedCache.entryStream(PresentFilter.INSTANCE, 100))
+            {
+                assertThat(entries.mapToLong(Map.Entry::getValue).sum(), is(250L * 249 / 2));
+            }
+
+            // closing a partially consumed stream releases it
+            try (Stream<Integer> values = namedCache.valueStream(10))
+            {
+                assertThat(values.limit(5).count(), is(5L));
+            }
+        }
+    }
+
+
     @Test
     public void shouldSendEventsFromCustomServer() throws Exception
     {
@@ -31,6 +31,7 @@ import com.oracle.bedrock.options.Decoration;
 import com.oracle.bedrock.runtime.ApplicationListener;
 import com.oracle.bedrock.runtime.LocalPlatform;
 import com.oracle.bedrock.runtime.Platform;
+import com.oracle.bedrock.runtime.coherence.options.BatchSize;
 import com.oracle.bedrock.runtime.coherence.options.CacheConfig;
 import com.oracle.bedrock.runtime.coherence.options.ClusterName;
 import com.oracle.bedrock.runtime.coherence.options.ClusterPort;
@@ -46,10 +47,15 @@ import com.oracle.bedrock.runtime.options.StabilityPredicate;
 import com.oracle.bedrock.util.Capture;
 import com.oracle.bedrock.util.Trilean;
 import com.tangosol.net.NamedCache;
+import com.tangosol.util.UID;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.AbstractMap;
 import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static com.oracle.bedrock.deferred.DeferredHelper.invoking;
 import static com.oracle.bedrock.testsupport.deferred.Eventually.assertThat;
@@ -241,6 +247,116 @@ public abstract class AbstractCoherenceClusterBuilderTest extends AbstractTest
     }
 
 
+    /**
+     * Ensure that we can relaunch the only {@link CoherenceClusterMember} of a {@link CoherenceCluster},
+     * when there are no other members to observe its departure.
+     */
+    @Test
+    public void shouldRelaunchSingleMemberCluster()
+    {
+        AvailablePortIterator   availablePorts = LocalPlatform.get().getAvailablePorts();
+        ClusterPort             clusterPort    = ClusterPort.of(new Capture<>(availablePorts));
+        String                  clusterName    = "Single" + getClass().getSimpleName();
+        CoherenceClusterBuilder builder        = new CoherenceClusterBuilder();
+
+        builder.include(1,
+                        CoherenceClusterMember.class,
+                        DisplayName.of("DCS"),
+                        clusterPort,
+                        ClusterName.of(clusterName),
+                        LocalHost.only(),
+                        Console.system());
+
+        try (CoherenceCluster cluster = builder.build(getPlatform()))
+        {
+            assertThat(invoking(cluster).getClusterSize(), is(1));
+
+            UID original = cluster.get("DCS-1").getLocalMemberUID();
+
+            cluster.relaunch();
+
+            assertThat(invoking(cluster).getClusterSize(), is(1));
+            Assert.assertThat(cluster.getMembership().getClusterMemberUIDs().contains(original), is(false));
+        }
+    }
+
+
+    /**
+     * Ensure that we can perform a partition-safe rolling restart of a {@link CoherenceCluster}
+     * without losing data.
+     */
+    @Test
+    public void shouldPerformPartitionSafeRollingRestartOfCluster()
+    {
+        final int               CLUSTER_SIZE   = 4;
+
+        AvailablePortIterator   availablePorts = LocalPlatform.get().getAvailablePorts();
+        ClusterPort             clusterPort    = ClusterPort.of(new Capture<>(availablePorts));
+        String                  clusterName    = "SafeRolling" + getClass().getSimpleName();
+        CoherenceClusterBuilder builder        = new CoherenceClusterBuilder();
+
+        builder.include(CLUSTER_SIZE,
+                        CoherenceClusterMember.class,
+                        DisplayName.of("DCS"),
+                        clusterPort,
+                        ClusterName.of(clusterName),
+                        LocalHost.only(),
+                        Console.system());
+
+        try (CoherenceCluster cluster = builder.build(getPlatform()))
+        {
+            assertThat(invoking(cluster).getClusterSize(), is(CLUSTER_SIZE));
+
+            cluster.loadCache("dist-rolling",
+                              (index, random) -> new AbstractMap.SimpleEntry<>(index, index),
+                              500,
+                              0L);
+
+            CoherenceRollingRestart.Result result = cluster.rollingRestart();
+
+            Assert.assertThat(result.getMemberRestarts().size(), is(CLUSTER_SIZE));
+            Assert.assertThat(result.getBatchCount() <= CLUSTER_SIZE, is(true));
+
+            assertThat(invoking(cluster).getClusterSize(), is(CLUSTER_SIZE));
+            Assert.assertThat(cluster.getCache("dist-rolling").size(), is(500));
+        }
+    }
+
+
+    /**
+     * Ensure that we can capture the {@link CoherenceClusterHealth} of a {@link CoherenceCluster}.
+     */
+    @Test
+    public void shouldCaptureHealthOfCluster()
+    {
+        final int               CLUSTER_SIZE   = 3;
+
+        AvailablePortIterator   availablePorts = LocalPlatform.get().getAvailablePorts();
+        ClusterPort             clusterPort    = ClusterPort.of(new Capture<>(availablePorts));
+
+        CoherenceClusterBuilder builder        = new CoherenceClusterBuilder();
+
+        builder.include(CLUSTER_SIZE, CoherenceClusterMember.class, clusterPort, ClusterName.of("Health"));
+
+        try (CoherenceCluster cluster = builder.build(getPlatform(), Console.system()))
+        {
+            assertThat(invoking(cluster).getClusterSize(), is(CLUSTER_SIZE));
+
+            CoherenceClusterHealth health = cluster.getHealth();
+
+            Assert.assertThat(health.getSnapshots().size(), is(CLUSTER_SIZE));
+            Assert.assertThat(health.getClusterSize(), is(CLUSTER_SIZE));
+            Assert.assertThat(health.isMembershipConsistent(), is(true));
+            Assert.assertThat(health.getAutoStartServiceNames().isEmpty(), is(false));
+
+            for (String serviceName : health.getAutoStartServiceNames())
+            {
+                Assert.assertThat(health.getStorageEnabledCount(serviceName), is(CLUSTER_SIZE));
+            }
+        }
+    }
+
+
     /**
      * Ensure that we can create and use a NamedCache via a CoherenceCacheServer.
      */
@@ -271,6 +387,93 @@ public abstract class AbstractCoherenceClusterBuilderTest extends AbstractTest
     }
 
 
+    /**
+     * Ensure that we can bulk load and generate data into a NamedCache via a CoherenceCluster.
+     */
+    @Test
+    public void shouldLoadNamedCache()
+    {
+        final int               CLUSTER_SIZE   = 2;
+
+        AvailablePortIterator   availablePorts = LocalPlatform.get().getAvailablePorts();
+        ClusterPort             clusterPort    = ClusterPort.of(new Capture<>(availablePorts));
+
+        CoherenceClusterBuilder builder        = new CoherenceClusterBuilder();
+
+        builder.include(CLUSTER_SIZE, CoherenceClusterMember.class, clusterPort, ClusterName.of("Load"));
+
+        try (CoherenceCluster cluster = builder.build(getPlatform(), Console.system()))
+        {
+            assertThat(invoking(cluster).getClusterSize(), is(CLUSTER_SIZE));
+
+            CoherenceDataLoader.Statistics loaded =
+                cluster.loadCache("dist-loaded",
+                                  IntStream.range(0, 1000).mapToObj(i -> new AbstractMap.SimpleEntry<>(i, "value-" + i)),
+                                  BatchSize.of(100));
+
+            Assert.assertThat(loaded.getEntryCount(), is(1000L));
+            Assert.assertThat(loaded.getBatchCount(), is(10L));
+            Assert.assertThat(loaded.getByteCount(), greaterThan(0L));
+            Assert.assertThat(cluster.getCache("dist-loaded").size(), is(1000));
+
+            CoherenceDataLoader.Statistics generated =
+                cluster.loadCache("dist-generated",
+                                  (index, random) -> new AbstractMap.SimpleEntry<>(index, random.nextInt()),
+                                  1234,
+                                  42L,
+                                  BatchSize.of(100));
+
+            Assert.assertThat(generated.getEntryCount(), is(1234L));
+            Assert.assertThat(generated.getBatchCount(), is(13L));
+            Assert.assertThat(cluster.getCache("dist-generated").size(), is(1234));
+        }
+    }
+
+
+    /**
+     * Ensure that the {@link CoherenceClusterMembership} of a {@link CoherenceCluster} observes
+     * {@link CoherenceClusterMember}s departing.
+     */
+    @Test
+    public void shouldObserveMembershipOfCoherenceCluster() throws Exception
+    {
+        final int               CLUSTER_SIZE   = 3;
+
+        AvailablePortIterator   availablePorts = LocalPlatform.get().getAvailablePorts();
+        ClusterPort             clusterPort    = ClusterPort.of(new Capture<>(availablePorts));
+
+        CoherenceClusterBuilder builder        = new CoherenceClusterBuilder();
+
+        builder.include(CLUSTER_SIZE,
+                        CoherenceClusterMember.class,
+                        clusterPort,
+                        ClusterName.of("Membership"),
+                        DisplayName.of("DCS"));
+
+        try (CoherenceCluster cluster = builder.build(getPlatform(), Console.system()))
+        {
+            assertThat(invoking(cluster).getClusterSize(), is(CLUSTER_SIZE));
+
+            CoherenceClusterMembership membership = cluster.getMembership();
+
+            Assert.assertThat(membership.whenSizeAtLeast(CLUSTER_SIZE).get(1, TimeUnit.MINUTES).size(),
+                              is(CLUSTER_SIZE));
+
+            // close a cluster member
+            CoherenceClusterMember member    = cluster.get("DCS-1");
+            UID                    memberUID = member.getLocalMemberUID();
+
+            member.close();
+
+            // ensure that its departure is pushed to the membership
+            Set<UID> members = membership.whenDeparted(memberUID).get(1, TimeUnit.MINUTES);
+
+            Assert.assertThat(members.size(), is(CLUSTER_SIZE - 1));
+            Assert.assertThat(cluster.getClusterSize(), is(CLUSTER_SIZE - 1));
+        }
+    }
+
+
     /**
      * Ensure that a {@link NamedCache} produced by a {@link CoherenceCluster} {@link CoherenceClusterMember}
      * is failed over to another {@link CoherenceClusterMember} when the original {@link CoherenceClusterMember}
@@ -50,6 +50,7 @@ import com.tangosol.util.UID;
 import javax.management.MBeanInfo;
 import javax.management.ObjectName;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An abstract implementation of a {@link CoherenceClusterMember}.
@@ -67,6 +68,12 @@ public abstract class AbstractCoherenceClusterMember extends AbstractJavaApplica
      */
     public static final String MBEAN_NAME_CLUSTER = "Coherence:type=Cluster";
 
+    /**
+     * The {@link CoherenceNamedCache}s provided by this {@link CoherenceClusterMember}, by registration key,
+     * so that each cache is registered once and its handle shared by all requests for it.
+     */
+    private final ConcurrentHashMap<String, CoherenceNamedCache<?, ?>> caches = new ConcurrentHashMap<>();
+
 
     /**
      * Constructs an {@link AbstractCoherenceClusterMember}.
@@ -221,18 +228,62 @@ public abstract class AbstractCoherenceClusterMember extends AbstractJavaApplica
 
 
     @Override
-    public NamedCache getCache(String cacheName)
+    public StreamingNamedCache getCache(String cacheName)
     {
-        return new CoherenceNamedCache(this, cacheName, Object.class, Object.class);
+        return getCache(cacheName, Object.class, Object.class);
     }
 
 
     @Override
-    public <K, V> NamedCache<K, V> getCache(String   cacheName,
-                                            Class<K> keyClass,
-                                            Class<V> valueClass)
+    public <K, V> StreamingNamedCache<K, V> getCache(String   cacheName,
+                                                     Class<K> keyClass,
+                                                     Class<V> valueClass)
+    {
+        return getNamedCache(cacheName, keyClass, valueClass);
+    }
+
+
+    @Override
+    public CoherenceAsyncNamedCache getAsyncCache(String cacheName)
+    {
+        return getAsyncCache(cacheName, Object.class, Object.class);
+    }
+
+
+    @Override
+    public <K, V> CoherenceAsyncNamedCache<K, V> getAsyncCache(String   cacheName,
+                                                               Class<K> keyClass,
+                                                               Class<V> valueClass)
+    {
+        return new CoherenceAsyncNamedCache<>(getNamedCache(cacheName, keyClass, valueClass),
+                                              CoherenceAsyncNamedCache.DEFAULT_COALESCING_WINDOW_MICROS);
+    }
+
+
+    /**
+     * Obtains the {@link CoherenceNamedCache} for the specified cache name and types, creating it
+     * when it hasn't been requested from this {@link CoherenceClusterMember}.
+     *
+     * @param cacheName   the name of the {@link NamedCache}
+     * @param keyClass    the type of the keys for the {@link NamedCache}
+     * @param valueClass  the type of the values for the {@link NamedCache}
+     * @param <K>         the type of the keys
+     * @param <V>         the type of the values
+     *
+     * @return  the {@link CoherenceNamedCache}
+     */
+    @SuppressWarnings("unchecked")
+    private <K, V> CoherenceNamedCache<K, V> getNamedCache(String   cacheName,
+                                                           Class<K> keyClass,
+                                                           Class<V> valueClass)
     {
-        return new CoherenceNamedCache(this, cacheName, keyClass, valueClass);
+        return (CoherenceNamedCache<K, V>) caches.computeIfAbsent(CoherenceNamedCache.getRegistrationKey(cacheName,
+                                                                                                       keyClass,
+                                                                                                       valueClass),
+                                                                  key -> new CoherenceNamedCache<>(this,
+                                                                                                   cacheName,
+                                                                                                   keyClass,
+                                                                                                   valueClass));
     }
 
 
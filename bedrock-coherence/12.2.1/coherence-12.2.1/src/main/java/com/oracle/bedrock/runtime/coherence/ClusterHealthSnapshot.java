@@ -0,0 +1,369 @@
+/*
+ * File: ClusterHealthSnapshot.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+package com.oracle.bedrock.runtime.coherence;
+
+import com.oracle.bedrock.runtime.coherence.callables.GetClusterHealthSnapshot;
+import com.oracle.bedrock.util.Trilean;
+import com.tangosol.util.UID;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An immutable snapshot of the health of a Coherence Cluster as seen by a single
+ * {@link CoherenceClusterMember}, gathered in one pass by the {@link GetClusterHealthSnapshot}
+ * {@link com.oracle.bedrock.runtime.concurrent.RemoteCallable}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class ClusterHealthSnapshot implements Serializable
+{
+    /**
+     * The {@link UID} of the local member.
+     */
+    private final UID localMemberUID;
+
+    /**
+     * The id of the local member.
+     */
+    private final int localMemberId;
+
+    /**
+     * The role name of the local member.
+     */
+    private final String roleName;
+
+    /**
+     * The machine name of the local member.
+     */
+    private final String machineName;
+
+    /**
+     * The site name of the local member.
+     */
+    private final String siteName;
+
+    /**
+     * The {@link UID}s of the members of the cluster.
+     */
+    private final TreeSet<UID> memberUIDs;
+
+    /**
+     * The {@link ServiceHealth} of each service, by service name.
+     */
+    private final TreeMap<String, ServiceHealth> services;
+
+
+    /**
+     * Constructs a {@link ClusterHealthSnapshot}.
+     *
+     * @param localMemberUID  the {@link UID} of the local member
+     * @param localMemberId   the id of the local member
+     * @param roleName        the role name of the local member
+     * @param machineName     the machine name of the local member
+     * @param siteName        the site name of the local member
+     * @param memberUIDs      the {@link UID}s of the members of the cluster
+     * @param services        the {@link ServiceHealth} of each service, by service name
+     */
+    public ClusterHealthSnapshot(UID                            localMemberUID,
+                                 int                            localMemberId,
+                                 String                         roleName,
+                                 String                         machineName,
+                                 String                         siteName,
+                                 TreeSet<UID>                   memberUIDs,
+                                 TreeMap<String, ServiceHealth> services)
+    {
+        this.localMemberUID = localMemberUID;
+        this.localMemberId  = localMemberId;
+        this.roleName       = roleName;
+        this.machineName    = machineName;
+        this.siteName       = siteName;
+        this.memberUIDs     = memberUIDs;
+        this.services       = services;
+    }
+
+
+    /**
+     * Obtains the {@link UID} of the local member.
+     *
+     * @return  the {@link UID} of the local member
+     */
+    public UID getLocalMemberUID()
+    {
+        return localMemberUID;
+    }
+
+
+    /**
+     * Obtains the id of the local member.
+     *
+     * @return  the id of the local member
+     */
+    public int getLocalMemberId()
+    {
+        return localMemberId;
+    }
+
+
+    /**
+     * Obtains the role name of the local member.
+     *
+     * @return  the role name of the local member
+     */
+    public String getRoleName()
+    {
+        return roleName;
+    }
+
+
+    /**
+     * Obtains the machine name of the local member.
+     *
+     * @return  the machine name of the local member
+     */
+    public String getMachineName()
+    {
+        return machineName;
+    }
+
+
+    /**
+     * Obtains the site name of the local member.
+     *
+     * @return  the site name of the local member
+     */
+    public String getSiteName()
+    {
+        return siteName;
+    }
+
+
+    /**
+     * Obtains the number of members in the cluster.
+     *
+     * @return  the number of members in the cluster
+     */
+    public int getClusterSize()
+    {
+        return memberUIDs.size();
+    }
+
+
+    /**
+     * Obtains the {@link UID}s of the members of the cluster.
+     *
+     * @return  the {@link UID}s of the members of the cluster
+     */
+    public Set<UID> getClusterMemberUIDs()
+    {
+        return Collections.unmodifiableSet(memberUIDs);
+    }
+
+
+    /**
+     * Obtains the {@link ServiceHealth} of each service, by service name.
+     *
+     * @return  the {@link ServiceHealth} of each service
+     */
+    public Map<String, ServiceHealth> getServices()
+    {
+        return Collections.unmodifiableMap(services);
+    }
+
+
+    /**
+     * Obtains the {@link ServiceHealth} of the specified service.
+     *
+     * @param serviceName  the name of the service
+     *
+     * @return  the {@link ServiceHealth} or <code>null</code> if the service is unknown
+     */
+    public ServiceHealth getService(String serviceName)
+    {
+        return services.get(serviceName);
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "ClusterHealthSnapshot{member=" + localMemberId + ", role=" + roleName + ", clusterSize="
+               + getClusterSize() + ", services=" + services.values() + '}';
+    }
+
+
+    /**
+     * The health of a service as seen by a {@link CoherenceClusterMember}.
+     */
+    public static class ServiceHealth implements Serializable
+    {
+        /**
+         * The name of the service.
+         */
+        private final String name;
+
+        /**
+         * Is the service configured to auto start?
+         */
+        private final boolean autoStart;
+
+        /**
+         * The {@link ServiceStatus} of the service.
+         */
+        private final ServiceStatus status;
+
+        /**
+         * Is storage enabled for the service ({@link Trilean#UNKNOWN} when not partitioned).
+         */
+        private final Trilean storageEnabled;
+
+        /**
+         * The configured backup count (<code>null</code> when not partitioned).
+         */
+        private final Integer backupCount;
+
+        /**
+         * The attributes of the service MBean, by attribute name (empty when not available).
+         */
+        private final TreeMap<String, Object> statistics;
+
+
+        /**
+         * Constructs a {@link ServiceHealth}.
+         *
+         * @param name            the name of the service
+         * @param autoStart       is the service configured to auto start
+         * @param status          the {@link ServiceStatus} of the service
+         * @param storageEnabled  is storage enabled for the service
+         * @param backupCount     the configured backup count (may be <code>null</code>)
+         * @param statistics      the serializable attributes of the service MBean
+         */
+        public ServiceHealth(String                  name,
+                             boolean                 autoStart,
+                             ServiceStatus           status,
+                             Trilean                 storageEnabled,
+                             Integer                 backupCount,
+                             TreeMap<String, Object> statistics)
+        {
+            this.name           = name;
+            this.autoStart      = autoStart;
+            this.status         = status;
+            this.storageEnabled = storageEnabled;
+            this.backupCount    = backupCount;
+            this.statistics     = statistics;
+        }
+
+
+        /**
+         * Obtains the name of the service.
+         *
+         * @return  the name of the service
+         */
+        public String getName()
+        {
+            return name;
+        }
+
+
+        /**
+         * Determines if the service is configured to auto start.
+         *
+         * @return  <code>true</code> if the service is configured to auto start
+         */
+        public boolean isAutoStart()
+        {
+            return autoStart;
+        }
+
+
+        /**
+         * Obtains the {@link ServiceStatus} of the service.
+         *
+         * @return  the {@link ServiceStatus} or <code>null</code> when the service is not defined
+         */
+        public ServiceStatus getStatus()
+        {
+            return status;
+        }
+
+
+        /**
+         * Determines if the service is running.
+         *
+         * @return  <code>true</code> if the service is running
+         */
+        public boolean isRunning()
+        {
+            return status != null && status != ServiceStatus.STOPPED;
+        }
+
+
+        /**
+         * Determines if storage is enabled for the service.
+         *
+         * @return  a {@link Trilean}, being {@link Trilean#UNKNOWN} when the service is not partitioned
+         */
+        public Trilean getStorageEnabled()
+        {
+            return storageEnabled;
+        }
+
+
+        /**
+         * Obtains the configured backup count of the service.
+         *
+         * @return  the backup count or <code>null</code> when the service is not partitioned
+         */
+        public Integer getBackupCount()
+        {
+            return backupCount;
+        }
+
+
+        /**
+         * Obtains the attributes of the service MBean, by attribute name.
+         *
+         * @return  the attributes (empty when management is not available)
+         */
+        public Map<String, Object> getStatistics()
+        {
+            return Collections.unmodifiableMap(statistics);
+        }
+
+
+        @Override
+        public String toString()
+        {
+            return name + "{status=" + status + ", storageEnabled=" + storageEnabled
+                   + (backupCount == null ? "" : ", backupCount=" + backupCount) + (autoStart ? ", autoStart" : "")
+                   + (statistics.isEmpty() ? "" : ", statistics=" + statistics) + '}';
+        }
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * File: CoherenceAsyncNamedCache.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.coherence;
+
+import com.oracle.bedrock.lang.ThreadFactories;
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An asynchronous view of a {@link NamedCache} defined in a {@link CoherenceClusterMember}.
+ * <p>
+ * Each method submits a request to the {@link CoherenceClusterMember} and returns immediately with a
+ * {@link CompletableFuture} for the result, allowing many requests to be outstanding at once.
+ * Single-key {@link #get(Object)} requests made within a short coalescing window are combined
+ * into a single {@link NamedCache#getAll(Collection)} request.
+ * <p>
+ * Requests are submitted in the order they are made.  Coalesced {@link #get(Object)} requests are
+ * {@link #flush() flushed} before any request that may mutate the {@link NamedCache} is submitted,
+ * so that a {@link #get(Object)} never observes a mutation requested after it.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @param <K>  the type of the keys
+ * @param <V>  the type of the values
+ */
+public class CoherenceAsyncNamedCache<K, V>
+{
+    /**
+     * The default window, in microseconds, during which {@link #get(Object)} requests are coalesced.
+     */
+    public static final long DEFAULT_COALESCING_WINDOW_MICROS = 500;
+
+    /**
+     * The maximum number of keys coalesced into a single {@link NamedCache#getAll(Collection)} request.
+     */
+    public static final int MAXIMUM_COALESCED_KEYS = 1024;
+
+    /**
+     * The {@link ScheduledExecutorService} used to dispatch coalesced {@link #get(Object)} requests.
+     */
+    private static final ScheduledExecutorService DISPATCHER =
+        Executors.newSingleThreadScheduledExecutor(ThreadFactories.usingDaemonThreads(true));
+
+    /**
+     * The {@link CoherenceNamedCache} used to submit requests.
+     */
+    private final CoherenceNamedCache<K, V> namedCache;
+
+    /**
+     * The window, in microseconds, during which {@link #get(Object)} requests are coalesced.
+     */
+    private final long coalescingWindowMicros;
+
+    /**
+     * The {@link CompletableFuture}s of the {@link #get(Object)} requests waiting to be dispatched, by key
+     * (<code>null</code> when there are none).
+     */
+    private LinkedHashMap<K, CompletableFuture<V>> pending;
+
+
+    /**
+     * Constructs a {@link CoherenceAsyncNamedCache}.
+     *
+     * @param namedCache              the {@link CoherenceNamedCache} to use for submitting requests
+     * @param coalescingWindowMicros  the window, in microseconds, during which {@link #get(Object)}
+     *                                requests are coalesced (zero or less to disable coalescing)
+     */
+    CoherenceAsyncNamedCache(CoherenceNamedCache<K, V> namedCache,
+                             long                      coalescingWindowMicros)
+    {
+        this.namedCache             = namedCache;
+        this.coalescingWindowMicros = coalescingWindowMicros;
+        this.pending                = null;
+    }
+
+
+    /**
+     * Obtains the name of the {@link NamedCache}.
+     *
+     * @return  the name of the {@link NamedCache}
+     */
+    public String getCacheName()
+    {
+        return namedCache.getCacheName();
+    }
+
+
+    /**
+     * Obtains the synchronous {@link NamedCache} for which this is an asynchronous view.
+     *
+     * @return  the {@link NamedCache}
+     */
+    public NamedCache<K, V> getNamedCache()
+    {
+        return namedCache;
+    }
+
+
+    /**
+     * Asynchronously obtains the value associated with a key.
+     * <p>
+     * Requests made within the coalescing window are combined into a single
+     * {@link NamedCache#getAll(Collection)} request.
+     *
+     * @param key  the key
+     *
+     * @return  a {@link CompletableFuture} for the value (<code>null</code> when there is no value)
+     */
+    public CompletableFuture<V> get(K key)
+    {
+        if (coalescingWindowMicros <= 0)
+        {
+            return namedCache.remotelyInvokeAsync("get", key);
+        }
+
+        synchronized (this)
+        {
+            if (pending == null)
+            {
+                pending = new LinkedHashMap<>();
+
+                DISPATCHER.schedule(this::flush, coalescingWindowMicros, TimeUnit.MICROSECONDS);
+            }
+
+            // requests for the same key share the same future
+            CompletableFuture<V> future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+
+            if (pending.size() >= MAXIMUM_COALESCED_KEYS)
+            {
+                flush();
+            }
+
+            return future;
+        }
+    }
+
+
+    /**
+     * Immediately dispatches any {@link #get(Object)} requests waiting for the coalescing window to close.
+     * <p>
+     * The requests are submitted while holding the monitor of this {@link CoherenceAsyncNamedCache}, so that
+     * they are submitted before any request made after this method returns.
+     */
+    public synchronized void flush()
+    {
+        if (pending != null)
+        {
+            LinkedHashMap<K, CompletableFuture<V>> dispatchable = pending;
+
+            pending = null;
+
+            dispatch(dispatchable);
+        }
+    }
+
+
+    /**
+     * Dispatches coalesced {@link #get(Object)} requests as a single {@link NamedCache#getAll(Collection)}.
+     *
+     * @param requests  the {@link CompletableFuture}s of the requests, by key
+     */
+    private void dispatch(LinkedHashMap<K, CompletableFuture<V>> requests)
+    {
+        CompletableFuture<Map<K, V>> values = namedCache.remotelyInvokeAsync("getAll",
+                                                                              new ArrayList<>(requests.keySet()));
+
+        values.whenComplete((map, throwable) -> requests.forEach((key, future) -> {
+                                                                     if (throwable == null)
+                                                                     {
+                                                                         future.complete(map.get(key));
+                                                                     }
+                                                                     else
+                                                                     {
+                                                                         future.completeExceptionally(throwable);
+                                                                     }
+                                                                 }));
+    }
+
+
+    /**
+     * Asynchronously obtains the values associated with the specified keys.
+     *
+     * @param keys  the keys
+     *
+     * @return  a {@link CompletableFuture} for the {@link Map} of keys to values
+     */
+    public CompletableFuture<Map<K, V>> getAll(Collection<? extends K> keys)
+    {
+        return namedCache.remotelyInvokeAsync("getAll", new ArrayList<>(keys));
+    }
+
+
+    /**
+     * Asynchronously associates a value with a key.
+     *
+     * @param key    the key
+     * @param value  the value
+     *
+     * @return  a {@link CompletableFuture} for the previously associated value
+     */
+    public CompletableFuture<V> put(K key,
+                                    V value)
+    {
+        flush();
+
+        return namedCache.remotelyInvokeAsync("put", key, value);
+    }
+
+
+    /**
+     * Asynchronously associates a value with a key, that expires after the specified number of milliseconds.
+     *
+     * @param key     the key
+     * @param value   the value
+     * @param expiry  the number of milliseconds until the entry expires
+     *
+     * @return  a {@link CompletableFuture} for the previously associated value
+     */
+    public CompletableFuture<V> put(K    key,
+                                    V    value,
+                                    long expiry)
+    {
+        flush();
+
+        return namedCache.remotelyInvokeAsync("put", key, value, expiry);
+    }
+
+
+    /**
+     * Asynchronously associates the values with the keys in the specified {@link Map}.
+     *
+     * @param map  the {@link Map} of keys to values
+     *
+     * @return  a {@link CompletableFuture} that completes when the values have been associated
+     */
+    public CompletableFuture<Void> putAll(Map<? extends K, ? extends V> map)
+    {
+        flush();
+
+        return namedCache.remotelyInvokeAsync("putAll", new HashMap<>(map));
+    }
+
+
+    /**
+     * Asynchronously removes the value associated with a key.
+     *
+     * @param key  the key
+     *
+     * @return  a {@link CompletableFuture} for the removed value
+     */
+    public CompletableFuture<V> remove(K key)
+    {
+        flush();
+
+        return namedCache.remotelyInvokeAsync("remove", key);
+    }
+
+
+    /**
+     * Asynchronously determines whether a value is associated with a key.
+     *
+     * @param key  the key
+     *
+     * @return  a {@link CompletableFuture} for whether a value is associated with the key
+     */
+    public CompletableFuture<Boolean> containsKey(K key)
+    {
+        return namedCache.remotelyInvokeAsync("containsKey", key);
+    }
+
+
+    /**
+     * Asynchronously obtains the number of entries.
+     *
+     * @return  a {@link CompletableFuture} for the number of entries
+     */
+    public CompletableFuture<Integer> size()
+    {
+        return namedCache.remotelyInvokeAsync("size");
+    }
+
+
+    /**
+     * Asynchronously determines whether there are no entries.
+     *
+     * @return  a {@link CompletableFuture} for whether there are no entries
+     */
+    public CompletableFuture<Boolean> isEmpty()
+    {
+        return namedCache.remotelyInvokeAsync("isEmpty");
+    }
+
+
+    /**
+     * Asynchronously removes all of the entries.
+     *
+     * @return  a {@link CompletableFuture} that completes when the entries have been removed
+     */
+    public CompletableFuture<Void> clear()
+    {
+        flush();
+
+        return namedCache.remotelyInvokeAsync("clear");
+    }
+
+
+    /**
+     * Asynchronously removes all of the entries, without raising events.
+     *
+     * @return  a {@link CompletableFuture} that completes when the entries have been removed
+     */
+    public CompletableFuture<Void> truncate()
+    {
+        flush();
+
+        return namedCache.remotelyInvokeAsync("truncate");
+    }
+
+
+    /**
+     * Asynchronously obtains the keys of the entries satisfying a {@link Filter}.
+     *
+     * @param filter  the {@link Filter}
+     *
+     * @return  a {@link CompletableFuture} for the {@link Set} of keys
+     */
+    public CompletableFuture<Set<K>> keySet(Filter filter)
+    {
+        return namedCache.remotelyInvokeAsync("keySet", filter);
+    }
+
+
+    /**
+     * Asynchronously obtains the entries satisfying a {@link Filter}.
+     *
+     * @param filter  the {@link Filter}
+     *
+     * @return  a {@link CompletableFuture} for the {@link Set} of entries
+     */
+    public CompletableFuture<Set<Map.Entry<K, V>>> entrySet(Filter filter)
+    {
+        return namedCache.remotelyInvokeAsync("entrySet", filter);
+    }
+
+
+    /**
+     * Asynchronously invokes an {@link InvocableMap.EntryProcessor} against the entry with a key.
+     *
+     * @param key        the key
+     * @param processor  the {@link InvocableMap.EntryProcessor}
+     * @param <R>        the type of the result
+     *
+     * @return  a {@link CompletableFuture} for the result
+     */
+    public <R> CompletableFuture<R> invoke(K                                    key,
+                                           InvocableMap.EntryProcessor<K, V, R> processor)
+    {
+        flush();
+
+        return namedCache.remotelyInvokeAsync("invoke", key, processor);
+    }
+
+
+    /**
+     * Asynchronously invokes an {@link InvocableMap.EntryProcessor} against the entries with the specified keys.
+     *
+     * @param keys       the keys
+     * @param processor  the {@link InvocableMap.EntryProcessor}
+     * @param <R>        the type of the results
+     *
+     * @return  a {@link CompletableFuture} for the {@link Map} of keys to results
+     */
+    public <R> CompletableFuture<Map<K, R>> invokeAll(Collection<? extends K>              keys,
+                                                      InvocableMap.EntryProcessor<K, V, R> processor)
+    {
+        flush();
+
+        return namedCache.remotelyInvokeAsync("invokeAll", new ArrayList<>(keys), processor);
+    }
+
+
+    /**
+     * Asynchronously invokes an {@link InvocableMap.EntryProcessor} against the entries satisfying a {@link Filter}.
+     *
+     * @param filter     the {@link Filter}
+     * @param processor  the {@link InvocableMap.EntryProcessor}
+     * @param <R>        the type of the results
+     *
+     * @return  a {@link CompletableFuture} for the {@link Map} of keys to results
+     */
+    public <R> CompletableFuture<Map<K, R>> invokeAll(Filter                               filter,
+                                                      InvocableMap.EntryProcessor<K, V, R> processor)
+    {
+        flush();
+
+        return namedCache.remotelyInvokeAsync("invokeAll", filter, processor);
+    }
+
+
+    /**
+     * Asynchronously aggregates the entries satisfying a {@link Filter}.
+     *
+     * @param filter      the {@link Filter}
+     * @param aggregator  the {@link InvocableMap.EntryAggregator}
+     * @param <R>         the type of the result
+     *
+     * @return  a {@link CompletableFuture} for the result
+     */
+    public <R> CompletableFuture<R> aggregate(Filter                                                filter,
+                                              InvocableMap.EntryAggregator<? super K, ? super V, R> aggregator)
+    {
+        return namedCache.remotelyInvokeAsync("aggregate", filter, aggregator);
+    }
+}
@@ -25,31 +25,33 @@
 
 package com.oracle.bedrock.runtime.coherence;
 
+import com.oracle.bedrock.Option;
 import com.oracle.bedrock.OptionsByType;
 import com.oracle.bedrock.options.Decoration;
 import com.oracle.bedrock.options.Decorations;
+import com.oracle.bedrock.options.Timeout;
 import com.oracle.bedrock.runtime.AbstractAssembly;
 import com.oracle.bedrock.runtime.Assembly;
-import com.oracle.bedrock.runtime.coherence.callables.GetAutoStartServiceNames;
-import com.oracle.bedrock.runtime.coherence.callables.GetServiceStatus;
-import com.oracle.bedrock.runtime.coherence.callables.IsServiceStorageEnabled;
-import com.oracle.bedrock.runtime.concurrent.options.Caching;
-import com.oracle.bedrock.util.Trilean;
+import com.oracle.bedrock.runtime.coherence.callables.GetClusterHealthSnapshot;
+import com.oracle.bedrock.runtime.coherence.options.BatchSize;
+import com.oracle.bedrock.runtime.options.StabilityPredicate;
 import com.tangosol.net.NamedCache;
 import com.tangosol.util.UID;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
-
-import static com.oracle.bedrock.deferred.DeferredHelper.ensure;
-import static com.oracle.bedrock.deferred.DeferredHelper.eventually;
-import static com.oracle.bedrock.deferred.DeferredHelper.invoking;
-import static com.oracle.bedrock.predicate.Predicates.contains;
-import static com.oracle.bedrock.predicate.Predicates.doesNotContain;
-import static com.oracle.bedrock.predicate.Predicates.greaterThan;
+import java.util.stream.Stream;
 
 /**
  * An {@link Assembly} that represents a collection of {@link CoherenceClusterMember}s.
@@ -61,6 +63,13 @@ import static com.oracle.bedrock.predicate.Predicates.greaterThan;
  */
 public class CoherenceCluster extends AbstractAssembly<CoherenceClusterMember>
 {
+    /**
+     * The {@link CoherenceClusterMembership} of the {@link CoherenceCluster}
+     * (<code>null</code> until requested).
+     */
+    private CoherenceClusterMembership membership;
+
+
     /**
      * Constructs a {@link CoherenceCluster} given a list of {@link CoherenceClusterMember}s.
      *
@@ -74,12 +83,21 @@ public class CoherenceCluster extends AbstractAssembly<CoherenceClusterMember>
 
     /**
      * Obtains the current number of {@link CoherenceClusterMember}s in the underlying
-     * {@link CoherenceCluster} by asking a {@link CoherenceClusterMember}.
+     * {@link CoherenceCluster} by asking a {@link CoherenceClusterMember}, or from the
+     * {@link CoherenceClusterMembership} when it is being tracked.
      *
      * @return the current number of {@link CoherenceClusterMember}s
      */
     public int getClusterSize()
     {
+        synchronized (this)
+        {
+            if (membership != null)
+            {
+                return membership.getClusterSize();
+            }
+        }
+
         Iterator<CoherenceClusterMember> members = iterator();
 
         return members.hasNext() ? members.next().getClusterSize() : 0;
@@ -87,12 +105,21 @@ public class CoherenceCluster extends AbstractAssembly<CoherenceClusterMember>
 
 
     /**
-     * Obtains the member {@link UID}s for the {@link CoherenceCluster}.
+     * Obtains the member {@link UID}s for the {@link CoherenceCluster}, from the
+     * {@link CoherenceClusterMembership} when it is being tracked.
      *
      * @return  a {@link Set} of {@link UID}, one for each {@link CoherenceClusterMember}
      */
     public Set<UID> getClusterMemberUIDs()
     {
+        synchronized (this)
+        {
+            if (membership != null)
+            {
+                return membership.getClusterMemberUIDs();
+            }
+        }
+
         Iterator<CoherenceClusterMember> members = iterator();
 
         return members.hasNext() ? members.next().getClusterMemberUIDs() : new TreeSet<UID>();
@@ -107,7 +134,7 @@ public class CoherenceCluster extends AbstractAssembly<CoherenceClusterMember>
      *
      * @return  a proxy to the {@link NamedCache}
      */
-    public NamedCache getCache(String cacheName)
+    public StreamingNamedCache getCache(String cacheName)
     {
         Iterator<CoherenceClusterMember> members = iterator();
 
@@ -128,9 +155,9 @@ public class CoherenceCluster extends AbstractAssembly<CoherenceClusterMember>
      *
      * @return  a proxy to the {@link NamedCache}
      */
-    public <K, V> NamedCache<K, V> getCache(String   cacheName,
-                                            Class<K> keyClass,
-                                            Class<V> valueClass)
+    public <K, V> StreamingNamedCache<K, V> getCache(String   cacheName,
+                                                     Class<K> keyClass,
+                                                     Class<V> valueClass)
     {
         Iterator<CoherenceClusterMember> members = iterator();
 
@@ -138,10 +165,259 @@ public class CoherenceCluster extends AbstractAssembly<CoherenceClusterMember>
     }
 
 
+    /**
+     * Obtains an asynchronous proxy of the specified {@link NamedCache} available in the
+     * {@link CoherenceCluster}.
+     *
+     * @param cacheName  the name of the {@link NamedCache}
+     *
+     * @return  a {@link CoherenceAsyncNamedCache}
+     */
+    public CoherenceAsyncNamedCache getAsyncCache(String cacheName)
+    {
+        Iterator<CoherenceClusterMember> members = iterator();
+
+        return members.hasNext() ? members.next().getAsyncCache(cacheName) : null;
+    }
+
+
+    /**
+     * Obtains an asynchronous proxy of the specified {@link NamedCache} available in the
+     * {@link CoherenceCluster}.
+     *
+     * @param cacheName   the name of the {@link NamedCache}
+     * @param keyClass    the type of the keys for the {@link NamedCache}
+     * @param valueClass  the type of the values for the {@link NamedCache}
+     *
+     * @param <K>         the type of the key class
+     * @param <V>         the type of the value class
+     *
+     * @return  a {@link CoherenceAsyncNamedCache}
+     */
+    public <K, V> CoherenceAsyncNamedCache<K, V> getAsyncCache(String   cacheName,
+                                                               Class<K> keyClass,
+                                                               Class<V> valueClass)
+    {
+        Iterator<CoherenceClusterMember> members = iterator();
+
+        return members.hasNext() ? members.next().getAsyncCache(cacheName, keyClass, valueClass) : null;
+    }
+
+
+    /**
+     * Loads the entries of a {@link Stream} into the specified {@link NamedCache}, spreading
+     * batches of entries in parallel across the {@link CoherenceClusterMember}s.
+     *
+     * @param cacheName  the name of the {@link NamedCache}
+     * @param entries    the {@link Stream} of entries to load
+     * @param options    the {@link Option}s for loading, including the {@link BatchSize}
+     *
+     * @return  the {@link CoherenceDataLoader.Statistics} for the load
+     *
+     * @see CoherenceDataLoader
+     */
+    public CoherenceDataLoader.Statistics loadCache(String                            cacheName,
+                                                    Stream<? extends Map.Entry<?, ?>> entries,
+                                                    Option...                         options)
+    {
+        return CoherenceDataLoader.load(this, cacheName, entries, options);
+    }
+
+
+    /**
+     * Loads the entries provided by an {@link Iterator} into the specified {@link NamedCache}, spreading
+     * batches of entries in parallel across the {@link CoherenceClusterMember}s.
+     *
+     * @param cacheName  the name of the {@link NamedCache}
+     * @param entries    the {@link Iterator} of entries to load
+     * @param options    the {@link Option}s for loading, including the {@link BatchSize}
+     *
+     * @return  the {@link CoherenceDataLoader.Statistics} for the load
+     *
+     * @see CoherenceDataLoader
+     */
+    public CoherenceDataLoader.Statistics loadCache(String                              cacheName,
+                                                    Iterator<? extends Map.Entry<?, ?>> entries,
+                                                    Option...                           options)
+    {
+        return CoherenceDataLoader.load(this, cacheName, entries, options);
+    }
+
+
+    /**
+     * Loads entries into the specified {@link NamedCache} by generating batches of them in parallel
+     * in the {@link CoherenceClusterMember}s, so that no entries are sent to the {@link CoherenceCluster}.
+     *
+     * @param cacheName  the name of the {@link NamedCache}
+     * @param generator  the {@link CoherenceDataLoader.EntryGenerator}
+     * @param count      the number of entries to generate
+     * @param seed       the seed for generating entries
+     * @param options    the {@link Option}s for loading, including the {@link BatchSize}
+     *
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     *
+     * @return  the {@link CoherenceDataLoader.Statistics} for the load
+     *
+     * @see CoherenceDataLoader
+     */
+    public <K, V> CoherenceDataLoader.Statistics loadCache(String                                   cacheName,
+                                                           CoherenceDataLoader.EntryGenerator<K, V> generator,
+                                                           long                                     count,
+                                                           long                                     seed,
+                                                           Option...                                options)
+    {
+        return CoherenceDataLoader.generate(this, cacheName, generator, count, seed, options);
+    }
+
+
+    /**
+     * Performs a partition-safe rolling restart of all of the {@link CoherenceClusterMember}s,
+     * restarting as many {@link CoherenceClusterMember}s together as the backup strength and
+     * backup count of the partitioned services allow.
+     *
+     * @param options  the {@link Option}s for restarting, including the {@link StabilityPredicate}
+     *                 to satisfy before each batch of restarts
+     *
+     * @return  the {@link CoherenceRollingRestart.Result}, including per-member restart timings
+     *
+     * @see CoherenceRollingRestart
+     */
+    public CoherenceRollingRestart.Result rollingRestart(Option... options)
+    {
+        return rollingRestart(applications, options);
+    }
+
+
+    /**
+     * Performs a partition-safe rolling restart of the specified {@link CoherenceClusterMember}s,
+     * restarting as many {@link CoherenceClusterMember}s together as the backup strength and
+     * backup count of the partitioned services allow.
+     *
+     * @param members  the {@link CoherenceClusterMember}s to restart
+     * @param options  the {@link Option}s for restarting, including the {@link StabilityPredicate}
+     *                 to satisfy before each batch of restarts
+     *
+     * @return  the {@link CoherenceRollingRestart.Result}, including per-member restart timings
+     *
+     * @see CoherenceRollingRestart
+     */
+    public CoherenceRollingRestart.Result rollingRestart(Collection<? extends CoherenceClusterMember> members,
+                                                         Option...                                    options)
+    {
+        return CoherenceRollingRestart.perform(this, new ArrayList<>(members), options);
+    }
+
+
+    /**
+     * Relaunches the specified {@link CoherenceClusterMember}, providing it is in the {@link CoherenceCluster}.
+     *
+     * @param member   the {@link CoherenceClusterMember} to relaunch
+     * @param options  the {@link Option}s for relaunching
+     *
+     * @return  the relaunched {@link CoherenceClusterMember} or <code>null</code> if it wasn't
+     *          in the {@link CoherenceCluster}
+     */
+    CoherenceClusterMember relaunchMember(CoherenceClusterMember member,
+                                          Option...              options)
+    {
+        return relaunch(member, options);
+    }
+
+
+    /**
+     * Obtains the {@link CoherenceClusterHealth} of the {@link CoherenceCluster} by capturing a
+     * {@link ClusterHealthSnapshot} from each {@link CoherenceClusterMember} in parallel.
+     * <p>
+     * {@link CoherenceClusterMember}s that have not yet joined a cluster provide no {@link ClusterHealthSnapshot}.
+     *
+     * @return  the {@link CoherenceClusterHealth}
+     */
+    public CoherenceClusterHealth getHealth()
+    {
+        LinkedHashMap<String, CompletableFuture<ClusterHealthSnapshot>> futures = new LinkedHashMap<>();
+
+        for (CoherenceClusterMember member : this)
+        {
+            futures.put(member.getName(), member.submit(new GetClusterHealthSnapshot()));
+        }
+
+        LinkedHashMap<String, ClusterHealthSnapshot> snapshots = new LinkedHashMap<>();
+
+        for (Map.Entry<String, CompletableFuture<ClusterHealthSnapshot>> entry : futures.entrySet())
+        {
+            try
+            {
+                ClusterHealthSnapshot snapshot = entry.getValue().get();
+
+                if (snapshot != null)
+                {
+                    snapshots.put(entry.getKey(), snapshot);
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new RuntimeException("Interrupted while capturing the health of " + entry.getKey(), e);
+            }
+            catch (ExecutionException e)
+            {
+                throw new RuntimeException("Failed to capture the health of " + entry.getKey(), e.getCause());
+            }
+        }
+
+        return new CoherenceClusterHealth(snapshots);
+    }
+
+
+    /**
+     * Obtains the {@link CoherenceClusterMembership} of the {@link CoherenceCluster}, tracking
+     * the membership of the {@link CoherenceClusterMember}s when first requested.
+     *
+     * @return  the {@link CoherenceClusterMembership}
+     */
+    public synchronized CoherenceClusterMembership getMembership()
+    {
+        if (membership == null)
+        {
+            CoherenceClusterMembership tracking = new CoherenceClusterMembership();
+
+            for (CoherenceClusterMember member : this)
+            {
+                tracking.track(member);
+            }
+
+            membership = tracking;
+        }
+
+        return membership;
+    }
+
+
+    @Override
+    protected void onExpanded(List<? extends CoherenceClusterMember> members,
+                              OptionsByType                          optionsByType)
+    {
+        synchronized (this)
+        {
+            if (membership != null)
+            {
+                members.forEach(membership::track);
+            }
+        }
+
+        super.onExpanded(members, optionsByType);
+    }
+
+
     @Override
     protected void onRelaunching(CoherenceClusterMember member,
                                  OptionsByType          optionsByType)
     {
+        // ensure the membership is being tracked so that the departure of the member is observed
+        getMembership();
+
         // get the current MemberUID and record it (or make the application remember it)
         UID memberUID = member.getLocalMemberUID();
 
@@ -158,33 +434,63 @@ public class CoherenceCluster extends AbstractAssembly<CoherenceClusterMember>
                                 CoherenceClusterMember restarted,
                                 OptionsByType          optionsByType)
     {
-        // ensure that the original member UID is no longer in the cluster
-        Decorations decorations       = optionsByType.get(Decorations.class);
+        CoherenceClusterMembership tracking = getMembership();
+        Timeout                    timeout  = optionsByType.get(Timeout.class);
 
+        Decorations decorations       = optionsByType.get(Decorations.class);
         UID         originalMemberUID = decorations.get(UID.class);
 
+        // track the restarted member, which ensures it has joined the cluster
+        // (without doing this the local member id returned below may be different from
+        // the one when the member joins the cluster), considering the original member to have
+        // departed when the restarted member doesn't see it (there may be no other members to observe it)
+        tracking.track(restarted, originalMemberUID);
+
+        // ensure that the original member UID is no longer in the cluster
         if (originalMemberUID != null)
         {
-            // ensure that the restarted member is in the member set of the cluster
-            ensure(eventually(invoking(this).getClusterMemberUIDs()), doesNotContain(originalMemberUID));
+            await(tracking.whenDeparted(originalMemberUID), timeout, "departure of " + originalMemberUID);
         }
 
-        // ensure the restarted member has joined the cluster
-        // (without doing this the local member id returned below may be different from
-        // the one when the member joins the cluster)
-        ensure(eventually(invoking(restarted).getClusterSize()), greaterThan(1));
-
         // determine the UID of the restarted member
         UID restartedMemberUID = restarted.getLocalMemberUID();
 
         // ensure that the restarted member is in the member set of the cluster
-        ensure(eventually(invoking(this).getClusterMemberUIDs()), contains(restartedMemberUID));
+        await(tracking.whenJoined(restartedMemberUID), timeout, "arrival of " + restartedMemberUID);
 
         // notify the assembly of the change
         onChanged(optionsByType);
     }
 
 
+    /**
+     * Waits for a change in {@link CoherenceClusterMembership} to occur.
+     *
+     * @param future       the {@link CompletableFuture} that completes when the change occurs
+     * @param timeout      the {@link Timeout} for the change
+     * @param description  a description of the change
+     */
+    private static void await(CompletableFuture<?> future,
+                              Timeout              timeout,
+                              String               description)
+    {
+        try
+        {
+            future.get(timeout.to(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new RuntimeException("Interrupted while waiting for the " + description, e);
+        }
+        catch (ExecutionException | TimeoutException e)
+        {
+            throw new IllegalStateException("Failed to observe the " + description + " within " + timeout, e);
+        }
+    }
+
+
     /**
      * Useful {@link Predicate}s for a {@link CoherenceCluster}.
      */
@@ -200,66 +506,10 @@ public class CoherenceCluster extends AbstractAssembly<CoherenceClusterMember>
         {
             return (cluster) -> {
 
-                // determine the number of each auto start service is defined by the cluster
-                       HashMap<String, Integer> serviceCountMap = new HashMap<>();
-
-                       for (CoherenceClusterMember member : cluster)
-                       {
-                           Set<String> serviceNames = member.invoke(new GetAutoStartServiceNames(), Caching.enabled());
-
-                           for (String serviceName : serviceNames)
-                           {
-                               // determine if the service is storage enabled?
-                               Trilean trilean = member.invoke(new IsServiceStorageEnabled(serviceName),
-                                                               Caching.enabled());
-
-                               // only adjust the service count when it's not storage disabled
-                               // (ie: we count storage enabled and unknown service types)
-                               int adjust = trilean == Trilean.FALSE ? 0 : 1;
-
-                               serviceCountMap.compute(serviceName,
-                                                       (name, count) -> count == null ? adjust : count + adjust);
-                           }
-                       }
-
-                       // ensure the autostart services defined by each member are safe
-                       // according to the number of required services
-                       for (CoherenceClusterMember member : cluster)
-                       {
-                           Set<String> serviceNames = member.invoke(new GetAutoStartServiceNames(), Caching.enabled());
-
-                           for (String serviceName : serviceNames)
-                           {
-                               int count = serviceCountMap.get(serviceName);
-
-                               if (count > 1)
-                               {
-                                   ServiceStatus status = member.invoke(new GetServiceStatus(serviceName));
-
-                                   if (status == null
-                                       || status == ServiceStatus.ENDANGERED
-                                       || status == ServiceStatus.ORPHANED
-                                       || status == ServiceStatus.STOPPED
-                                       || status == ServiceStatus.UNKNOWN)
-                                   {
-                                       return false;
-                                   }
-                               }
-                               else if (count == 1)
-                               {          
-                                   ServiceStatus status = member.invoke(new GetServiceStatus(serviceName));
-
-                                   if (status == null
-                                       || status == ServiceStatus.STOPPED
-                                       || status == ServiceStatus.UNKNOWN)
-                                   {
-                                       return false;
-                                   }
-                               }
-                           }
-                       }
-
-                       return true;
+                       // capture the health of every member in a single parallel round trip
+                       CoherenceClusterHealth health = cluster.getHealth();
+
+                       return health.getSnapshots().size() == cluster.count() && health.isAutoStartServicesSafe();
                    };
         }
     }
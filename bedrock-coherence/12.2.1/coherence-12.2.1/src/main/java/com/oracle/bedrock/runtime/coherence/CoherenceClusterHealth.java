@@ -0,0 +1,237 @@
+/*
+ * File: CoherenceClusterHealth.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+package com.oracle.bedrock.runtime.coherence;
+
+import com.oracle.bedrock.runtime.coherence.ClusterHealthSnapshot.ServiceHealth;
+import com.oracle.bedrock.util.Trilean;
+import com.tangosol.util.UID;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A merged view of the {@link ClusterHealthSnapshot}s captured from the
+ * {@link CoherenceClusterMember}s of a {@link CoherenceCluster} at (about) the same time,
+ * for use by predicates and diagnostics.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see CoherenceCluster#getHealth()
+ */
+public class CoherenceClusterHealth
+{
+    /**
+     * The {@link ClusterHealthSnapshot}s by {@link CoherenceClusterMember} name.
+     */
+    private final Map<String, ClusterHealthSnapshot> snapshots;
+
+
+    /**
+     * Constructs a {@link CoherenceClusterHealth}.
+     *
+     * @param snapshots  the {@link ClusterHealthSnapshot}s by {@link CoherenceClusterMember} name
+     */
+    public CoherenceClusterHealth(Map<String, ClusterHealthSnapshot> snapshots)
+    {
+        this.snapshots = Collections.unmodifiableMap(new LinkedHashMap<>(snapshots));
+    }
+
+
+    /**
+     * Obtains the {@link ClusterHealthSnapshot}s by {@link CoherenceClusterMember} name.
+     *
+     * @return  the {@link ClusterHealthSnapshot}s
+     */
+    public Map<String, ClusterHealthSnapshot> getSnapshots()
+    {
+        return snapshots;
+    }
+
+
+    /**
+     * Obtains the {@link ClusterHealthSnapshot} of the named {@link CoherenceClusterMember}.
+     *
+     * @param memberName  the name of the {@link CoherenceClusterMember}
+     *
+     * @return  the {@link ClusterHealthSnapshot} or <code>null</code> if not available
+     */
+    public ClusterHealthSnapshot getSnapshot(String memberName)
+    {
+        return snapshots.get(memberName);
+    }
+
+
+    /**
+     * Obtains the {@link UID}s of the members seen by any of the {@link CoherenceClusterMember}s.
+     *
+     * @return  the {@link UID}s of the members
+     */
+    public Set<UID> getClusterMemberUIDs()
+    {
+        TreeSet<UID> memberUIDs = new TreeSet<>();
+
+        snapshots.values().forEach(snapshot -> memberUIDs.addAll(snapshot.getClusterMemberUIDs()));
+
+        return memberUIDs;
+    }
+
+
+    /**
+     * Obtains the number of members seen by any of the {@link CoherenceClusterMember}s.
+     *
+     * @return  the number of members
+     */
+    public int getClusterSize()
+    {
+        return getClusterMemberUIDs().size();
+    }
+
+
+    /**
+     * Determines if all of the {@link CoherenceClusterMember}s agree on the membership of the cluster.
+     *
+     * @return  <code>true</code> if the membership is consistent
+     */
+    public boolean isMembershipConsistent()
+    {
+        return snapshots.values().stream().map(ClusterHealthSnapshot::getClusterMemberUIDs).distinct().count() <= 1;
+    }
+
+
+    /**
+     * Obtains the names of the services configured to auto start by any of the {@link CoherenceClusterMember}s.
+     *
+     * @return  the names of the auto-start services
+     */
+    public Set<String> getAutoStartServiceNames()
+    {
+        TreeSet<String> serviceNames = new TreeSet<>();
+
+        for (ClusterHealthSnapshot snapshot : snapshots.values())
+        {
+            for (ServiceHealth service : snapshot.getServices().values())
+            {
+                if (service.isAutoStart())
+                {
+                    serviceNames.add(service.getName());
+                }
+            }
+        }
+
+        return serviceNames;
+    }
+
+
+    /**
+     * Obtains the number of {@link CoherenceClusterMember}s that auto start the specified service
+     * and don't have storage disabled for it.
+     *
+     * @param serviceName  the name of the service
+     *
+     * @return  the number of {@link CoherenceClusterMember}s
+     */
+    public int getStorageEnabledCount(String serviceName)
+    {
+        int count = 0;
+
+        for (ClusterHealthSnapshot snapshot : snapshots.values())
+        {
+            ServiceHealth service = snapshot.getService(serviceName);
+
+            // we count storage enabled and unknown service types
+            if (service != null && service.isAutoStart() && service.getStorageEnabled() != Trilean.FALSE)
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Determines if the auto-start services of all of the {@link CoherenceClusterMember}s are safe,
+     * that is, running and, when provided by more than one {@link CoherenceClusterMember},
+     * not endangered or orphaned.
+     *
+     * @return  <code>true</code> if the auto-start services are safe
+     *
+     * @see CoherenceCluster.Predicates#autoStartServicesSafe()
+     */
+    public boolean isAutoStartServicesSafe()
+    {
+        for (ClusterHealthSnapshot snapshot : snapshots.values())
+        {
+            for (ServiceHealth service : snapshot.getServices().values())
+            {
+                if (service.isAutoStart())
+                {
+                    int           count  = getStorageEnabledCount(service.getName());
+                    ServiceStatus status = service.getStatus();
+
+                    if (count > 1)
+                    {
+                        if (status == null
+                            || status == ServiceStatus.ENDANGERED
+                            || status == ServiceStatus.ORPHANED
+                            || status == ServiceStatus.STOPPED
+                            || status == ServiceStatus.UNKNOWN)
+                        {
+                            return false;
+                        }
+                    }
+                    else if (count == 1)
+                    {
+                        if (status == null || status == ServiceStatus.STOPPED || status == ServiceStatus.UNKNOWN)
+                        {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append("CoherenceClusterHealth{clusterSize=").append(getClusterSize())
+               .append(", consistent=").append(isMembershipConsistent())
+               .append(", autoStartServicesSafe=").append(isAutoStartServicesSafe());
+
+        snapshots.forEach((name, snapshot) -> builder.append("\n  ").append(name).append(": ").append(snapshot));
+
+        return builder.append('}').toString();
+    }
+}
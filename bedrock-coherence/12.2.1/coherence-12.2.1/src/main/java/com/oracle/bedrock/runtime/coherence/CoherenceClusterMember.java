@@ -138,7 +138,7 @@ public interface CoherenceClusterMember extends JavaApplication
      *
      * @return a proxy to the {@link NamedCache}
      */
-    NamedCache getCache(String cacheName);
+    StreamingNamedCache getCache(String cacheName);
 
 
     /**
@@ -164,9 +164,44 @@ public interface CoherenceClusterMember extends JavaApplication
      *
      * @return  a proxy to the {@link NamedCache}
      */
-    <K, V> NamedCache<K, V> getCache(String   cacheName,
-                                     Class<K> keyClass,
-                                     Class<V> valueClass);
+    <K, V> StreamingNamedCache<K, V> getCache(String   cacheName,
+                                              Class<K> keyClass,
+                                              Class<V> valueClass);
+
+
+    /**
+     * Obtains an asynchronous proxy of the specified {@link NamedCache} available in the
+     * {@link CoherenceClusterMember}.
+     * <p>
+     * Requests made using the returned {@link CoherenceAsyncNamedCache} don't wait for their results,
+     * allowing many requests to be outstanding with the {@link CoherenceClusterMember} at once.
+     *
+     * @param cacheName  the name of the {@link NamedCache}
+     *
+     * @return  a {@link CoherenceAsyncNamedCache}
+     */
+    CoherenceAsyncNamedCache getAsyncCache(String cacheName);
+
+
+    /**
+     * Obtains an asynchronous proxy of a strongly-typed {@link NamedCache} available in the
+     * {@link CoherenceClusterMember}.
+     * <p>
+     * Requests made using the returned {@link CoherenceAsyncNamedCache} don't wait for their results,
+     * allowing many requests to be outstanding with the {@link CoherenceClusterMember} at once.
+     *
+     * @param cacheName   the name of the {@link NamedCache}
+     * @param keyClass    the type of the keys for the {@link NamedCache}
+     * @param valueClass  the type of the values for the {@link NamedCache}
+     *
+     * @param <K>         the type of the key class
+     * @param <V>         the type of the value class
+     *
+     * @return  a {@link CoherenceAsyncNamedCache}
+     */
+    <K, V> CoherenceAsyncNamedCache<K, V> getAsyncCache(String   cacheName,
+                                                        Class<K> keyClass,
+                                                        Class<V> valueClass);
 
 
     /**
@@ -0,0 +1,539 @@
+/*
+ * File: CoherenceClusterMembership.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+package com.oracle.bedrock.runtime.coherence;
+
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
+import com.oracle.bedrock.runtime.concurrent.RemoteEvent;
+import com.oracle.bedrock.runtime.concurrent.RemoteEventListener;
+import com.oracle.bedrock.runtime.concurrent.options.StreamName;
+import com.oracle.bedrock.util.Pair;
+import com.tangosol.net.CacheFactory;
+import com.tangosol.net.Cluster;
+import com.tangosol.net.Member;
+import com.tangosol.net.MemberEvent;
+import com.tangosol.net.MemberListener;
+import com.tangosol.net.Service;
+import com.tangosol.util.UID;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+
+/**
+ * A model of the membership of a Coherence Cluster that is kept up to date by
+ * {@link MembershipEvent}s pushed from {@link CoherenceClusterMember}s, instead of
+ * by polling the {@link CoherenceClusterMember}s for their {@link UID}s.
+ * <p>
+ * {@link #track(CoherenceClusterMember) Tracking} a {@link CoherenceClusterMember} installs
+ * a {@link MemberListener} in the {@link CoherenceClusterMember} that raises a
+ * {@link MembershipEvent}, containing the member set as seen by the {@link CoherenceClusterMember},
+ * whenever a member joins or leaves the Coherence Cluster.  Waiting for a change in
+ * membership, for example for a {@link UID} to depart or the cluster to reach a size,
+ * is then a matter of waiting for the {@link CompletableFuture} returned by
+ * {@link #when(Predicate)} to complete.
+ * <p>
+ * As member {@link UID}s are never reused, the membership is the set of {@link UID}s
+ * that have been observed less those that have been observed to leave, which makes the
+ * model insensitive to the order in which {@link MembershipEvent}s arrive from different
+ * {@link CoherenceClusterMember}s.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class CoherenceClusterMembership implements RemoteEventListener
+{
+    /**
+     * The {@link StreamName} on which {@link MembershipEvent}s are raised.
+     */
+    public static final StreamName STREAM_NAME = StreamName.of("CoherenceMembership");
+
+    /**
+     * The {@link UID}s of the members that have been observed.
+     */
+    private final Set<UID> observed;
+
+    /**
+     * The {@link UID}s of the members that have been observed to leave.
+     */
+    private final Set<UID> departed;
+
+    /**
+     * The {@link Predicate}s being waited on, together with the {@link CompletableFuture}s
+     * to complete when they are satisfied.
+     */
+    private final List<Pair<Predicate<? super Set<UID>>, CompletableFuture<Set<UID>>>> waiters;
+
+
+    /**
+     * Constructs a {@link CoherenceClusterMembership}.
+     */
+    public CoherenceClusterMembership()
+    {
+        this.observed = new HashSet<>();
+        this.departed = new HashSet<>();
+        this.waiters  = new ArrayList<>();
+    }
+
+
+    /**
+     * Starts tracking membership events from the specified {@link CoherenceClusterMember},
+     * returning once its current view of the membership has been included.
+     *
+     * @param member  the {@link CoherenceClusterMember}
+     */
+    public void track(CoherenceClusterMember member)
+    {
+        track(member, null);
+    }
+
+
+    /**
+     * Starts tracking membership events from the specified {@link CoherenceClusterMember} that was launched
+     * to replace a member that has since been terminated, returning once its current view of the membership
+     * has been included.
+     * <p>
+     * As a member joining the cluster is provided with the complete membership, the replaced member is
+     * considered to have departed when it's missing from the view of the {@link CoherenceClusterMember},
+     * even when there are no other tracked members to observe the departure.
+     *
+     * @param member       the {@link CoherenceClusterMember}
+     * @param replacedUID  the {@link UID} of the replaced member (may be <code>null</code>)
+     */
+    public void track(CoherenceClusterMember member,
+                      UID                    replacedUID)
+    {
+        member.addListener(this, STREAM_NAME);
+
+        try
+        {
+            MembershipEvent event = member.submit(new InstallMemberListener()).get();
+
+            if (replacedUID != null && !event.getMemberUIDs().contains(replacedUID))
+            {
+                synchronized (this)
+                {
+                    departed.add(replacedUID);
+                }
+            }
+
+            onEvent(event);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new RuntimeException("Interrupted while tracking the membership of " + member.getName(), e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new RuntimeException("Failed to track the membership of " + member.getName(), e.getCause());
+        }
+    }
+
+
+    /**
+     * Obtains the {@link UID}s of the current members.
+     *
+     * @return  the {@link UID}s of the current members
+     */
+    public synchronized Set<UID> getClusterMemberUIDs()
+    {
+        TreeSet<UID> members = new TreeSet<>(observed);
+
+        members.removeAll(departed);
+
+        return members;
+    }
+
+
+    /**
+     * Obtains the number of current members.
+     *
+     * @return  the number of current members
+     */
+    public int getClusterSize()
+    {
+        return getClusterMemberUIDs().size();
+    }
+
+
+    /**
+     * Obtains a {@link CompletableFuture} that is completed with the {@link UID}s of the current
+     * members once they satisfy the specified {@link Predicate}.
+     *
+     * @param predicate  the {@link Predicate}
+     *
+     * @return  a {@link CompletableFuture}
+     */
+    public CompletableFuture<Set<UID>> when(Predicate<? super Set<UID>> predicate)
+    {
+        CompletableFuture<Set<UID>> future = new CompletableFuture<>();
+        Set<UID>                    members;
+
+        synchronized (this)
+        {
+            members = getClusterMemberUIDs();
+
+            if (!predicate.test(members))
+            {
+                waiters.add(new Pair<>(predicate, future));
+
+                return future;
+            }
+        }
+
+        future.complete(members);
+
+        return future;
+    }
+
+
+    /**
+     * Obtains a {@link CompletableFuture} that is completed once the specified member has joined.
+     *
+     * @param memberUID  the {@link UID} of the member
+     *
+     * @return  a {@link CompletableFuture}
+     */
+    public CompletableFuture<Set<UID>> whenJoined(UID memberUID)
+    {
+        return when(members -> members.contains(memberUID));
+    }
+
+
+    /**
+     * Obtains a {@link CompletableFuture} that is completed once the specified member has departed.
+     *
+     * @param memberUID  the {@link UID} of the member
+     *
+     * @return  a {@link CompletableFuture}
+     */
+    public CompletableFuture<Set<UID>> whenDeparted(UID memberUID)
+    {
+        return when(members -> !members.contains(memberUID));
+    }
+
+
+    /**
+     * Obtains a {@link CompletableFuture} that is completed once there are at least
+     * the specified number of members.
+     *
+     * @param size  the minimum number of members
+     *
+     * @return  a {@link CompletableFuture}
+     */
+    public CompletableFuture<Set<UID>> whenSizeAtLeast(int size)
+    {
+        return when(members -> members.size() >= size);
+    }
+
+
+    @Override
+    public void onEvent(RemoteEvent event)
+    {
+        if (event instanceof MembershipEvent)
+        {
+            MembershipEvent                                   membershipEvent = (MembershipEvent) event;
+            List<Pair<CompletableFuture<Set<UID>>, Set<UID>>> completed       = new ArrayList<>();
+
+            synchronized (this)
+            {
+                observed.addAll(membershipEvent.getMemberUIDs());
+
+                if (membershipEvent.getDepartedUID() != null)
+                {
+                    departed.add(membershipEvent.getDepartedUID());
+                }
+
+                Set<UID> members = getClusterMemberUIDs();
+
+                for (Iterator<Pair<Predicate<? super Set<UID>>, CompletableFuture<Set<UID>>>> iterator =
+                        waiters.iterator();
+                    iterator.hasNext(); )
+                {
+                    Pair<Predicate<? super Set<UID>>, CompletableFuture<Set<UID>>> waiter = iterator.next();
+
+                    if (waiter.getX().test(members))
+                    {
+                        iterator.remove();
+                        completed.add(new Pair<>(waiter.getY(), members));
+                    }
+                }
+            }
+
+            // complete the futures outside of synchronization as they may have dependent stages
+            completed.forEach(pair -> pair.getX().complete(pair.getY()));
+        }
+    }
+
+
+    /**
+     * A {@link RemoteEvent} raised by a {@link CoherenceClusterMember} to describe its view of the
+     * membership of the Coherence Cluster.
+     */
+    public static class MembershipEvent implements RemoteEvent
+    {
+        /**
+         * The {@link UID}s of the members at the time of the event.
+         */
+        private final TreeSet<UID> memberUIDs;
+
+        /**
+         * The {@link UID} of the member that departed (<code>null</code> when no member departed).
+         */
+        private final UID departedUID;
+
+
+        /**
+         * Constructs a {@link MembershipEvent}.
+         *
+         * @param memberUIDs   the {@link UID}s of the members at the time of the event
+         * @param departedUID  the {@link UID} of the member that departed (may be <code>null</code>)
+         */
+        public MembershipEvent(TreeSet<UID> memberUIDs,
+                               UID          departedUID)
+        {
+            this.memberUIDs  = memberUIDs;
+            this.departedUID = departedUID;
+        }
+
+
+        /**
+         * Obtains the {@link UID}s of the members at the time of the event.
+         *
+         * @return  the {@link UID}s of the members
+         */
+        public Set<UID> getMemberUIDs()
+        {
+            return memberUIDs;
+        }
+
+
+        /**
+         * Obtains the {@link UID} of the member that departed.
+         *
+         * @return  the {@link UID} of the member that departed or <code>null</code> when no member departed
+         */
+        public UID getDepartedUID()
+        {
+            return departedUID;
+        }
+
+
+        /**
+         * Creates a {@link MembershipEvent} describing the membership of the specified {@link Cluster}.
+         *
+         * @param cluster      the {@link Cluster}
+         * @param departedUID  the {@link UID} of the member that departed (may be <code>null</code>)
+         *
+         * @return  a {@link MembershipEvent}
+         */
+        static MembershipEvent of(Cluster cluster,
+                                  UID     departedUID)
+        {
+            TreeSet<UID> memberUIDs = new TreeSet<>();
+
+            for (Object member : cluster.getMemberSet())
+            {
+                memberUIDs.add(((Member) member).getUid());
+            }
+
+            if (departedUID != null)
+            {
+                memberUIDs.remove(departedUID);
+            }
+
+            return new MembershipEvent(memberUIDs, departedUID);
+        }
+
+
+        @Override
+        public String toString()
+        {
+            return "MembershipEvent{members=" + memberUIDs + (departedUID == null ? "" : ", departed=" + departedUID)
+                   + '}';
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} that installs a {@link MemberListener} in a {@link CoherenceClusterMember}
+     * to raise {@link MembershipEvent}s, returning the current membership.
+     * <p>
+     * The {@link MemberListener} is installed at most once in a {@link CoherenceClusterMember}, once it has
+     * been accepted by the Cluster service or at least one running service.
+     */
+    public static class InstallMemberListener implements RemoteCallable<MembershipEvent>
+    {
+        /**
+         * The {@link MemberListener} installed in this {@link CoherenceClusterMember}
+         * (<code>null</code> when not installed).
+         */
+        private static MemberListener installed;
+
+        /**
+         * The {@link RemoteChannel} on which to raise {@link MembershipEvent}s.
+         */
+        @RemoteChannel.Inject
+        public RemoteChannel channel;
+
+
+        @Override
+        public MembershipEvent call()
+        {
+            Cluster cluster = CacheFactory.ensureCluster();
+
+            synchronized (InstallMemberListener.class)
+            {
+                if (installed == null)
+                {
+                    RemoteChannel remoteChannel = channel == null ? RemoteChannel.get() : channel;
+                    Service       service       = cluster.getService("Cluster");
+
+                    if (service == null)
+                    {
+                        // fall back to observing membership through the running services
+                        MemberListener listener = new MembershipListener(cluster, remoteChannel, false);
+                        boolean        added    = false;
+
+                        for (Enumeration<?> names = cluster.getServiceNames(); names.hasMoreElements(); )
+                        {
+                            Service running = cluster.getService((String) names.nextElement());
+
+                            if (running != null && running.isRunning())
+                            {
+                                try
+                                {
+                                    running.addMemberListener(listener);
+
+                                    added = true;
+                                }
+                                catch (RuntimeException e)
+                                {
+                                    // SKIP: the service may have stopped after being checked
+                                }
+                            }
+                        }
+
+                        // only consider the listener installed when a service accepted it
+                        // (otherwise it's installed again when membership is next tracked)
+                        if (added)
+                        {
+                            installed = listener;
+                        }
+                    }
+                    else
+                    {
+                        installed = new MembershipListener(cluster, remoteChannel, true);
+
+                        service.addMemberListener(installed);
+                    }
+                }
+            }
+
+            return MembershipEvent.of(cluster, null);
+        }
+    }
+
+
+    /**
+     * A {@link MemberListener} that raises {@link MembershipEvent}s over a {@link RemoteChannel}.
+     */
+    static class MembershipListener implements MemberListener
+    {
+        /**
+         * The {@link Cluster} being observed.
+         */
+        private final Cluster cluster;
+
+        /**
+         * The {@link RemoteChannel} on which to raise {@link MembershipEvent}s.
+         */
+        private final RemoteChannel channel;
+
+        /**
+         * Is the {@link MembershipListener} observing the membership of the {@link Cluster},
+         * as opposed to that of a {@link Service}?
+         */
+        private final boolean clusterWide;
+
+
+        /**
+         * Constructs a {@link MembershipListener}.
+         *
+         * @param cluster      the {@link Cluster} being observed
+         * @param channel      the {@link RemoteChannel} on which to raise {@link MembershipEvent}s
+         * @param clusterWide  is the listener observing the membership of the {@link Cluster}
+         */
+        MembershipListener(Cluster       cluster,
+                           RemoteChannel channel,
+                           boolean       clusterWide)
+        {
+            this.cluster     = cluster;
+            this.channel     = channel;
+            this.clusterWide = clusterWide;
+        }
+
+
+        @Override
+        public void memberJoined(MemberEvent event)
+        {
+            TreeSet<UID> memberUIDs = new TreeSet<>(MembershipEvent.of(cluster, null).getMemberUIDs());
+
+            // the member set may not yet include the member that joined
+            memberUIDs.add(event.getMember().getUid());
+
+            channel.raise(new MembershipEvent(memberUIDs, null), STREAM_NAME);
+        }
+
+
+        @Override
+        public void memberLeaving(MemberEvent event)
+        {
+            // membership only changes once a member has left
+        }
+
+
+        @Override
+        public void memberLeft(MemberEvent event)
+        {
+            UID             memberUID = event.getMember().getUid();
+            MembershipEvent snapshot  = MembershipEvent.of(cluster, null);
+
+            // a member leaving a service has only departed when it has also left the cluster
+            boolean departed = clusterWide || !snapshot.getMemberUIDs().contains(memberUID);
+
+            channel.raise(departed ? MembershipEvent.of(cluster, memberUID) : snapshot, STREAM_NAME);
+        }
+    }
+}
@@ -0,0 +1,637 @@
+/*
+ * File: CoherenceDataLoader.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+package com.oracle.bedrock.runtime.coherence;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.runtime.coherence.options.BatchSize;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.tangosol.io.Serializer;
+import com.tangosol.net.CacheFactory;
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Bulk loads test data into a {@link NamedCache} by splitting the data into batches
+ * and spreading the batches in parallel across a number of {@link CoherenceClusterMember}s,
+ * each of which performs a local {@link NamedCache#putAll(Map)} for the batches it receives.
+ * <p>
+ * Data may be provided locally, as a {@link Stream} or {@link Iterator} of entries, in which
+ * case each batch is sent to a {@link CoherenceClusterMember} as it is filled, or it may be
+ * generated in the {@link CoherenceClusterMember}s using an {@link EntryGenerator} and a seed,
+ * in which case only the description of each batch crosses the wire.
+ * <p>
+ * At most {@link #BATCHES_IN_FLIGHT_PER_MEMBER} batches are outstanding for each
+ * {@link CoherenceClusterMember}, with each new batch sent to the {@link CoherenceClusterMember}
+ * with the fewest outstanding batches, so that the loader never holds more than a few batches
+ * in memory and slower members receive fewer batches.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public final class CoherenceDataLoader
+{
+    /**
+     * The maximum number of batches outstanding for each {@link CoherenceClusterMember}.
+     */
+    public static final int BATCHES_IN_FLIGHT_PER_MEMBER = 2;
+
+    /**
+     * The maximum number of entries of each batch that are serialized to estimate the size of the batch.
+     */
+    public static final int SIZE_SAMPLES_PER_BATCH = 16;
+
+
+    /**
+     * Private constructor for the {@link CoherenceDataLoader} utility class.
+     */
+    private CoherenceDataLoader()
+    {
+    }
+
+
+    /**
+     * Loads the entries of a {@link Stream} into the specified {@link NamedCache}.
+     *
+     * @param members    the {@link CoherenceClusterMember}s through which to load the entries
+     * @param cacheName  the name of the {@link NamedCache}
+     * @param entries    the {@link Stream} of entries to load
+     * @param options    the {@link Option}s for loading, including the {@link BatchSize}
+     *
+     * @return  the {@link Statistics} for the load
+     */
+    public static Statistics load(Iterable<? extends CoherenceClusterMember> members,
+                                  String                                     cacheName,
+                                  Stream<? extends Map.Entry<?, ?>>          entries,
+                                  Option...                                  options)
+    {
+        return load(members, cacheName, entries.iterator(), options);
+    }
+
+
+    /**
+     * Loads the entries provided by an {@link Iterator} into the specified {@link NamedCache}.
+     *
+     * @param members    the {@link CoherenceClusterMember}s through which to load the entries
+     * @param cacheName  the name of the {@link NamedCache}
+     * @param entries    the {@link Iterator} of entries to load
+     * @param options    the {@link Option}s for loading, including the {@link BatchSize}
+     *
+     * @return  the {@link Statistics} for the load
+     */
+    public static Statistics load(Iterable<? extends CoherenceClusterMember> members,
+                                  String                                     cacheName,
+                                  Iterator<? extends Map.Entry<?, ?>>        entries,
+                                  Option...                                  options)
+    {
+        int batchSize = OptionsByType.of(options).get(BatchSize.class).getSize();
+
+        return dispatch(members, new Iterator<RemoteCallable<BatchResult>>()
+                        {
+                            @Override
+                            public boolean hasNext()
+                            {
+                                return entries.hasNext();
+                            }
+
+                            @Override
+                            public RemoteCallable<BatchResult> next()
+                            {
+                                if (!entries.hasNext())
+                                {
+                                    throw new NoSuchElementException();
+                                }
+
+                                HashMap<Object, Object> batch = new HashMap<>();
+
+                                while (entries.hasNext() && batch.size() < batchSize)
+                                {
+                                    Map.Entry<?, ?> entry = entries.next();
+
+                                    batch.put(entry.getKey(), entry.getValue());
+                                }
+
+                                return new PutAll(cacheName, batch);
+                            }
+                        });
+    }
+
+
+    /**
+     * Loads entries into the specified {@link NamedCache} by generating them in the
+     * {@link CoherenceClusterMember}s using an {@link EntryGenerator}.
+     * <p>
+     * Each batch uses a {@link Random} seeded from the provided seed and the index of the first
+     * entry in the batch, so the generated data is reproducible for the same seed and {@link BatchSize}.
+     *
+     * @param members    the {@link CoherenceClusterMember}s in which to generate the entries
+     * @param cacheName  the name of the {@link NamedCache}
+     * @param generator  the {@link EntryGenerator}
+     * @param count      the number of entries to generate
+     * @param seed       the seed for generating entries
+     * @param options    the {@link Option}s for loading, including the {@link BatchSize}
+     *
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     *
+     * @return  the {@link Statistics} for the load
+     */
+    public static <K, V> Statistics generate(Iterable<? extends CoherenceClusterMember> members,
+                                             String                                     cacheName,
+                                             EntryGenerator<K, V>                       generator,
+                                             long                                       count,
+                                             long                                       seed,
+                                             Option...                                  options)
+    {
+        int batchSize = OptionsByType.of(options).get(BatchSize.class).getSize();
+
+        return dispatch(members, new Iterator<RemoteCallable<BatchResult>>()
+                        {
+                            private long next = 0;
+
+                            @Override
+                            public boolean hasNext()
+                            {
+                                return next < count;
+                            }
+
+                            @Override
+                            public RemoteCallable<BatchResult> next()
+                            {
+                                if (next >= count)
+                                {
+                                    throw new NoSuchElementException();
+                                }
+
+                                long from = next;
+
+                                next = Math.min(count, from + batchSize);
+
+                                return new Generate(cacheName, generator, seed, from, next);
+                            }
+                        });
+    }
+
+
+    /**
+     * Sends each of the batches to the {@link CoherenceClusterMember} with the fewest outstanding
+     * batches, waiting when all {@link CoherenceClusterMember}s have the maximum outstanding.
+     *
+     * @param members  the {@link CoherenceClusterMember}s
+     * @param batches  the {@link RemoteCallable}s that load each batch
+     *
+     * @return  the {@link Statistics} for the batches
+     */
+    private static Statistics dispatch(Iterable<? extends CoherenceClusterMember> members,
+                                       Iterator<RemoteCallable<BatchResult>>      batches)
+    {
+        List<CoherenceClusterMember> targets = new ArrayList<>();
+
+        members.forEach(targets::add);
+
+        if (targets.isEmpty())
+        {
+            throw new IllegalStateException("There are no CoherenceClusterMembers to load data into");
+        }
+
+        int                        permits    = targets.size() * BATCHES_IN_FLIGHT_PER_MEMBER;
+        Semaphore                  available  = new Semaphore(permits);
+        AtomicInteger[]            inFlight   = new AtomicInteger[targets.size()];
+        AtomicReference<Throwable> failure    = new AtomicReference<>();
+        Statistics                 statistics = new Statistics();
+
+        for (int i = 0; i < inFlight.length; i++)
+        {
+            inFlight[i] = new AtomicInteger();
+        }
+
+        long started = System.nanoTime();
+
+        try
+        {
+            while (failure.get() == null && batches.hasNext())
+            {
+                RemoteCallable<BatchResult> batch = batches.next();
+
+                available.acquire();
+
+                // choose the member with the fewest outstanding batches
+                int target = 0;
+
+                for (int i = 1; i < inFlight.length; i++)
+                {
+                    if (inFlight[i].get() < inFlight[target].get())
+                    {
+                        target = i;
+                    }
+                }
+
+                AtomicInteger outstanding = inFlight[target];
+
+                outstanding.incrementAndGet();
+
+                targets.get(target).submit(batch).whenComplete((result, throwable) -> {
+                                                                   if (throwable == null)
+                                                                   {
+                                                                       statistics.add(result);
+                                                                   }
+                                                                   else
+                                                                   {
+                                                                       failure.compareAndSet(null, throwable);
+                                                                   }
+
+                                                                   outstanding.decrementAndGet();
+                                                                   available.release();
+                                                               });
+            }
+
+            // wait for the outstanding batches to complete
+            available.acquire(permits);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new RuntimeException("Interrupted while loading data", e);
+        }
+
+        if (failure.get() != null)
+        {
+            throw new RuntimeException("Failed to load data", failure.get());
+        }
+
+        statistics.setElapsedNanos(System.nanoTime() - started);
+
+        return statistics;
+    }
+
+
+    /**
+     * Places a batch of entries into the named {@link NamedCache} of the executing
+     * {@link CoherenceClusterMember}.
+     *
+     * @param cache  the {@link NamedCache}
+     * @param batch  the entries
+     *
+     * @return  the {@link BatchResult}
+     */
+    private static BatchResult putAll(NamedCache              cache,
+                                      HashMap<Object, Object> batch)
+    {
+        // estimate the size of the entries as they'll be stored by serializing a sample of them
+        // (serializing every entry would double the serialization performed by loading)
+        Serializer serializer = cache.getCacheService().getSerializer();
+        long       bytes      = 0;
+        int        samples    = 0;
+
+        for (Iterator<Map.Entry<Object, Object>> entries = batch.entrySet().iterator();
+             entries.hasNext() && samples < SIZE_SAMPLES_PER_BATCH; samples++)
+        {
+            Map.Entry<Object, Object> entry = entries.next();
+
+            bytes += ExternalizableHelper.toBinary(entry.getKey(), serializer).length();
+            bytes += ExternalizableHelper.toBinary(entry.getValue(), serializer).length();
+        }
+
+        cache.putAll(batch);
+
+        return new BatchResult(batch.size(), samples == 0 ? 0 : bytes * batch.size() / samples);
+    }
+
+
+    /**
+     * Generates the entry at a specified index for a {@link CoherenceDataLoader}.
+     * <p>
+     * {@link EntryGenerator}s are executed in {@link CoherenceClusterMember}s and must
+     * therefore be {@link Serializable}.
+     *
+     * @param <K>  the type of the keys
+     * @param <V>  the type of the values
+     */
+    @FunctionalInterface
+    public interface EntryGenerator<K, V> extends Serializable
+    {
+        /**
+         * Generates the entry at the specified index.
+         *
+         * @param index   the index of the entry
+         * @param random  the {@link Random} for the batch containing the entry
+         *
+         * @return  the entry
+         */
+        Map.Entry<K, V> generate(long   index,
+                                 Random random);
+    }
+
+
+    /**
+     * The throughput statistics of a {@link CoherenceDataLoader}.
+     * <p>
+     * Bytes are estimated in the serialized form used by the {@link NamedCache}, by serializing
+     * at most {@link #SIZE_SAMPLES_PER_BATCH} entries of each batch.
+     */
+    public static class Statistics
+    {
+        /**
+         * The number of batches loaded.
+         */
+        private long batches;
+
+        /**
+         * The number of entries loaded.
+         */
+        private long entries;
+
+        /**
+         * The number of serialized bytes loaded.
+         */
+        private long bytes;
+
+        /**
+         * The time taken to load, in nanoseconds.
+         */
+        private long elapsedNanos;
+
+
+        /**
+         * Includes the {@link BatchResult} of a batch in the {@link Statistics}.
+         *
+         * @param result  the {@link BatchResult}
+         */
+        private synchronized void add(BatchResult result)
+        {
+            batches++;
+            entries += result.entries;
+            bytes   += result.bytes;
+        }
+
+
+        /**
+         * Sets the time taken to load.
+         *
+         * @param elapsedNanos  the time taken, in nanoseconds
+         */
+        private synchronized void setElapsedNanos(long elapsedNanos)
+        {
+            this.elapsedNanos = elapsedNanos;
+        }
+
+
+        /**
+         * Obtains the number of batches loaded.
+         *
+         * @return  the number of batches
+         */
+        public synchronized long getBatchCount()
+        {
+            return batches;
+        }
+
+
+        /**
+         * Obtains the number of entries loaded.
+         *
+         * @return  the number of entries
+         */
+        public synchronized long getEntryCount()
+        {
+            return entries;
+        }
+
+
+        /**
+         * Obtains the (estimated) number of serialized bytes loaded.
+         *
+         * @return  the number of bytes
+         */
+        public synchronized long getByteCount()
+        {
+            return bytes;
+        }
+
+
+        /**
+         * Obtains the time taken to load in the specified {@link TimeUnit}.
+         *
+         * @param units  the {@link TimeUnit}
+         *
+         * @return  the time taken
+         */
+        public synchronized long getElapsedTime(TimeUnit units)
+        {
+            return units.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+
+        /**
+         * Obtains the number of entries loaded per second.
+         *
+         * @return  the entries per second
+         */
+        public synchronized double getEntriesPerSecond()
+        {
+            return elapsedNanos == 0 ? 0 : entries * 1.0e9 / elapsedNanos;
+        }
+
+
+        /**
+         * Obtains the number of serialized bytes loaded per second.
+         *
+         * @return  the bytes per second
+         */
+        public synchronized double getBytesPerSecond()
+        {
+            return elapsedNanos == 0 ? 0 : bytes * 1.0e9 / elapsedNanos;
+        }
+
+
+        @Override
+        public synchronized String toString()
+        {
+            return String.format("Statistics{batches=%d, entries=%d, bytes=%d, elapsed=%dms, entries/s=%.1f, bytes/s=%.1f}",
+                                 batches,
+                                 entries,
+                                 bytes,
+                                 TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                                 getEntriesPerSecond(),
+                                 getBytesPerSecond());
+        }
+    }
+
+
+    /**
+     * The result of loading a batch in a {@link CoherenceClusterMember}.
+     */
+    static class BatchResult implements Serializable
+    {
+        /**
+         * The number of entries in the batch.
+         */
+        private final int entries;
+
+        /**
+         * The (estimated) number of serialized bytes in the batch.
+         */
+        private final long bytes;
+
+
+        /**
+         * Constructs a {@link BatchResult}.
+         *
+         * @param entries  the number of entries in the batch
+         * @param bytes    the (estimated) number of serialized bytes in the batch
+         */
+        BatchResult(int  entries,
+                    long bytes)
+        {
+            this.entries = entries;
+            this.bytes   = bytes;
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to place a batch of entries into a {@link NamedCache}.
+     */
+    static class PutAll implements RemoteCallable<BatchResult>
+    {
+        /**
+         * The name of the {@link NamedCache}.
+         */
+        private final String cacheName;
+
+        /**
+         * The entries to place.
+         */
+        private final HashMap<Object, Object> batch;
+
+
+        /**
+         * Constructs a {@link PutAll}.
+         *
+         * @param cacheName  the name of the {@link NamedCache}
+         * @param batch      the entries to place
+         */
+        PutAll(String                  cacheName,
+               HashMap<Object, Object> batch)
+        {
+            this.cacheName = cacheName;
+            this.batch     = batch;
+        }
+
+
+        @Override
+        public BatchResult call()
+        {
+            return putAll(CacheFactory.getCache(cacheName), batch);
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to generate a batch of entries and place them into a {@link NamedCache}.
+     */
+    static class Generate implements RemoteCallable<BatchResult>
+    {
+        /**
+         * The name of the {@link NamedCache}.
+         */
+        private final String cacheName;
+
+        /**
+         * The {@link EntryGenerator}.
+         */
+        private final EntryGenerator<?, ?> generator;
+
+        /**
+         * The seed for generating entries.
+         */
+        private final long seed;
+
+        /**
+         * The index of the first entry to generate (inclusive).
+         */
+        private final long from;
+
+        /**
+         * The index of the last entry to generate (exclusive).
+         */
+        private final long to;
+
+
+        /**
+         * Constructs a {@link Generate}.
+         *
+         * @param cacheName  the name of the {@link NamedCache}
+         * @param generator  the {@link EntryGenerator}
+         * @param seed       the seed for generating entries
+         * @param from       the index of the first entry to generate (inclusive)
+         * @param to         the index of the last entry to generate (exclusive)
+         */
+        Generate(String               cacheName,
+                 EntryGenerator<?, ?> generator,
+                 long                 seed,
+                 long                 from,
+                 long                 to)
+        {
+            this.cacheName = cacheName;
+            this.generator = generator;
+            this.seed      = seed;
+            this.from      = from;
+            this.to        = to;
+        }
+
+
+        @Override
+        public BatchResult call()
+        {
+            Random                  random = new Random(seed + from);
+            HashMap<Object, Object> batch  = new HashMap<>();
+
+            for (long index = from; index < to; index++)
+            {
+                Map.Entry<?, ?> entry = generator.generate(index, random);
+
+                batch.put(entry.getKey(), entry.getValue());
+            }
+
+            return putAll(CacheFactory.getCache(cacheName), batch);
+        }
+    }
+}
@@ -28,12 +28,18 @@ package com.oracle.bedrock.runtime.coherence;
 import com.oracle.bedrock.runtime.Assembly;
 import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
 import com.oracle.bedrock.runtime.concurrent.callable.RemoteCallableStaticMethod;
+import com.oracle.bedrock.runtime.concurrent.callable.RemoteCursor;
+import com.oracle.bedrock.runtime.concurrent.callable.RemoteHandleRegistry;
 import com.oracle.bedrock.runtime.concurrent.callable.RemoteMethodInvocation;
 import com.oracle.bedrock.util.ReflectionHelper;
 import com.tangosol.net.CacheService;
+import com.tangosol.net.DistributedCacheService;
 import com.tangosol.net.NamedCache;
+import com.tangosol.net.partition.PartitionSet;
 import com.tangosol.util.Filter;
 import com.tangosol.util.MapListener;
+import com.tangosol.util.filter.AlwaysFilter;
+import com.tangosol.util.filter.PartitionedFilter;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
@@ -44,10 +50,15 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * A {@link NamedCache} implementation that provides a local representation and
@@ -58,8 +69,19 @@ import java.util.concurrent.CompletableFuture;
  *
  * @author Brian Oliver
  */
-class CoherenceNamedCache<K, V> implements NamedCache<K, V>
+class CoherenceNamedCache<K, V> implements StreamingNamedCache<K, V>
 {
+    /**
+     * The {@link RemoteHandleRegistry.MethodTable} defining the method-ids of the {@link NamedCache} methods.
+     */
+    private static final RemoteHandleRegistry.MethodTable METHOD_TABLE =
+        RemoteHandleRegistry.MethodTable.of(NamedCache.class);
+
+    /**
+     * The {@link NamedCache} {@link Method}s resolved for method names and argument types.
+     */
+    private static final ConcurrentHashMap<String, Method> METHODS = new ConcurrentHashMap<>();
+
     /**
      * The {@link CoherenceClusterMember} that owns the {@link NamedCache}
      * that this {@link CoherenceNamedCache} represents.
@@ -99,6 +121,18 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
      */
     private RemoteMethodInvocation.Interceptor interceptor;
 
+    /**
+     * The key with which the {@link NamedCache} is registered in the {@link RemoteHandleRegistry}
+     * of each {@link CoherenceClusterMember} (shared by {@link CoherenceNamedCache}s for the same
+     * cache name and types, so that registration is idempotent).
+     */
+    private final String registrationKey;
+
+    /**
+     * The {@link RemoteHandleRegistry} handles of the {@link NamedCache}, by {@link CoherenceClusterMember}.
+     */
+    private final ConcurrentHashMap<CoherenceClusterMember, CompletableFuture<Long>> handles;
+
 
     /**
      * Constructs a {@link CoherenceNamedCache}.
@@ -142,6 +176,9 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
         this.producer    = producer;
         this.interceptor = new NamedCacheMethodInterceptor();
 
+        this.registrationKey = getRegistrationKey(cacheName, keyClass, valueClass);
+        this.handles         = new ConcurrentHashMap<>();
+
         // determine the CoherenceCluster that the CoherenceClusterMember is part of
         Assembly assembly = member.get(Assembly.class);
 
@@ -150,9 +187,124 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
     }
 
 
+    /**
+     * Obtains the key with which a {@link NamedCache} is registered in the {@link RemoteHandleRegistry}
+     * of a {@link CoherenceClusterMember}.
+     *
+     * @param cacheName   the name of the {@link NamedCache}
+     * @param keyClass    the type of the keys for the {@link NamedCache}
+     * @param valueClass  the type of the values for the {@link NamedCache}
+     *
+     * @return  the registration key
+     */
+    static String getRegistrationKey(String   cacheName,
+                                     Class<?> keyClass,
+                                     Class<?> valueClass)
+    {
+        return NamedCache.class.getName() + ":" + cacheName + "<" + keyClass.getName() + ","
+               + valueClass.getName() + ">";
+    }
+
+
+    /**
+     * Obtains the {@link Method} of the {@link NamedCache} interface compatible with the specified
+     * method name and arguments.
+     *
+     * @param methodName  the name of the method
+     * @param arguments   the arguments for the method
+     *
+     * @return  the {@link Method} or <code>null</code> if there's no compatible {@link Method}
+     */
+    private static Method getMethod(String    methodName,
+                                    Object... arguments)
+    {
+        StringBuilder signature = new StringBuilder(methodName);
+
+        for (Object argument : arguments)
+        {
+            signature.append(',').append(argument == null ? null : argument.getClass().getName());
+        }
+
+        String key    = signature.toString();
+        Method method = METHODS.get(key);
+
+        if (method == null)
+        {
+            method = ReflectionHelper.getCompatibleMethod(NamedCache.class, methodName, arguments);
+
+            if (method != null)
+            {
+                METHODS.put(key, method);
+            }
+        }
+
+        return method;
+    }
+
+
+    /**
+     * Obtains the {@link RemoteHandleRegistry} handle of the {@link NamedCache} in the specified
+     * {@link CoherenceClusterMember}, registering the {@link NamedCache} provided by the {@link #producer}
+     * when it hasn't been registered.
+     *
+     * @param member  the {@link CoherenceClusterMember}
+     *
+     * @return  a {@link CompletableFuture} for the handle
+     */
+    private CompletableFuture<Long> getHandle(CoherenceClusterMember member)
+    {
+        CompletableFuture<Long> handle = handles.computeIfAbsent(member, this::register);
+
+        if (handle.isCompletedExceptionally())
+        {
+            // forget failed registrations so that they may be retried
+            handles.remove(member, handle);
+        }
+
+        return handle;
+    }
+
+
+    /**
+     * Registers the {@link NamedCache} provided by the {@link #producer} in the {@link RemoteHandleRegistry}
+     * of the specified {@link CoherenceClusterMember}.
+     *
+     * @param member  the {@link CoherenceClusterMember}
+     *
+     * @return  a {@link CompletableFuture} for the handle
+     */
+    private CompletableFuture<Long> register(CoherenceClusterMember member)
+    {
+        return member.submit(new RemoteHandleRegistry.Registration(registrationKey,
+                                                                   producer,
+                                                                   NamedCache.class,
+                                                                   interceptor));
+    }
+
+
+    /**
+     * Releases the {@link RemoteHandleRegistry} handles of the {@link NamedCache}
+     * in the {@link CoherenceClusterMember}s.
+     */
+    private void releaseHandles()
+    {
+        handles.forEach((member, handle) -> handle.thenAccept(h -> {
+                                                                  if (member.isOperational())
+                                                                  {
+                                                                      member.submit(new RemoteHandleRegistry.Release(h));
+                                                                  }
+                                                              }));
+
+        handles.clear();
+    }
+
+
     /**
      * Invoke the specified method remotely in the {@link CoherenceClusterMember} on the
      * {@link NamedCache} provided by the {@link #producer}.
+     * <p>
+     * The {@link NamedCache} is resolved once in each {@link CoherenceClusterMember} and registered in its
+     * {@link RemoteHandleRegistry}, after which invocations only carry the handle, the method-id and the arguments.
      *
      * @param methodName  the name of the method
      * @param arguments   the arguments for the method
@@ -165,7 +317,7 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
                                    Object... arguments)
     {
         // notify the interceptor that we're about make a remote invocation
-        Method method = ReflectionHelper.getCompatibleMethod(NamedCache.class, methodName, arguments);
+        Method method = getMethod(methodName, arguments);
 
         if (method == null)
         {
@@ -177,6 +329,8 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
             interceptor.onBeforeRemoteInvocation(method, arguments);
         }
 
+        int methodId = METHOD_TABLE.getMethodId(method);
+
         int retryCount = 0;
 
         // we try the request until we've run out of operational cluster members
@@ -214,11 +368,10 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
 
             try
             {
-                // submit the remote method invocation
-                CompletableFuture future = member.submit(new RemoteMethodInvocation(producer,
-                                                                                    methodName,
-                                                                                    arguments,
-                                                                                    interceptor));
+                // submit the remote method invocation against the registered named cache
+                CompletableFuture future = member.submit(new RemoteHandleRegistry.Invocation(getHandle(member).get(),
+                                                                                             methodId,
+                                                                                             arguments));
 
                 // intercept the result after the remote invocation
                 return (T) interceptor.onAfterRemoteInvocation(method, arguments, future.get());
@@ -247,6 +400,155 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
     }
 
 
+    /**
+     * Obtains an operational {@link CoherenceClusterMember} with which to perform a request, choosing
+     * a different {@link CoherenceClusterMember} of the {@link CoherenceCluster} when the current
+     * {@link CoherenceClusterMember} is no longer operational.
+     *
+     * @param methodName  the name of the method to be requested
+     *
+     * @return  an operational {@link CoherenceClusterMember}
+     *
+     * @throws IllegalStateException  when there are no operational {@link CoherenceClusterMember}s
+     */
+    private CoherenceClusterMember getOperationalMember(String methodName)
+    {
+        if (!member.isOperational())
+        {
+            Optional<CoherenceClusterMember> optional = cluster.isPresent()
+                                                        ? cluster.get().findAny() : Optional.empty();
+
+            if (optional.isPresent())
+            {
+                this.member = optional.get();
+            }
+            else
+            {
+                throw new IllegalStateException("There are no available Cluster Members to perform the request ["
+                                                + methodName + "]");
+            }
+        }
+
+        return member;
+    }
+
+
+    /**
+     * Invoke the specified method remotely in the {@link CoherenceClusterMember} on the {@link NamedCache}
+     * provided by the {@link #producer}, returning the {@link Iterable} result as a lazy {@link Stream} that
+     * requests the result in pages of at most the specified size.
+     *
+     * @param methodName  the name of the method
+     * @param pageSize    the maximum number of items in a page
+     * @param arguments   the arguments for the method
+     *
+     * @return  a {@link Stream} of the items in the result
+     */
+    protected <T> Stream<T> remotelyStream(String    methodName,
+                                           int       pageSize,
+                                           Object... arguments)
+    {
+        Method method = getMethod(methodName, arguments);
+
+        if (method == null)
+        {
+            throw new UnsupportedOperationException("Unable to locate method [" + methodName + "] with arguments ["
+                                                    + Arrays.toString(arguments) + "] on NamedCache interface");
+        }
+
+        interceptor.onBeforeRemoteInvocation(method, arguments);
+
+        int                    methodId = METHOD_TABLE.getMethodId(method);
+        CoherenceClusterMember target   = getOperationalMember(methodName);
+
+        RemoteCursor<T> cursor = new RemoteCursor<>(target,
+                                                    getHandle(target)
+                                                    .thenCompose(handle -> target
+                                                        .submit(new RemoteHandleRegistry.OpenCursor(handle,
+                                                                                                    methodId,
+                                                                                                    arguments,
+                                                                                                    pageSize))),
+                                                    pageSize);
+
+        return cursor.stream();
+    }
+
+
+    /**
+     * Asynchronously invoke the specified method remotely in the {@link CoherenceClusterMember} on the
+     * {@link NamedCache} provided by the {@link #producer}, without waiting for the result.
+     * <p>
+     * Unlike {@link #remotelyInvoke(String, Object...)}, failed submissions aren't retried using other
+     * {@link CoherenceClusterMember}s, however a different {@link CoherenceClusterMember} is chosen when
+     * the current one is no longer operational.
+     *
+     * @param methodName  the name of the method
+     * @param arguments   the arguments for the method
+     *
+     * @return a {@link CompletableFuture} for the result of the remote method execution
+     */
+    protected <T> CompletableFuture<T> remotelyInvokeAsync(String    methodName,
+                                                           Object... arguments)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Method               method = getMethod(methodName, arguments);
+
+        if (method == null)
+        {
+            result.completeExceptionally(new UnsupportedOperationException("Unable to locate method [" + methodName
+                                                                           + "] with arguments ["
+                                                                           + Arrays.toString(arguments)
+                                                                           + "] on NamedCache interface"));
+
+            return result;
+        }
+
+        try
+        {
+            interceptor.onBeforeRemoteInvocation(method, arguments);
+
+            int                    methodId = METHOD_TABLE.getMethodId(method);
+            CoherenceClusterMember target   = getOperationalMember(methodName);
+
+            getHandle(target).thenCompose(handle -> target.submit(new RemoteHandleRegistry.Invocation(handle,
+                                                                                                      methodId,
+                                                                                                      arguments)))
+            .whenComplete((value, throwable) -> {
+                              if (throwable == null)
+                              {
+                                  try
+                                  {
+                                      // intercept the result after the remote invocation
+                                      result.complete((T) interceptor.onAfterRemoteInvocation(method,
+                                                                                              arguments,
+                                                                                              value));
+                                  }
+                                  catch (RuntimeException e)
+                                  {
+                                      result.completeExceptionally(e);
+                                  }
+                              }
+                              else
+                              {
+                                  Throwable cause = throwable instanceof CompletionException
+                                                    && throwable.getCause() != null ? throwable.getCause() : throwable;
+
+                                  result.completeExceptionally(cause instanceof Exception
+                                                               ? interceptor.onRemoteInvocationException(method,
+                                                                                                         arguments,
+                                                                                                         (Exception) cause) : cause);
+                              }
+                          });
+        }
+        catch (RuntimeException e)
+        {
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+
     @Override
     public String getCacheName()
     {
@@ -272,6 +574,7 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
     public void release()
     {
         remotelyInvoke("release");
+        releaseHandles();
     }
 
 
@@ -279,6 +582,7 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
     public void destroy()
     {
         remotelyInvoke("destroy");
+        releaseHandles();
     }
 
 
@@ -538,10 +842,56 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
     }
 
 
+    @Override
+    public Stream<K> keyStream(int pageSize)
+    {
+        return remotelyStream("keySet", pageSize);
+    }
+
+
+    @Override
+    public Stream<K> keyStream(Filter filter,
+                               int    pageSize)
+    {
+        return remotelyStream("keySet", pageSize, filter);
+    }
+
+
+    @Override
+    public Stream<Map.Entry<K, V>> entryStream(int pageSize)
+    {
+        return remotelyStream("entrySet", pageSize);
+    }
+
+
+    @Override
+    public Stream<Map.Entry<K, V>> entryStream(Filter filter,
+                                               int    pageSize)
+    {
+        return remotelyStream("entrySet", pageSize, filter);
+    }
+
+
+    @Override
+    public Stream<V> valueStream(int pageSize)
+    {
+        return remotelyStream("values", pageSize);
+    }
+
+
     /**
      * A Coherence specific {@link RemoteMethodInvocation.Interceptor} for {@link NamedCache} methods.
+     * <p>
+     * As a {@link RemoteHandleRegistry.CursorSource}, the keys, entries and values of a partitioned
+     * {@link NamedCache} are streamed by querying one partition at a time, so that the entire result
+     * isn't produced by the {@link CoherenceClusterMember} before it is streamed.
+     * <p>
+     * As a {@link RemoteHandleRegistry.InstanceValidator}, a registered {@link NamedCache} that has been released
+     * or destroyed is obtained again before it is invoked.
      */
-    public static class NamedCacheMethodInterceptor implements RemoteMethodInvocation.Interceptor
+    public static class NamedCacheMethodInterceptor implements RemoteMethodInvocation.Interceptor,
+                                                               RemoteHandleRegistry.CursorSource,
+                                                               RemoteHandleRegistry.InstanceValidator
     {
         @Override
         public void onBeforeRemoteInvocation(Method   method,
@@ -644,5 +994,74 @@ class CoherenceNamedCache<K, V> implements NamedCache<K, V>
         {
             return exception;
         }
+
+
+        @Override
+        public Iterator<?> iterate(Object   instance,
+                                   Method   method,
+                                   Object[] arguments)
+        {
+            String     name  = method.getName();
+            NamedCache cache = (NamedCache) instance;
+
+            if (!(name.equals("keySet") || name.equals("entrySet") || name.equals("values"))
+                || arguments.length > 1
+                || !(cache.getCacheService() instanceof DistributedCacheService))
+            {
+                // invoke the method for results that can't be queried by partition
+                return null;
+            }
+
+            Filter filter         = arguments.length == 0 ? AlwaysFilter.INSTANCE : (Filter) arguments[0];
+            int    partitionCount = ((DistributedCacheService) cache.getCacheService()).getPartitionCount();
+
+            // query one partition at a time, only when the previous partition has been iterated
+            return IntStream.range(0, partitionCount).boxed()
+                   .flatMap(partition -> query(cache, name, filter, partitionCount, partition)).iterator();
+        }
+
+
+        @Override
+        public boolean isValid(Object instance)
+        {
+            return ((NamedCache) instance).isActive();
+        }
+
+
+        /**
+         * Queries a single partition of a {@link NamedCache} for the keys, entries or values
+         * satisfying a {@link Filter}.
+         *
+         * @param cache           the {@link NamedCache}
+         * @param name            the name of the method being streamed (keySet, entrySet or values)
+         * @param filter          the {@link Filter}
+         * @param partitionCount  the number of partitions of the {@link NamedCache}
+         * @param partition       the partition to query
+         *
+         * @return  a {@link Stream} of the result
+         */
+        private Stream<?> query(NamedCache cache,
+                                String     name,
+                                Filter     filter,
+                                int        partitionCount,
+                                int        partition)
+        {
+            PartitionSet partitions = new PartitionSet(partitionCount);
+
+            partitions.add(partition);
+
+            Filter query = new PartitionedFilter(filter, partitions);
+
+            if (name.equals("keySet"))
+            {
+                return cache.keySet(query).stream();
+            }
+            else
+            {
+                Set<Map.Entry> entries = cache.entrySet(query);
+
+                return name.equals("entrySet") ? entries.stream() : entries.stream().map(Map.Entry::getValue);
+            }
+        }
     }
 }
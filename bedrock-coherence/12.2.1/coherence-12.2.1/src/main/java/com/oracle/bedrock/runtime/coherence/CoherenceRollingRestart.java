@@ -0,0 +1,455 @@
+/*
+ * File: CoherenceRollingRestart.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+package com.oracle.bedrock.runtime.coherence;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.deferred.DeferredPredicate;
+import com.oracle.bedrock.lang.ThreadFactories;
+import com.oracle.bedrock.options.Timeout;
+import com.oracle.bedrock.runtime.options.StabilityPredicate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static com.oracle.bedrock.deferred.DeferredHelper.ensure;
+
+/**
+ * Performs a partition-safe rolling restart of {@link CoherenceClusterMember}s in a
+ * {@link CoherenceCluster}, restarting as many {@link CoherenceClusterMember}s at once
+ * as the current backup strength (StatusHA) and configured backup count of the
+ * auto-start partitioned services safely allow, as reported by the
+ * {@link CoherenceCluster#getHealth() health} of the {@link CoherenceCluster}.
+ * <p>
+ * Before each batch of restarts the {@link CoherenceCluster} is required to be stable,
+ * according to the {@link StabilityPredicate} provided as an {@link Option}, or
+ * {@link CoherenceCluster.Predicates#autoStartServicesSafe()} by default.  The size of
+ * each batch is then determined as follows:
+ * <ul>
+ *     <li>when the services are machine-safe (or better), the {@link CoherenceClusterMember}s
+ *         of up to backup count machines are restarted together,</li>
+ *     <li>when the services are node-safe, up to backup count {@link CoherenceClusterMember}s
+ *         are restarted together,</li>
+ *     <li>otherwise {@link CoherenceClusterMember}s are restarted one at a time.</li>
+ * </ul>
+ * At least one {@link CoherenceClusterMember} of the {@link CoherenceCluster} is always left running.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public final class CoherenceRollingRestart
+{
+    /**
+     * Private constructor for the {@link CoherenceRollingRestart} utility class.
+     */
+    private CoherenceRollingRestart()
+    {
+    }
+
+
+    /**
+     * Performs a rolling restart of the specified {@link CoherenceClusterMember}s.
+     *
+     * @param cluster  the {@link CoherenceCluster}
+     * @param members  the {@link CoherenceClusterMember}s to restart
+     * @param options  the {@link Option}s for restarting
+     *
+     * @return  the {@link Result} of the rolling restart
+     */
+    @SuppressWarnings("unchecked")
+    static Result perform(CoherenceCluster                             cluster,
+                          Collection<? extends CoherenceClusterMember> members,
+                          Option...                                    options)
+    {
+        OptionsByType                        optionsByType = OptionsByType.of(options);
+        Timeout                              timeout       = optionsByType.get(Timeout.class);
+        StabilityPredicate<CoherenceCluster> stability     = optionsByType.getOrDefault(StabilityPredicate.class,
+                                                                                        null);
+
+        // stability is established once per batch, not for each member restarted in a batch
+        optionsByType.remove(StabilityPredicate.class);
+
+        Predicate<CoherenceCluster>   stable          = stability == null
+                                                        ? CoherenceCluster.Predicates.autoStartServicesSafe()
+                                                        : stability.get();
+        Option[]                      relaunchOptions = optionsByType.asArray();
+        Deque<CoherenceClusterMember> remaining       = new ArrayDeque<>(members);
+        List<MemberRestart>           restarts        = new ArrayList<>();
+        ExecutorService               executor        =
+            Executors.newCachedThreadPool(ThreadFactories.usingDaemonThreads(true));
+
+        long started = System.nanoTime();
+        int  batches = 0;
+
+        try
+        {
+            while (!remaining.isEmpty())
+            {
+                ensure(new DeferredPredicate<>(cluster, stable), timeout);
+
+                List<CoherenceClusterMember> batch   = nextBatch(cluster, remaining);
+                int                          index   = batches++;
+                List<Future<MemberRestart>>  futures = new ArrayList<>();
+
+                for (CoherenceClusterMember member : batch)
+                {
+                    futures.add(executor.submit(() -> {
+                                                    long start = System.nanoTime();
+
+                                                    CoherenceClusterMember restarted =
+                                                        cluster.relaunchMember(member, relaunchOptions);
+
+                                                    return restarted == null
+                                                           ? null
+                                                           : new MemberRestart(member.getName(),
+                                                                               index,
+                                                                               System.nanoTime() - start);
+                                                }));
+                }
+
+                for (Future<MemberRestart> future : futures)
+                {
+                    MemberRestart restart = future.get();
+
+                    if (restart != null)
+                    {
+                        restarts.add(restart);
+                    }
+                }
+            }
+
+            ensure(new DeferredPredicate<>(cluster, stable), timeout);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new RuntimeException("Interrupted while performing a rolling restart", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new RuntimeException("Failed to perform a rolling restart", e.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        return new Result(restarts, batches, System.nanoTime() - started);
+    }
+
+
+    /**
+     * Removes and returns the next batch of {@link CoherenceClusterMember}s that may be safely
+     * restarted together.
+     *
+     * @param cluster    the {@link CoherenceCluster}
+     * @param remaining  the {@link CoherenceClusterMember}s remaining to be restarted
+     *
+     * @return  the next batch of {@link CoherenceClusterMember}s
+     */
+    private static List<CoherenceClusterMember> nextBatch(CoherenceCluster              cluster,
+                                                          Deque<CoherenceClusterMember> remaining)
+    {
+        // determine the weakest status and smallest backup count of the partitioned services
+        CoherenceClusterHealth health      = cluster.getHealth();
+        int                    strength    = Integer.MAX_VALUE;
+        int                    backupCount = Integer.MAX_VALUE;
+        int                    size        = (int) cluster.count();
+
+        for (ClusterHealthSnapshot snapshot : health.getSnapshots().values())
+        {
+            for (ClusterHealthSnapshot.ServiceHealth service : snapshot.getServices().values())
+            {
+                if (service.isAutoStart() && service.getBackupCount() != null)
+                {
+                    backupCount = Math.min(backupCount, service.getBackupCount());
+                    strength    = Math.min(strength, strengthOf(service.getStatus()));
+                }
+            }
+        }
+
+        // always leave at least one member running
+        int limit = Math.max(1, size - 1);
+
+        List<CoherenceClusterMember> batch = new ArrayList<>();
+
+        if (strength >= strengthOf(ServiceStatus.MACHINE_SAFE) && backupCount > 0)
+        {
+            // restart the members of up to backup count machines together
+            Map<String, List<CoherenceClusterMember>> machines = new LinkedHashMap<>();
+
+            for (CoherenceClusterMember member : remaining)
+            {
+                ClusterHealthSnapshot snapshot    = health.getSnapshot(member.getName());
+                String                machineName = snapshot == null ? null : snapshot.getMachineName();
+
+                machines.computeIfAbsent(Objects.toString(machineName, ""), name -> new ArrayList<>()).add(member);
+            }
+
+            Iterator<List<CoherenceClusterMember>> groups = machines.values().iterator();
+
+            for (int count = 0; count < backupCount && groups.hasNext(); count++)
+            {
+                List<CoherenceClusterMember> group = groups.next();
+
+                if (!batch.isEmpty() && batch.size() + group.size() > limit)
+                {
+                    break;
+                }
+
+                batch.addAll(group.subList(0, Math.min(group.size(), limit - batch.size())));
+            }
+        }
+        else
+        {
+            // restart up to backup count members together when node-safe, otherwise one at a time
+            int count = strength >= strengthOf(ServiceStatus.NODE_SAFE) ? Math.min(backupCount, limit) : 1;
+
+            for (Iterator<CoherenceClusterMember> iterator = remaining.iterator();
+                iterator.hasNext() && batch.size() < count; )
+            {
+                batch.add(iterator.next());
+            }
+        }
+
+        remaining.removeAll(batch);
+
+        return batch;
+    }
+
+
+    /**
+     * Determines the strength of a {@link ServiceStatus}, where a greater strength permits more
+     * members to be safely restarted together.
+     *
+     * @param status  the {@link ServiceStatus}
+     *
+     * @return  the strength
+     */
+    private static int strengthOf(ServiceStatus status)
+    {
+        if (status == null)
+        {
+            return 0;
+        }
+
+        switch (status)
+        {
+        case NODE_SAFE :
+            return 1;
+
+        case MACHINE_SAFE :
+            return 2;
+
+        case RACK_SAFE :
+            return 3;
+
+        case SITE_SAFE :
+            return 4;
+
+        default :
+            return 0;
+        }
+    }
+
+
+    /**
+     * The timing of the restart of a {@link CoherenceClusterMember}.
+     */
+    public static class MemberRestart
+    {
+        /**
+         * The name of the {@link CoherenceClusterMember}.
+         */
+        private final String name;
+
+        /**
+         * The index of the batch in which the {@link CoherenceClusterMember} was restarted.
+         */
+        private final int batch;
+
+        /**
+         * The time taken to close, relaunch and rejoin the {@link CoherenceClusterMember}, in nanoseconds.
+         */
+        private final long elapsedNanos;
+
+
+        /**
+         * Constructs a {@link MemberRestart}.
+         *
+         * @param name          the name of the {@link CoherenceClusterMember}
+         * @param batch         the index of the batch
+         * @param elapsedNanos  the time taken, in nanoseconds
+         */
+        MemberRestart(String name,
+                      int    batch,
+                      long   elapsedNanos)
+        {
+            this.name         = name;
+            this.batch        = batch;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+
+        /**
+         * Obtains the name of the {@link CoherenceClusterMember}.
+         *
+         * @return  the name
+         */
+        public String getName()
+        {
+            return name;
+        }
+
+
+        /**
+         * Obtains the index of the batch in which the {@link CoherenceClusterMember} was restarted.
+         *
+         * @return  the index of the batch
+         */
+        public int getBatch()
+        {
+            return batch;
+        }
+
+
+        /**
+         * Obtains the time taken to close, relaunch and rejoin the {@link CoherenceClusterMember}.
+         *
+         * @param units  the {@link TimeUnit}
+         *
+         * @return  the time taken
+         */
+        public long getElapsedTime(TimeUnit units)
+        {
+            return units.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+
+        @Override
+        public String toString()
+        {
+            return "MemberRestart{name=" + name + ", batch=" + batch + ", elapsed="
+                   + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + "ms}";
+        }
+    }
+
+
+    /**
+     * The result of a rolling restart.
+     */
+    public static class Result
+    {
+        /**
+         * The {@link MemberRestart}s, in the order they completed within each batch.
+         */
+        private final List<MemberRestart> restarts;
+
+        /**
+         * The number of batches.
+         */
+        private final int batches;
+
+        /**
+         * The time taken for the rolling restart, in nanoseconds.
+         */
+        private final long elapsedNanos;
+
+
+        /**
+         * Constructs a {@link Result}.
+         *
+         * @param restarts      the {@link MemberRestart}s
+         * @param batches       the number of batches
+         * @param elapsedNanos  the time taken, in nanoseconds
+         */
+        Result(List<MemberRestart> restarts,
+               int                 batches,
+               long                elapsedNanos)
+        {
+            this.restarts     = Collections.unmodifiableList(restarts);
+            this.batches      = batches;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+
+        /**
+         * Obtains the {@link MemberRestart}s of the restarted {@link CoherenceClusterMember}s.
+         *
+         * @return  the {@link MemberRestart}s
+         */
+        public List<MemberRestart> getMemberRestarts()
+        {
+            return restarts;
+        }
+
+
+        /**
+         * Obtains the number of batches in which {@link CoherenceClusterMember}s were restarted.
+         *
+         * @return  the number of batches
+         */
+        public int getBatchCount()
+        {
+            return batches;
+        }
+
+
+        /**
+         * Obtains the time taken for the rolling restart.
+         *
+         * @param units  the {@link TimeUnit}
+         *
+         * @return  the time taken
+         */
+        public long getElapsedTime(TimeUnit units)
+        {
+            return units.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+
+        @Override
+        public String toString()
+        {
+            return "Result{batches=" + batches + ", elapsed=" + TimeUnit.NANOSECONDS.toMillis(elapsedNanos)
+                   + "ms, restarts=" + restarts + '}';
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * File: StreamingNamedCache.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.coherence;
+
+import com.tangosol.net.NamedCache;
+import com.tangosol.util.Filter;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A {@link NamedCache} proxy for a {@link NamedCache} defined in a {@link CoherenceClusterMember}, that
+ * additionally provides the keys, entries and values of the {@link NamedCache} as lazy {@link Stream}s.
+ * <p>
+ * Unlike {@link #keySet()}, {@link #entrySet()} and {@link #values()}, that transfer the entire result in a
+ * single response, the {@link Stream}s request the result in pages of a bounded size, one page ahead of the
+ * page being consumed.  This allows processing the contents of very large {@link NamedCache}s without holding
+ * them entirely in memory.  {@link Stream}s that aren't consumed to the end should be closed (for example
+ * using try-with-resources) to release the remote resources they use.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @param <K>  the type of the keys
+ * @param <V>  the type of the values
+ */
+public interface StreamingNamedCache<K, V> extends NamedCache<K, V>
+{
+    /**
+     * The default maximum number of items in a page.
+     */
+    int DEFAULT_PAGE_SIZE = 1000;
+
+
+    /**
+     * Obtains a lazy {@link Stream} of the keys of the {@link NamedCache}, using the {@link #DEFAULT_PAGE_SIZE}.
+     *
+     * @return  a {@link Stream} of keys
+     */
+    default Stream<K> keyStream()
+    {
+        return keyStream(DEFAULT_PAGE_SIZE);
+    }
+
+
+    /**
+     * Obtains a lazy {@link Stream} of the keys of the {@link NamedCache}.
+     *
+     * @param pageSize  the maximum number of keys in a page
+     *
+     * @return  a {@link Stream} of keys
+     */
+    Stream<K> keyStream(int pageSize);
+
+
+    /**
+     * Obtains a lazy {@link Stream} of the keys of the entries in the {@link NamedCache} satisfying
+     * a {@link Filter}.
+     *
+     * @param filter    the {@link Filter}
+     * @param pageSize  the maximum number of keys in a page
+     *
+     * @return  a {@link Stream} of keys
+     */
+    Stream<K> keyStream(Filter filter,
+                        int    pageSize);
+
+
+    /**
+     * Obtains a lazy {@link Stream} of the entries of the {@link NamedCache}, using the {@link #DEFAULT_PAGE_SIZE}.
+     *
+     * @return  a {@link Stream} of entries
+     */
+    default Stream<Map.Entry<K, V>> entryStream()
+    {
+        return entryStream(DEFAULT_PAGE_SIZE);
+    }
+
+
+    /**
+     * Obtains a lazy {@link Stream} of the entries of the {@link NamedCache}.
+     *
+     * @param pageSize  the maximum number of entries in a page
+     *
+     * @return  a {@link Stream} of entries
+     */
+    Stream<Map.Entry<K, V>> entryStream(int pageSize);
+
+
+    /**
+     * Obtains a lazy {@link Stream} of the entries in the {@link NamedCache} satisfying a {@link Filter}.
+     *
+     * @param filter    the {@link Filter}
+     * @param pageSize  the maximum number of entries in a page
+     *
+     * @return  a {@link Stream} of entries
+     */
+    Stream<Map.Entry<K, V>> entryStream(Filter filter,
+                                        int    pageSize);
+
+
+    /**
+     * Obtains a lazy {@link Stream} of the values of the {@link NamedCache}, using the {@link #DEFAULT_PAGE_SIZE}.
+     *
+     * @return  a {@link Stream} of values
+     */
+    default Stream<V> valueStream()
+    {
+        return valueStream(DEFAULT_PAGE_SIZE);
+    }
+
+
+    /**
+     * Obtains a lazy {@link Stream} of the values of the {@link NamedCache}.
+     *
+     * @param pageSize  the maximum number of values in a page
+     *
+     * @return  a {@link Stream} of values
+     */
+    Stream<V> valueStream(int pageSize);
+}
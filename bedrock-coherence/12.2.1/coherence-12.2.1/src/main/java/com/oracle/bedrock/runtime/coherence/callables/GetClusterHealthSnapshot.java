@@ -0,0 +1,162 @@
+/*
+ * File: GetClusterHealthSnapshot.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+package com.oracle.bedrock.runtime.coherence.callables;
+
+import com.oracle.bedrock.runtime.coherence.ClusterHealthSnapshot;
+import com.oracle.bedrock.runtime.coherence.ServiceStatus;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.util.Trilean;
+import com.tangosol.net.CacheFactory;
+import com.tangosol.net.Member;
+import com.tangosol.util.UID;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A {@link RemoteCallable} to remotely capture a {@link ClusterHealthSnapshot} in a single pass,
+ * combining the cluster membership, local member details, the auto-start services and the
+ * status, storage, backup count and MBean statistics of each service.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class GetClusterHealthSnapshot implements RemoteCallable<ClusterHealthSnapshot>
+{
+    /**
+     * The attributes of the Coherence Service MBean included in a {@link ClusterHealthSnapshot}.
+     */
+    public static final String[] SERVICE_ATTRIBUTES = {"StatusHA", "PartitionsEndangered", "PartitionsVulnerable",
+                                                       "PartitionsUnbalanced", "TaskBacklog", "RequestPendingCount",
+                                                       "RequestAverageDuration", "ThreadCount", "ThreadIdleCount"};
+
+
+    @Override
+    public ClusterHealthSnapshot call() throws Exception
+    {
+        // attempt to get the cluster
+        com.tangosol.net.Cluster cluster = CacheFactory.getCluster();
+
+        if (cluster == null)
+        {
+            return null;
+        }
+
+        Member       localMember = cluster.getLocalMember();
+        TreeSet<UID> memberUIDs  = new TreeSet<>();
+
+        for (Object member : cluster.getMemberSet())
+        {
+            memberUIDs.add(((Member) member).getUid());
+        }
+
+        // include the auto-start services and those that are running
+        Set<String>     autoStartServiceNames = new GetAutoStartServiceNames().call();
+        TreeSet<String> serviceNames          = new TreeSet<>(autoStartServiceNames);
+
+        for (Enumeration<?> names = cluster.getServiceNames(); names.hasMoreElements(); )
+        {
+            serviceNames.add((String) names.nextElement());
+        }
+
+        TreeMap<String, ClusterHealthSnapshot.ServiceHealth> services = new TreeMap<>();
+
+        for (String serviceName : serviceNames)
+        {
+            ServiceStatus status         = new GetServiceStatus(serviceName).call();
+            Trilean       storageEnabled = new IsServiceStorageEnabled(serviceName).call();
+            Integer       backupCount    = new GetServiceBackupCount(serviceName).call();
+
+            services.put(serviceName,
+                         new ClusterHealthSnapshot.ServiceHealth(serviceName,
+                                                                 autoStartServiceNames.contains(serviceName),
+                                                                 status,
+                                                                 storageEnabled,
+                                                                 backupCount,
+                                                                 getStatistics(serviceName, localMember.getId())));
+        }
+
+        return new ClusterHealthSnapshot(localMember.getUid(),
+                                         localMember.getId(),
+                                         localMember.getRoleName(),
+                                         localMember.getMachineName(),
+                                         localMember.getSiteName(),
+                                         memberUIDs,
+                                         services);
+    }
+
+
+    /**
+     * Obtains the serializable {@link #SERVICE_ATTRIBUTES} of the Coherence Service MBean for
+     * the specified service and member, in a single request to the platform {@link MBeanServer}.
+     *
+     * @param serviceName  the name of the service
+     * @param memberId     the id of the member
+     *
+     * @return  the attributes by name (empty when the MBean isn't registered)
+     */
+    private TreeMap<String, Object> getStatistics(String serviceName,
+                                                  int    memberId)
+    {
+        TreeMap<String, Object> statistics = new TreeMap<>();
+
+        try
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName  name   = new ObjectName("Coherence:type=Service,name=" + serviceName + ",nodeId=" + memberId);
+
+            if (!server.isRegistered(name))
+            {
+                // service names containing special characters are quoted
+                name = new ObjectName("Coherence:type=Service,name=" + ObjectName.quote(serviceName) + ",nodeId="
+                                      + memberId);
+            }
+
+            if (server.isRegistered(name))
+            {
+                for (Attribute attribute : server.getAttributes(name, SERVICE_ATTRIBUTES).asList())
+                {
+                    if (attribute.getValue() instanceof Serializable)
+                    {
+                        statistics.put(attribute.getName(), attribute.getValue());
+                    }
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            // management is unavailable so there are no statistics
+        }
+
+        return statistics;
+    }
+}
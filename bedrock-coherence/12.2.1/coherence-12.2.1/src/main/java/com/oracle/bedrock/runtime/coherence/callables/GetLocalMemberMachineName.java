@@ -0,0 +1,47 @@
+/*
+ * File: GetLocalMemberMachineName.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+package com.oracle.bedrock.runtime.coherence.callables;
+
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.tangosol.net.CacheFactory;
+
+/**
+ * A {@link RemoteCallable} to remotely determine the Coherence Cluster Local Member Machine Name.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class GetLocalMemberMachineName implements RemoteCallable<String>
+{
+    @Override
+    public String call() throws Exception
+    {
+        // attempt to get the cluster
+        com.tangosol.net.Cluster cluster = CacheFactory.getCluster();
+
+        // when there's no cluster there's no result
+        return cluster == null ? null : cluster.getLocalMember().getMachineName();
+    }
+}
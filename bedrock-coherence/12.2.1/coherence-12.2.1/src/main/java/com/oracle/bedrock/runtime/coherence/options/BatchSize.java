@@ -0,0 +1,132 @@
+/*
+ * File: BatchSize.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+package com.oracle.bedrock.runtime.coherence.options;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.runtime.coherence.CoherenceDataLoader;
+
+/**
+ * An {@link Option} to specify the number of entries a {@link CoherenceDataLoader}
+ * places in each batch sent to a {@link com.oracle.bedrock.runtime.coherence.CoherenceClusterMember}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class BatchSize implements Option
+{
+    /**
+     * The default number of entries in a batch.
+     */
+    public static final int DEFAULT_SIZE = 1000;
+
+    /**
+     * The number of entries in a batch.
+     */
+    private final int size;
+
+
+    /**
+     * Constructs a {@link BatchSize}.
+     *
+     * @param size  the number of entries in a batch
+     */
+    private BatchSize(int size)
+    {
+        if (size <= 0)
+        {
+            throw new IllegalArgumentException("The BatchSize must be greater than zero");
+        }
+
+        this.size = size;
+    }
+
+
+    /**
+     * Obtains the number of entries in a batch.
+     *
+     * @return  the number of entries in a batch
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Obtains a {@link BatchSize} for the specified number of entries.
+     *
+     * @param size  the number of entries in a batch
+     *
+     * @return a {@link BatchSize}
+     */
+    public static BatchSize of(int size)
+    {
+        return new BatchSize(size);
+    }
+
+
+    /**
+     * Obtains the default {@link BatchSize}.
+     *
+     * @return the default {@link BatchSize}
+     */
+    @OptionsByType.Default
+    public static BatchSize autoDetect()
+    {
+        return new BatchSize(DEFAULT_SIZE);
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "BatchSize{" + size + '}';
+    }
+
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (!(o instanceof BatchSize))
+        {
+            return false;
+        }
+
+        return size == ((BatchSize) o).size;
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return size;
+    }
+}
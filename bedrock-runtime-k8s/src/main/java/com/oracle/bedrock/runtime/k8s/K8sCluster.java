@@ -40,10 +40,16 @@ import com.oracle.bedrock.runtime.options.Console;
 import com.oracle.bedrock.runtime.options.DisplayName;
 import com.oracle.bedrock.runtime.options.Executable;
 
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
 import java.io.Closeable;
 import java.io.File;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -83,6 +89,12 @@ public class K8sCluster<K extends K8sCluster>
      */
     public static final String DEFAULT_NAMESPACE = "default";
 
+    /**
+     * The labels used to identify a master node.
+     */
+    private static final String[] MASTER_NODE_LABELS = {"node-role.kubernetes.io/master",
+                                                        "node-role.kubernetes.io/control-plane"};
+
     /**
      * The kubectl executable.
      */
@@ -102,7 +114,24 @@ public class K8sCluster<K extends K8sCluster>
      * Flag to use with the kubectl --insecure-skip-tls-verify option
      */
     private boolean kubectlInsecure = false;
-    
+
+    /**
+     * Flag indicating whether node and pod state should be obtained from
+     * watch based {@link K8sResourceCache}s rather than launching kubectl
+     * for each request.
+     */
+    private boolean resourceCacheEnabled = false;
+
+    /**
+     * The {@link K8sResourceCache} of nodes (lazily created).
+     */
+    private K8sResourceCache nodeCache;
+
+    /**
+     * The {@link K8sResourceCache} of pods (lazily created).
+     */
+    private K8sResourceCache podCache;
+
     /**
      * Create a {@link K8sCluster}.
      */
@@ -210,6 +239,68 @@ public class K8sCluster<K extends K8sCluster>
         return kubectlInsecure;
     }
 
+    /**
+     * Set whether node and pod state should be obtained from watch based
+     * {@link K8sResourceCache}s.
+     * <p>
+     * When enabled a single {@code kubectl get --watch} process is run for each
+     * of nodes and pods, and methods such as {@link #isMasterReady()},
+     * {@link #getPod(String, String)} and {@link Pod#isReady()} are evaluated
+     * in-memory, instead of launching a kubectl process for each call.
+     *
+     * @param enabled  {@code true} to use watch based resource caches
+     *
+     * @return  this {@link K8sCluster}
+     */
+    @SuppressWarnings("unchecked")
+    public K withResourceCache(boolean enabled)
+    {
+        this.resourceCacheEnabled = enabled;
+
+        return (K) this;
+    }
+
+    /**
+     * Determine whether node and pod state is obtained from watch based
+     * {@link K8sResourceCache}s.
+     *
+     * @return  {@code true} if watch based resource caches are used
+     */
+    public boolean isResourceCacheEnabled()
+    {
+        return resourceCacheEnabled;
+    }
+
+    /**
+     * Obtain the started {@link K8sResourceCache} of nodes.
+     *
+     * @return  the started {@link K8sResourceCache} of nodes
+     */
+    public synchronized K8sResourceCache getNodeCache()
+    {
+        if (nodeCache == null)
+        {
+            nodeCache = new K8sResourceCache(this, "nodes").start();
+        }
+
+        return nodeCache;
+    }
+
+    /**
+     * Obtain the started {@link K8sResourceCache} of pods.
+     *
+     * @return  the started {@link K8sResourceCache} of pods
+     */
+    public synchronized K8sResourceCache getPodCache()
+    {
+        if (podCache == null)
+        {
+            podCache = new K8sResourceCache(this, "pods").start();
+        }
+
+        return podCache;
+    }
+
     /**
      * Determine whether the K8s Master ready.
      *
@@ -218,6 +309,13 @@ public class K8sCluster<K extends K8sCluster>
     // must be public to be used in Eventually.assertThat
     public boolean isMasterReady()
     {
+        if (resourceCacheEnabled)
+        {
+            return getNodeCache().stream()
+                                 .filter(this::isMasterNode)
+                                 .anyMatch(node -> K8sResourceCache.isConditionTrue(node, "Ready"));
+        }
+
         CapturingApplicationConsole console = new CapturingApplicationConsole();
 
         try (Application application = kubectl(Arguments.of("get", "nodes"),
@@ -337,9 +435,19 @@ public class K8sCluster<K extends K8sCluster>
     }
 
     @Override
-    public void close()
+    public synchronized void close()
     {
-        // no-op
+        if (nodeCache != null)
+        {
+            nodeCache.close();
+            nodeCache = null;
+        }
+
+        if (podCache != null)
+        {
+            podCache.close();
+            podCache = null;
+        }
     }
 
     private int waitFor(Application application, Timeout timeout)
@@ -389,6 +497,28 @@ public class K8sCluster<K extends K8sCluster>
         return parts.length >= 3 && parts[2].equalsIgnoreCase("master");
     }
 
+    /**
+     * Determine whether a node obtained from a {@link K8sResourceCache} is a master node.
+     *
+     * @param node  the node to test
+     *
+     * @return  {@code true} if the node is a master node
+     */
+    public boolean isMasterNode(JsonObject node)
+    {
+        JsonObject labels = K8sResourceCache.getLabels(node);
+
+        for (String label : MASTER_NODE_LABELS)
+        {
+            if (labels.containsKey(label))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Obtain the node status from the node status line.
      *
@@ -433,6 +563,18 @@ public class K8sCluster<K extends K8sCluster>
      */
     public Pod getPod(String namespace, String podName)
     {
+        if (resourceCacheEnabled)
+        {
+            K8sResourceCache cache = getPodCache();
+
+            if (cache.isSynced())
+            {
+                String ns = namespace == null ? DEFAULT_NAMESPACE : namespace;
+
+                return cache.getResource(ns, podName).isPresent() ? new Pod(this, podName, namespace) : null;
+            }
+        }
+
         List<String> args = new ArrayList<>();
 
         args.add("get");
@@ -461,6 +603,53 @@ public class K8sCluster<K extends K8sCluster>
     }
 
 
+    /**
+     * Obtain the current state of a Pod as a {@link JsonObject}.
+     * <p>
+     * When the resource cache is enabled and synchronized the state is obtained
+     * from the pod {@link K8sResourceCache}, otherwise kubectl is executed.
+     *
+     * @param namespace  the namespace of the Pod
+     * @param podName    the name of the Pod
+     *
+     * @return  the state of the Pod or an empty {@link Optional} if the Pod
+     *          does not exist
+     */
+    public Optional<JsonObject> getPodState(String namespace, String podName)
+    {
+        String ns = namespace == null ? DEFAULT_NAMESPACE : namespace;
+
+        if (resourceCacheEnabled)
+        {
+            K8sResourceCache cache = getPodCache();
+
+            if (cache.isSynced())
+            {
+                return cache.getResource(ns, podName);
+            }
+        }
+
+        CapturingApplicationConsole console  = new CapturingApplicationConsole();
+        int                         exitCode = kubectlAndWait(Arguments.of("get", "pod", "-n", ns, podName, "-o", "json"),
+                                                              Console.of(console),
+                                                              LaunchLogging.disabled());
+
+        if (exitCode != 0)
+        {
+            return Optional.empty();
+        }
+
+        String json = console.getCapturedOutputLines().stream()
+                             .filter(line -> !"(terminated)".equals(line))
+                             .collect(Collectors.joining("\n"));
+
+        try (JsonReader reader = Json.createReader(new StringReader(json)))
+        {
+            return Optional.of(reader.readObject());
+        }
+    }
+
+
     protected RuntimeException ensureRuntimeException(Throwable t)
     {
         if (t instanceof RuntimeException)
@@ -0,0 +1,561 @@
+/*
+ * File: K8sResourceCache.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.k8s;
+
+import com.oracle.bedrock.options.LaunchLogging;
+import com.oracle.bedrock.runtime.Application;
+import com.oracle.bedrock.runtime.console.CapturingApplicationConsole;
+import com.oracle.bedrock.runtime.console.EventsApplicationConsole;
+import com.oracle.bedrock.runtime.options.Arguments;
+import com.oracle.bedrock.runtime.options.Console;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import java.io.Closeable;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An informer-style, in-memory cache of a type of Kubernetes resource.
+ * <p>
+ * A {@link K8sResourceCache} lists the resources once using {@code kubectl get -o json}
+ * and then keeps the cached state up to date using a single long running
+ * {@code kubectl get --watch --output-watch-events -o json} process.  Should the
+ * watch process terminate, for example because the API server closes the watch,
+ * the resources are re-listed and a new watch is started.
+ * <p>
+ * Queries against the cache are evaluated in-memory, without launching any
+ * processes, making them suitable for use in polling predicates such
+ * as those used with {@code Eventually.assertThat}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class K8sResourceCache
+        implements Closeable
+{
+    /**
+     * The line written to the console by the output redirector when
+     * the watch process terminates.
+     */
+    private static final String TERMINATED = "(terminated)";
+
+    /**
+     * The number of milliseconds to wait before re-listing and watching
+     * the resources after the watch process terminates.
+     */
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    /**
+     * The {@link K8sCluster} containing the resources.
+     */
+    private final K8sCluster<?> k8s;
+
+    /**
+     * The type of resource being cached, for example "nodes" or "pods".
+     */
+    private final String resourceType;
+
+    /**
+     * The cached resources keyed by {@code namespace/name}, or just by name
+     * for resources that are not namespaced.
+     */
+    private final ConcurrentHashMap<String, JsonObject> resources;
+
+    /**
+     * The {@link Thread} listing and watching the resources.
+     */
+    private Thread watcherThread;
+
+    /**
+     * The currently running kubectl watch {@link Application}.
+     */
+    private volatile Application watch;
+
+    /**
+     * Flag indicating whether the resources have been listed at least once.
+     */
+    private volatile boolean synced;
+
+    /**
+     * Flag indicating whether this cache has been closed.
+     */
+    private volatile boolean closed;
+
+
+    /**
+     * Create a {@link K8sResourceCache}.
+     *
+     * @param k8s           the {@link K8sCluster} containing the resources
+     * @param resourceType  the type of resource to cache, for example "nodes" or "pods"
+     */
+    public K8sResourceCache(K8sCluster<?> k8s, String resourceType)
+    {
+        if (resourceType == null || resourceType.trim().isEmpty())
+        {
+            throw new IllegalArgumentException("The resource type cannot be null or blank");
+        }
+
+        this.k8s          = k8s == null ? new K8sCluster<>() : k8s;
+        this.resourceType = resourceType;
+        this.resources    = new ConcurrentHashMap<>();
+        this.synced       = false;
+        this.closed       = false;
+    }
+
+
+    /**
+     * Obtain the type of resource being cached.
+     *
+     * @return  the type of resource being cached
+     */
+    public String getResourceType()
+    {
+        return resourceType;
+    }
+
+
+    /**
+     * Start listing and watching the resources.  Calling this method on
+     * a {@link K8sResourceCache} that is already started has no effect.
+     *
+     * @return  this {@link K8sResourceCache}
+     */
+    public synchronized K8sResourceCache start()
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("The K8sResourceCache for " + resourceType + " has been closed");
+        }
+
+        if (watcherThread == null)
+        {
+            watcherThread = new Thread(this::run, "K8sResourceCache:" + resourceType);
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Determine whether the resources have been listed at least once, and
+     * hence whether the contents of this cache can be trusted.
+     *
+     * @return  {@code true} if the resources have been listed
+     */
+    public boolean isSynced()
+    {
+        return synced;
+    }
+
+
+    /**
+     * Obtain the cached resources.
+     *
+     * @return  an immutable snapshot of the cached resources
+     */
+    public Collection<JsonObject> getResources()
+    {
+        return Collections.unmodifiableCollection(resources.values().stream().collect(Collectors.toList()));
+    }
+
+
+    /**
+     * Obtain a {@link Stream} of the cached resources.
+     *
+     * @return  a {@link Stream} of the cached resources
+     */
+    public Stream<JsonObject> stream()
+    {
+        return resources.values().stream();
+    }
+
+
+    /**
+     * Obtain the cached resource with the specified name.
+     *
+     * @param namespace  the namespace of the resource, or {@code null} if the
+     *                   resource is not namespaced
+     * @param name       the name of the resource
+     *
+     * @return  the cached resource or an empty {@link Optional} if there is no
+     *          such resource
+     */
+    public Optional<JsonObject> getResource(String namespace, String name)
+    {
+        return Optional.ofNullable(resources.get(keyOf(namespace, name)));
+    }
+
+
+    @Override
+    public void close()
+    {
+        closed = true;
+
+        Application application = watch;
+
+        if (application != null)
+        {
+            application.close();
+        }
+
+        Thread thread = watcherThread;
+
+        if (thread != null)
+        {
+            thread.interrupt();
+        }
+    }
+
+
+    /**
+     * List and then watch the resources until this cache is closed.
+     */
+    private void run()
+    {
+        while (!closed)
+        {
+            try
+            {
+                relist();
+                watch();
+            }
+            catch (Throwable t)
+            {
+                // ignored: the resources will be re-listed and re-watched
+            }
+
+            if (!closed)
+            {
+                try
+                {
+                    TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS);
+                }
+                catch (InterruptedException e)
+                {
+                    // ignored: closed will be checked
+                }
+            }
+        }
+    }
+
+
+    /**
+     * List the resources, replacing the contents of this cache.
+     */
+    private void relist()
+    {
+        CapturingApplicationConsole console = new CapturingApplicationConsole();
+        int exitCode = k8s.kubectlAndWait(Arguments.of("get", resourceType, "--all-namespaces", "-o", "json"),
+                                          Console.of(console),
+                                          LaunchLogging.disabled());
+
+        if (exitCode == 0)
+        {
+            String json = console.getCapturedOutputLines().stream()
+                                 .filter(line -> !TERMINATED.equals(line))
+                                 .collect(Collectors.joining("\n"));
+
+            Map<String, JsonObject> listed = new HashMap<>();
+
+            try (JsonReader reader = Json.createReader(new StringReader(json)))
+            {
+                JsonArray items = reader.readObject().getJsonArray("items");
+
+                if (items != null)
+                {
+                    for (JsonValue item : items)
+                    {
+                        JsonObject resource = (JsonObject) item;
+
+                        listed.put(keyOf(resource), resource);
+                    }
+                }
+            }
+
+            resources.keySet().retainAll(listed.keySet());
+            resources.putAll(listed);
+
+            synced = true;
+        }
+    }
+
+
+    /**
+     * Watch the resources, applying events to this cache until the
+     * watch process terminates.
+     *
+     * @throws InterruptedException  if the thread is interrupted
+     */
+    private void watch() throws InterruptedException
+    {
+        JsonObjectAssembler                        assembler  = new JsonObjectAssembler();
+        EventsApplicationConsole.CountDownListener terminated = new EventsApplicationConsole.CountDownListener(1);
+        EventsApplicationConsole                   console    = new EventsApplicationConsole();
+
+        console.withStdOutListener(TERMINATED::equals, terminated);
+        console.withStdOutListener(line -> !TERMINATED.equals(line),
+                                   line -> assembler.accept(line).ifPresent(this::onEvent));
+
+        try (Application application = k8s.kubectl(Arguments.of("get",
+                                                                resourceType,
+                                                                "--all-namespaces",
+                                                                "--watch",
+                                                                "--output-watch-events",
+                                                                "-o",
+                                                                "json"),
+                                                   Console.of(console),
+                                                   LaunchLogging.disabled()))
+        {
+            watch = application;
+
+            if (!closed)
+            {
+                terminated.await();
+            }
+        }
+        finally
+        {
+            watch = null;
+        }
+    }
+
+
+    /**
+     * Apply a watch event to this cache.
+     *
+     * @param event  the watch event
+     */
+    void onEvent(JsonObject event)
+    {
+        String     type     = event.getString("type", "");
+        JsonObject resource = event.getJsonObject("object");
+
+        if (resource == null)
+        {
+            return;
+        }
+
+        switch (type)
+        {
+        case "ADDED" :
+        case "MODIFIED" :
+            resources.put(keyOf(resource), resource);
+            break;
+
+        case "DELETED" :
+            resources.remove(keyOf(resource));
+            break;
+
+        default :
+            // ignored: BOOKMARK and ERROR events do not change the cached state
+        }
+    }
+
+
+    /**
+     * Obtain the cache key for a resource.
+     *
+     * @param resource  the resource
+     *
+     * @return  the cache key for the resource
+     */
+    private static String keyOf(JsonObject resource)
+    {
+        JsonObject metadata = resource.getJsonObject("metadata");
+
+        return metadata == null ? "" : keyOf(metadata.getString("namespace", null), metadata.getString("name", ""));
+    }
+
+
+    /**
+     * Obtain the cache key for a resource.
+     *
+     * @param namespace  the namespace of the resource (may be {@code null})
+     * @param name       the name of the resource
+     *
+     * @return  the cache key for the resource
+     */
+    private static String keyOf(String namespace, String name)
+    {
+        return namespace == null || namespace.isEmpty() ? name : namespace + "/" + name;
+    }
+
+
+    /**
+     * Obtain the labels of a resource.
+     *
+     * @param resource  the resource
+     *
+     * @return  the labels of the resource
+     */
+    public static JsonObject getLabels(JsonObject resource)
+    {
+        JsonObject metadata = resource.getJsonObject("metadata");
+        JsonObject labels   = metadata == null ? null : metadata.getJsonObject("labels");
+
+        return labels == null ? JsonValue.EMPTY_JSON_OBJECT : labels;
+    }
+
+
+    /**
+     * Determine whether the status condition of the specified type
+     * of a resource is {@code "True"}.
+     *
+     * @param resource  the resource
+     * @param type      the condition type, for example "Ready"
+     *
+     * @return  {@code true} if the status condition is {@code "True"}
+     */
+    public static boolean isConditionTrue(JsonObject resource, String type)
+    {
+        JsonObject status     = resource.getJsonObject("status");
+        JsonArray  conditions = status == null ? null : status.getJsonArray("conditions");
+
+        if (conditions != null)
+        {
+            for (JsonValue value : conditions)
+            {
+                JsonObject condition = (JsonObject) value;
+
+                if (type.equals(condition.getString("type", null)))
+                {
+                    return "True".equalsIgnoreCase(condition.getString("status", null));
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Assembles the multi-line JSON objects written by {@code kubectl -o json}
+     * into {@link JsonObject}s, one line at a time.
+     */
+    static class JsonObjectAssembler
+    {
+        /**
+         * The text of the JSON object currently being assembled.
+         */
+        private final StringBuilder text = new StringBuilder();
+
+        /**
+         * The current brace depth.
+         */
+        private int depth = 0;
+
+        /**
+         * Whether the assembler is currently inside a JSON string.
+         */
+        private boolean inString = false;
+
+        /**
+         * Whether the previous character was an escape character.
+         */
+        private boolean escaped = false;
+
+
+        /**
+         * Accept a line of output.
+         *
+         * @param line  the line of output
+         *
+         * @return  the {@link JsonObject} completed by the line, or an
+         *          empty {@link Optional} if no object has been completed
+         */
+        Optional<JsonObject> accept(String line)
+        {
+            if (depth == 0 && !line.trim().startsWith("{"))
+            {
+                // skip anything that is not part of a JSON object
+                return Optional.empty();
+            }
+
+            for (int i = 0; i < line.length(); i++)
+            {
+                char c = line.charAt(i);
+
+                if (escaped)
+                {
+                    escaped = false;
+                }
+                else if (c == '\\')
+                {
+                    escaped = inString;
+                }
+                else if (c == '"')
+                {
+                    inString = !inString;
+                }
+                else if (!inString && c == '{')
+                {
+                    depth++;
+                }
+                else if (!inString && c == '}')
+                {
+                    depth--;
+                }
+            }
+
+            text.append(line).append('\n');
+
+            if (depth > 0)
+            {
+                return Optional.empty();
+            }
+
+            String json = text.toString();
+
+            text.setLength(0);
+            depth    = 0;
+            inString = false;
+            escaped  = false;
+
+            try (JsonReader reader = Json.createReader(new StringReader(json)))
+            {
+                return Optional.of(reader.readObject());
+            }
+            catch (Exception e)
+            {
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -39,6 +39,7 @@ import com.oracle.bedrock.runtime.options.Console;
 import com.oracle.bedrock.runtime.options.ConsoleInputRedirector;
 import com.oracle.bedrock.runtime.options.ConsoleOutputRedirector;
 
+import javax.json.JsonObject;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -53,6 +54,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -413,6 +415,48 @@ public class Pod
         return Collections.unmodifiableMap(containers);
     }
 
+    /**
+     * Obtain the phase of this Pod, for example "Pending" or "Running".
+     *
+     * @return  the phase of this Pod or {@code null} if the Pod does not exist
+     */
+    public String getPhase()
+    {
+        return getState().map(pod -> pod.getJsonObject("status"))
+                         .map(status -> status.getString("phase", null))
+                         .orElse(null);
+    }
+
+
+    /**
+     * Determine whether this Pod is ready.
+     * <p>
+     * When the {@link K8sCluster} has its resource cache enabled this is
+     * evaluated in-memory and so is suitable for polling.
+     *
+     * @return  {@code true} if this Pod exists and its "Ready" condition is true
+     */
+    // must be public to be used in Eventually.assertThat
+    public boolean isReady()
+    {
+        return getState().map(pod -> K8sResourceCache.isConditionTrue(pod, "Ready")).orElse(false);
+    }
+
+
+    /**
+     * Obtain the current state of this Pod from the {@link K8sCluster}.
+     *
+     * @return  the current state of this Pod or an empty {@link Optional}
+     *          if the Pod does not exist
+     */
+    private Optional<JsonObject> getState()
+    {
+        K8sCluster<?> cluster = k8s;
+
+        return cluster.getPodState(namespace, podName);
+    }
+
+
     /**
      * Obtain the kubectl exec command line to use for this Pod.
      *
@@ -0,0 +1,199 @@
+/*
+ * File: K8sResourceCacheTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.k8s;
+
+import com.oracle.bedrock.runtime.LocalPlatform;
+import com.oracle.bedrock.runtime.OperatingSystem;
+import com.oracle.bedrock.testsupport.deferred.Eventually;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import static com.oracle.bedrock.deferred.DeferredHelper.invoking;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link K8sResourceCache} using a fake kubectl script.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class K8sResourceCacheTest
+{
+    @ClassRule
+    public static final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * The fake kubectl script.
+     */
+    private static File kubectl;
+
+
+    @BeforeClass
+    public static void createFakeKubectl() throws Exception
+    {
+        Assume.assumeFalse(LocalPlatform.get().getOperatingSystem().getType()
+                           == OperatingSystem.Type.WINDOWS);
+
+        String master  = node("master-1", "node-role.kubernetes.io/master", "True");
+        String worker  = node("worker-1", "node-role.kubernetes.io/worker", "True");
+        String pod1    = pod("pod-1", "False");
+        String pod1Ok  = pod("pod-1", "True");
+        String pod2    = pod("pod-2", "True");
+
+        String script = "#!/bin/sh\n"
+                        + "WATCH=false\n"
+                        + "TYPE=\"\"\n"
+                        + "for arg in \"$@\"; do\n"
+                        + "  case \"$arg\" in\n"
+                        + "    --watch) WATCH=true ;;\n"
+                        + "    nodes|pods) TYPE=$arg ;;\n"
+                        + "  esac\n"
+                        + "done\n"
+                        + "if [ \"$TYPE\" = \"nodes\" ]; then\n"
+                        + "  if [ \"$WATCH\" = \"true\" ]; then\n"
+                        + "    echo '" + event("ADDED", master) + "'\n"
+                        + "    echo '" + event("ADDED", worker) + "'\n"
+                        + "    exec sleep 600\n"
+                        + "  fi\n"
+                        + "  echo '{\"kind\": \"List\", \"items\": [" + master + ", " + worker + "]}'\n"
+                        + "elif [ \"$TYPE\" = \"pods\" ]; then\n"
+                        + "  if [ \"$WATCH\" = \"true\" ]; then\n"
+                        + "    echo '" + event("ADDED", pod1) + "'\n"
+                        + "    sleep 1\n"
+                        + "    echo '{'\n"
+                        + "    echo '  \"type\": \"MODIFIED\",'\n"
+                        + "    echo '  \"object\": " + pod1Ok + "'\n"
+                        + "    echo '}'\n"
+                        + "    echo '" + event("ADDED", pod2) + "'\n"
+                        + "    sleep 3\n"
+                        + "    echo '" + event("DELETED", pod2) + "'\n"
+                        + "    exec sleep 600\n"
+                        + "  fi\n"
+                        + "  echo '{\"kind\": \"List\", \"items\": [" + pod1 + "]}'\n"
+                        + "else\n"
+                        + "  exit 1\n"
+                        + "fi\n";
+
+        kubectl = temporaryFolder.newFile("kubectl");
+
+        Files.write(kubectl.toPath(), script.getBytes(StandardCharsets.UTF_8));
+
+        kubectl.setExecutable(true);
+    }
+
+
+    @Test
+    public void shouldDetermineMasterIsReadyFromCache()
+    {
+        try (K8sCluster<?> k8s = new K8sCluster<>().withKubectlAt(kubectl).withResourceCache(true))
+        {
+            Eventually.assertThat(invoking(k8s).isMasterReady(), is(true));
+            assertThat(k8s.getNodeCache().getResources().size(), is(2));
+        }
+    }
+
+
+    @Test
+    public void shouldApplyWatchEventsToCache()
+    {
+        try (K8sCluster<?> k8s = new K8sCluster<>().withKubectlAt(kubectl).withResourceCache(true))
+        {
+            K8sResourceCache cache = k8s.getPodCache();
+
+            Eventually.assertThat(invoking(cache).isSynced(), is(true));
+
+            Pod pod = k8s.getPod("pod-1");
+
+            Eventually.assertThat(invoking(pod).isReady(), is(true));
+            assertThat(pod.getPhase(), is("Running"));
+
+            Eventually.assertThat(invoking(this).isPresent(cache, "pod-2"), is(true));
+            Eventually.assertThat(invoking(this).isPresent(cache, "pod-2"), is(false));
+            assertThat(k8s.getPod("pod-2"), is(nullValue()));
+        }
+    }
+
+
+    @Test
+    public void shouldAssembleMultiLineJson()
+    {
+        K8sResourceCache.JsonObjectAssembler assembler = new K8sResourceCache.JsonObjectAssembler();
+
+        assertThat(assembler.accept("(terminated)").isPresent(), is(false));
+        assertThat(assembler.accept("{").isPresent(), is(false));
+        assertThat(assembler.accept("  \"type\": \"ADDED\",").isPresent(), is(false));
+        assertThat(assembler.accept("  \"object\": {\"name\": \"a}\\\"b\"}").isPresent(), is(false));
+
+        Optional<JsonObject> result = assembler.accept("}");
+
+        assertThat(result.isPresent(), is(true));
+        assertThat(result.get().getString("type"), is("ADDED"));
+        assertThat(result.get().getJsonObject("object").getString("name"), is("a}\"b"));
+    }
+
+
+    // must be public to be used in Eventually.assertThat
+    public boolean isPresent(K8sResourceCache cache, String podName)
+    {
+        return cache.getResource(K8sCluster.DEFAULT_NAMESPACE, podName).isPresent();
+    }
+
+
+    private static String node(String name, String role, String ready)
+    {
+        return "{\"kind\": \"Node\", \"metadata\": {\"name\": \"" + name + "\", \"labels\": {\"" + role
+               + "\": \"\"}}, \"status\": {\"conditions\": [{\"type\": \"Ready\", \"status\": \"" + ready + "\"}]}}";
+    }
+
+
+    private static String pod(String name, String ready)
+    {
+        return "{\"kind\": \"Pod\", \"metadata\": {\"name\": \"" + name + "\", \"namespace\": \"default\"}, "
+               + "\"status\": {\"phase\": \"Running\", \"conditions\": [{\"type\": \"Ready\", \"status\": \""
+               + ready + "\"}]}}";
+    }
+
+
+    private static String event(String type, String object)
+    {
+        JsonObject json = Json.createReader(new StringReader(object)).readObject();
+
+        return Json.createObjectBuilder().add("type", type).add("object", json).build().toString();
+    }
+}
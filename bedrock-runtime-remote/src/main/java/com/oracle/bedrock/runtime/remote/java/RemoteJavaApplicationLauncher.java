@@ -51,6 +51,7 @@ import com.oracle.bedrock.runtime.java.JavaApplicationLauncher;
 import com.oracle.bedrock.runtime.java.JavaApplicationProcess;
 import com.oracle.bedrock.runtime.java.JavaApplicationRunner;
 import com.oracle.bedrock.runtime.java.features.JmxFeature;
+import com.oracle.bedrock.runtime.java.options.ArgumentFile;
 import com.oracle.bedrock.runtime.java.options.ClassName;
 import com.oracle.bedrock.runtime.java.options.JavaHome;
 import com.oracle.bedrock.runtime.java.options.JvmOption;
@@ -63,20 +64,28 @@ import com.oracle.bedrock.runtime.options.Arguments;
 import com.oracle.bedrock.runtime.options.Executable;
 import com.oracle.bedrock.runtime.options.Orphanable;
 import com.oracle.bedrock.runtime.options.PlatformSeparators;
+import com.oracle.bedrock.runtime.options.WorkingDirectory;
 import com.oracle.bedrock.runtime.remote.AbstractRemoteApplicationLauncher;
+import com.oracle.bedrock.runtime.remote.DeploymentArtifact;
 import com.oracle.bedrock.runtime.remote.RemoteApplicationProcess;
 import com.oracle.bedrock.runtime.remote.java.options.JavaDeployment;
+import com.oracle.bedrock.runtime.remote.options.Deployer;
 import com.oracle.bedrock.runtime.remote.options.Deployment;
+import com.oracle.bedrock.runtime.remote.ssh.SftpDeployer;
 import com.oracle.bedrock.table.Cell;
 import com.oracle.bedrock.table.Table;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static com.oracle.bedrock.deferred.DeferredHelper.ensure;
 import static com.oracle.bedrock.deferred.DeferredHelper.within;
@@ -93,6 +102,11 @@ import static com.oracle.bedrock.deferred.DeferredHelper.within;
 public class RemoteJavaApplicationLauncher extends AbstractRemoteApplicationLauncher<JavaApplication>
     implements JavaApplicationLauncher<JavaApplication>
 {
+    /**
+     * The {@link Logger} for this class.
+     */
+    private static Logger LOGGER = Logger.getLogger(RemoteJavaApplicationLauncher.class.getName());
+
     /**
      * The {@link ControllableRemoteChannel} that can be used to communicate with
      * the remote {@link JavaApplication}.
@@ -329,6 +343,12 @@ public class RemoteJavaApplicationLauncher extends AbstractRemoteApplicationLaun
         Orphanable orphanable = optionsByType.get(Orphanable.class);
 
         arguments.add("-D" + Settings.ORPHANABLE + "=" + orphanable.isOrphanable());
+
+        // the (unquoted) java virtual machine arguments that may be provided using an ArgumentFile
+        List<String> fileArguments = new ArrayList<>();
+
+        fileArguments.add(arguments.get(arguments.size() - 1));
+
         systemPropertiesTable.addRow(Settings.ORPHANABLE, Boolean.toString(orphanable.isOrphanable()));
 
         // ----- establish the remote application class path -----
@@ -341,6 +361,9 @@ public class RemoteJavaApplicationLauncher extends AbstractRemoteApplicationLaun
 
         arguments.add(classPath);
 
+        fileArguments.add("-cp");
+        fileArguments.add(remoteClassPath.toString(optionsByType.asArray()));
+
         Table diagnosticsTable = optionsByType.get(Table.class);
 
         if (diagnosticsTable != null)
@@ -359,6 +382,7 @@ public class RemoteJavaApplicationLauncher extends AbstractRemoteApplicationLaun
             for (String value : jvmOption.resolve(optionsByType))
             {
                 arguments.add(value);
+                fileArguments.add(value);
             }
         }
 
@@ -375,6 +399,8 @@ public class RemoteJavaApplicationLauncher extends AbstractRemoteApplicationLaun
                 // evaluate the property value
                 String propertyValue = systemProperties.getProperty(propertyName);
 
+                fileArguments.add("-D" + propertyName + (propertyValue.isEmpty() ? "" : "=" + propertyValue));
+
                 // build the actual system property command line argument
                 StringBuilder propertyBuilder = new StringBuilder();
 
@@ -408,6 +434,7 @@ public class RemoteJavaApplicationLauncher extends AbstractRemoteApplicationLaun
                 propertyValue = evaluator.evaluate(propertyValue, String.class);
 
                 arguments.add(propertyValue);
+                fileArguments.add(propertyValue);
             }
         }
 
@@ -416,6 +443,57 @@ public class RemoteJavaApplicationLauncher extends AbstractRemoteApplicationLaun
             diagnosticsTable.addRow("System Properties", systemPropertiesTable.toString());
         }
 
+        // ----- provide the java virtual machine arguments using a file (when required) -----
+
+        ArgumentFile argumentFile = optionsByType.get(ArgumentFile.class);
+
+        try
+        {
+            if (argumentFile.getMode() == ArgumentFile.Mode.ARGUMENT_FILE)
+            {
+                // replace everything following the parent uri with an @argfile
+                String fileName    = deploy(argumentFile.createArgumentFile(fileArguments), platform, optionsByType);
+                int    parentIndex = arguments.indexOf("-D" + Settings.PARENT_URI + "=" + parentUriString);
+
+                arguments.subList(parentIndex + 1, arguments.size()).clear();
+                arguments.add("@" + fileName);
+
+                if (diagnosticsTable != null)
+                {
+                    diagnosticsTable.addRow("Argument File", fileName);
+                }
+            }
+            else if (argumentFile.getMode() == ArgumentFile.Mode.PATHING_JAR)
+            {
+                // replace the class path with a pathing jar
+                // (manifest class paths don't support wildcards)
+                List<String> urls = new ArrayList<>();
+
+                for (String path : remoteClassPath)
+                {
+                    urls.add(path.endsWith("*") ? null : ArgumentFile.toPortableURL(path));
+                }
+
+                if (!urls.contains(null))
+                {
+                    String fileName = deploy(argumentFile.createPathingJar(urls), platform, optionsByType);
+
+                    // locate the class path in the arguments (arguments may precede it)
+                    arguments.set(arguments.indexOf("-cp") + 1, fileName);
+
+                    if (diagnosticsTable != null)
+                    {
+                        diagnosticsTable.addRow("Pathing Jar", fileName);
+                    }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            // when the file can't be created we provide the arguments directly
+            LOGGER.log(Level.WARNING, "Failed to create an argument file for the application", e);
+        }
+
         // ----- establish the application command line to execute -----
 
         // use the launcher to launch the application
@@ -458,6 +536,39 @@ public class RemoteJavaApplicationLauncher extends AbstractRemoteApplicationLaun
     }
 
 
+    /**
+     * Deploys a file into the remote working directory of the application, unless it has already been
+     * deployed.  As the names of argument files and pathing jars identify their content, a file that has
+     * been deployed by a previous launch using the same working directory is reused.
+     *
+     * @param file           the {@link File} to deploy
+     * @param platform       the {@link Platform}
+     * @param optionsByType  the launch {@link OptionsByType}
+     *
+     * @return the name of the deployed file, relative to the remote working directory
+     */
+    private String deploy(File          file,
+                          Platform      platform,
+                          OptionsByType optionsByType)
+    {
+        PlatformSeparators separators       = optionsByType.get(PlatformSeparators.class);
+        File               workingDirectory = optionsByType.get(WorkingDirectory.class).resolve(platform, optionsByType);
+        Deployer           deployer         = optionsByType.getOrSetDefault(Deployer.class, new SftpDeployer());
+        String             remoteFileName   = separators.asPlatformFileName(new File(workingDirectory,
+                                                                                     file.getName()).toString());
+
+        if (!deployer.isDeployed(file, remoteFileName, platform, optionsByType.asArray()))
+        {
+            deployer.deploy(Collections.singletonList(new DeploymentArtifact(file)),
+                            separators.asPlatformFileName(workingDirectory.toString()),
+                            platform,
+                            optionsByType.asArray());
+        }
+
+        return file.getName();
+    }
+
+
     /**
      * A {@link RemoteJavaApplicationProcess} is an adapter for a {@link RemoteApplicationProcess},
      * specifically for Java-based applications.
@@ -78,6 +78,29 @@ public interface Deployer extends Option
                                Option...         deploymentOptions);
 
 
+    /**
+     * Determines if a local {@link File} has already been deployed to the specified {@link Platform},
+     * allowing a {@link File} whose name identifies its content to be reused rather than deployed again.
+     * <p>
+     * By default, {@link File}s are assumed not to have been deployed, so that they're always deployed.
+     *
+     * @param file               the local {@link File}
+     * @param remoteFileName     the name of the deployed file on the {@link Platform}
+     * @param platform           the {@link Platform}
+     * @param deploymentOptions  the {@link Option}s used for deployment
+     *
+     * @return <code>true</code> if the {@link File} has been deployed, <code>false</code> if it hasn't
+     *         or that can't be determined
+     */
+    default boolean isDeployed(File      file,
+                               String    remoteFileName,
+                               Platform  platform,
+                               Option... deploymentOptions)
+    {
+        return false;
+    }
+
+
     /**
      * A no-op implementation of a deployer.
      */
@@ -359,4 +359,66 @@ public class SftpDeployer implements Deployer
 
         return failedArtifacts;
     }
+
+
+    @Override
+    public boolean isDeployed(File      file,
+                              String    remoteFileName,
+                              Platform  platform,
+                              Option... deploymentOptions)
+    {
+        if (!(platform instanceof RemotePlatform))
+        {
+            return false;
+        }
+
+        RemotePlatform remotePlatform = (RemotePlatform) platform;
+
+        // create the deployment options
+        OptionsByType optionsByType = OptionsByType.empty();
+
+        // add the Platform options
+        optionsByType.addAll(platform.getOptions());
+
+        // override with specified Options
+        optionsByType.addAll(deploymentOptions);
+
+        // initially there's no session or channel
+        Session     session     = null;
+        ChannelSftp sftpChannel = null;
+
+        try
+        {
+            // obtain the connected JSch Session
+            session = sessionFactory.createSession(remotePlatform.getAddress().getHostName(),
+                                                   remotePlatform.getPort(),
+                                                   remotePlatform.getUserName(),
+                                                   remotePlatform.getAuthentication(),
+                                                   new JSchSocketFactory(),
+                                                   optionsByType);
+
+            sftpChannel = (ChannelSftp) session.openChannel("sftp");
+            sftpChannel.connect(session.getTimeout());
+
+            // a partially deployed file won't be the same size
+            return sftpChannel.lstat(remoteFileName).getSize() == file.length();
+        }
+        catch (JSchException | SftpException e)
+        {
+            // when the file can't be found we assume it hasn't been deployed
+            return false;
+        }
+        finally
+        {
+            if (sftpChannel != null)
+            {
+                sftpChannel.disconnect();
+            }
+
+            if (session != null)
+            {
+                session.disconnect();
+            }
+        }
+    }
 }
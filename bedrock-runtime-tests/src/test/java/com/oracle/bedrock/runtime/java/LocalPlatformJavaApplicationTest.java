@@ -42,12 +42,14 @@ import com.oracle.bedrock.runtime.concurrent.runnable.SystemExit;
 import com.oracle.bedrock.runtime.concurrent.socket.SocketBasedRemoteChannelServer;
 import com.oracle.bedrock.runtime.concurrent.socket.SocketBasedRemoteChannelTests;
 import com.oracle.bedrock.runtime.console.CapturingApplicationConsole;
+import com.oracle.bedrock.runtime.java.options.ArgumentFile;
 import com.oracle.bedrock.runtime.java.options.ClassName;
 import com.oracle.bedrock.runtime.java.options.HeapSize;
 import com.oracle.bedrock.runtime.java.options.HotSpot;
 import com.oracle.bedrock.runtime.java.options.IPv4Preferred;
 import com.oracle.bedrock.runtime.java.options.JavaHome;
 import com.oracle.bedrock.runtime.java.options.SystemProperty;
+import com.oracle.bedrock.runtime.java.options.WarmPool;
 import com.oracle.bedrock.runtime.java.profiles.CommercialFeatures;
 import com.oracle.bedrock.runtime.java.profiles.RemoteDebugging;
 import com.oracle.bedrock.runtime.options.Argument;
@@ -735,6 +737,104 @@ public class LocalPlatformJavaApplicationTest extends AbstractJavaApplicationTes
     }
 
 
+    /**
+     * Ensure that an application can be launched using a pathing jar for its class path.
+     */
+    @Test
+    public void shouldLaunchApplicationUsingPathingJar()
+    {
+        try (JavaApplication application = getPlatform().launch(JavaApplication.class,
+                                                                ClassName.of(SleepingApplication.class),
+                                                                SystemProperty.of("argument.file", "jar"),
+                                                                ArgumentFile.pathingJar()))
+        {
+            assertThat(application.getSystemProperty("argument.file"), is("jar"));
+            assertThat(application.getSystemProperty("java.class.path").endsWith(".jar"), is(true));
+        }
+    }
+
+
+    /**
+     * Ensure that an application can be launched using an @argfile (requires Java 9 or later).
+     */
+    @Test
+    public void shouldLaunchApplicationUsingArgumentFile()
+    {
+        Assume.assumeThat(System.getProperty("java.specification.version").startsWith("1."), is(false));
+
+        try (JavaApplication application = getPlatform().launch(JavaApplication.class,
+                                                                ClassName.of(SleepingApplication.class),
+                                                                SystemProperty.of("argument.file", "args"),
+                                                                ArgumentFile.enabled()))
+        {
+            assertThat(application.getSystemProperty("argument.file"), is("args"));
+            assertThat(application.invoke(new GetProgramArgs()).contains("-Dargument.file=args"), is(true));
+        }
+    }
+
+
+    /**
+     * Ensure that a {@link WarmPool} serves launches using standby virtual machines.
+     */
+    @Test
+    public void shouldLaunchApplicationsUsingWarmPool()
+    {
+        try (WarmPool warmPool = WarmPool.of(1))
+        {
+            try (JavaApplication application = getPlatform().launch(JavaApplication.class,
+                                                                    ClassName.of(SleepingApplication.class),
+                                                                    SystemProperty.of("warm.pool", "first"),
+                                                                    warmPool))
+            {
+                assertThat(application.getSystemProperty("warm.pool"), is("first"));
+            }
+
+            assertThat(warmPool.getMissCount(), is(1L));
+
+            // a standby virtual machine isn't started for a configuration that has only been launched once
+            assertThat(warmPool.getIdleCount(), is(0));
+
+            try (JavaApplication application = getPlatform().launch(JavaApplication.class,
+                                                                    ClassName.of(SleepingApplication.class),
+                                                                    SystemProperty.of("warm.pool", "again"),
+                                                                    warmPool))
+            {
+                assertThat(application.getSystemProperty("warm.pool"), is("again"));
+            }
+
+            assertThat(warmPool.getMissCount(), is(2L));
+
+            // wait for the pool to be replenished
+            Eventually.assertThat(invoking(warmPool).getIdleCount(), is(1));
+
+            try (JavaApplication application = getPlatform().launch(JavaApplication.class,
+                                                                    ClassName.of(SleepingApplication.class),
+                                                                    SystemProperty.of("warm.pool", "second"),
+                                                                    Argument.of(5),
+                                                                    warmPool))
+            {
+                assertThat(warmPool.getHitCount(), is(1L));
+                assertThat(application.getSystemProperty("warm.pool"), is("second"));
+
+                // the system property is not defined on the command line of a standby virtual machine
+                assertThat(application.invoke(new GetProgramArgs()).contains("-Dwarm.pool=second"), is(false));
+            }
+
+            // launches requiring boot-time system properties are never served from the pool
+            try (JavaApplication application = getPlatform().launch(JavaApplication.class,
+                                                                    ClassName.of(SleepingApplication.class),
+                                                                    SystemProperty.of("java.awt.headless", "true"),
+                                                                    warmPool))
+            {
+                assertThat(warmPool.getMissCount(), is(3L));
+                assertThat(application.getSystemProperty("java.awt.headless"), is("true"));
+            }
+
+            // the used standby virtual machine is replaced, but only up to the size of the pool
+            Eventually.assertThat(invoking(warmPool).getIdleCount(), is(1));
+        }
+    }
+
     /**
      * A {@link RemoteChannelListener} to track when it's been opened and closed.
      */
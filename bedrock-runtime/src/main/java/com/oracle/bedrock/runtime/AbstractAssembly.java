@@ -29,9 +29,11 @@ import com.oracle.bedrock.Option;
 import com.oracle.bedrock.OptionsByType;
 import com.oracle.bedrock.annotations.Internal;
 import com.oracle.bedrock.deferred.DeferredPredicate;
+import com.oracle.bedrock.lang.ThreadFactories;
 import com.oracle.bedrock.runtime.options.Discriminator;
 import com.oracle.bedrock.runtime.options.DisplayName;
 import com.oracle.bedrock.runtime.options.StabilityPredicate;
+import com.oracle.bedrock.util.Pair;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -39,12 +41,20 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
@@ -70,6 +80,12 @@ public abstract class AbstractAssembly<A extends Application> implements Assembl
                                                                          ApplicationListener<A>,
                                                                          ApplicationStream<A>
 {
+    /**
+     * The {@link ExecutorService} used to concurrently evaluate {@link ApplicationStream#parallel(int)} operations.
+     */
+    private static final ExecutorService PARALLEL_EXECUTOR =
+        Executors.newCachedThreadPool(ThreadFactories.usingDaemonThreads(true));
+
     /**
      * The {@link Application}s that belong to the {@link Assembly}.
      */
@@ -471,43 +487,62 @@ public abstract class AbstractAssembly<A extends Application> implements Assembl
                             Option...         options)
     {
         // close and relaunch each application one at a time
-        applications.forEach(
-            application -> {
+        applications.forEach(application -> relaunch(application, options));
+    }
 
-            // only relaunch if the application is in the assembly
-                if (remove(application))
-                {
-                    // obtain some information about the application before closing it
-                    Platform      platform           = application.getPlatform();
-                    OptionsByType applicationOptions = application.getOptions();
 
-                    // establish the launch options
-                    // (based on the application and specified options)
-                    OptionsByType launchOptions = OptionsByType.of(applicationOptions).addAll(options);
+    /**
+     * Restarts the specified {@link Application} using the provided {@link Option}s, providing
+     * it is in the {@link Assembly}.
+     *
+     * @param application  the {@link Application} to relaunch
+     * @param options      the {@link Option}s for restarting
+     *
+     * @return  the relaunched {@link Application} or <code>null</code> if the
+     *          {@link Application} wasn't in the {@link Assembly}
+     */
+    protected A relaunch(A         application,
+                         Option... options)
+    {
+        // only relaunch if the application is in the assembly
+        if (remove(application))
+        {
+            // obtain some information about the application before closing it
+            Platform      platform           = application.getPlatform();
+            OptionsByType applicationOptions = application.getOptions();
 
-                    // notify the assembly that the application is about to be relaunched
-                    onRelaunching(application, launchOptions);
+            // establish the launch options
+            // (based on the application and specified options)
+            OptionsByType launchOptions = OptionsByType.of(applicationOptions).addAll(options);
 
-                    // close the application (using the options)
-                    application.close(options);
+            // notify the assembly that the application is about to be relaunched
+            onRelaunching(application, launchOptions);
 
-                    // notify the assembly we're about to relaunch an application
-                    onRelaunching(platform, launchOptions);
+            // close the application (using the options)
+            application.close(options);
 
-                    // we'll create the same class of application
-                    Class<A> applicationClass = (Class<A>) application.getClass();
+            // notify the assembly we're about to relaunch an application
+            onRelaunching(platform, launchOptions);
 
-                    // (re) launch the application
-                    A relaunchedApplication = platform.launch(applicationClass, launchOptions.asArray());
+            // we'll create the same class of application
+            Class<A> applicationClass = (Class<A>) application.getClass();
 
-                    // notify the assembly that the application was restarted
-                    onRelaunched(application, relaunchedApplication, launchOptions);
+            // (re) launch the application
+            A relaunchedApplication = platform.launch(applicationClass, launchOptions.asArray());
 
-                    // add the application to the assembly
-                    // (this will notify the assembly of the new application)
-                    add(relaunchedApplication);
-                }
-            });
+            // notify the assembly that the application was restarted
+            onRelaunched(application, relaunchedApplication, launchOptions);
+
+            // add the application to the assembly
+            // (this will notify the assembly of the new application)
+            add(relaunchedApplication);
+
+            return relaunchedApplication;
+        }
+        else
+        {
+            return null;
+        }
     }
 
 
@@ -727,6 +762,13 @@ public abstract class AbstractAssembly<A extends Application> implements Assembl
     }
 
 
+    @Override
+    public ApplicationStream<A> parallel(int parallelism)
+    {
+        return stream().parallel(parallelism);
+    }
+
+
     @Override
     public void relaunch(Option... options)
     {
@@ -874,6 +916,15 @@ public abstract class AbstractAssembly<A extends Application> implements Assembl
         }
 
 
+        @Override
+        public ApplicationStream<A> parallel(int parallelism)
+        {
+            return new ParallelStreamAdapter(() -> stream.collect(Collectors.toList()),
+                                             Collections.emptyList(),
+                                             parallelism);
+        }
+
+
         @Override
         public void relaunch(Option... options)
         {
@@ -896,4 +947,397 @@ public abstract class AbstractAssembly<A extends Application> implements Assembl
             AbstractAssembly.this.clone(applications, count, options);
         }
     }
+
+
+    /**
+     * An internal implementation of an {@link ApplicationStream} that concurrently evaluates
+     * {@link Predicate}s and {@link Consumer}s for {@link Application}s, with at most a bounded
+     * number of evaluations outstanding at any one time.
+     * <p>
+     * Intermediate operations are recorded as stages that are evaluated, for each {@link Application},
+     * only when a terminal operation is performed.  Terminal operations that don't need to evaluate
+     * every {@link Application} cancel outstanding evaluations as soon as their result is known.
+     */
+    private class ParallelStreamAdapter implements ApplicationStream<A>
+    {
+        /**
+         * The {@link Supplier} of the {@link Application}s to which the stages are applied.
+         */
+        private final Supplier<List<A>> source;
+
+        /**
+         * The stages (filters and peeks) to apply, in order, to each {@link Application}.
+         */
+        private final List<Predicate<? super A>> stages;
+
+        /**
+         * The maximum number of concurrent evaluations.
+         */
+        private final int parallelism;
+
+
+        /**
+         * Constructs a {@link ParallelStreamAdapter}.
+         *
+         * @param source       the {@link Supplier} of {@link Application}s
+         * @param stages       the stages to apply to each {@link Application}
+         * @param parallelism  the maximum number of concurrent evaluations
+         */
+        ParallelStreamAdapter(Supplier<List<A>>          source,
+                              List<Predicate<? super A>> stages,
+                              int                        parallelism)
+        {
+            if (parallelism < 1)
+            {
+                throw new IllegalArgumentException("The parallelism must be positive");
+            }
+
+            this.source      = source;
+            this.stages      = stages;
+            this.parallelism = parallelism;
+        }
+
+
+        /**
+         * Obtains a new {@link ParallelStreamAdapter} that applies an additional stage.
+         *
+         * @param stage  the stage to add
+         *
+         * @return  a new {@link ParallelStreamAdapter}
+         */
+        private ParallelStreamAdapter with(Predicate<? super A> stage)
+        {
+            List<Predicate<? super A>> stages = new ArrayList<>(this.stages);
+
+            stages.add(stage);
+
+            return new ParallelStreamAdapter(source, stages, parallelism);
+        }
+
+
+        /**
+         * Determines whether an {@link Application} passes through all of the stages.
+         *
+         * @param application  the {@link Application}
+         *
+         * @return  <code>true</code> if the {@link Application} remains in the stream,
+         *          <code>false</code> otherwise
+         */
+        private boolean passes(A application)
+        {
+            for (Predicate<? super A> stage : stages)
+            {
+                if (!stage.test(application))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Concurrently evaluates a {@link Function} for each of the specified {@link Application}s, delivering
+         * each result together with the index of its {@link Application} to a handler, in the order that
+         * evaluations complete.  Once the handler returns <code>false</code>, no further evaluations are
+         * submitted and those outstanding are cancelled.
+         * <p>
+         * The handler is always called by the calling thread, one result at a time.
+         *
+         * @param applications  the {@link Application}s to evaluate
+         * @param function      the {@link Function} to evaluate for each {@link Application}
+         * @param handler       the handler for the results, returning <code>true</code> to continue
+         * @param <R>           the type of result
+         */
+        private <R> void evaluate(List<A>                 applications,
+                                  Function<? super A, R>  function,
+                                  BiPredicate<Integer, R> handler)
+        {
+            CompletionService<Pair<Integer, R>> completions = new ExecutorCompletionService<>(PARALLEL_EXECUTOR);
+            List<Future<Pair<Integer, R>>>      futures     = new ArrayList<>(applications.size());
+            int                                 next        = 0;
+            int                                 outstanding = 0;
+
+            try
+            {
+                while (next < applications.size() || outstanding > 0)
+                {
+                    // submit evaluations until we reach the parallelism limit
+                    while (next < applications.size() && outstanding < parallelism)
+                    {
+                        int index       = next++;
+                        A   application = applications.get(index);
+
+                        futures.add(completions.submit(() -> new Pair<>(index, function.apply(application))));
+                        outstanding++;
+                    }
+
+                    Pair<Integer, R> result = completions.take().get();
+
+                    outstanding--;
+
+                    if (!handler.test(result.getX(), result.getY()))
+                    {
+                        return;
+                    }
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new RuntimeException("Interrupted while evaluating the ApplicationStream", e);
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException) cause;
+                }
+                else if (cause instanceof Error)
+                {
+                    throw (Error) cause;
+                }
+                else
+                {
+                    throw new RuntimeException(cause);
+                }
+            }
+            finally
+            {
+                // cancel (and interrupt) any evaluations that are still outstanding
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+
+
+        /**
+         * Obtains the {@link Application}s that pass through all of the stages, in encounter order.
+         *
+         * @param maximum  the maximum number of {@link Application}s to obtain
+         *
+         * @return  the {@link List} of {@link Application}s
+         */
+        private List<A> first(int maximum)
+        {
+            List<A> applications = source.get();
+            List<A> found        = new ArrayList<>();
+
+            if (maximum > 0)
+            {
+                Boolean[] passed = new Boolean[applications.size()];
+                int[]     next   = {0};
+
+                evaluate(applications,
+                         this::passes,
+                         (index, result) -> {
+                             passed[index] = result;
+
+                             // include the applications that have been decided in encounter order
+                             while (next[0] < passed.length && passed[next[0]] != null)
+                             {
+                                 if (passed[next[0]])
+                                 {
+                                     found.add(applications.get(next[0]));
+
+                                     if (found.size() == maximum)
+                                     {
+                                         return false;
+                                     }
+                                 }
+
+                                 next[0]++;
+                             }
+
+                             return true;
+                         });
+            }
+
+            return found;
+        }
+
+
+        /**
+         * Obtains all of the {@link Application}s that pass through all of the stages, in encounter order.
+         *
+         * @return  the {@link List} of {@link Application}s
+         */
+        private List<A> all()
+        {
+            return first(Integer.MAX_VALUE);
+        }
+
+
+        @Override
+        public void close(Option... options)
+        {
+            forEach(application -> application.close(options));
+        }
+
+
+        @Override
+        public void forEach(Consumer<? super A> consumer)
+        {
+            evaluate(source.get(),
+                     application -> {
+                         if (passes(application))
+                         {
+                             consumer.accept(application);
+                         }
+
+                         return true;
+                     },
+                     (index, result) -> true);
+        }
+
+
+        @Override
+        public long count()
+        {
+            return all().size();
+        }
+
+
+        @Override
+        public ApplicationStream<A> filter(Predicate<? super A> predicate)
+        {
+            return with(predicate);
+        }
+
+
+        @Override
+        public boolean allMatch(Predicate<? super A> predicate)
+        {
+            return !anyMatch(application -> !predicate.test(application));
+        }
+
+
+        @Override
+        public boolean anyMatch(Predicate<? super A> predicate)
+        {
+            boolean[] matched = {false};
+
+            evaluate(source.get(),
+                     application -> passes(application) && predicate.test(application),
+                     (index, result) -> {
+                         matched[0] = result;
+
+                         return !result;
+                     });
+
+            return matched[0];
+        }
+
+
+        @Override
+        public boolean noneMatch(Predicate<? super A> predicate)
+        {
+            return !anyMatch(predicate);
+        }
+
+
+        @Override
+        public ApplicationStream<A> limit(int maximum)
+        {
+            return new ParallelStreamAdapter(() -> first(maximum), Collections.emptyList(), parallelism);
+        }
+
+
+        @Override
+        public ApplicationStream<A> peek(Consumer<? super A> consumer)
+        {
+            return with(application -> {
+                            consumer.accept(application);
+
+                            return true;
+                        });
+        }
+
+
+        @Override
+        public <R, T> R collect(Collector<? super A, T, R> collector)
+        {
+            return all().stream().collect(collector);
+        }
+
+
+        @Override
+        public <R> R collect(Supplier<R>              supplier,
+                             BiConsumer<R, ? super A> accumulator,
+                             BiConsumer<R, R>         combiner)
+        {
+            return all().stream().collect(supplier, accumulator, combiner);
+        }
+
+
+        @Override
+        public Optional<A> findAny()
+        {
+            List<A> applications = source.get();
+            List<A> found        = new ArrayList<>(1);
+
+            evaluate(applications,
+                     this::passes,
+                     (index, result) -> {
+                         if (result)
+                         {
+                             found.add(applications.get(index));
+                         }
+
+                         return !result;
+                     });
+
+            return found.stream().findAny();
+        }
+
+
+        @Override
+        public Optional<A> findFirst()
+        {
+            return first(1).stream().findFirst();
+        }
+
+
+        @Override
+        public ApplicationStream<A> unordered()
+        {
+            return new ParallelStreamAdapter(() -> {
+                                                 // shuffle the applications before applying the stages
+                                                 List<A> applications = new ArrayList<>(source.get());
+
+                                                 Collections.shuffle(applications);
+
+                                                 return applications;
+                                             },
+                                             stages,
+                                             parallelism);
+        }
+
+
+        @Override
+        public ApplicationStream<A> parallel(int parallelism)
+        {
+            return new ParallelStreamAdapter(source, stages, parallelism);
+        }
+
+
+        @Override
+        public void relaunch(Option... options)
+        {
+            // have the assembly relaunch the applications with the provided options
+            AbstractAssembly.this.relaunch(all(), options);
+        }
+
+
+        @Override
+        public void clone(int       count,
+                          Option... options)
+        {
+            // have the assembly clone the applications with the provided options
+            AbstractAssembly.this.clone(all(), count, options);
+        }
+    }
 }
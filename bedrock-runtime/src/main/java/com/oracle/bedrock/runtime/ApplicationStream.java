@@ -48,6 +48,12 @@ import java.util.stream.Stream;
  */
 public interface ApplicationStream<T extends Application>
 {
+    /**
+     * The default maximum number of concurrent evaluations for a {@link #parallel()} {@link ApplicationStream}.
+     */
+    int DEFAULT_PARALLELISM = 16;
+
+
     /**
      * Closes the {@link Application}s in the {@link ApplicationStream}.
      *
@@ -225,4 +231,44 @@ public interface ApplicationStream<T extends Application>
      * @return  an unordered {@link ApplicationStream}
      */
     ApplicationStream<T> unordered();
+
+
+    /**
+     * Returns an equivalent {@link ApplicationStream} that evaluates {@link Predicate}s and {@link Consumer}s
+     * concurrently for the {@link Application}s, using at most {@link #DEFAULT_PARALLELISM} concurrent
+     * evaluations.
+     *
+     * @return  a parallel {@link ApplicationStream}
+     *
+     * @see #parallel(int)
+     */
+    default ApplicationStream<T> parallel()
+    {
+        return parallel(DEFAULT_PARALLELISM);
+    }
+
+
+    /**
+     * Returns an equivalent {@link ApplicationStream} that evaluates {@link Predicate}s and {@link Consumer}s
+     * concurrently for the {@link Application}s, using at most the specified number of concurrent evaluations.
+     * <p>
+     * This is intended for {@link Predicate}s and {@link Consumer}s that interact with remote {@link Application}s,
+     * where the cost of an evaluation is dominated by waiting for a response.  Intermediate operations are
+     * evaluated lazily, when a terminal operation is performed.  Short-circuiting operations, like
+     * {@link #anyMatch(Predicate)}, {@link #allMatch(Predicate)}, {@link #findAny()} and {@link #findFirst()},
+     * return as soon as their result is decided, cancelling (by interrupting) any outstanding evaluations.
+     * <p>
+     * The encounter order of {@link Application}s is preserved for {@link #limit(int)}, {@link #findFirst()}
+     * and the collect operations, however {@link Consumer}s are invoked in no particular order.
+     * <p>
+     * Implementations that don't support concurrent evaluation may simply return themselves.
+     *
+     * @param parallelism  the maximum number of concurrent evaluations (must be positive)
+     *
+     * @return  a parallel {@link ApplicationStream}
+     */
+    default ApplicationStream<T> parallel(int parallelism)
+    {
+        return this;
+    }
 }
@@ -30,6 +30,7 @@ import com.oracle.bedrock.Bedrock;
 import com.oracle.bedrock.annotations.Internal;
 import com.oracle.bedrock.lang.StringHelper;
 import com.oracle.bedrock.options.LaunchLogging;
+import com.oracle.bedrock.runtime.console.OutputRedirector;
 import com.oracle.bedrock.runtime.options.Arguments;
 import com.oracle.bedrock.runtime.options.DisplayName;
 import com.oracle.bedrock.runtime.options.EnvironmentVariables;
@@ -239,6 +240,9 @@ public class SimpleApplicationLauncher implements ApplicationLauncher<Applicatio
         // create and start the native process
         Process process;
 
+        // allow redirectors to have the operating system redirect the streams of the process
+        OutputRedirector.redirectProcess(processBuilder, launchOptions);
+
         try
         {
             process = processBuilder.start();
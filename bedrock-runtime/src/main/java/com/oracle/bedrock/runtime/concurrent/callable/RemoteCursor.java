@@ -0,0 +1,234 @@
+/*
+ * File: RemoteCursor.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.concurrent.callable;
+
+import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy {@link Iterator} over the items of a cursor opened in the {@link RemoteHandleRegistry}
+ * of an application, that requests the items one {@link RemoteHandleRegistry.Page} at a time.
+ * <p>
+ * At most one {@link RemoteHandleRegistry.Page} is requested ahead of the {@link RemoteHandleRegistry.Page}
+ * being consumed, so that the application only produces items as fast as they are consumed, and at most
+ * two {@link RemoteHandleRegistry.Page}s are held in memory at once.
+ * <p>
+ * A {@link RemoteCursor} that is not consumed to the end should be {@link #close()}d, to release the
+ * cursor in the application.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @param <T>  the type of the items
+ */
+public class RemoteCursor<T> implements Iterator<T>, Closeable
+{
+    /**
+     * The {@link RemoteChannel} with which to request {@link RemoteHandleRegistry.Page}s.
+     */
+    private final RemoteChannel channel;
+
+    /**
+     * The maximum number of items in a {@link RemoteHandleRegistry.Page}.
+     */
+    private final int pageSize;
+
+    /**
+     * The {@link Iterator} over the items of the current {@link RemoteHandleRegistry.Page}
+     * (<code>null</code> until the first {@link RemoteHandleRegistry.Page} has arrived).
+     */
+    private Iterator<?> items;
+
+    /**
+     * The {@link CompletableFuture} for the next {@link RemoteHandleRegistry.Page}
+     * (<code>null</code> when the cursor has been exhausted or closed).
+     */
+    private CompletableFuture<RemoteHandleRegistry.Page> next;
+
+
+    /**
+     * Constructs a {@link RemoteCursor}.
+     *
+     * @param channel   the {@link RemoteChannel} with which to request {@link RemoteHandleRegistry.Page}s
+     * @param first     the {@link CompletableFuture} for the first {@link RemoteHandleRegistry.Page},
+     *                  typically produced by submitting a {@link RemoteHandleRegistry.OpenCursor}
+     * @param pageSize  the maximum number of items in a {@link RemoteHandleRegistry.Page}
+     */
+    public RemoteCursor(RemoteChannel                                channel,
+                        CompletableFuture<RemoteHandleRegistry.Page> first,
+                        int                                          pageSize)
+    {
+        if (pageSize < 1)
+        {
+            throw new IllegalArgumentException("The page size must be positive");
+        }
+
+        this.channel  = channel;
+        this.pageSize = pageSize;
+        this.items    = null;
+        this.next     = first;
+    }
+
+
+    /**
+     * Opens a {@link RemoteCursor} over the {@link Iterable} result of invoking a method on an instance
+     * in the {@link RemoteHandleRegistry} of an application.
+     *
+     * @param channel    the {@link RemoteChannel} of the application
+     * @param handle     the handle of the instance
+     * @param methodId   the method-id of the method to invoke
+     * @param arguments  the arguments for the method
+     * @param pageSize   the maximum number of items in a {@link RemoteHandleRegistry.Page}
+     * @param <T>        the type of the items
+     *
+     * @return  a {@link RemoteCursor}
+     */
+    public static <T> RemoteCursor<T> open(RemoteChannel channel,
+                                           long          handle,
+                                           int           methodId,
+                                           Object[]      arguments,
+                                           int           pageSize)
+    {
+        return new RemoteCursor<>(channel,
+                                  channel.submit(new RemoteHandleRegistry.OpenCursor(handle,
+                                                                                     methodId,
+                                                                                     arguments,
+                                                                                     pageSize)),
+                                  pageSize);
+    }
+
+
+    @Override
+    public synchronized boolean hasNext()
+    {
+        while (items == null || !items.hasNext())
+        {
+            if (next == null)
+            {
+                return false;
+            }
+
+            RemoteHandleRegistry.Page page = await(next);
+
+            items = page.getItems().iterator();
+
+            // request the following page while this page is consumed
+            next = page.isExhausted()
+                   ? null : channel.submit(new RemoteHandleRegistry.NextPage(page.getCursor(), pageSize));
+        }
+
+        return true;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized T next()
+    {
+        if (hasNext())
+        {
+            return (T) items.next();
+        }
+        else
+        {
+            throw new NoSuchElementException();
+        }
+    }
+
+
+    @Override
+    public synchronized void close()
+    {
+        CompletableFuture<RemoteHandleRegistry.Page> outstanding = next;
+
+        next  = null;
+        items = null;
+
+        if (outstanding != null)
+        {
+            // the cursor is closed in the application unless the outstanding page was the last
+            outstanding.thenAccept(page -> {
+                                       if (!page.isExhausted())
+                                       {
+                                           channel.submit(new RemoteHandleRegistry.CloseCursor(page.getCursor()));
+                                       }
+                                   });
+        }
+    }
+
+
+    /**
+     * Obtains a sequential {@link Stream} over the remaining items of the {@link RemoteCursor}.
+     * Closing the {@link Stream} closes the {@link RemoteCursor}.
+     *
+     * @return  a {@link Stream}
+     */
+    public Stream<T> stream()
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                            .onClose(this::close);
+    }
+
+
+    /**
+     * Waits for a {@link RemoteHandleRegistry.Page} to arrive.
+     *
+     * @param future  the {@link CompletableFuture} for the {@link RemoteHandleRegistry.Page}
+     *
+     * @return  the {@link RemoteHandleRegistry.Page}
+     */
+    private RemoteHandleRegistry.Page await(CompletableFuture<RemoteHandleRegistry.Page> future)
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new RuntimeException("Interrupted while waiting for the next page", e);
+        }
+        catch (ExecutionException e)
+        {
+            // there are no more pages after a failure
+            next = null;
+
+            throw e.getCause() instanceof RuntimeException
+                  ? (RuntimeException) e.getCause() : new RuntimeException("Failed to obtain the next page",
+                                                                           e.getCause());
+        }
+    }
+}
@@ -0,0 +1,1185 @@
+/*
+ * File: RemoteHandleRegistry.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.concurrent.callable;
+
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A registry of instances, resolved once in an application and thereafter identified by a handle,
+ * on which methods of an interface may be invoked by method-id.
+ * <p>
+ * Unlike a {@link RemoteMethodInvocation}, that produces the instance and resolves the {@link Method} for every
+ * invocation, a {@link Registration} produces the instance once and returns a handle for it.  Thereafter an
+ * {@link Invocation} only needs to carry the handle, the method-id and the arguments, which are dispatched using
+ * {@link MethodHandle}s cached in a {@link MethodTable}.
+ * <p>
+ * Methods returning large {@link Iterable}s may instead be invoked with an {@link OpenCursor}, after which
+ * the result is returned in bounded {@link Page}s, each requested with a {@link NextPage}.  When the
+ * {@link RemoteMethodInvocation.Interceptor} of an instance is also a {@link CursorSource}, it may provide
+ * an {@link Iterator} that lazily produces the result, instead of the result being produced by the method.
+ * Cursors are closed when exhausted or closed with a {@link CloseCursor}, and otherwise once they have been
+ * idle for {@link #CURSOR_IDLE_TIMEOUT_MS} or when more than {@link #MAXIMUM_OPEN_CURSORS} are open.
+ * <p>
+ * Registrations with the same key share the same handle, which remains registered until each registration
+ * has been {@link #release(long) released}.  When the {@link RemoteMethodInvocation.Interceptor} of an instance
+ * is also an {@link InstanceValidator}, an instance that is no longer valid is produced again before it is
+ * invoked, so that the handle remains usable.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public final class RemoteHandleRegistry
+{
+    /**
+     * The duration (in milliseconds) after which a cursor that has not been used is closed.
+     */
+    public static final long CURSOR_IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * The maximum number of open cursors, beyond which the least recently used cursors are closed.
+     */
+    public static final int MAXIMUM_OPEN_CURSORS = 1024;
+
+    /**
+     * The handles of the registered instances, by the key with which they were registered.
+     */
+    private static final ConcurrentHashMap<String, Long> HANDLES_BY_KEY = new ConcurrentHashMap<>();
+
+    /**
+     * The registered instances, by handle.
+     */
+    private static final ConcurrentHashMap<Long, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    /**
+     * The {@link MethodTable}s, by interface.
+     */
+    private static final ConcurrentHashMap<Class<?>, MethodTable> METHOD_TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * The open {@link Cursor}s, by cursor.
+     */
+    private static final ConcurrentHashMap<Long, Cursor> CURSORS = new ConcurrentHashMap<>();
+
+    /**
+     * The next handle (or cursor) to allocate.
+     */
+    private static final AtomicLong NEXT_HANDLE = new AtomicLong(1);
+
+
+    /**
+     * Private constructor, as {@link RemoteHandleRegistry} only provides static methods.
+     */
+    private RemoteHandleRegistry()
+    {
+    }
+
+
+    /**
+     * Registers the instance produced by the specified {@link RemoteCallable}, unless an instance has already
+     * been registered with the specified key, in which case the existing handle is returned and shared.
+     * <p>
+     * Each registration of a handle must be {@link #release(long) released}.
+     *
+     * @param key             the key identifying the instance
+     * @param producer        the {@link RemoteCallable} to produce the instance
+     * @param interfaceClass  the interface whose methods may be invoked on the instance
+     * @param interceptor     the optional (may be <code>null</code>) {@link RemoteMethodInvocation.Interceptor}
+     *
+     * @return  the handle for the instance
+     */
+    public static long register(String                             key,
+                                RemoteCallable<?>                  producer,
+                                Class<?>                           interfaceClass,
+                                RemoteMethodInvocation.Interceptor interceptor)
+    {
+        // the references of an entry are only updated while computing the handle for its key
+        return HANDLES_BY_KEY.compute(key,
+                                      (k, existing) -> {
+                                          Entry entry = existing == null ? null : ENTRIES.get(existing);
+
+                                          if (entry == null)
+                                          {
+                                              long handle = NEXT_HANDLE.getAndIncrement();
+
+                                              ENTRIES.put(handle,
+                                                          new Entry(key,
+                                                                    produce(key, producer),
+                                                                    producer,
+                                                                    MethodTable.of(interfaceClass),
+                                                                    interceptor));
+
+                                              return handle;
+                                          }
+                                          else
+                                          {
+                                              entry.references++;
+
+                                              return existing;
+                                          }
+                                      });
+    }
+
+
+    /**
+     * Releases a registration of the specified handle.  Once every registration of the handle has been released,
+     * subsequent {@link #invoke(long, int, Object[])}s with the handle will fail.
+     *
+     * @param handle  the handle
+     *
+     * @return  <code>true</code> if a registration of the handle was released, <code>false</code> if it was unknown
+     */
+    public static boolean release(long handle)
+    {
+        Entry entry = ENTRIES.get(handle);
+
+        if (entry == null)
+        {
+            return false;
+        }
+
+        HANDLES_BY_KEY.compute(entry.key,
+                               (key, existing) -> {
+                                   if (ENTRIES.get(handle) == entry && --entry.references == 0)
+                                   {
+                                       ENTRIES.remove(handle);
+
+                                       return existing == null || existing == handle ? null : existing;
+                                   }
+                                   else
+                                   {
+                                       return existing;
+                                   }
+                               });
+
+        return true;
+    }
+
+
+    /**
+     * Invokes the method with the specified method-id on the instance with the specified handle.
+     *
+     * @param handle     the handle of the instance
+     * @param methodId   the method-id, as defined by the {@link MethodTable} of the registered interface
+     * @param arguments  the arguments for the method
+     *
+     * @return  the result of the method
+     *
+     * @throws Exception  when the method fails
+     */
+    public static Object invoke(long     handle,
+                                int      methodId,
+                                Object[] arguments) throws Exception
+    {
+        return invoke(getEntry(handle), methodId, arguments, true);
+    }
+
+
+    /**
+     * Invokes the method with the specified method-id on the instance with the specified handle, and opens
+     * a cursor over the {@link Iterable} result, returning the first {@link Page} of the result.
+     * <p>
+     * As the result is returned in {@link Page}s, the {@link RemoteMethodInvocation.Interceptor} (if any) is not
+     * used to transform the result.  Instead {@link Map.Entry}s are copied so that they may be serialized.
+     *
+     * @param handle     the handle of the instance
+     * @param methodId   the method-id, as defined by the {@link MethodTable} of the registered interface
+     * @param arguments  the arguments for the method
+     * @param pageSize   the maximum number of items in a {@link Page}
+     *
+     * @return  the first {@link Page}
+     *
+     * @throws Exception  when the method fails
+     */
+    public static Page openCursor(long     handle,
+                                  int      methodId,
+                                  Object[] arguments,
+                                  int      pageSize) throws Exception
+    {
+        Entry       entry    = getEntry(handle);
+        Iterator<?> iterator = null;
+
+        if (entry.interceptor instanceof CursorSource)
+        {
+            // allow the result to be lazily produced
+            iterator = ((CursorSource) entry.interceptor).iterate(getInstance(entry),
+                                                                 entry.methodTable.getMethod(methodId),
+                                                                 arguments);
+        }
+
+        if (iterator == null)
+        {
+            Object result = invoke(entry, methodId, arguments, false);
+
+            if (result instanceof Iterable)
+            {
+                iterator = ((Iterable<?>) result).iterator();
+            }
+            else
+            {
+                throw new IllegalStateException("The method [" + entry.methodTable.getMethod(methodId)
+                                                + "] did not return an Iterable");
+            }
+        }
+
+        // close the cursors that have been abandoned before opening another
+        expireCursors(CURSOR_IDLE_TIMEOUT_MS, MAXIMUM_OPEN_CURSORS - 1);
+
+        long cursor = NEXT_HANDLE.getAndIncrement();
+
+        CURSORS.put(cursor, new Cursor(iterator));
+
+        return nextPage(cursor, pageSize);
+    }
+
+
+    /**
+     * Obtains the next {@link Page} of a cursor opened with {@link #openCursor(long, int, Object[], int)}.
+     * The cursor is closed once it has been exhausted.
+     *
+     * @param cursor    the cursor
+     * @param pageSize  the maximum number of items in the {@link Page}
+     *
+     * @return  the next {@link Page}
+     */
+    public static Page nextPage(long cursor,
+                                int  pageSize)
+    {
+        if (pageSize < 1)
+        {
+            throw new IllegalArgumentException("The page size must be positive");
+        }
+
+        Cursor state = CURSORS.get(cursor);
+
+        if (state == null)
+        {
+            throw new IllegalStateException("The remote cursor [" + cursor + "] is not open (it may have expired)");
+        }
+
+        Iterator<?>       iterator = state.iterator;
+        ArrayList<Object> items    = new ArrayList<>(Math.min(pageSize, 1024));
+
+        state.lastUsedMS = System.currentTimeMillis();
+
+        while (items.size() < pageSize && iterator.hasNext())
+        {
+            Object item = iterator.next();
+
+            // entries may not be serializable, so copy them
+            items.add(item instanceof Map.Entry
+                      ? new AbstractMap.SimpleImmutableEntry<>((Map.Entry<?, ?>) item) : item);
+        }
+
+        boolean exhausted = !iterator.hasNext();
+
+        if (exhausted)
+        {
+            closeCursor(cursor);
+        }
+
+        return new Page(cursor, items, exhausted);
+    }
+
+
+    /**
+     * Closes a cursor opened with {@link #openCursor(long, int, Object[], int)}, before it has been exhausted.
+     *
+     * @param cursor  the cursor
+     *
+     * @return  <code>true</code> if the cursor was closed, <code>false</code> if it was not open
+     */
+    public static boolean closeCursor(long cursor)
+    {
+        Cursor state = CURSORS.remove(cursor);
+
+        if (state == null)
+        {
+            return false;
+        }
+        else
+        {
+            state.close();
+
+            return true;
+        }
+    }
+
+
+    /**
+     * Closes the cursors that have not been used for the specified duration, and then the least recently
+     * used cursors until at most the specified number of cursors remain open.
+     *
+     * @param idleTimeoutMS  the duration (in milliseconds) after which an unused cursor is closed
+     * @param maximum        the maximum number of cursors to remain open
+     *
+     * @return  the number of cursors closed
+     */
+    static int expireCursors(long idleTimeoutMS,
+                             int  maximum)
+    {
+        long expiry = System.currentTimeMillis() - idleTimeoutMS;
+        int  closed = 0;
+
+        for (Map.Entry<Long, Cursor> entry : CURSORS.entrySet())
+        {
+            if (entry.getValue().lastUsedMS <= expiry && closeCursor(entry.getKey()))
+            {
+                closed++;
+            }
+        }
+
+        if (CURSORS.size() > maximum)
+        {
+            List<Map.Entry<Long, Cursor>> cursors = new ArrayList<>(CURSORS.entrySet());
+
+            cursors.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsedMS));
+
+            for (int i = 0; i < cursors.size() - maximum; i++)
+            {
+                if (closeCursor(cursors.get(i).getKey()))
+                {
+                    closed++;
+                }
+            }
+        }
+
+        return closed;
+    }
+
+
+    /**
+     * Obtains the {@link Entry} with the specified handle.
+     *
+     * @param handle  the handle
+     *
+     * @return  the {@link Entry}
+     *
+     * @throws IllegalStateException  when the handle is not registered
+     */
+    private static Entry getEntry(long handle)
+    {
+        Entry entry = ENTRIES.get(handle);
+
+        if (entry == null)
+        {
+            throw new IllegalStateException("The remote handle [" + handle + "] is not registered");
+        }
+
+        return entry;
+    }
+
+
+    /**
+     * Obtains the instance of an {@link Entry}, producing it again when its {@link InstanceValidator}
+     * determines that it is no longer valid.
+     *
+     * @param entry  the {@link Entry}
+     *
+     * @return  the instance
+     */
+    private static Object getInstance(Entry entry)
+    {
+        Object instance = entry.instance;
+
+        if (entry.interceptor instanceof InstanceValidator)
+        {
+            InstanceValidator validator = (InstanceValidator) entry.interceptor;
+
+            if (!validator.isValid(instance))
+            {
+                synchronized (entry)
+                {
+                    // another invocation may have already produced the instance again
+                    instance = entry.instance;
+
+                    if (!validator.isValid(instance))
+                    {
+                        instance       = produce(entry.key, entry.producer);
+                        entry.instance = instance;
+                    }
+                }
+            }
+        }
+
+        return instance;
+    }
+
+
+    /**
+     * Produces an instance using the specified {@link RemoteCallable}.
+     *
+     * @param key       the key identifying the instance
+     * @param producer  the {@link RemoteCallable} to produce the instance
+     *
+     * @return  the instance
+     */
+    private static Object produce(String            key,
+                                  RemoteCallable<?> producer)
+    {
+        Object instance;
+
+        try
+        {
+            instance = producer.call();
+        }
+        catch (RuntimeException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException("Failed to produce the instance for [" + key + "]", e);
+        }
+
+        if (instance == null)
+        {
+            throw new NullPointerException("Remote Instance is null");
+        }
+
+        return instance;
+    }
+
+
+    /**
+     * Invokes the method with the specified method-id on the instance of an {@link Entry}.
+     *
+     * @param entry            the {@link Entry}
+     * @param methodId         the method-id
+     * @param arguments        the arguments for the method
+     * @param interceptResult  should the result be transformed by the {@link RemoteMethodInvocation.Interceptor}
+     *
+     * @return  the result of the method
+     *
+     * @throws Exception  when the method fails
+     */
+    private static Object invoke(Entry    entry,
+                                 int      methodId,
+                                 Object[] arguments,
+                                 boolean  interceptResult) throws Exception
+    {
+        Method                             method      = entry.methodTable.getMethod(methodId);
+        RemoteMethodInvocation.Interceptor interceptor = entry.interceptor;
+        Object                             instance    = getInstance(entry);
+
+        if (interceptor != null)
+        {
+            interceptor.onBeforeInvocation(instance, method, arguments);
+        }
+
+        try
+        {
+            Object result = entry.methodTable.invoke(methodId, instance, arguments);
+
+            return interceptor == null || !interceptResult ? result : interceptor.onAfterInvocation(instance,
+                                                                                                     method,
+                                                                                                     arguments,
+                                                                                                     result);
+        }
+        catch (Exception e)
+        {
+            throw interceptor == null ? e : interceptor.onInvocationException(instance, method, arguments, e);
+        }
+    }
+
+
+    /**
+     * An entry in the {@link RemoteHandleRegistry}.
+     */
+    private static class Entry
+    {
+        /**
+         * The key with which the instance was registered.
+         */
+        private final String key;
+
+        /**
+         * The registered instance (produced again when it is no longer valid).
+         */
+        private volatile Object instance;
+
+        /**
+         * The {@link RemoteCallable} that produced the instance.
+         */
+        private final RemoteCallable<?> producer;
+
+        /**
+         * The {@link MethodTable} for the interface of the instance.
+         */
+        private final MethodTable methodTable;
+
+        /**
+         * The optional {@link RemoteMethodInvocation.Interceptor}.
+         */
+        private final RemoteMethodInvocation.Interceptor interceptor;
+
+        /**
+         * The number of registrations that have not been released.
+         */
+        private int references;
+
+
+        /**
+         * Constructs an {@link Entry}.
+         *
+         * @param key          the key with which the instance was registered
+         * @param instance     the instance
+         * @param producer     the {@link RemoteCallable} that produced the instance
+         * @param methodTable  the {@link MethodTable} for the instance
+         * @param interceptor  the optional {@link RemoteMethodInvocation.Interceptor}
+         */
+        private Entry(String                             key,
+                      Object                             instance,
+                      RemoteCallable<?>                  producer,
+                      MethodTable                        methodTable,
+                      RemoteMethodInvocation.Interceptor interceptor)
+        {
+            this.key         = key;
+            this.instance    = instance;
+            this.producer    = producer;
+            this.methodTable = methodTable;
+            this.interceptor = interceptor;
+            this.references  = 1;
+        }
+    }
+
+
+    /**
+     * An open cursor in the {@link RemoteHandleRegistry}.
+     */
+    private static class Cursor
+    {
+        /**
+         * The {@link Iterator} over the remaining items of the cursor.
+         */
+        private final Iterator<?> iterator;
+
+        /**
+         * The time (in milliseconds) when the cursor was last used.
+         */
+        private volatile long lastUsedMS;
+
+
+        /**
+         * Constructs a {@link Cursor}.
+         *
+         * @param iterator  the {@link Iterator} over the items of the cursor
+         */
+        private Cursor(Iterator<?> iterator)
+        {
+            this.iterator   = iterator;
+            this.lastUsedMS = System.currentTimeMillis();
+        }
+
+
+        /**
+         * Closes the {@link Iterator} of the cursor, when it holds resources.
+         */
+        private void close()
+        {
+            if (iterator instanceof AutoCloseable)
+            {
+                try
+                {
+                    ((AutoCloseable) iterator).close();
+                }
+                catch (Exception e)
+                {
+                    // SKIP: the cursor is closed regardless
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Provides {@link Iterator}s that lazily produce the {@link Iterable} results of methods, so that cursors
+     * opened with {@link #openCursor(long, int, Object[], int)} don't require the entire result to be produced
+     * before the first {@link Page} is returned.
+     * <p>
+     * A {@link RemoteMethodInvocation.Interceptor} that is also a {@link CursorSource} is used to provide the
+     * {@link Iterator}s for the cursors of the instance with which it was registered.
+     */
+    @FunctionalInterface
+    public interface CursorSource
+    {
+        /**
+         * Obtains an {@link Iterator} over the result of invoking a method on an instance.
+         *
+         * @param instance   the instance
+         * @param method     the {@link Method}
+         * @param arguments  the arguments for the method
+         *
+         * @return  an {@link Iterator} or <code>null</code> to invoke the method and iterate over its result
+         *
+         * @throws Exception  when the {@link Iterator} could not be provided
+         */
+        Iterator<?> iterate(Object   instance,
+                            Method   method,
+                            Object[] arguments) throws Exception;
+    }
+
+
+    /**
+     * Determines whether registered instances remain valid, so that instances that are no longer valid,
+     * for example because they have been closed, are produced again before they are invoked.
+     * <p>
+     * A {@link RemoteMethodInvocation.Interceptor} that is also an {@link InstanceValidator} is used to validate
+     * the instance with which it was registered.
+     */
+    @FunctionalInterface
+    public interface InstanceValidator
+    {
+        /**
+         * Determines whether an instance remains valid.
+         *
+         * @param instance  the instance
+         *
+         * @return  <code>true</code> if the instance may be invoked, <code>false</code> if it should be produced again
+         */
+        boolean isValid(Object instance);
+    }
+
+
+    /**
+     * A table of the public {@link Method}s of an interface, assigning each a method-id and dispatching
+     * invocations through cached {@link MethodHandle}s.
+     * <p>
+     * Method-ids are assigned by ordering the {@link Method}s by name, parameter types, return type and
+     * declaring class, so they are the same in every application that has the same version of the interface.
+     */
+    public static final class MethodTable
+    {
+        /**
+         * The {@link Method}s, indexed by method-id.
+         */
+        private final Method[] methods;
+
+        /**
+         * The method-ids, by {@link Method}.
+         */
+        private final Map<Method, Integer> methodIds;
+
+        /**
+         * The {@link MethodHandle}s, indexed by method-id, each of type <code>(Object, Object[])Object</code>
+         * (lazily created).
+         */
+        private final MethodHandle[] handles;
+
+
+        /**
+         * Constructs a {@link MethodTable}.
+         *
+         * @param interfaceClass  the interface
+         */
+        private MethodTable(Class<?> interfaceClass)
+        {
+            this.methods = interfaceClass.getMethods();
+
+            Arrays.sort(methods,
+                        Comparator.comparing(Method::getName)
+                        .thenComparing(method -> Arrays.toString(method.getParameterTypes()))
+                        .thenComparing(method -> method.getReturnType().getName())
+                        .thenComparing(method -> method.getDeclaringClass().getName()));
+
+            this.methodIds = new HashMap<>();
+
+            for (int i = 0; i < methods.length; i++)
+            {
+                methodIds.put(methods[i], i);
+            }
+
+            this.handles = new MethodHandle[methods.length];
+        }
+
+
+        /**
+         * Obtains the {@link MethodTable} for the specified interface.
+         *
+         * @param interfaceClass  the interface
+         *
+         * @return  the {@link MethodTable}
+         */
+        public static MethodTable of(Class<?> interfaceClass)
+        {
+            return METHOD_TABLES.computeIfAbsent(interfaceClass, MethodTable::new);
+        }
+
+
+        /**
+         * Obtains the method-id of the specified {@link Method}.
+         *
+         * @param method  the {@link Method}
+         *
+         * @return  the method-id
+         *
+         * @throws IllegalArgumentException  when the {@link Method} isn't in the {@link MethodTable}
+         */
+        public int getMethodId(Method method)
+        {
+            Integer methodId = methodIds.get(method);
+
+            if (methodId == null)
+            {
+                throw new IllegalArgumentException("The method [" + method + "] is not defined by the interface");
+            }
+
+            return methodId;
+        }
+
+
+        /**
+         * Obtains the {@link Method} with the specified method-id.
+         *
+         * @param methodId  the method-id
+         *
+         * @return  the {@link Method}
+         */
+        public Method getMethod(int methodId)
+        {
+            if (methodId < 0 || methodId >= methods.length)
+            {
+                throw new IllegalArgumentException("The method-id [" + methodId + "] is not defined by the interface");
+            }
+
+            return methods[methodId];
+        }
+
+
+        /**
+         * Invokes the method with the specified method-id on an instance.
+         *
+         * @param methodId   the method-id
+         * @param instance   the instance
+         * @param arguments  the arguments
+         *
+         * @return  the result of the method (<code>null</code> for <code>void</code> methods)
+         *
+         * @throws Exception  when the method fails
+         */
+        public Object invoke(int      methodId,
+                             Object   instance,
+                             Object[] arguments) throws Exception
+        {
+            MethodHandle handle = handles[methodId];
+
+            if (handle == null)
+            {
+                // racing to create the same handle is harmless
+                handle            = createHandle(getMethod(methodId));
+                handles[methodId] = handle;
+            }
+
+            try
+            {
+                return (Object) handle.invokeExact(instance, arguments);
+            }
+            catch (Exception | Error e)
+            {
+                throw e;
+            }
+            catch (Throwable throwable)
+            {
+                throw new RuntimeException(throwable);
+            }
+        }
+
+
+        /**
+         * Creates a {@link MethodHandle} of type <code>(Object, Object[])Object</code> for a {@link Method}.
+         *
+         * @param method  the {@link Method}
+         *
+         * @return  a {@link MethodHandle}
+         */
+        private static MethodHandle createHandle(Method method)
+        {
+            try
+            {
+                // allow invoking methods of non-public interfaces
+                method.setAccessible(true);
+
+                return MethodHandles.lookup().unreflect(method).asSpreader(Object[].class,
+                                                                           method.getParameterCount())
+                                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new IllegalStateException("Unable to access the method [" + method + "]", e);
+            }
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to {@link #register(String, RemoteCallable, Class, RemoteMethodInvocation.Interceptor)}
+     * an instance in the {@link RemoteHandleRegistry} of an application.
+     */
+    public static class Registration implements RemoteCallable<Long>
+    {
+        /**
+         * The key identifying the instance.
+         */
+        private final String key;
+
+        /**
+         * The {@link RemoteCallable} to produce the instance.
+         */
+        private final RemoteCallable<?> producer;
+
+        /**
+         * The name of the interface whose methods may be invoked.
+         */
+        private final String interfaceName;
+
+        /**
+         * The optional (may be <code>null</code>) {@link RemoteMethodInvocation.Interceptor}.
+         */
+        private final RemoteMethodInvocation.Interceptor interceptor;
+
+
+        /**
+         * Constructs a {@link Registration}.
+         *
+         * @param key             the key identifying the instance
+         * @param producer        the {@link RemoteCallable} to produce the instance
+         * @param interfaceClass  the interface whose methods may be invoked
+         * @param interceptor     the optional (may be <code>null</code>) {@link RemoteMethodInvocation.Interceptor}
+         */
+        public Registration(String                             key,
+                            RemoteCallable<?>                  producer,
+                            Class<?>                           interfaceClass,
+                            RemoteMethodInvocation.Interceptor interceptor)
+        {
+            this.key           = key;
+            this.producer      = producer;
+            this.interfaceName = interfaceClass.getName();
+            this.interceptor   = interceptor;
+        }
+
+
+        @Override
+        public Long call() throws Exception
+        {
+            ClassLoader classLoader    = Thread.currentThread().getContextClassLoader();
+            Class<?>    interfaceClass = Class.forName(interfaceName,
+                                                       true,
+                                                       classLoader == null ? getClass().getClassLoader() : classLoader);
+
+            return register(key, producer, interfaceClass, interceptor);
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to {@link #invoke(long, int, Object[])} a method on an instance
+     * in the {@link RemoteHandleRegistry} of an application.
+     */
+    public static class Invocation implements RemoteCallable<Object>
+    {
+        /**
+         * The handle of the instance.
+         */
+        private final long handle;
+
+        /**
+         * The method-id of the method to invoke.
+         */
+        private final int methodId;
+
+        /**
+         * The arguments for the method.
+         */
+        private final Object[] arguments;
+
+
+        /**
+         * Constructs an {@link Invocation}.
+         *
+         * @param handle     the handle of the instance
+         * @param methodId   the method-id of the method to invoke
+         * @param arguments  the arguments for the method
+         */
+        public Invocation(long     handle,
+                          int      methodId,
+                          Object[] arguments)
+        {
+            this.handle    = handle;
+            this.methodId  = methodId;
+            this.arguments = arguments;
+        }
+
+
+        @Override
+        public Object call() throws Exception
+        {
+            return invoke(handle, methodId, arguments);
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to {@link #release(long)} a handle in the {@link RemoteHandleRegistry}
+     * of an application.
+     */
+    public static class Release implements RemoteCallable<Boolean>
+    {
+        /**
+         * The handle to release.
+         */
+        private final long handle;
+
+
+        /**
+         * Constructs a {@link Release}.
+         *
+         * @param handle  the handle to release
+         */
+        public Release(long handle)
+        {
+            this.handle = handle;
+        }
+
+
+        @Override
+        public Boolean call()
+        {
+            return release(handle);
+        }
+    }
+
+
+    /**
+     * A page of the items of a cursor opened with {@link #openCursor(long, int, Object[], int)}.
+     */
+    public static class Page implements Serializable
+    {
+        /**
+         * The cursor.
+         */
+        private final long cursor;
+
+        /**
+         * The items in the {@link Page}.
+         */
+        private final ArrayList<Object> items;
+
+        /**
+         * Is this the last {@link Page} of the cursor?
+         */
+        private final boolean exhausted;
+
+
+        /**
+         * Constructs a {@link Page}.
+         *
+         * @param cursor     the cursor
+         * @param items      the items in the {@link Page}
+         * @param exhausted  is this the last {@link Page} of the cursor
+         */
+        public Page(long              cursor,
+                    ArrayList<Object> items,
+                    boolean           exhausted)
+        {
+            this.cursor    = cursor;
+            this.items     = items;
+            this.exhausted = exhausted;
+        }
+
+
+        /**
+         * Obtains the cursor of the {@link Page}.
+         *
+         * @return  the cursor
+         */
+        public long getCursor()
+        {
+            return cursor;
+        }
+
+
+        /**
+         * Obtains the items in the {@link Page}.
+         *
+         * @return  the items
+         */
+        public List<Object> getItems()
+        {
+            return items;
+        }
+
+
+        /**
+         * Determines if this is the last {@link Page} of the cursor, in which case the cursor has been closed.
+         *
+         * @return  <code>true</code> if this is the last {@link Page}, <code>false</code> otherwise
+         */
+        public boolean isExhausted()
+        {
+            return exhausted;
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to {@link #openCursor(long, int, Object[], int)} in the
+     * {@link RemoteHandleRegistry} of an application.
+     */
+    public static class OpenCursor implements RemoteCallable<Page>
+    {
+        /**
+         * The handle of the instance.
+         */
+        private final long handle;
+
+        /**
+         * The method-id of the method to invoke.
+         */
+        private final int methodId;
+
+        /**
+         * The arguments for the method.
+         */
+        private final Object[] arguments;
+
+        /**
+         * The maximum number of items in a {@link Page}.
+         */
+        private final int pageSize;
+
+
+        /**
+         * Constructs an {@link OpenCursor}.
+         *
+         * @param handle     the handle of the instance
+         * @param methodId   the method-id of the method to invoke
+         * @param arguments  the arguments for the method
+         * @param pageSize   the maximum number of items in a {@link Page}
+         */
+        public OpenCursor(long     handle,
+                          int      methodId,
+                          Object[] arguments,
+                          int      pageSize)
+        {
+            this.handle    = handle;
+            this.methodId  = methodId;
+            this.arguments = arguments;
+            this.pageSize  = pageSize;
+        }
+
+
+        @Override
+        public Page call() throws Exception
+        {
+            return openCursor(handle, methodId, arguments, pageSize);
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to obtain the {@link #nextPage(long, int)} of a cursor in the
+     * {@link RemoteHandleRegistry} of an application.
+     */
+    public static class NextPage implements RemoteCallable<Page>
+    {
+        /**
+         * The cursor.
+         */
+        private final long cursor;
+
+        /**
+         * The maximum number of items in the {@link Page}.
+         */
+        private final int pageSize;
+
+
+        /**
+         * Constructs a {@link NextPage}.
+         *
+         * @param cursor    the cursor
+         * @param pageSize  the maximum number of items in the {@link Page}
+         */
+        public NextPage(long cursor,
+                        int  pageSize)
+        {
+            this.cursor   = cursor;
+            this.pageSize = pageSize;
+        }
+
+
+        @Override
+        public Page call()
+        {
+            return nextPage(cursor, pageSize);
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to {@link #closeCursor(long)} in the {@link RemoteHandleRegistry} of an application.
+     */
+    public static class CloseCursor implements RemoteCallable<Boolean>
+    {
+        /**
+         * The cursor to close.
+         */
+        private final long cursor;
+
+
+        /**
+         * Constructs a {@link CloseCursor}.
+         *
+         * @param cursor  the cursor to close
+         */
+        public CloseCursor(long cursor)
+        {
+            this.cursor = cursor;
+        }
+
+
+        @Override
+        public Boolean call()
+        {
+            return closeCursor(cursor);
+        }
+    }
+}
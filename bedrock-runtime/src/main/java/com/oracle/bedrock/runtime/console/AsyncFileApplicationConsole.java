@@ -0,0 +1,311 @@
+/*
+ * File: AsyncFileApplicationConsole.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import com.oracle.bedrock.runtime.ApplicationConsole;
+import com.oracle.bedrock.runtime.ApplicationConsoleBuilder;
+import com.oracle.bedrock.runtime.java.io.NullReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * An {@link ApplicationConsole} that asynchronously appends standard output and error streams
+ * to a specified file using an {@link AsyncLogSink}, and uses a {@link NullReader} for standard input.
+ * <p>
+ * Unlike the {@link FileWriterApplicationConsole}, output isn't written by the threads redirecting
+ * the application streams.  Instead a single {@link AsyncLogSink} writer thread, typically shared by
+ * the consoles of many applications, writes the output in batches.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see AsyncLogSink
+ */
+public class AsyncFileApplicationConsole implements ApplicationConsole
+{
+    /**
+     * The {@link AsyncLogSink.LogFile} to which output is appended.
+     */
+    private final AsyncLogSink.LogFile logFile;
+
+    /**
+     * The Standard Output {@link PrintWriter}.
+     */
+    private final PrintWriter outputWriter;
+
+    /**
+     * The Standard Error {@link PrintWriter}.
+     */
+    private final PrintWriter errorWriter;
+
+    /**
+     * The Standard Input {@link Reader}.
+     */
+    private final Reader inputReader;
+
+    /**
+     * If true, application output should be formatted to
+     * include application information.
+     */
+    private final boolean diagnosticMode;
+
+
+    /**
+     * Constructs an {@link AsyncFileApplicationConsole} using the shared {@link AsyncLogSink}.
+     *
+     * @param file  the {@link File} to which output is appended
+     *
+     * @throws IOException if opening the file fails
+     */
+    public AsyncFileApplicationConsole(File file) throws IOException
+    {
+        this(AsyncLogSink.shared(), file, true);
+    }
+
+
+    /**
+     * Constructs an {@link AsyncFileApplicationConsole}.
+     *
+     * @param sink            the {@link AsyncLogSink} to write output
+     * @param file            the {@link File} to which output is appended
+     * @param diagnosticMode  if true, output to this console is formatted
+     *                        with application details and line numbers
+     *
+     * @throws IOException if opening the file fails
+     */
+    public AsyncFileApplicationConsole(AsyncLogSink sink,
+                                       File         file,
+                                       boolean      diagnosticMode) throws IOException
+    {
+        this.logFile        = sink.open(file);
+        this.diagnosticMode = diagnosticMode;
+        this.outputWriter   = new PrintWriter(new LogWriter(logFile));
+        this.errorWriter    = new PrintWriter(new LogWriter(logFile));
+        this.inputReader    = new NullReader();
+    }
+
+
+    /**
+     * Obtains the {@link File} to which output is appended.
+     *
+     * @return the {@link File}
+     */
+    public File getFile()
+    {
+        return logFile.getFile();
+    }
+
+
+    @Override
+    public void close()
+    {
+        outputWriter.close();
+        errorWriter.close();
+
+        try
+        {
+            inputReader.close();
+        }
+        catch (IOException e)
+        {
+            // SKIP: we don't care if an exception occurs - we're closing
+        }
+
+        // wait for the output to be written
+        logFile.release();
+    }
+
+
+    @Override
+    public PrintWriter getOutputWriter()
+    {
+        return outputWriter;
+    }
+
+
+    @Override
+    public PrintWriter getErrorWriter()
+    {
+        return errorWriter;
+    }
+
+
+    @Override
+    public Reader getInputReader()
+    {
+        return inputReader;
+    }
+
+
+    @Override
+    public boolean isDiagnosticsEnabled()
+    {
+        return diagnosticMode;
+    }
+
+
+    /**
+     * Obtains a {@link ApplicationConsoleBuilder} for the {@link AsyncFileApplicationConsole}
+     * using the shared {@link AsyncLogSink}.
+     *
+     * @param directory  the existing directory in which to create the files
+     * @param prefix     the prefix to use for files (may be null)
+     * @param suffix     the suffix to use for files (may be null)
+     *
+     * @return a {@link ApplicationConsoleBuilder}
+     */
+    public static ApplicationConsoleBuilder builder(String directory,
+                                                    String prefix,
+                                                    String suffix)
+    {
+        return builder(AsyncLogSink.shared(), directory, prefix, suffix);
+    }
+
+
+    /**
+     * Obtains a {@link ApplicationConsoleBuilder} for the {@link AsyncFileApplicationConsole}
+     * using the specified {@link AsyncLogSink}.
+     *
+     * @param sink       the {@link AsyncLogSink} to write output
+     * @param directory  the existing directory in which to create the files
+     * @param prefix     the prefix to use for files (may be null)
+     * @param suffix     the suffix to use for files (may be null)
+     *
+     * @return a {@link ApplicationConsoleBuilder}
+     */
+    public static ApplicationConsoleBuilder builder(final AsyncLogSink sink,
+                                                    final String       directory,
+                                                    final String       prefix,
+                                                    final String       suffix)
+    {
+        return new ApplicationConsoleBuilder()
+        {
+            @Override
+            public ApplicationConsole build(String applicationName)
+            {
+                // ensure the directory exists
+                File folder = new File(directory.trim());
+
+                if (folder.exists())
+                {
+                    // normalize the prefix and suffix
+                    String normalizedPrefix = prefix == null ? "" : prefix.trim();
+                    String normalizedSuffix = suffix == null ? "" : suffix.trim();
+
+                    if (normalizedPrefix.length() > 0 &&!normalizedPrefix.endsWith("-"))
+                    {
+                        normalizedPrefix = normalizedPrefix + "-";
+                    }
+
+                    File file = new File(folder, normalizedPrefix + applicationName.trim() + normalizedSuffix);
+
+                    try
+                    {
+                        return new AsyncFileApplicationConsole(sink, file, true);
+                    }
+                    catch (IOException e)
+                    {
+                        throw new RuntimeException("Failed to create file:" + file, e);
+                    }
+                }
+                else
+                {
+                    throw new RuntimeException("The specified directory [" + directory + "] does not exist");
+                }
+            }
+        };
+    }
+
+
+    /**
+     * A {@link Writer} that accumulates output until flushed, at which point
+     * it's submitted to an {@link AsyncLogSink.LogFile}.
+     */
+    private static class LogWriter extends Writer
+    {
+        /**
+         * The {@link AsyncLogSink.LogFile} to append output to.
+         */
+        private final AsyncLogSink.LogFile logFile;
+
+        /**
+         * The output yet to be flushed.
+         */
+        private final StringBuilder builder;
+
+
+        /**
+         * Constructs a {@link LogWriter}.
+         *
+         * @param logFile  the {@link AsyncLogSink.LogFile} to append output to
+         */
+        private LogWriter(AsyncLogSink.LogFile logFile)
+        {
+            this.logFile = logFile;
+            this.builder = new StringBuilder();
+        }
+
+
+        @Override
+        public synchronized void write(char[] chars,
+                                       int    offset,
+                                       int    length)
+        {
+            builder.append(chars, offset, length);
+        }
+
+
+        @Override
+        public synchronized void write(String string,
+                                       int    offset,
+                                       int    length)
+        {
+            builder.append(string, offset, offset + length);
+        }
+
+
+        @Override
+        public synchronized void flush()
+        {
+            if (builder.length() > 0)
+            {
+                logFile.append(builder.toString());
+                builder.setLength(0);
+            }
+        }
+
+
+        @Override
+        public void close()
+        {
+            flush();
+        }
+    }
+}
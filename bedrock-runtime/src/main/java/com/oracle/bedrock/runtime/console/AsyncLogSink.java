@@ -0,0 +1,793 @@
+/*
+ * File: AsyncLogSink.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import com.oracle.bedrock.lang.ThreadFactories;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An {@link AsyncLogSink} asynchronously writes the output of many applications to their
+ * respective log files using a single writer {@link Thread}.
+ * <p>
+ * Output is submitted to a lock-free queue, from which the writer {@link Thread} drains batches,
+ * grouping the output by file so that each file receives a single {@link FileChannel} write per
+ * batch.  When a maximum file size is specified, files are rotated once they reach the size,
+ * with rotated files optionally being compressed using gzip.  The writer {@link Thread} only
+ * renames the full file to a unique name before reopening it, with the rotated files being
+ * renumbered and compressed in the background, so that rotation never stalls the writer.
+ * <p>
+ * An {@link AsyncLogSink} is typically used through an {@link AsyncFileApplicationConsole},
+ * with many consoles sharing the same {@link AsyncLogSink}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see AsyncFileApplicationConsole
+ */
+public class AsyncLogSink implements Closeable
+{
+    /**
+     * The {@link Logger} for this class.
+     */
+    private static final Logger LOGGER = Logger.getLogger(AsyncLogSink.class.getName());
+
+    /**
+     * The maximum number of entries written in a batch.
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * The size of the buffer used to write to files.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The maximum time the writer {@link Thread} waits for output before checking if it should stop.
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * The lazily created {@link AsyncLogSink} shared by default.
+     */
+    private static AsyncLogSink shared;
+
+    /**
+     * The maximum size of a file before it is rotated (zero or less for no rotation).
+     */
+    private final long maximumFileSize;
+
+    /**
+     * The number of rotated files to keep.
+     */
+    private final int maximumRotations;
+
+    /**
+     * Should rotated files be compressed using gzip.
+     */
+    private final boolean compress;
+
+    /**
+     * The {@link Charset} used to encode output.
+     */
+    private final Charset charset;
+
+    /**
+     * The queue of {@link Entry}s to write.
+     */
+    private final ConcurrentLinkedQueue<Entry> queue;
+
+    /**
+     * The {@link LogFile}s currently open, by their canonical {@link File}.
+     */
+    private final ConcurrentHashMap<File, LogFile> files;
+
+    /**
+     * Is the writer {@link Thread} waiting for output.
+     */
+    private final AtomicBoolean waiting;
+
+    /**
+     * Has this {@link AsyncLogSink} been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * The {@link ExecutorService} used to rename and compress rotated files, one at a time in the order
+     * they were rotated (created when required).
+     */
+    private ExecutorService rotator;
+
+    /**
+     * The writer {@link Thread}.
+     */
+    private final Thread writer;
+
+
+    /**
+     * Constructs an {@link AsyncLogSink} that doesn't rotate files.
+     */
+    public AsyncLogSink()
+    {
+        this(0, 0, false);
+    }
+
+
+    /**
+     * Constructs an {@link AsyncLogSink}.
+     *
+     * @param maximumFileSize   the maximum size of a file in bytes before it is rotated
+     *                          (zero or less for no rotation)
+     * @param maximumRotations  the number of rotated files to keep
+     * @param compress          should rotated files be compressed using gzip
+     */
+    public AsyncLogSink(long    maximumFileSize,
+                        int     maximumRotations,
+                        boolean compress)
+    {
+        this.maximumFileSize  = maximumFileSize;
+        this.maximumRotations = Math.max(1, maximumRotations);
+        this.compress         = compress;
+        this.charset          = Charset.defaultCharset();
+        this.queue            = new ConcurrentLinkedQueue<>();
+        this.files            = new ConcurrentHashMap<>();
+        this.waiting          = new AtomicBoolean(false);
+        this.closed           = false;
+
+        this.writer           = ThreadFactories.usingDaemonThreads(true).newThread(this::write);
+
+        this.writer.setName("AsyncLogSink Writer");
+        this.writer.start();
+    }
+
+
+    /**
+     * Obtains the {@link AsyncLogSink} shared by default, which doesn't rotate files.
+     * The shared {@link AsyncLogSink} is closed when the Java virtual machine shuts down.
+     *
+     * @return the shared {@link AsyncLogSink}
+     */
+    public static synchronized AsyncLogSink shared()
+    {
+        if (shared == null)
+        {
+            AsyncLogSink sink = new AsyncLogSink();
+
+            Runtime.getRuntime().addShutdownHook(new Thread(sink::close));
+
+            shared = sink;
+        }
+
+        return shared;
+    }
+
+
+    /**
+     * Opens the specified {@link File} for appending output, sharing any
+     * {@link LogFile} already opened for the {@link File}.
+     *
+     * @param file  the {@link File}
+     *
+     * @return a {@link LogFile}
+     *
+     * @throws IOException  if the {@link File} can't be resolved
+     */
+    public LogFile open(File file) throws IOException
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("The AsyncLogSink is closed");
+        }
+
+        File canonical = file.getCanonicalFile();
+
+        return files.compute(canonical, (key, logFile) -> {
+            LogFile result = logFile == null ? new LogFile(key) : logFile;
+
+            result.references++;
+
+            return result;
+        });
+    }
+
+
+    /**
+     * Submits an {@link Entry} to be written.
+     *
+     * @param entry  the {@link Entry}
+     */
+    private void submit(Entry entry)
+    {
+        queue.offer(entry);
+
+        if (waiting.get())
+        {
+            LockSupport.unpark(writer);
+        }
+    }
+
+
+    /**
+     * Waits for all of the output submitted prior to this call to be written.
+     *
+     * @param timeout  the maximum time to wait
+     * @param unit     the {@link TimeUnit} of the timeout
+     *
+     * @return <code>true</code> if the output was written, <code>false</code> if the timeout expired
+     *
+     * @throws InterruptedException  if interrupted while waiting
+     */
+    public boolean flush(long     timeout,
+                         TimeUnit unit) throws InterruptedException
+    {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        submit(new Entry(null, null, latch));
+
+        return latch.await(timeout, unit);
+    }
+
+
+    /**
+     * Closes this {@link AsyncLogSink}, writing any remaining output and closing all files.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+
+        LockSupport.unpark(writer);
+
+        if (Thread.currentThread() != writer)
+        {
+            try
+            {
+                writer.join();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this)
+        {
+            if (rotator != null)
+            {
+                rotator.shutdown();
+
+                try
+                {
+                    rotator.awaitTermination(1, TimeUnit.MINUTES);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * The body of the writer {@link Thread}, repeatedly draining and writing batches of {@link Entry}s.
+     */
+    private void write()
+    {
+        CharsetEncoder encoder = charset.newEncoder()
+                                 .onMalformedInput(CodingErrorAction.REPLACE)
+                                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer     buffer  = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        List<Entry>    batch   = new ArrayList<>(BATCH_SIZE);
+
+        while (true)
+        {
+            Entry entry = queue.poll();
+
+            while (entry != null && batch.size() < BATCH_SIZE)
+            {
+                batch.add(entry);
+
+                entry = batch.size() < BATCH_SIZE ? queue.poll() : null;
+            }
+
+            if (batch.isEmpty())
+            {
+                if (closed)
+                {
+                    break;
+                }
+
+                waiting.set(true);
+
+                if (queue.isEmpty() &&!closed)
+                {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+
+                waiting.set(false);
+            }
+            else
+            {
+                write(batch, encoder, buffer);
+                batch.clear();
+            }
+        }
+
+        // close any files that remain open
+        for (LogFile logFile : files.values())
+        {
+            logFile.closeChannel();
+        }
+
+        files.clear();
+    }
+
+
+    /**
+     * Writes a batch of {@link Entry}s, grouping the output by {@link LogFile}.
+     *
+     * @param batch    the {@link Entry}s to write
+     * @param encoder  the {@link CharsetEncoder} to encode output
+     * @param buffer   the {@link ByteBuffer} to use for writing
+     */
+    private void write(List<Entry>    batch,
+                       CharsetEncoder encoder,
+                       ByteBuffer     buffer)
+    {
+        Map<LogFile, List<Entry>> entriesByFile = new LinkedHashMap<>();
+        List<Entry>               markers       = new ArrayList<>();
+
+        for (Entry entry : batch)
+        {
+            if (entry.logFile == null)
+            {
+                markers.add(entry);
+            }
+            else
+            {
+                entriesByFile.computeIfAbsent(entry.logFile, key -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        for (Map.Entry<LogFile, List<Entry>> group : entriesByFile.entrySet())
+        {
+            LogFile logFile = group.getKey();
+
+            try
+            {
+                buffer.clear();
+
+                for (Entry entry : group.getValue())
+                {
+                    if (entry.text != null)
+                    {
+                        CharBuffer text = CharBuffer.wrap(entry.text);
+
+                        encoder.reset();
+
+                        CoderResult result;
+
+                        do
+                        {
+                            result = encoder.encode(text, buffer, true);
+
+                            if (result.isOverflow())
+                            {
+                                logFile.write(buffer);
+                            }
+                        }
+                        while (result.isOverflow());
+                    }
+                }
+
+                logFile.write(buffer);
+            }
+            catch (IOException e)
+            {
+                LOGGER.log(Level.WARNING, "Failed to write to " + logFile.getFile(), e);
+            }
+
+            // release the file and count down the latches of the entries
+            for (Entry entry : group.getValue())
+            {
+                if (entry.latch != null)
+                {
+                    if (entry.text == null)
+                    {
+                        release(logFile);
+                    }
+
+                    entry.latch.countDown();
+                }
+            }
+        }
+
+        for (Entry marker : markers)
+        {
+            marker.latch.countDown();
+        }
+    }
+
+
+    /**
+     * Releases a reference to a {@link LogFile}, closing it when it's no longer referenced.
+     *
+     * @param logFile  the {@link LogFile}
+     */
+    private void release(LogFile logFile)
+    {
+        files.computeIfPresent(logFile.getFile(), (key, current) -> {
+            if (current == logFile && --current.references == 0)
+            {
+                logFile.closeChannel();
+
+                return null;
+            }
+
+            return current;
+        });
+    }
+
+
+    /**
+     * Completes the rotation of a {@link File} that the writer {@link Thread} renamed, by renumbering
+     * the existing rotated files and then making the renamed file the first rotated file, optionally
+     * compressing it using gzip.
+     *
+     * @param file     the {@link File} that was rotated
+     * @param renamed  the {@link File} to which the content of the rotated {@link File} was renamed
+     */
+    private synchronized void rotate(File file,
+                                     File renamed)
+    {
+        if (rotator == null)
+        {
+            rotator = Executors.newSingleThreadExecutor(ThreadFactories.usingDaemonThreads(true));
+        }
+
+        rotator.submit(() -> {
+            String suffix = compress ? ".gz" : "";
+
+            try
+            {
+                Files.deleteIfExists(new File(file.getPath() + "." + maximumRotations + suffix).toPath());
+
+                for (int i = maximumRotations - 1; i >= 1; i--)
+                {
+                    File rotated = new File(file.getPath() + "." + i + suffix);
+
+                    if (rotated.exists())
+                    {
+                        Files.move(rotated.toPath(),
+                                   new File(file.getPath() + "." + (i + 1) + suffix).toPath(),
+                                   StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+
+                File rotated = new File(file.getPath() + ".1");
+
+                Files.move(renamed.toPath(), rotated.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+                if (compress)
+                {
+                    compress(rotated);
+                }
+            }
+            catch (IOException e)
+            {
+                LOGGER.log(Level.WARNING, "Failed to rotate " + renamed, e);
+            }
+        });
+    }
+
+
+    /**
+     * Compresses a rotated file using gzip, removing the uncompressed file.
+     *
+     * @param file  the {@link File} to compress
+     */
+    private static void compress(File file)
+    {
+        File compressed = new File(file.getPath() + ".gz");
+
+        try (InputStream  in = new FileInputStream(file);
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(compressed)))
+        {
+            byte[] bytes = new byte[BUFFER_SIZE];
+            int    count;
+
+            while ((count = in.read(bytes)) >= 0)
+            {
+                out.write(bytes, 0, count);
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.log(Level.WARNING, "Failed to compress " + file, e);
+
+            return;
+        }
+
+        file.delete();
+    }
+
+
+    /**
+     * An entry in the queue of output to write.
+     */
+    private static class Entry
+    {
+        /**
+         * The {@link LogFile} (<code>null</code> for markers that only count down a latch).
+         */
+        private final LogFile logFile;
+
+        /**
+         * The text to write (<code>null</code> when closing the {@link LogFile}).
+         */
+        private final String text;
+
+        /**
+         * The {@link CountDownLatch} to count down once written (may be <code>null</code>).
+         */
+        private final CountDownLatch latch;
+
+
+        /**
+         * Constructs an {@link Entry}.
+         *
+         * @param logFile  the {@link LogFile}
+         * @param text     the text to write
+         * @param latch    the {@link CountDownLatch} to count down once written
+         */
+        private Entry(LogFile        logFile,
+                      String         text,
+                      CountDownLatch latch)
+        {
+            this.logFile = logFile;
+            this.text    = text;
+            this.latch   = latch;
+        }
+    }
+
+
+    /**
+     * A file to which an {@link AsyncLogSink} appends output.  Other than the submission of
+     * output, a {@link LogFile} is only ever accessed by the writer {@link Thread}.
+     */
+    public class LogFile
+    {
+        /**
+         * The {@link File}.
+         */
+        private final File file;
+
+        /**
+         * The {@link FileChannel} used to write to the {@link File} (<code>null</code> when not open).
+         */
+        private FileChannel channel;
+
+        /**
+         * The current size of the {@link File}.
+         */
+        private long size;
+
+        /**
+         * The number of times this {@link LogFile} has been opened but not released
+         * (only accessed while holding the lock of the entry in {@link #files}).
+         */
+        private int references;
+
+        /**
+         * The number of times the {@link File} has been rotated, used to uniquely name rotated files
+         * until their rotation is completed in the background.
+         */
+        private long rotations;
+
+
+        /**
+         * Constructs a {@link LogFile}.
+         *
+         * @param file  the {@link File}
+         */
+        private LogFile(File file)
+        {
+            this.file       = file;
+            this.references = 0;
+        }
+
+
+        /**
+         * Obtains the {@link File} to which output is appended.
+         *
+         * @return the {@link File}
+         */
+        public File getFile()
+        {
+            return file;
+        }
+
+
+        /**
+         * Asynchronously appends text to the {@link File}.
+         *
+         * @param text  the text
+         */
+        public void append(String text)
+        {
+            submit(new Entry(this, text, null));
+        }
+
+
+        /**
+         * Releases this {@link LogFile}, waiting for the output previously appended to be written.
+         * The {@link File} is closed once every opener has released it.
+         */
+        public void release()
+        {
+            CountDownLatch latch = new CountDownLatch(1);
+
+            submit(new Entry(this, null, latch));
+
+            try
+            {
+                // the writer may have already stopped when the sink has been closed
+                while (!latch.await(IDLE_NANOS, TimeUnit.NANOSECONDS) && writer.isAlive())
+                {
+                    // continue waiting
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+
+        /**
+         * Writes the content of a {@link ByteBuffer} to the {@link File}, rotating it when required.
+         * Upon return the {@link ByteBuffer} is cleared.
+         *
+         * @param buffer  the {@link ByteBuffer} to write
+         *
+         * @throws IOException  if writing fails
+         */
+        private void write(ByteBuffer buffer) throws IOException
+        {
+            buffer.flip();
+
+            try
+            {
+                if (!buffer.hasRemaining())
+                {
+                    return;
+                }
+
+                if (channel == null)
+                {
+                    file.getParentFile().mkdirs();
+
+                    channel = FileChannel.open(file.toPath(),
+                                               StandardOpenOption.CREATE,
+                                               StandardOpenOption.WRITE,
+                                               StandardOpenOption.APPEND);
+                    size = channel.size();
+                }
+
+                if (maximumFileSize > 0 && size > 0 && size + buffer.remaining() > maximumFileSize)
+                {
+                    rotate();
+                }
+
+                while (buffer.hasRemaining())
+                {
+                    size += channel.write(buffer);
+                }
+            }
+            finally
+            {
+                buffer.clear();
+            }
+        }
+
+
+        /**
+         * Rotates the {@link File}, renaming it to a unique name before reopening it.  The existing rotated
+         * files are renumbered, and the renamed file compressed, in the background.
+         *
+         * @throws IOException  if rotation fails
+         */
+        private void rotate() throws IOException
+        {
+            closeChannel();
+
+            File renamed = new File(file.getPath() + ".rotating-" + (++rotations));
+
+            Files.move(file.toPath(), renamed.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            AsyncLogSink.this.rotate(file, renamed);
+
+            channel = FileChannel.open(file.toPath(),
+                                       StandardOpenOption.CREATE,
+                                       StandardOpenOption.WRITE,
+                                       StandardOpenOption.APPEND);
+            size = 0;
+        }
+
+
+        /**
+         * Closes the {@link FileChannel} of the {@link File}.
+         */
+        private void closeChannel()
+        {
+            if (channel != null)
+            {
+                try
+                {
+                    channel.close();
+                }
+                catch (IOException e)
+                {
+                    // SKIP: ignore exceptions
+                }
+
+                channel = null;
+            }
+        }
+    }
+}
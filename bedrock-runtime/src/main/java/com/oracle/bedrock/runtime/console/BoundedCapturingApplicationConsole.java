@@ -0,0 +1,836 @@
+/*
+ * File: BoundedCapturingApplicationConsole.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import com.oracle.bedrock.runtime.ApplicationConsole;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An implementation of an {@link ApplicationConsole} that captures the output of StdOut
+ * and StdErr into bounded rings of bytes, keeping the most recent output up to a
+ * configurable capacity. This console also allows StdIn to be piped to the application.
+ * <p>
+ * Unlike the {@link CapturingApplicationConsole}, output is not split into lines as it is
+ * captured.  Instead it is stored as UTF-8 encoded bytes, with lines only being decoded
+ * when they are requested, either all at once using {@link #getCapturedOutputLines()}, or
+ * one at a time by streaming over the {@link CapturedOutput}.  When the capacity of a ring
+ * is exceeded, the oldest lines are discarded.
+ * <p>
+ * Optionally the complete history of output may also be spilled to files in a specified
+ * directory.  These files are memory-mapped when the history is read, allowing it to be
+ * streamed and searched without being loaded into the heap.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see CapturingApplicationConsole
+ */
+public class BoundedCapturingApplicationConsole extends AbstractPipedApplicationConsole
+{
+    /**
+     * The default number of bytes of output to keep for each of StdOut and StdErr.
+     */
+    public static final int DEFAULT_CAPACITY = 1024 * 1024;
+
+    /**
+     * The size of the buffers used to capture output.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The output captured from StdOut.
+     */
+    private final CapturedOutput stdout;
+
+    /**
+     * The output captured from StdErr.
+     */
+    private final CapturedOutput stderr;
+
+    /**
+     * The {@link Thread} capturing StdOut.
+     */
+    protected Thread stdoutThread;
+
+    /**
+     * The {@link Thread} capturing StdErr.
+     */
+    protected Thread stderrThread;
+
+
+    /**
+     * Constructs a {@link BoundedCapturingApplicationConsole} keeping
+     * up to {@link #DEFAULT_CAPACITY} bytes of output for each stream.
+     */
+    public BoundedCapturingApplicationConsole()
+    {
+        this(DEFAULT_CAPACITY, null, false, DEFAULT_PIPE_SIZE);
+    }
+
+
+    /**
+     * Constructs a {@link BoundedCapturingApplicationConsole}.
+     *
+     * @param capacity  the number of bytes of output to keep for each stream
+     */
+    public BoundedCapturingApplicationConsole(int capacity)
+    {
+        this(capacity, null, false, DEFAULT_PIPE_SIZE);
+    }
+
+
+    /**
+     * Constructs a {@link BoundedCapturingApplicationConsole} that spills the
+     * complete history of output to files in the specified directory.
+     *
+     * @param capacity        the number of bytes of output to keep for each stream
+     * @param spillDirectory  the directory in which to create the spill files
+     */
+    public BoundedCapturingApplicationConsole(int  capacity,
+                                              File spillDirectory)
+    {
+        this(capacity, spillDirectory, false, DEFAULT_PIPE_SIZE);
+    }
+
+
+    /**
+     * Constructs a {@link BoundedCapturingApplicationConsole}.
+     *
+     * @param capacity        the number of bytes of output to keep for each stream
+     * @param spillDirectory  the directory in which to create the spill files
+     *                        (<code>null</code> when the history should not be spilled)
+     * @param diagnosticMode  if true, output to this console is not formatted
+     *                        with application details or line numbers
+     * @param pipeSize        the size of the pipe's buffers
+     *
+     * @throws RuntimeException if an error occurs creating the spill files
+     */
+    public BoundedCapturingApplicationConsole(int     capacity,
+                                              File    spillDirectory,
+                                              boolean diagnosticMode,
+                                              int     pipeSize)
+    {
+        super(pipeSize, diagnosticMode);
+
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("The capacity must be greater than zero");
+        }
+
+        try
+        {
+            this.stdout = new CapturedOutput(capacity, createSpillFile(spillDirectory, "stdout"));
+            this.stderr = new CapturedOutput(capacity, createSpillFile(spillDirectory, "stderr"));
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Error creating console spill files", e);
+        }
+
+        this.stdoutThread = new Thread(new OutputCaptor(stdoutReader, stdout));
+        this.stderrThread = new Thread(new OutputCaptor(stderrReader, stderr));
+
+        this.stdoutThread.start();
+        this.stderrThread.start();
+    }
+
+
+    /**
+     * Creates a spill file for a stream in the specified directory.
+     *
+     * @param directory  the directory (may be <code>null</code>)
+     * @param name       the name of the stream
+     *
+     * @return the spill {@link File} or <code>null</code> when there is no directory
+     *
+     * @throws IOException when the file could not be created
+     */
+    private static File createSpillFile(File   directory,
+                                        String name) throws IOException
+    {
+        if (directory == null)
+        {
+            return null;
+        }
+
+        directory.mkdirs();
+
+        return File.createTempFile("bedrock-" + name + "-", ".log", directory);
+    }
+
+
+    @Override
+    public void close()
+    {
+        super.close();
+
+        try
+        {
+            stdoutThread.join();
+            stderrThread.join();
+        }
+        catch (InterruptedException e)
+        {
+            // Ignored
+        }
+    }
+
+
+    /**
+     * Obtains the {@link CapturedOutput} of the applications StdOut.
+     *
+     * @return the {@link CapturedOutput} of StdOut
+     */
+    public CapturedOutput getOutput()
+    {
+        return stdout;
+    }
+
+
+    /**
+     * Obtains the {@link CapturedOutput} of the applications StdErr.
+     *
+     * @return the {@link CapturedOutput} of StdErr
+     */
+    public CapturedOutput getError()
+    {
+        return stderr;
+    }
+
+
+    /**
+     * Obtain a {@link Queue} containing the lines currently captured from
+     * the applications StdOut, decoded at the time of the call.  The most recent
+     * line will be at the tail of the queue and the oldest line will be at the head.
+     *
+     * @return a {@link Queue} containing the lines captured from the applications StdOut
+     */
+    public Queue<String> getCapturedOutputLines()
+    {
+        return stdout.getLines();
+    }
+
+
+    /**
+     * Obtain a {@link Queue} containing the lines currently captured from
+     * the applications StdErr, decoded at the time of the call.  The most recent
+     * line will be at the tail of the queue and the oldest line will be at the head.
+     *
+     * @return a {@link Queue} containing the lines captured from the applications StdErr
+     */
+    public Queue<String> getCapturedErrorLines()
+    {
+        return stderr.getLines();
+    }
+
+
+    /**
+     * Obtains a {@link PrintWriter} that can be used to write to the stdin
+     * of an {@link ApplicationConsole}.
+     *
+     * @return a {@link PrintWriter}
+     */
+    public PrintWriter getInputWriter()
+    {
+        return stdinWriter;
+    }
+
+
+    /**
+     * Creates a {@link Stream} of the lines in a {@link ByteBuffer}, optionally
+     * only including those lines containing a match for a {@link Pattern}.
+     *
+     * @param buffer   the {@link ByteBuffer} of UTF-8 encoded lines
+     * @param pattern  the {@link Pattern} (may be <code>null</code>)
+     *
+     * @return a {@link Stream} of lines
+     */
+    private static Stream<String> stream(ByteBuffer buffer,
+                                         Pattern    pattern)
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new LineIterator(buffer, pattern),
+                                                                        Spliterator.ORDERED | Spliterator.NONNULL),
+                                    false);
+    }
+
+
+    /**
+     * The output captured from a stream, held as UTF-8 encoded bytes in a bounded ring
+     * and optionally also spilled to a file.
+     */
+    public static class CapturedOutput
+    {
+        /**
+         * The ring of captured bytes.
+         */
+        private final byte[] ring;
+
+        /**
+         * The position, in the stream, of the oldest byte kept in the ring.
+         */
+        private long start;
+
+        /**
+         * The position, in the stream, after the most recent byte kept in the ring
+         * (ie: the total number of bytes captured).
+         */
+        private long end;
+
+        /**
+         * The file to which all output is spilled (may be <code>null</code>).
+         */
+        private final File spillFile;
+
+        /**
+         * The {@link FileChannel} used to write to the spill file (<code>null</code> when closed).
+         */
+        private FileChannel spillChannel;
+
+        /**
+         * The number of bytes written to the spill file.
+         */
+        private long spilled;
+
+
+        /**
+         * Constructs a {@link CapturedOutput}.
+         *
+         * @param capacity   the number of bytes to keep in the ring
+         * @param spillFile  the file to which all output is spilled (may be <code>null</code>)
+         *
+         * @throws IOException when the spill file can't be opened
+         */
+        CapturedOutput(int  capacity,
+                       File spillFile) throws IOException
+        {
+            this.ring         = new byte[capacity];
+            this.start        = 0;
+            this.end          = 0;
+            this.spillFile    = spillFile;
+            this.spillChannel = spillFile == null
+                                ? null : FileChannel.open(spillFile.toPath(),
+                                                          StandardOpenOption.WRITE,
+                                                          StandardOpenOption.APPEND);
+            this.spilled      = 0;
+        }
+
+
+        /**
+         * Appends the remaining bytes in a {@link ByteBuffer} to the captured output,
+         * discarding the oldest lines in the ring to make room when required.
+         *
+         * @param buffer  the {@link ByteBuffer}
+         */
+        synchronized void append(ByteBuffer buffer)
+        {
+            int length = buffer.remaining();
+
+            if (length == 0)
+            {
+                return;
+            }
+
+            if (spillChannel != null)
+            {
+                try
+                {
+                    ByteBuffer spill = buffer.duplicate();
+
+                    while (spill.hasRemaining())
+                    {
+                        spilled += spillChannel.write(spill);
+                    }
+                }
+                catch (IOException e)
+                {
+                    // the history is no longer complete, so stop spilling
+                    closeSpill();
+                }
+            }
+
+            int  capacity = ring.length;
+            int  position = buffer.position();
+            long required = end + length - capacity;
+
+            if (required > start)
+            {
+                // discard the oldest lines to make room, keeping whole lines where possible
+                start = required;
+
+                for (long i = required - 1; i < end + length; i++)
+                {
+                    byte b = i < end ? ring[(int) (i % capacity)] : buffer.get(position + (int) (i - end));
+
+                    if (b == '\n')
+                    {
+                        start = i + 1;
+                        break;
+                    }
+                }
+            }
+
+            if (length > capacity)
+            {
+                // only the trailing bytes that fit in the ring are kept
+                position += length - capacity;
+                end      += length - capacity;
+                length   = capacity;
+            }
+
+            ByteBuffer source = buffer.duplicate();
+
+            source.position(position);
+
+            int index = (int) (end % capacity);
+            int first = Math.min(length, capacity - index);
+
+            source.get(ring, index, first);
+            source.get(ring, 0, length - first);
+
+            end += length;
+
+            buffer.position(buffer.limit());
+        }
+
+
+        /**
+         * Closes the spill file, after which no further output will be spilled.
+         */
+        synchronized void closeSpill()
+        {
+            if (spillChannel != null)
+            {
+                try
+                {
+                    spillChannel.close();
+                }
+                catch (IOException e)
+                {
+                    // SKIP: ignore exceptions
+                }
+
+                spillChannel = null;
+            }
+        }
+
+
+        /**
+         * Obtains a copy of the bytes currently in the ring.
+         *
+         * @return a {@link ByteBuffer} containing the bytes in the ring
+         */
+        private synchronized ByteBuffer snapshot()
+        {
+            int    length = (int) (end - start);
+            byte[] bytes  = new byte[length];
+            int    index  = (int) (start % ring.length);
+            int    first  = Math.min(length, ring.length - index);
+
+            System.arraycopy(ring, index, bytes, 0, first);
+            System.arraycopy(ring, 0, bytes, first, length - first);
+
+            return ByteBuffer.wrap(bytes);
+        }
+
+
+        /**
+         * Obtains a memory-mapped {@link ByteBuffer} of the spilled output.  Should the
+         * history exceed the size of a single mapping, only the most recent is mapped.
+         *
+         * @return a {@link ByteBuffer} of the spilled output or a copy of the bytes in
+         *         the ring when there is no spill file
+         */
+        private ByteBuffer map()
+        {
+            if (spillFile == null)
+            {
+                return snapshot();
+            }
+
+            long size;
+
+            synchronized (this)
+            {
+                size = spilled;
+            }
+
+            try (FileChannel channel = FileChannel.open(spillFile.toPath(), StandardOpenOption.READ))
+            {
+                long position = Math.max(0, size - Integer.MAX_VALUE);
+
+                return channel.map(FileChannel.MapMode.READ_ONLY, position, size - position);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException("Failed to map the spill file " + spillFile, e);
+            }
+        }
+
+
+        /**
+         * Obtains a {@link Stream} of the lines currently in the ring, from the oldest
+         * to the most recent.  Lines are decoded only as the {@link Stream} is consumed.
+         *
+         * @return a {@link Stream} of lines
+         */
+        public Stream<String> lines()
+        {
+            return stream(snapshot(), null);
+        }
+
+
+        /**
+         * Obtains a {@link Stream} of the lines currently in the ring that contain a
+         * match for the specified {@link Pattern}.  Lines that don't match are never
+         * materialized as {@link String}s.
+         *
+         * @param pattern  the {@link Pattern} to find
+         *
+         * @return a {@link Stream} of matching lines
+         */
+        public Stream<String> find(Pattern pattern)
+        {
+            return stream(snapshot(), pattern);
+        }
+
+
+        /**
+         * Obtains a {@link Stream} of all of the lines of output captured, read from the
+         * memory-mapped spill file.  When output isn't being spilled, this is the same as
+         * {@link #lines()}.
+         *
+         * @return a {@link Stream} of lines
+         */
+        public Stream<String> history()
+        {
+            return stream(map(), null);
+        }
+
+
+        /**
+         * Obtains a {@link Stream} of all of the lines of output captured that contain a
+         * match for the specified {@link Pattern}, read from the memory-mapped spill file.
+         * When output isn't being spilled, this is the same as {@link #find(Pattern)}.
+         *
+         * @param pattern  the {@link Pattern} to find
+         *
+         * @return a {@link Stream} of matching lines
+         */
+        public Stream<String> findInHistory(Pattern pattern)
+        {
+            return stream(map(), pattern);
+        }
+
+
+        /**
+         * Obtains a {@link Queue} containing the lines currently in the ring.
+         *
+         * @return a {@link Queue} of lines
+         */
+        public Queue<String> getLines()
+        {
+            return lines().collect(Collectors.toCollection(ArrayDeque::new));
+        }
+
+
+        /**
+         * Discards the lines currently in the ring.  The spilled history is unaffected.
+         */
+        public synchronized void clear()
+        {
+            start = end;
+        }
+
+
+        /**
+         * Obtains the total number of bytes of output captured.
+         *
+         * @return the number of bytes captured
+         */
+        public synchronized long getCapturedByteCount()
+        {
+            return end;
+        }
+
+
+        /**
+         * Obtains the number of bytes of output that have been discarded from the ring.
+         *
+         * @return the number of bytes discarded
+         */
+        public synchronized long getDiscardedByteCount()
+        {
+            return start;
+        }
+
+
+        /**
+         * Obtains the file to which all output is spilled.
+         *
+         * @return the spill {@link File} or <code>null</code> when output isn't being spilled
+         */
+        public File getSpillFile()
+        {
+            return spillFile;
+        }
+    }
+
+
+    /**
+     * An {@link Iterator} that lazily decodes the UTF-8 encoded lines in a {@link ByteBuffer}.
+     */
+    private static class LineIterator implements Iterator<String>
+    {
+        /**
+         * The {@link ByteBuffer} of lines.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The {@link Matcher} lines must match (may be <code>null</code>).
+         */
+        private final Matcher matcher;
+
+        /**
+         * The {@link CharsetDecoder} used to decode lines.
+         */
+        private final CharsetDecoder decoder;
+
+        /**
+         * The {@link CharBuffer} into which lines are decoded.
+         */
+        private CharBuffer chars;
+
+        /**
+         * The position of the next line in the {@link ByteBuffer}.
+         */
+        private int position;
+
+        /**
+         * The next line to return (<code>null</code> when yet to be found).
+         */
+        private String next;
+
+
+        /**
+         * Constructs a {@link LineIterator}.
+         *
+         * @param buffer   the {@link ByteBuffer} of lines
+         * @param pattern  the {@link Pattern} lines must contain (may be <code>null</code>)
+         */
+        LineIterator(ByteBuffer buffer,
+                     Pattern    pattern)
+        {
+            this.buffer   = buffer;
+            this.matcher  = pattern == null ? null : pattern.matcher("");
+            this.decoder  = StandardCharsets.UTF_8.newDecoder()
+                            .onMalformedInput(CodingErrorAction.REPLACE)
+                            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.chars    = CharBuffer.allocate(256);
+            this.position = buffer.position();
+            this.next     = null;
+        }
+
+
+        @Override
+        public boolean hasNext()
+        {
+            int limit = buffer.limit();
+
+            while (next == null && position < limit)
+            {
+                int from = position;
+                int to   = from;
+
+                while (to < limit && buffer.get(to) != '\n')
+                {
+                    to++;
+                }
+
+                position = to + 1;
+
+                if (to > from && buffer.get(to - 1) == '\r')
+                {
+                    to--;
+                }
+
+                decode(from, to);
+
+                if (matcher == null || matcher.reset(chars).find())
+                {
+                    next = chars.toString();
+                }
+            }
+
+            return next != null;
+        }
+
+
+        @Override
+        public String next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+
+            String line = next;
+
+            next = null;
+
+            return line;
+        }
+
+
+        /**
+         * Decodes a range of bytes into the {@link CharBuffer}, ready to be read.
+         *
+         * @param from  the position of the first byte
+         * @param to    the position after the last byte
+         */
+        private void decode(int from,
+                            int to)
+        {
+            ByteBuffer line = buffer.duplicate();
+
+            line.limit(to);
+            line.position(from);
+
+            int required = (int) Math.ceil((to - from) * (double) decoder.maxCharsPerByte());
+
+            if (chars.capacity() < required)
+            {
+                chars = CharBuffer.allocate(Math.max(required, chars.capacity() * 2));
+            }
+
+            chars.clear();
+            decoder.reset();
+            decoder.decode(line, chars, true);
+            decoder.flush(chars);
+            chars.flip();
+        }
+    }
+
+
+    /**
+     * The {@link Runnable} used to capture output.
+     */
+    private static class OutputCaptor implements Runnable
+    {
+        /**
+         * The {@link BufferedReader} to capture output from.
+         */
+        private final BufferedReader reader;
+
+        /**
+         * The {@link CapturedOutput} to append output to.
+         */
+        private final CapturedOutput output;
+
+
+        /**
+         * Create an {@link OutputCaptor}.
+         *
+         * @param reader  the {@link BufferedReader} to capture output from
+         * @param output  the {@link CapturedOutput} to append output to
+         */
+        OutputCaptor(BufferedReader reader,
+                     CapturedOutput output)
+        {
+            this.reader = reader;
+            this.output = output;
+        }
+
+
+        @Override
+        public void run()
+        {
+            CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                                     .onMalformedInput(CodingErrorAction.REPLACE)
+                                     .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            CharBuffer     chars   = CharBuffer.allocate(BUFFER_SIZE);
+            ByteBuffer     bytes   = ByteBuffer.allocate((int) (BUFFER_SIZE * encoder.maxBytesPerChar()));
+
+            try
+            {
+                int count;
+
+                while ((count = reader.read(chars.array(), chars.position(), chars.remaining())) >= 0)
+                {
+                    chars.position(chars.position() + count);
+                    chars.flip();
+
+                    // any incomplete surrogate pair is left in the buffer for the next read
+                    encoder.encode(chars, bytes, false);
+                    chars.compact();
+
+                    bytes.flip();
+                    output.append(bytes);
+                    bytes.clear();
+                }
+
+                chars.flip();
+                encoder.encode(chars, bytes, true);
+                encoder.flush(bytes);
+
+                bytes.flip();
+                output.append(bytes);
+            }
+            catch (IOException e)
+            {
+                // Skip: Likely caused by application termination
+            }
+            finally
+            {
+                output.closeSpill();
+            }
+        }
+    }
+}
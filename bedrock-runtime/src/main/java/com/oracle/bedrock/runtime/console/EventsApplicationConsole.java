@@ -31,15 +31,24 @@ import com.oracle.bedrock.util.Pair;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * An implementation of an {@link ApplicationConsole} that
  * treats line of output to StdOut and StdErr as events and fires them to registered {@link Listener}s.
  * This console also allows StdIn to be piped to the application.
  * <p>
+ * {@link Listener}s registered with {@link LinePattern} predicates are matched together
+ * using a {@link MultiPatternMatcher}, so that each line of output is scanned once no matter
+ * how many such {@link Listener}s are registered.  Other {@link Predicate}s are tested individually.
+ * <p>
  * Copyright (c) 2016. All Rights Reserved. Oracle Corporation.<br>
  * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
  *
@@ -50,12 +59,12 @@ public class EventsApplicationConsole extends AbstractPipedApplicationConsole
     /**
      * The {@link Listener}s listening to StdOut
      */
-    private final ConcurrentLinkedQueue<Pair<Predicate<String>, Listener>> stdoutListeners;
+    private volatile Registrations stdoutListeners;
 
     /**
      * The {@link Listener}s listening to StdErr
      */
-    private final ConcurrentLinkedQueue<Pair<Predicate<String>, Listener>> stderrListeners;
+    private volatile Registrations stderrListeners;
 
     /**
      * The {@link Thread} capturing StdOut lines
@@ -77,11 +86,11 @@ public class EventsApplicationConsole extends AbstractPipedApplicationConsole
     {
         super(DEFAULT_PIPE_SIZE, false);
 
-        this.stdoutListeners = new ConcurrentLinkedQueue<>();
-        this.stderrListeners = new ConcurrentLinkedQueue<>();
+        this.stdoutListeners = new Registrations();
+        this.stderrListeners = new Registrations();
 
-        this.stdoutThread    = new Thread(new OutputCaptor(stdoutReader, stdoutListeners));
-        this.stderrThread    = new Thread(new OutputCaptor(stderrReader, stderrListeners));
+        this.stdoutThread    = new Thread(new OutputCaptor(stdoutReader, () -> stdoutListeners));
+        this.stderrThread    = new Thread(new OutputCaptor(stderrReader, () -> stderrListeners));
 
         this.stdoutThread.start();
         this.stderrThread.start();
@@ -127,17 +136,10 @@ public class EventsApplicationConsole extends AbstractPipedApplicationConsole
      *
      * @return  this {@link EventsApplicationConsole}
      */
-    public EventsApplicationConsole withStdOutListener(Predicate<String> predicate,
-                                                       Listener          listener)
+    public synchronized EventsApplicationConsole withStdOutListener(Predicate<String> predicate,
+                                                                    Listener          listener)
     {
-        if (predicate == null)
-        {
-            stdoutListeners.add(new Pair<>((line) -> true, listener));
-        }
-        else
-        {
-            stdoutListeners.add(new Pair<>(predicate, listener));
-        }
+        stdoutListeners = stdoutListeners.with(predicate == null ? (line) -> true : predicate, listener);
 
         return this;
     }
@@ -165,17 +167,10 @@ public class EventsApplicationConsole extends AbstractPipedApplicationConsole
      *
      * @return  this {@link EventsApplicationConsole}
      */
-    public EventsApplicationConsole withStdErrListener(Predicate<String> predicate,
-                                                       Listener          listener)
+    public synchronized EventsApplicationConsole withStdErrListener(Predicate<String> predicate,
+                                                                    Listener          listener)
     {
-        if (predicate == null)
-        {
-            stderrListeners.add(new Pair<>((line) -> true, listener));
-        }
-        else
-        {
-            stderrListeners.add(new Pair<>(predicate, listener));
-        }
+        stderrListeners = stderrListeners.with(predicate == null ? (line) -> true : predicate, listener);
 
         return this;
     }
@@ -239,6 +234,109 @@ public class EventsApplicationConsole extends AbstractPipedApplicationConsole
     }
 
 
+    /**
+     * An immutable set of {@link Listener}s registered for a stream, together with the
+     * {@link MultiPatternMatcher} for those registered using {@link LinePattern}s.
+     */
+    static class Registrations
+    {
+        /**
+         * The {@link Listener}s and their {@link Predicate}s, in order of registration.
+         */
+        private final List<Pair<Predicate<String>, Listener>> listeners;
+
+        /**
+         * The distinct {@link LinePattern}s of the {@link Listener}s and their index in the {@link #matcher}.
+         */
+        private final LinkedHashMap<LinePattern, Integer> patterns;
+
+        /**
+         * The {@link MultiPatternMatcher} for the {@link LinePattern}s.
+         */
+        private final MultiPatternMatcher matcher;
+
+
+        /**
+         * Constructs an empty {@link Registrations}.
+         */
+        Registrations()
+        {
+            this(Collections.emptyList(), new LinkedHashMap<>());
+        }
+
+
+        /**
+         * Constructs a {@link Registrations}.
+         *
+         * @param listeners  the {@link Listener}s and their {@link Predicate}s
+         * @param patterns   the distinct {@link LinePattern}s and their indexes
+         */
+        private Registrations(List<Pair<Predicate<String>, Listener>> listeners,
+                              LinkedHashMap<LinePattern, Integer>     patterns)
+        {
+            this.listeners = listeners;
+            this.patterns  = patterns;
+            this.matcher   = patterns.isEmpty() ? null : new MultiPatternMatcher(new ArrayList<>(patterns.keySet()));
+        }
+
+
+        /**
+         * Obtains a new {@link Registrations} including an additional {@link Listener}.
+         *
+         * @param predicate  the {@link Predicate} to use to match console output lines
+         * @param listener   the {@link Listener}
+         *
+         * @return a new {@link Registrations}
+         */
+        Registrations with(Predicate<String> predicate,
+                           Listener          listener)
+        {
+            List<Pair<Predicate<String>, Listener>> listeners = new ArrayList<>(this.listeners);
+            LinkedHashMap<LinePattern, Integer>     patterns  = new LinkedHashMap<>(this.patterns);
+
+            listeners.add(new Pair<>(predicate, listener));
+
+            if (predicate instanceof LinePattern)
+            {
+                patterns.putIfAbsent((LinePattern) predicate, patterns.size());
+            }
+
+            return new Registrations(listeners, patterns);
+        }
+
+
+        /**
+         * Sends a line of output to the {@link Listener}s with a matching {@link Predicate}.
+         *
+         * @param line  the line of output
+         */
+        void dispatch(String line)
+        {
+            BitSet matched = matcher == null ? null : matcher.match(line);
+
+            for (Pair<Predicate<String>, Listener> pair : listeners)
+            {
+                try
+                {
+                    Predicate<String> predicate = pair.getX();
+                    boolean           matches   = predicate instanceof LinePattern
+                                                  ? matched.get(patterns.get(predicate))
+                                                  : predicate.test(line);
+
+                    if (matches)
+                    {
+                        pair.getY().onOutput(line);
+                    }
+                }
+                catch (Throwable t)
+                {
+                    t.printStackTrace();
+                }
+            }
+        }
+    }
+
+
     /**
      * The {@link Runnable} used to capture lines of output.
      */
@@ -250,19 +348,19 @@ public class EventsApplicationConsole extends AbstractPipedApplicationConsole
         BufferedReader reader;
 
         /**
-         * The {@link Listener}a to send output lines to.
+         * The {@link Supplier} of the {@link Listener}s to send output lines to.
          */
-        ConcurrentLinkedQueue<Pair<Predicate<String>, Listener>> listeners;
+        Supplier<Registrations> listeners;
 
 
         /**
          * Create an {@link OutputCaptor}.
          *
          * @param reader      The {@link BufferedReader} to capture output from
-         * @param listeners   The {@link Listener}s to send output lines to
+         * @param listeners   The {@link Supplier} of the {@link Listener}s to send output lines to
          */
-        OutputCaptor(BufferedReader                                           reader,
-                     ConcurrentLinkedQueue<Pair<Predicate<String>, Listener>> listeners)
+        OutputCaptor(BufferedReader          reader,
+                     Supplier<Registrations> listeners)
         {
             this.reader    = reader;
             this.listeners = listeners;
@@ -282,20 +380,7 @@ public class EventsApplicationConsole extends AbstractPipedApplicationConsole
 
                 while (line != null)
                 {
-                    for (Pair<Predicate<String>, Listener> pair : listeners)
-                    {
-                        try
-                        {
-                            if (pair.getX().test(line))
-                            {
-                                pair.getY().onOutput(line);
-                            }
-                        }
-                        catch (Throwable t)
-                        {
-                            t.printStackTrace();
-                        }
-                    }
+                    listeners.get().dispatch(line);
 
                     line = reader.readLine();
                 }
@@ -0,0 +1,116 @@
+/*
+ * File: InputFromFileRedirector.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import com.oracle.bedrock.runtime.ApplicationProcess;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link InputFromFileRedirector} provides the content of a {@link File} as the
+ * input of an {@link ApplicationProcess}, closing the input once the content is exhausted.
+ * <p>
+ * When a process is launched locally, the operating system is asked to read the input of the
+ * process directly from the {@link File}, in which case no {@link Thread} is required.  Otherwise
+ * the content is piped to the {@link OutputStream} of the process using
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see com.oracle.bedrock.runtime.options.ConsoleInputRedirector
+ */
+public class InputFromFileRedirector
+    extends InputRedirector
+{
+    /**
+     * The {@link File} from which input is read.
+     */
+    private final File file;
+
+
+    /**
+     * Create an {@link InputFromFileRedirector}.
+     *
+     * @param file  the {@link File} from which input is read
+     */
+    public InputFromFileRedirector(File file)
+    {
+        this.file = file;
+    }
+
+
+    /**
+     * Obtain the {@link File} from which input is read.
+     *
+     * @return  the {@link File}
+     */
+    public File getFile()
+    {
+        return file;
+    }
+
+
+    @Override
+    protected ProcessBuilder.Redirect getProcessRedirect()
+    {
+        return ProcessBuilder.Redirect.from(file);
+    }
+
+
+    @Override
+    public void run()
+    {
+        try (FileChannel         channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             WritableByteChannel target  = Channels.newChannel(getOutputStream()))
+        {
+            long position = 0;
+            long size     = channel.size();
+
+            while (position < size)
+            {
+                long transferred = channel.transferTo(position, size - position, target);
+
+                if (transferred <= 0)
+                {
+                    break;
+                }
+
+                position += transferred;
+            }
+        }
+        catch (Exception exception)
+        {
+            // SKIP: deliberately empty as we safely assume exceptions
+            // are always due to process termination.
+        }
+    }
+}
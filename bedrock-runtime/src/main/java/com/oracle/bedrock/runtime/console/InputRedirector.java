@@ -53,6 +53,12 @@ public abstract class InputRedirector
      */
     private ApplicationConsole console;
 
+    /**
+     * Has the operating system been configured to redirect the input of the process,
+     * without requiring this {@link InputRedirector} to run.
+     */
+    private boolean processRedirected;
+
     /**
      * Start this {@link InputRedirector}.
      *
@@ -63,9 +69,63 @@ public abstract class InputRedirector
     {
         this.outputStream = out;
         this.console      = console;
-        
-        setDaemon(true);
-        start();
+
+        if (!processRedirected)
+        {
+            setDaemon(true);
+            start();
+        }
+    }
+
+
+    /**
+     * Attempts to configure a {@link ProcessBuilder} so that the operating system redirects
+     * the input of the process, avoiding the need to pipe the input through this
+     * {@link InputRedirector}.  Should this succeed, this {@link InputRedirector} won't be
+     * started as a {@link Thread}.
+     *
+     * @param processBuilder  the {@link ProcessBuilder} that will be used to launch the process
+     *
+     * @return <code>true</code> if the {@link ProcessBuilder} was configured to redirect input
+     */
+    public boolean redirect(ProcessBuilder processBuilder)
+    {
+        ProcessBuilder.Redirect redirect = getProcessRedirect();
+
+        if (redirect == null)
+        {
+            return false;
+        }
+
+        processBuilder.redirectInput(redirect);
+
+        processRedirected = true;
+
+        return true;
+    }
+
+
+    /**
+     * Obtains the {@link ProcessBuilder.Redirect} the operating system may use to redirect
+     * input instead of this {@link InputRedirector}.
+     *
+     * @return the {@link ProcessBuilder.Redirect} or <code>null</code> when input must be piped
+     *         through this {@link InputRedirector}
+     */
+    protected ProcessBuilder.Redirect getProcessRedirect()
+    {
+        return null;
+    }
+
+
+    /**
+     * Determines whether the input of the process is being redirected by the operating system.
+     *
+     * @return  {@code true} if the input is redirected by the operating system
+     */
+    public boolean isProcessRedirected()
+    {
+        return processRedirected;
     }
 
     /**
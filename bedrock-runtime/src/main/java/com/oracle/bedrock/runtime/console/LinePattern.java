@@ -0,0 +1,286 @@
+/*
+ * File: LinePattern.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link Predicate} that matches lines of console output containing either a literal
+ * {@link String} or a match for a regular expression.
+ * <p>
+ * Unlike arbitrary {@link Predicate}s, {@link LinePattern}s registered with an
+ * {@link EventsApplicationConsole} are compiled together into a single {@link MultiPatternMatcher},
+ * allowing each line of output to be scanned once regardless of the number of registered patterns.
+ * Regular expressions are only evaluated against lines containing their literal prefix.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see MultiPatternMatcher
+ */
+public final class LinePattern implements Predicate<String>
+{
+    /**
+     * The regular expression characters that may not be part of a literal prefix.
+     */
+    private static final String META_CHARACTERS = "[](){}.*+?^$|";
+
+    /**
+     * The literal that must appear in a matching line (may be empty for regular expressions
+     * without a literal prefix).
+     */
+    private final String literal;
+
+    /**
+     * The regular expression (<code>null</code> when matching a literal).
+     */
+    private final Pattern pattern;
+
+
+    /**
+     * Privately constructs a {@link LinePattern}.
+     *
+     * @param literal  the literal that must appear in a matching line
+     * @param pattern  the regular expression (<code>null</code> when matching a literal)
+     */
+    private LinePattern(String  literal,
+                        Pattern pattern)
+    {
+        this.literal = literal;
+        this.pattern = pattern;
+    }
+
+
+    /**
+     * Obtains the literal that must appear in matching lines.  For regular expressions
+     * this is the prefix of the expression that is a literal, which may be empty.
+     *
+     * @return the literal
+     */
+    public String getLiteral()
+    {
+        return literal;
+    }
+
+
+    /**
+     * Obtains the regular expression {@link Pattern} of this {@link LinePattern}.
+     *
+     * @return the {@link Pattern} or <code>null</code> when matching a literal
+     */
+    public Pattern getPattern()
+    {
+        return pattern;
+    }
+
+
+    /**
+     * Determines if this {@link LinePattern} matches a literal.
+     *
+     * @return <code>true</code> if a literal is matched, <code>false</code> for a regular expression
+     */
+    public boolean isLiteral()
+    {
+        return pattern == null;
+    }
+
+
+    @Override
+    public boolean test(String line)
+    {
+        return line != null && line.contains(literal) && (pattern == null || pattern.matcher(line).find());
+    }
+
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+
+        if (!(other instanceof LinePattern))
+        {
+            return false;
+        }
+
+        LinePattern that = (LinePattern) other;
+
+        return literal.equals(that.literal)
+               && (pattern == null
+                   ? that.pattern == null
+                   : that.pattern != null && pattern.pattern().equals(that.pattern.pattern())
+                     && pattern.flags() == that.pattern.flags());
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return pattern == null ? literal.hashCode() : 31 * pattern.pattern().hashCode() + pattern.flags();
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return pattern == null ? "LinePattern{literal=" + literal + "}" : "LinePattern{regex=" + pattern + "}";
+    }
+
+
+    /**
+     * Obtains a {@link LinePattern} that matches lines containing the specified literal.
+     *
+     * @param literal  the literal
+     *
+     * @return a {@link LinePattern}
+     */
+    public static LinePattern literal(String literal)
+    {
+        if (literal == null)
+        {
+            throw new NullPointerException("The literal must not be null");
+        }
+
+        return new LinePattern(literal, null);
+    }
+
+
+    /**
+     * Obtains a {@link LinePattern} that matches lines containing a match for
+     * the specified regular expression.
+     *
+     * @param regex  the regular expression
+     *
+     * @return a {@link LinePattern}
+     */
+    public static LinePattern regex(String regex)
+    {
+        return regex(Pattern.compile(regex));
+    }
+
+
+    /**
+     * Obtains a {@link LinePattern} that matches lines containing a match for
+     * the specified regular expression {@link Pattern}.
+     *
+     * @param pattern  the {@link Pattern}
+     *
+     * @return a {@link LinePattern}
+     */
+    public static LinePattern regex(Pattern pattern)
+    {
+        return new LinePattern(getLiteralPrefix(pattern), pattern);
+    }
+
+
+    /**
+     * Determines the literal prefix of a regular expression, being the longest
+     * sequence of characters that must appear in any match for the expression.
+     * The analysis is conservative, returning an empty prefix for expressions
+     * it doesn't understand.
+     *
+     * @param pattern  the {@link Pattern}
+     *
+     * @return the literal prefix, possibly empty
+     */
+    static String getLiteralPrefix(Pattern pattern)
+    {
+        int    flags = pattern.flags();
+        String regex = pattern.pattern();
+
+        if ((flags & ~(Pattern.MULTILINE | Pattern.DOTALL | Pattern.UNIX_LINES | Pattern.LITERAL)) != 0)
+        {
+            // case insensitivity and comments change the meaning of literal characters
+            return "";
+        }
+
+        if ((flags & Pattern.LITERAL) != 0)
+        {
+            return regex;
+        }
+
+        if (regex.indexOf('|') >= 0)
+        {
+            // alternatives don't share a prefix
+            return "";
+        }
+
+        StringBuilder literal = new StringBuilder();
+        int           length  = regex.length();
+        int           i       = regex.startsWith("^") ? 1 : 0;
+
+        while (i < length)
+        {
+            char c = regex.charAt(i);
+            int  next;
+
+            if (c == '\\')
+            {
+                if (i + 1 < length && !Character.isLetterOrDigit(regex.charAt(i + 1)))
+                {
+                    c    = regex.charAt(i + 1);
+                    next = i + 2;
+                }
+                else
+                {
+                    // character classes, back-references and quotations end the prefix
+                    break;
+                }
+            }
+            else if (META_CHARACTERS.indexOf(c) >= 0)
+            {
+                break;
+            }
+            else
+            {
+                next = i + 1;
+            }
+
+            char quantifier = next < length ? regex.charAt(next) : 0;
+
+            if (quantifier == '?' || quantifier == '*' || quantifier == '{')
+            {
+                // the character is optional
+                break;
+            }
+
+            literal.append(c);
+
+            if (quantifier == '+')
+            {
+                // the character may be repeated
+                break;
+            }
+
+            i = next;
+        }
+
+        return literal.toString();
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * File: MultiPatternMatcher.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Matches lines of output against many {@link LinePattern}s at once.
+ * <p>
+ * The literals of all {@link LinePattern}s, including the literal prefixes of regular
+ * expressions, are compiled into a single Aho-Corasick automaton so that each line is
+ * scanned once to determine the candidate patterns it may match.  Literal patterns are
+ * matched by the scan alone.  Regular expressions are only evaluated for lines containing
+ * their literal prefix, except for those without a prefix, which are evaluated for every line.
+ * <p>
+ * {@link MultiPatternMatcher}s are immutable and may be safely used by multiple threads.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see LinePattern
+ */
+public class MultiPatternMatcher
+{
+    /**
+     * The {@link LinePattern}s, indexed by their position.
+     */
+    private final LinePattern[] patterns;
+
+    /**
+     * The characters of the transitions out of each state, sorted.
+     */
+    private final char[][] keys;
+
+    /**
+     * The target states of the transitions out of each state, corresponding to the {@link #keys}.
+     */
+    private final int[][] targets;
+
+    /**
+     * The state to fall back to when no transition exists for a character.
+     */
+    private final int[] failures;
+
+    /**
+     * The indexes of the {@link LinePattern}s whose literal has been seen upon reaching each state.
+     */
+    private final int[][] outputs;
+
+    /**
+     * The indexes of the regular expression {@link LinePattern}s without a literal prefix.
+     */
+    private final int[] unfiltered;
+
+
+    /**
+     * Constructs a {@link MultiPatternMatcher}.
+     *
+     * @param patterns  the {@link LinePattern}s to match
+     */
+    public MultiPatternMatcher(List<LinePattern> patterns)
+    {
+        this.patterns = patterns.toArray(new LinePattern[patterns.size()]);
+
+        List<TreeMap<Character, Integer>> transitions = new ArrayList<>();
+        List<List<Integer>>               matches     = new ArrayList<>();
+        List<Integer>                     always      = new ArrayList<>();
+
+        transitions.add(new TreeMap<>());
+        matches.add(new ArrayList<>());
+
+        // build a trie of the literals
+        for (int index = 0; index < this.patterns.length; index++)
+        {
+            String literal = this.patterns[index].getLiteral();
+
+            if (literal.isEmpty())
+            {
+                always.add(index);
+                continue;
+            }
+
+            int state = 0;
+
+            for (int i = 0; i < literal.length(); i++)
+            {
+                Integer next = transitions.get(state).get(literal.charAt(i));
+
+                if (next == null)
+                {
+                    next = transitions.size();
+
+                    transitions.add(new TreeMap<>());
+                    matches.add(new ArrayList<>());
+                    transitions.get(state).put(literal.charAt(i), next);
+                }
+
+                state = next;
+            }
+
+            matches.get(state).add(index);
+        }
+
+        int states = transitions.size();
+
+        this.keys     = new char[states][];
+        this.targets  = new int[states][];
+        this.failures = new int[states];
+        this.outputs  = new int[states][];
+
+        for (int state = 0; state < states; state++)
+        {
+            TreeMap<Character, Integer> transition = transitions.get(state);
+
+            keys[state]    = new char[transition.size()];
+            targets[state] = new int[transition.size()];
+
+            int i = 0;
+
+            for (Map.Entry<Character, Integer> entry : transition.entrySet())
+            {
+                keys[state][i]    = entry.getKey();
+                targets[state][i] = entry.getValue();
+                i++;
+            }
+        }
+
+        // determine the failure states breadth-first, accumulating the outputs of each failure state
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        for (int target : targets[0])
+        {
+            failures[target] = 0;
+            queue.add(target);
+        }
+
+        outputs[0] = toArray(matches.get(0));
+
+        while (!queue.isEmpty())
+        {
+            int state = queue.poll();
+
+            for (int i = 0; i < keys[state].length; i++)
+            {
+                char c       = keys[state][i];
+                int  target  = targets[state][i];
+                int  failure = failures[state];
+
+                while (failure != 0 && transition(failure, c) < 0)
+                {
+                    failure = failures[failure];
+                }
+
+                int next = transition(failure, c);
+
+                failures[target] = next < 0 || next == target ? 0 : next;
+                queue.add(target);
+            }
+
+            List<Integer> output = new ArrayList<>(matches.get(state));
+
+            for (int index : outputs[failures[state]])
+            {
+                output.add(index);
+            }
+
+            outputs[state] = toArray(output);
+        }
+
+        this.unfiltered = toArray(always);
+    }
+
+
+    /**
+     * Converts a {@link List} of {@link Integer}s into an array.
+     *
+     * @param list  the {@link List}
+     *
+     * @return an array
+     */
+    private static int[] toArray(List<Integer> list)
+    {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+
+    /**
+     * Obtains the state reached by a transition from a state for a character.
+     *
+     * @param state  the state
+     * @param c      the character
+     *
+     * @return the target state or <code>-1</code> when there is no such transition
+     */
+    private int transition(int  state,
+                           char c)
+    {
+        int i = Arrays.binarySearch(keys[state], c);
+
+        return i < 0 ? -1 : targets[state][i];
+    }
+
+
+    /**
+     * Obtains the {@link LinePattern}s of this {@link MultiPatternMatcher}.
+     *
+     * @return the {@link LinePattern}s, indexed by their position
+     */
+    public List<LinePattern> getPatterns()
+    {
+        return Collections.unmodifiableList(Arrays.asList(patterns));
+    }
+
+
+    /**
+     * Determines the {@link LinePattern}s that match a line.
+     *
+     * @param line  the line
+     *
+     * @return a {@link BitSet} of the indexes of the matching {@link LinePattern}s
+     */
+    public BitSet match(String line)
+    {
+        BitSet matched = new BitSet(patterns.length);
+
+        if (patterns.length == 0)
+        {
+            return matched;
+        }
+
+        // scan the line once to determine the patterns whose literals it contains
+        BitSet candidates = new BitSet(patterns.length);
+        int    state      = 0;
+
+        for (int i = 0; i < line.length(); i++)
+        {
+            char c    = line.charAt(i);
+            int  next = transition(state, c);
+
+            while (next < 0 && state != 0)
+            {
+                state = failures[state];
+                next  = transition(state, c);
+            }
+
+            state = next < 0 ? 0 : next;
+
+            for (int index : outputs[state])
+            {
+                candidates.set(index);
+            }
+        }
+
+        for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1))
+        {
+            LinePattern pattern = patterns[index];
+
+            if (pattern.isLiteral() || pattern.getPattern().matcher(line).find())
+            {
+                matched.set(index);
+            }
+        }
+
+        for (int index : unfiltered)
+        {
+            if (patterns[index].isLiteral() || patterns[index].getPattern().matcher(line).find())
+            {
+                matched.set(index);
+            }
+        }
+
+        return matched;
+    }
+}
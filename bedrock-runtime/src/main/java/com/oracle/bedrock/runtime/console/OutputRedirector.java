@@ -25,8 +25,13 @@
 
 package com.oracle.bedrock.runtime.console;
 
+import com.oracle.bedrock.OptionsByType;
 import com.oracle.bedrock.runtime.ApplicationConsole;
 import com.oracle.bedrock.runtime.ApplicationProcess;
+import com.oracle.bedrock.runtime.options.ConsoleErrorRedirector;
+import com.oracle.bedrock.runtime.options.ConsoleInputRedirector;
+import com.oracle.bedrock.runtime.options.ConsoleOutputRedirector;
+import com.oracle.bedrock.runtime.options.ErrorStreamRedirection;
 
 import java.io.InputStream;
 
@@ -72,7 +77,113 @@ public abstract class OutputRedirector
      * The {@link ApplicationConsole} to which to write content.
      */
     private ApplicationConsole console;
-    
+
+    /**
+     * Has the operating system been configured to redirect the output of the process,
+     * without requiring this {@link OutputRedirector} to run.
+     */
+    private boolean processRedirected;
+
+
+    /**
+     * Attempts to configure a {@link ProcessBuilder} so that the operating system redirects
+     * the output of the process, avoiding the need to pipe the output through this
+     * {@link OutputRedirector}.  Should this succeed, this {@link OutputRedirector} won't be
+     * started as a {@link Thread}.
+     * <p>
+     * This is only possible when {@link #getProcessRedirect()} provides a
+     * {@link ProcessBuilder.Redirect} and the process is launched using the {@link ProcessBuilder}.
+     *
+     * @param processBuilder  the {@link ProcessBuilder} that will be used to launch the process
+     * @param error           <code>true</code> to redirect stderr, <code>false</code> to redirect stdout
+     *
+     * @return <code>true</code> if the {@link ProcessBuilder} was configured to redirect output
+     */
+    public boolean redirect(ProcessBuilder processBuilder,
+                            boolean        error)
+    {
+        ProcessBuilder.Redirect redirect = getProcessRedirect();
+
+        if (redirect == null)
+        {
+            return false;
+        }
+
+        if (error)
+        {
+            processBuilder.redirectError(redirect);
+        }
+        else
+        {
+            processBuilder.redirectOutput(redirect);
+        }
+
+        processRedirected = true;
+
+        return true;
+    }
+
+
+    /**
+     * Attempts to configure a {@link ProcessBuilder} so that the operating system redirects the
+     * streams of the process, for the {@link ConsoleOutputRedirector}, {@link ConsoleErrorRedirector}
+     * (unless stderr is redirected to stdout) and {@link ConsoleInputRedirector} that are defined
+     * by the launch {@link OptionsByType}.
+     *
+     * @param processBuilder  the {@link ProcessBuilder} that will be used to launch the process
+     * @param optionsByType   the launch {@link OptionsByType}
+     *
+     * @see #redirect(ProcessBuilder, boolean)
+     * @see InputRedirector#redirect(ProcessBuilder)
+     */
+    public static void redirectProcess(ProcessBuilder processBuilder,
+                                       OptionsByType  optionsByType)
+    {
+        ConsoleOutputRedirector outputRedirector = optionsByType.getOrDefault(ConsoleOutputRedirector.class, null);
+        ConsoleErrorRedirector  errorRedirector  = optionsByType.getOrDefault(ConsoleErrorRedirector.class, null);
+        ConsoleInputRedirector  inputRedirector  = optionsByType.getOrDefault(ConsoleInputRedirector.class, null);
+
+        if (outputRedirector != null)
+        {
+            outputRedirector.getRedirector().redirect(processBuilder, false);
+        }
+
+        if (errorRedirector != null && !optionsByType.get(ErrorStreamRedirection.class).isEnabled())
+        {
+            errorRedirector.getRedirector().redirect(processBuilder, true);
+        }
+
+        if (inputRedirector != null)
+        {
+            inputRedirector.getRedirector().redirect(processBuilder);
+        }
+    }
+
+
+    /**
+     * Obtains the {@link ProcessBuilder.Redirect} the operating system may use to redirect
+     * output instead of this {@link OutputRedirector}.
+     *
+     * @return the {@link ProcessBuilder.Redirect} or <code>null</code> when output must be piped
+     *         through this {@link OutputRedirector}
+     */
+    protected ProcessBuilder.Redirect getProcessRedirect()
+    {
+        return null;
+    }
+
+
+    /**
+     * Determines whether the output of the process is being redirected by the operating system.
+     *
+     * @return  {@code true} if the output is redirected by the operating system
+     */
+    public boolean isProcessRedirected()
+    {
+        return processRedirected;
+    }
+
+
     /**
      * Start this {@link OutputRedirector}.
      *
@@ -99,8 +210,11 @@ public abstract class OutputRedirector
         this.processId                 = processId;
         this.diagnosticsEnabled        = diagnosticsEnabled && !(console instanceof SystemApplicationConsole);
 
-        setDaemon(true);
-        start();
+        if (!processRedirected)
+        {
+            setDaemon(true);
+            start();
+        }
     }
 
     /**
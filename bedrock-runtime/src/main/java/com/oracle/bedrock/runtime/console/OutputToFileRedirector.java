@@ -0,0 +1,142 @@
+/*
+ * File: OutputToFileRedirector.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import com.oracle.bedrock.runtime.ApplicationProcess;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link OutputToFileRedirector} appends the raw output of an {@link ApplicationProcess}
+ * to a {@link File}.
+ * <p>
+ * When a process is launched locally, the operating system is asked to write the output of the
+ * process directly to the {@link File}, in which case no {@link Thread} is required to redirect
+ * the output and no copies of it are made by the Java virtual machine.  Otherwise the output is
+ * piped from the {@link InputStream} of the process to the {@link File} using
+ * {@link FileChannel#transferFrom(ReadableByteChannel, long, long)}.
+ * <p>
+ * When output is piped, separate {@link OutputToFileRedirector}s should not share the same {@link File}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see com.oracle.bedrock.runtime.options.ConsoleOutputRedirector
+ * @see com.oracle.bedrock.runtime.options.ConsoleErrorRedirector
+ */
+public class OutputToFileRedirector
+    extends OutputRedirector
+{
+    /**
+     * The default number of bytes to transfer at a time.
+     */
+    public static final int DEFAULT_TRANSFER_SIZE = 64 * 1024;
+
+    /**
+     * The {@link File} to which output is appended.
+     */
+    private final File file;
+
+    /**
+     * The maximum number of bytes to transfer at a time when piping output.
+     */
+    private final int transferSize;
+
+
+    /**
+     * Create an {@link OutputToFileRedirector}.
+     *
+     * @param file  the {@link File} to which output is appended
+     */
+    public OutputToFileRedirector(File file)
+    {
+        this(file, DEFAULT_TRANSFER_SIZE);
+    }
+
+
+    /**
+     * Create an {@link OutputToFileRedirector}.
+     *
+     * @param file          the {@link File} to which output is appended
+     * @param transferSize  the maximum number of bytes to transfer at a time when piping output
+     */
+    public OutputToFileRedirector(File file, int transferSize)
+    {
+        this.file         = file;
+        this.transferSize = transferSize <= 0 ? DEFAULT_TRANSFER_SIZE : transferSize;
+    }
+
+
+    /**
+     * Obtain the {@link File} to which output is appended.
+     *
+     * @return  the {@link File}
+     */
+    public File getFile()
+    {
+        return file;
+    }
+
+
+    @Override
+    protected ProcessBuilder.Redirect getProcessRedirect()
+    {
+        return ProcessBuilder.Redirect.appendTo(file);
+    }
+
+
+    @Override
+    public void run()
+    {
+        try (FileChannel         channel = FileChannel.open(file.toPath(),
+                                                            StandardOpenOption.CREATE,
+                                                            StandardOpenOption.WRITE);
+             ReadableByteChannel source  = Channels.newChannel(getInputStream()))
+        {
+            long position = channel.size();
+            long transferred;
+
+            // each transfer writes the bytes read from the process as they arrive,
+            // returning once the transfer size is reached or the process ends
+            do
+            {
+                transferred = channel.transferFrom(source, position, transferSize);
+                position    += transferred;
+            }
+            while (transferred > 0);
+        }
+        catch (Exception exception)
+        {
+            // SKIP: deliberately empty as we safely assume exceptions
+            // are always due to process termination.
+        }
+    }
+}
@@ -44,7 +44,10 @@ import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -66,6 +69,12 @@ public class ClassPath implements Iterable<String>, Tabular, Option
     public static final String[] JAVA_ARCHIVE_TYPES = new String[] {"aar", "car", "ear", "gar", "jar", "rar", "sar",
                                                                     "war", "zip"};
 
+    /**
+     * The {@link ClassPath}s of resources previously located by {@link #ofResource(String, ClassLoader)},
+     * by resource name, for each {@link ClassLoader}.
+     */
+    private static final Map<ClassLoader, Map<String, ClassPath>> RESOURCE_CLASSPATHS = new WeakHashMap<>();
+
     /**
      * The paths that make up the {@link ClassPath}.
      */
@@ -183,6 +192,20 @@ public class ClassPath implements Iterable<String>, Tabular, Option
     }
 
 
+    /**
+     * Constructs a {@link ClassPath} using the specified (already sanitized) paths and exclusions.
+     *
+     * @param paths     the paths
+     * @param excludes  the reg-ex patterns to use to exclude artifacts
+     */
+    private ClassPath(LinkedHashSet<String> paths,
+                      Set<Pattern>          excludes)
+    {
+        this.paths    = paths;
+        this.excludes = excludes;
+    }
+
+
     /**
      * Obtain the number of path elements in the {@link ClassPath}
      *
@@ -624,6 +647,9 @@ public class ClassPath implements Iterable<String>, Tabular, Option
 
     /**
      * Obtains the {@link ClassPath} for the specified resource using the provided ClassLoader.
+     * <p>
+     * The locations of resources are remembered for each {@link ClassLoader}, so that subsequent
+     * requests for the same resource don't need to search the {@link ClassLoader}.
      *
      * @param resourceName  the resource to locate
      * @param classLoader   the ClassLoader (or null indicating the current
@@ -646,49 +672,82 @@ public class ClassPath implements Iterable<String>, Tabular, Option
             // ensure we have a ClassLoader
             classLoader = classLoader == null ? Thread.currentThread().getContextClassLoader() : classLoader;
 
-            // attempt to locate the resource
-            Enumeration<URL> resources = classLoader.getResources(resourceName);
+            Map<String, ClassPath> classPaths;
 
-            if (resources.hasMoreElements())
+            synchronized (RESOURCE_CLASSPATHS)
             {
-                URL url = resources.nextElement();
+                classPaths = RESOURCE_CLASSPATHS.computeIfAbsent(classLoader, loader -> new ConcurrentHashMap<>());
+            }
 
-                // decode the URL to remove possible encoded characters
-                String location = URLDecoder.decode(url.toExternalForm(), "UTF-8");
+            ClassPath classPath = classPaths.get(resourceName);
 
-                // encode spaces as %20 so we can create a valid URI
-                location = location.replace(" ", "%20");
+            if (classPath == null)
+            {
+                classPath = locateResource(resourceName, classLoader);
 
-                // remove the resource from the location
-                // (as we want the location of the resource not the resource)
-                location = location.substring(0, location.length() - resourceName.length() - 1);
+                classPaths.put(resourceName, classPath);
+            }
 
-                // determine the archive type
-                String archiveType = getResourceArchiveType(location);
+            return classPath;
+        }
+    }
 
-                if (archiveType != null && location.startsWith(archiveType + ":"))
-                {
-                    location = location.substring(archiveType.length() + 1, location.length() - 1);
-                }
 
-                try
-                {
-                    return new ClassPath(new File(new URI(location)).getAbsolutePath());
-                }
-                catch (URISyntaxException e)
-                {
-                    throw new IOException("Unable to create a ClassPath for [" + location + "] using ClassLoader ["
-                                          + classLoader + "] as an illegal URI was encountered",
-                                          e);
-                }
+    /**
+     * Locates the {@link ClassPath} for the specified resource using the provided ClassLoader.
+     *
+     * @param resourceName  the resource to locate
+     * @param classLoader   the ClassLoader
+     *
+     * @return a {@link ClassPath} representing the location of the specified resource
+     *
+     * @throws IOException  when the resource can't be located
+     */
+    private static ClassPath locateResource(String      resourceName,
+                                            ClassLoader classLoader) throws IOException
+    {
+        // attempt to locate the resource
+        Enumeration<URL> resources = classLoader.getResources(resourceName);
+
+        if (resources.hasMoreElements())
+        {
+            URL url = resources.nextElement();
+
+            // decode the URL to remove possible encoded characters
+            String location = URLDecoder.decode(url.toExternalForm(), "UTF-8");
+
+            // encode spaces as %20 so we can create a valid URI
+            location = location.replace(" ", "%20");
+
+            // remove the resource from the location
+            // (as we want the location of the resource not the resource)
+            location = location.substring(0, location.length() - resourceName.length() - 1);
+
+            // determine the archive type
+            String archiveType = getResourceArchiveType(location);
+
+            if (archiveType != null && location.startsWith(archiveType + ":"))
+            {
+                location = location.substring(archiveType.length() + 1, location.length() - 1);
             }
-            else
+
+            try
+            {
+                return new ClassPath(new File(new URI(location)).getAbsolutePath());
+            }
+            catch (URISyntaxException e)
             {
-                throw new IOException("Unable to locate the specified resource [" + resourceName
-                                      + "] using ClassLoader [" + classLoader + "] with ClassPath ["
-                                      + ClassPath.ofSystem() + "]");
+                throw new IOException("Unable to create a ClassPath for [" + location + "] using ClassLoader ["
+                                      + classLoader + "] as an illegal URI was encountered",
+                                      e);
             }
         }
+        else
+        {
+            throw new IOException("Unable to locate the specified resource [" + resourceName
+                                  + "] using ClassLoader [" + classLoader + "] with ClassPath ["
+                                  + ClassPath.ofSystem() + "]");
+        }
     }
 
 
@@ -859,4 +918,93 @@ public class ClassPath implements Iterable<String>, Tabular, Option
             return new ClassPath(classPaths);
         }
     }
+
+
+    /**
+     * A builder of {@link ClassPath}s, accumulating paths in a single pass, without copying
+     * or re-sanitizing previously added paths.
+     */
+    public static class Builder
+    {
+        /**
+         * The paths accumulated by the {@link Builder}.
+         */
+        private final LinkedHashSet<String> paths;
+
+        /**
+         * The reg-ex patterns to use to exclude artifacts.
+         */
+        private final Set<Pattern> excludes;
+
+
+        /**
+         * Constructs an empty {@link Builder}.
+         */
+        public Builder()
+        {
+            paths    = new LinkedHashSet<>();
+            excludes = new LinkedHashSet<>();
+        }
+
+
+        /**
+         * Adds the paths and exclusions of the specified {@link ClassPath}.
+         *
+         * @param classPath  the {@link ClassPath} (may be <code>null</code>)
+         *
+         * @return this {@link Builder} to permit fluent-style method calls
+         */
+        public Builder add(ClassPath classPath)
+        {
+            if (classPath != null)
+            {
+                // the paths of a ClassPath have already been sanitized
+                for (String path : classPath)
+                {
+                    paths.add(path);
+                }
+
+                excludes.addAll(classPath.excludes);
+            }
+
+            return this;
+        }
+
+
+        /**
+         * Adds the {@link ClassPath} of the specified {@link Class}.
+         *
+         * @param clazz  the {@link Class}
+         *
+         * @return this {@link Builder} to permit fluent-style method calls
+         *
+         * @throws IOException  when the location of the {@link Class} can't be determined
+         */
+        public Builder add(Class<?> clazz) throws IOException
+        {
+            return add(ofClass(clazz));
+        }
+
+
+        /**
+         * Builds a {@link ClassPath} containing the paths added to the {@link Builder},
+         * omitting those matching any of the exclusions.
+         *
+         * @return a new {@link ClassPath}
+         */
+        public ClassPath build()
+        {
+            ClassPath classPath = new ClassPath(new LinkedHashSet<>(), new LinkedHashSet<>(excludes));
+
+            for (String path : paths)
+            {
+                if (classPath.include(path))
+                {
+                    classPath.paths.add(path);
+                }
+            }
+
+            return classPath;
+        }
+    }
 }
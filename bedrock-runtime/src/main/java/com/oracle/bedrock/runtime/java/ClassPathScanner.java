@@ -27,20 +27,39 @@ package com.oracle.bedrock.runtime.java;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 /**
  * List resources available from a {@link ClassPath}.
  * <p>
+ * The names of the resources in archives are determined from the central directory of each
+ * archive and cached, keyed by the path, size and modification time of the archive, so that
+ * repeated scans of the same archives don't need to re-read them.  When an index directory
+ * is provided, the cached names are also stored on disk, allowing them to be shared between
+ * processes.  Directories are always walked, as their content typically changes.
+ * <p>
  * Copyright (c) 2016. All Rights Reserved. Oracle Corporation.<br>
  * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
  *
@@ -48,6 +67,282 @@ import java.util.zip.ZipFile;
  */
 public class ClassPathScanner
 {
+    /**
+     * The names of the resources in previously scanned archives.
+     */
+    private static final ConcurrentHashMap<ArchiveKey, List<String>> ARCHIVE_RESOURCES = new ConcurrentHashMap<>();
+
+    /**
+     * The directory in which to store the on-disk index of archive resources
+     * (<code>null</code> when an on-disk index is not used).
+     */
+    private final File indexDirectory;
+
+
+    /**
+     * Constructs a {@link ClassPathScanner} without an on-disk index.
+     */
+    public ClassPathScanner()
+    {
+        this(null);
+    }
+
+
+    /**
+     * Constructs a {@link ClassPathScanner} that stores the names of the resources of
+     * archives in an on-disk index in the specified directory.
+     *
+     * @param indexDirectory  the index directory (<code>null</code> for no on-disk index)
+     */
+    public ClassPathScanner(File indexDirectory)
+    {
+        this.indexDirectory = indexDirectory;
+    }
+
+
+    /**
+     * For all elements of a {@link ClassPath} get a {@link List} of the names of the resources
+     * (relative to the element, using '/' as a separator) that match the specified pattern.
+     * <p>
+     * The elements of the {@link ClassPath} are scanned in parallel.
+     *
+     * @param classPath  the {@link ClassPath}
+     * @param pattern    the pattern to match, or null to match everything
+     *
+     * @return the resource names, in {@link ClassPath} order
+     *
+     * @throws IOException  when the resources can't be determined
+     */
+    public List<String> getResourceNames(ClassPath classPath,
+                                         Pattern   pattern) throws IOException
+    {
+        List<File> files = new ArrayList<>();
+
+        for (String path : classPath)
+        {
+            files.add(new File(path));
+        }
+
+        try
+        {
+            return files.parallelStream().flatMap(file -> {
+                                                      try
+                                                      {
+                                                          return getResourceNames(file).stream();
+                                                      }
+                                                      catch (IOException e)
+                                                      {
+                                                          throw new UncheckedIOException(e);
+                                                      }
+                                                  }).filter(name -> pattern == null
+                                                                    || pattern.matcher(name).matches())
+                                                      .collect(Collectors.toList());
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+
+    /**
+     * Obtains the names of all of the resources (relative to the element, using '/' as a separator)
+     * of a single {@link ClassPath} element, being either a directory or an archive.
+     *
+     * @param file  the directory or archive
+     *
+     * @return the resource names (empty when the element doesn't exist or is not an archive)
+     *
+     * @throws IOException  when the resources can't be determined
+     */
+    public List<String> getResourceNames(File file) throws IOException
+    {
+        if (file.isDirectory())
+        {
+            Path root = file.toPath();
+
+            try (Stream<Path> paths = Files.walk(root))
+            {
+                return paths.filter(Files::isRegularFile)
+                            .map(path -> root.relativize(path).toString().replace(File.separatorChar, '/'))
+                            .collect(Collectors.toList());
+            }
+        }
+        else if (file.isFile() && ClassPath.isResourceAnArchive(file.getName()))
+        {
+            ArchiveKey   key   = new ArchiveKey(file.getAbsolutePath(), file.length(), file.lastModified());
+            List<String> names = ARCHIVE_RESOURCES.get(key);
+
+            if (names == null)
+            {
+                names = readIndex(key);
+
+                if (names == null)
+                {
+                    names = readArchive(file);
+
+                    writeIndex(key, names);
+                }
+
+                names = Collections.unmodifiableList(names);
+
+                // remove the names for previous versions of the archive
+                ARCHIVE_RESOURCES.keySet().removeIf(existing -> existing.path.equals(key.path));
+                ARCHIVE_RESOURCES.put(key, names);
+            }
+
+            return names;
+        }
+        else
+        {
+            return Collections.emptyList();
+        }
+    }
+
+
+    /**
+     * Reads the names of the resources of an archive from its central directory.
+     *
+     * @param file  the archive
+     *
+     * @return the resource names
+     *
+     * @throws IOException  when the archive can't be read
+     */
+    private List<String> readArchive(File file) throws IOException
+    {
+        ArrayList<String> names = new ArrayList<>();
+
+        // NOTE: a ZipFile only reads the central directory, not the content of the entries
+        try (ZipFile zipFile = new ZipFile(file))
+        {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+            while (entries.hasMoreElements())
+            {
+                ZipEntry entry = entries.nextElement();
+
+                if (!entry.isDirectory())
+                {
+                    names.add(entry.getName());
+                }
+            }
+        }
+
+        return names;
+    }
+
+
+    /**
+     * Reads the resource names of an archive from the on-disk index.
+     *
+     * @param key  the {@link ArchiveKey}
+     *
+     * @return the resource names or <code>null</code> when they're not in the index
+     */
+    private List<String> readIndex(ArchiveKey key)
+    {
+        File file = getIndexFile(key);
+
+        if (file == null || !file.isFile())
+        {
+            return null;
+        }
+
+        try
+        {
+            return new ArrayList<>(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Writes the resource names of an archive to the on-disk index (when one is used).
+     *
+     * @param key    the {@link ArchiveKey}
+     * @param names  the resource names
+     */
+    private void writeIndex(ArchiveKey   key,
+                            List<String> names)
+    {
+        File file = getIndexFile(key);
+
+        if (file == null)
+        {
+            return;
+        }
+
+        try
+        {
+            Files.createDirectories(indexDirectory.toPath());
+
+            // write to a temporary file first so that concurrent scans never see a partial index
+            Path temporary = Files.createTempFile(indexDirectory.toPath(), "index-", ".tmp");
+
+            try
+            {
+                Files.write(temporary, names, StandardCharsets.UTF_8);
+                Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally
+            {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        catch (IOException e)
+        {
+            // the index is only an optimization, so we can safely ignore failures
+        }
+    }
+
+
+    /**
+     * Obtains the on-disk index {@link File} for an archive.
+     *
+     * @param key  the {@link ArchiveKey}
+     *
+     * @return the index {@link File} or <code>null</code> when an on-disk index isn't used
+     */
+    private File getIndexFile(ArchiveKey key)
+    {
+        if (indexDirectory == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            StringBuilder builder = new StringBuilder();
+            byte[]        digest  = MessageDigest.getInstance("SHA-1")
+                                    .digest((key.path + "|" + key.size + "|" + key.lastModified)
+                                    .getBytes(StandardCharsets.UTF_8));
+
+            for (byte b : digest)
+            {
+                builder.append(String.format("%02x", b));
+            }
+
+            return new File(indexDirectory, builder + ".idx");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            return null;
+        }
+    }
+
+
+    /**
+     * Removes all of the cached archive resource names (held in memory).
+     */
+    static void clearCache()
+    {
+        ARCHIVE_RESOURCES.clear();
+    }
+
     /**
      * For all elements of a {@link ClassPath} get a {@link List} of resources
      * that match the specified pattern.
@@ -112,63 +407,180 @@ public class ClassPathScanner
     private List<String> getResourcesFromJarFile(File    file,
                                                  Pattern pattern) throws IOException
     {
-        if (!ClassPath.isResourceAnArchive(file.getCanonicalPath()))
+        return getResourceNames(file).stream()
+                                     .filter(fileName -> pattern.matcher(fileName).matches())
+                                     .collect(Collectors.toList());
+    }
+
+
+    private List<String> getResourcesFromDirectory(File    directory,
+                                                   Pattern pattern) throws IOException
+    {
+        if (!directory.isDirectory())
         {
             return Collections.emptyList();
         }
 
-        ArrayList<String> retval = new ArrayList<>();
+        // resolve the canonical directory once, instead of for every file
+        Path root = directory.getCanonicalFile().toPath();
 
-        try (ZipFile zipFile = new ZipFile(file))
+        return getResourceNames(directory).stream()
+                                          .map(name -> root.resolve(name).toString())
+                                          .filter(fileName -> pattern.matcher(fileName).matches())
+                                          .collect(Collectors.toList());
+    }
+
+
+    /**
+     * Visits the resources of a single {@link ClassPath} entry, being either a
+     * directory or an archive, that match the specified pattern, providing each
+     * resource name (relative to the entry, using '/' as a separator) together
+     * with an {@link InputStream} of the content of the resource to the
+     * {@link ResourceVisitor}.
+     * <p>
+     * Resources are read directly from the directory or archive, without using a
+     * {@link ClassLoader}, so classes are not loaded or initialized.
+     *
+     * @param file     the directory or archive
+     * @param pattern  the pattern to match the resource names, or null to match everything
+     * @param visitor  the {@link ResourceVisitor}
+     *
+     * @throws IOException  when the resources can't be read
+     */
+    public void visitResources(File            file,
+                               Pattern         pattern,
+                               ResourceVisitor visitor) throws IOException
+    {
+        if (file.isDirectory())
         {
-            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            Path root = file.toPath();
 
-            while (entries.hasMoreElements())
+            try (Stream<Path> paths = Files.walk(root))
             {
-                ZipEntry entry    = entries.nextElement();
-                String   fileName = entry.getName();
+                Iterator<Path> iterator = paths.filter(Files::isRegularFile).iterator();
 
-                if (pattern.matcher(fileName).matches())
+                while (iterator.hasNext())
                 {
-                    retval.add(fileName);
+                    Path   path = iterator.next();
+                    String name = root.relativize(path).toString().replace(File.separatorChar, '/');
+
+                    if (pattern == null || pattern.matcher(name).matches())
+                    {
+                        try (InputStream stream = Files.newInputStream(path))
+                        {
+                            visitor.visit(name, stream);
+                        }
+                    }
                 }
             }
         }
+        else if (file.isFile() && ClassPath.isResourceAnArchive(file.getName()))
+        {
+            try (ZipFile zipFile = new ZipFile(file))
+            {
+                Enumeration<? extends ZipEntry> entries = zipFile.entries();
 
-        return retval;
+                while (entries.hasMoreElements())
+                {
+                    ZipEntry entry = entries.nextElement();
+                    String   name  = entry.getName();
+
+                    if (!entry.isDirectory() && (pattern == null || pattern.matcher(name).matches()))
+                    {
+                        try (InputStream stream = zipFile.getInputStream(entry))
+                        {
+                            visitor.visit(name, stream);
+                        }
+                    }
+                }
+            }
+        }
     }
 
 
-    private List<String> getResourcesFromDirectory(File    directory,
-                                                   Pattern pattern) throws IOException
+    /**
+     * Identifies a specific version of an archive.
+     */
+    private static class ArchiveKey
     {
-        File[] fileList = directory.listFiles();
+        /**
+         * The absolute path of the archive.
+         */
+        private final String path;
+
+        /**
+         * The size of the archive.
+         */
+        private final long size;
 
-        if (fileList == null)
+        /**
+         * The modification time of the archive.
+         */
+        private final long lastModified;
+
+
+        /**
+         * Constructs an {@link ArchiveKey}.
+         *
+         * @param path          the absolute path of the archive
+         * @param size          the size of the archive
+         * @param lastModified  the modification time of the archive
+         */
+        private ArchiveKey(String path,
+                           long   size,
+                           long   lastModified)
         {
-            return Collections.emptyList();
+            this.path         = path;
+            this.size         = size;
+            this.lastModified = lastModified;
         }
 
-        ArrayList<String> list = new ArrayList<>();
 
-        for (File file : fileList)
+        @Override
+        public boolean equals(Object other)
         {
-            if (file.isDirectory())
+            if (this == other)
             {
-                list.addAll(getResourcesFromDirectory(file, pattern));
+                return true;
             }
-            else
-            {
-                String fileName = file.getCanonicalPath();
 
-                if (pattern.matcher(fileName).matches())
-                {
-                    list.add(fileName);
-                }
+            if (!(other instanceof ArchiveKey))
+            {
+                return false;
             }
+
+            ArchiveKey key = (ArchiveKey) other;
+
+            return size == key.size && lastModified == key.lastModified && path.equals(key.path);
         }
 
-        return list;
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, size, lastModified);
+        }
+    }
+
+
+    /**
+     * A visitor of the resources of a {@link ClassPath} entry.
+     *
+     * @see ClassPathScanner#visitResources(File, Pattern, ResourceVisitor)
+     */
+    @FunctionalInterface
+    public interface ResourceVisitor
+    {
+        /**
+         * Visits a resource.
+         *
+         * @param name    the name of the resource, relative to the {@link ClassPath} entry
+         * @param stream  the {@link InputStream} of the content of the resource
+         *
+         * @throws IOException  when the resource can't be read
+         */
+        void visit(String      name,
+                   InputStream stream) throws IOException;
     }
 
 
@@ -29,6 +29,7 @@ import com.oracle.bedrock.annotations.Internal;
 import com.oracle.bedrock.runtime.Settings;
 import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
 import com.oracle.bedrock.runtime.concurrent.RemoteChannelListener;
+import com.oracle.bedrock.runtime.concurrent.RemoteRunnable;
 import com.oracle.bedrock.runtime.concurrent.socket.SocketBasedRemoteChannelClient;
 
 import java.io.IOException;
@@ -38,6 +39,10 @@ import java.net.InetAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -59,6 +64,17 @@ public class JavaApplicationRunner
      */
     public static SocketBasedRemoteChannelClient channel = null;
 
+    /**
+     * The argument used in place of an application class name to start a standby {@link JavaApplicationRunner},
+     * one that waits for a {@link StartApplication} request from the parent before starting an application.
+     */
+    public static final String STANDBY = "--standby";
+
+    /**
+     * The application class name and arguments provided by a {@link StartApplication} request.
+     */
+    private static final CompletableFuture<String[]> START = new CompletableFuture<>();
+
 
     /**
      * {@link JavaApplicationRunner} entry point.
@@ -71,6 +87,10 @@ public class JavaApplicationRunner
      *
      *         args is a space separated list of arguments to pass to the
      *              application main method.
+     * <p>
+     * When the ApplicationClassName is {@link #STANDBY}, the application class name,
+     * arguments and system properties are provided by the parent using a
+     * {@link StartApplication} request.
      *
      * @param arguments  the arguments for the {@link JavaApplicationRunner}
      */
@@ -95,12 +115,7 @@ public class JavaApplicationRunner
 
             if (arguments.length >= 1)
             {
-                String applicationClassName = arguments[0];
-
-                // create the arguments for the application
-                String[] applicationArguments = new String[arguments.length - 1];
-
-                System.arraycopy(arguments, 1, applicationArguments, 0, arguments.length - 1);
+                final boolean isStandby = STANDBY.equals(arguments[0]);
 
                 // a flag indicating if this application is in the process of
                 // shutting down naturally
@@ -143,7 +158,7 @@ public class JavaApplicationRunner
                                             {
                                                 // disconnected from the parent so terminate
                                                 // (if we're not orphanable)
-                                                if (!isOrphanable)
+                                                if (!isOrphanable || (isStandby && !START.isDone()))
                                                 {
                                                     Runtime.getRuntime().halt(2);
                                                 }
@@ -177,6 +192,26 @@ public class JavaApplicationRunner
 
                 if (channel != null)
                 {
+                    // wait for the application to be defined by the parent (when on standby)
+                    if (isStandby)
+                    {
+                        try
+                        {
+                            arguments = START.get();
+                        }
+                        catch (InterruptedException | ExecutionException e)
+                        {
+                            Runtime.getRuntime().halt(1);
+                        }
+                    }
+
+                    String applicationClassName = arguments[0];
+
+                    // create the arguments for the application
+                    String[] applicationArguments = new String[arguments.length - 1];
+
+                    System.arraycopy(arguments, 1, applicationArguments, 0, arguments.length - 1);
+
                     // start the application
                     try
                     {
@@ -215,4 +250,63 @@ public class JavaApplicationRunner
             }
         }
     }
+
+
+    /**
+     * A {@link RemoteRunnable} submitted by a parent to a standby {@link JavaApplicationRunner}
+     * to define the system properties for and start an application.
+     */
+    public static class StartApplication implements RemoteRunnable
+    {
+        /**
+         * The fully-qualified-class-name of the application.
+         */
+        private final String className;
+
+        /**
+         * The application arguments.
+         */
+        private final String[] arguments;
+
+        /**
+         * The system properties to define before starting the application.
+         */
+        private final Properties systemProperties;
+
+
+        /**
+         * Constructs a {@link StartApplication}.
+         *
+         * @param className         the fully-qualified-class-name of the application
+         * @param arguments         the application arguments
+         * @param systemProperties  the system properties to define
+         */
+        public StartApplication(String       className,
+                                List<String> arguments,
+                                Properties   systemProperties)
+        {
+            this.className        = className;
+            this.arguments        = arguments.toArray(new String[arguments.size()]);
+            this.systemProperties = new Properties();
+
+            this.systemProperties.putAll(systemProperties);
+        }
+
+
+        @Override
+        public void run()
+        {
+            for (String propertyName : systemProperties.stringPropertyNames())
+            {
+                System.setProperty(propertyName, systemProperties.getProperty(propertyName));
+            }
+
+            String[] command = new String[arguments.length + 1];
+
+            command[0] = className;
+            System.arraycopy(arguments, 0, command, 1, arguments.length);
+
+            START.complete(command);
+        }
+    }
 }
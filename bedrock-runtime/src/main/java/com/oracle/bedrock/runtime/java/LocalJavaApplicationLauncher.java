@@ -52,7 +52,9 @@ import com.oracle.bedrock.runtime.concurrent.RemoteEvent;
 import com.oracle.bedrock.runtime.concurrent.RemoteEventListener;
 import com.oracle.bedrock.runtime.concurrent.RemoteRunnable;
 import com.oracle.bedrock.runtime.concurrent.socket.SocketBasedRemoteChannelServer;
+import com.oracle.bedrock.runtime.console.OutputRedirector;
 import com.oracle.bedrock.runtime.java.features.JmxFeature;
+import com.oracle.bedrock.runtime.java.options.ArgumentFile;
 import com.oracle.bedrock.runtime.java.options.BedrockRunner;
 import com.oracle.bedrock.runtime.java.options.ClassName;
 import com.oracle.bedrock.runtime.java.options.IPv4Preferred;
@@ -62,6 +64,7 @@ import com.oracle.bedrock.runtime.java.options.RemoteEvents;
 import com.oracle.bedrock.runtime.java.options.SystemProperties;
 import com.oracle.bedrock.runtime.java.options.JavaModules;
 import com.oracle.bedrock.runtime.java.options.WaitToStart;
+import com.oracle.bedrock.runtime.java.options.WarmPool;
 import com.oracle.bedrock.runtime.java.profiles.CommercialFeatures;
 import com.oracle.bedrock.runtime.java.profiles.RemoteDebugging;
 import com.oracle.bedrock.runtime.options.Arguments;
@@ -82,6 +85,7 @@ import java.lang.reflect.Constructor;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -308,13 +312,15 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
 
         try
         {
+            ClassPath.Builder builder = new ClassPath.Builder().add(classPath);
+
             // include the ClassPath of the Platform
-            classPath = new ClassPath(classPath, ClassPath.ofClass(platform.getClass()));
+            builder.add(platform.getClass());
 
             // include the ClassPath of each of the Options
             for (Option option : launchOptions.getInstancesOf(Option.class))
             {
-                classPath = new ClassPath(classPath, ClassPath.ofClass(option.getClass()));
+                builder.add(option.getClass());
             }
 
             // include the application runner (if defined)
@@ -323,9 +329,11 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
             if (bedrockRunner != null && bedrockRunner.isEnabled())
             {
                 // include the JavaApplicationLauncher
-                classPath = new ClassPath(classPath, ClassPath.ofClass(bedrockRunner.getClassOfRunner()));
+                builder.add(bedrockRunner.getClassOfRunner());
             }
 
+            classPath = builder.build();
+
             // add the updated ClassPath back into the launch options
             launchOptions.add(classPath);
         }
@@ -334,8 +342,10 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
             throw new RuntimeException("Failed to locate required classes for the class path", e);
         }
 
+        String classPathString = classPath.toString(launchOptions.asArray());
+
         processBuilder.command().add(useModules ? "--module-path" : "-cp");
-        processBuilder.command().add(classPath.toString(launchOptions.asArray()));
+        processBuilder.command().add(classPathString);
 
         if (useModules)
         {
@@ -366,26 +376,6 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
 
         // ----- establish Bedrock specific system properties -----
 
-        // configure a server channel to communicate with the native process
-        final SocketBasedRemoteChannelServer server = new SocketBasedRemoteChannelServer();
-
-        // register the defined RemoteEventListeners with the server so that when the application starts
-        // the listeners can immediately start receiving RemoteEvents
-        RemoteEvents remoteEvents = launchOptions.get(RemoteEvents.class);
-
-        remoteEvents.forEach((remoteEventListener, listenerOptions) -> server.addListener(remoteEventListener,
-                                                                                          listenerOptions));
-
-        try
-        {
-            // NOTE: this listens on the wildcard address on an ephemeral port
-            server.open();
-        }
-        catch (IOException e)
-        {
-            throw new RuntimeException("Failed to create remote execution server for the application", e);
-        }
-
         // add Bedrock specific System Properties
 
         // NOTE: the Bedrock parent address for locally created applications is always "loopback" as
@@ -420,17 +410,18 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
         systemPropertiesTable.getOptions().add(Table.orderByColumn(0));
         systemPropertiesTable.getOptions().add(Cell.Separator.of(""));
 
-        // establish the URI for this (parent) process
-        String parentURI = "//" + parentAddress.getHostAddress() + ":" + server.getPort();
-
-        systemPropertiesTable.addRow(Settings.PARENT_URI, parentURI.toString());
+        // the URI for this (parent) process is added once the remote channel server is established
+        int parentURIIndex = processBuilder.command().size();
 
-        processBuilder.command().add("-D" + Settings.PARENT_URI + "=" + parentURI);
+        // the java virtual machine arguments that don't depend on the application
+        // (these are used to determine if a standby virtual machine may be used)
+        List<String> jvmArguments = new ArrayList<>();
 
         // add Orphanable configuration
         Orphanable orphanable = launchOptions.get(Orphanable.class);
 
-        processBuilder.command().add("-D" + Settings.ORPHANABLE + "=" + orphanable.isOrphanable());
+        jvmArguments.add("-D" + Settings.ORPHANABLE + "=" + orphanable.isOrphanable());
+        processBuilder.command().add(jvmArguments.get(0));
 
         systemPropertiesTable.addRow(Settings.ORPHANABLE, Boolean.toString(orphanable.isOrphanable()));
 
@@ -439,6 +430,9 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
         // define the system properties based on those defined by the launch options
         Properties systemProperties = launchOptions.get(SystemProperties.class).resolve(platform, launchOptions);
 
+        // the system properties provided to the application
+        Properties applicationSystemProperties = new Properties();
+
         for (String propertyName : systemProperties.stringPropertyNames())
         {
             String propertyValue = systemProperties.getProperty(propertyName);
@@ -451,11 +445,11 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
                                              + (propertyValue.isEmpty() ? "" : "=" + propertyValue));
 
                 systemPropertiesTable.addRow(propertyName, propertyValue);
+
+                applicationSystemProperties.setProperty(propertyName, propertyValue);
             }
         }
 
-        diagnosticsTable.addRow("System Properties", systemPropertiesTable.toString());
-
         // ----- establish Java Virtual Machine options -----
 
         StringBuilder jvmOptions = new StringBuilder();
@@ -465,6 +459,7 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
             for (String value : jvmOption.resolve(launchOptions))
             {
                 processBuilder.command().add(value);
+                jvmArguments.add(value);
 
                 if (jvmOptions.length() > 0)
                 {
@@ -495,6 +490,7 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
                 propertyValue = evaluator.evaluate(propertyValue, String.class);
 
                 processBuilder.command().add(propertyValue);
+                jvmArguments.add(propertyValue);
             }
         }
 
@@ -510,6 +506,9 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
             processBuilder.command().add("-m");
         }
 
+        // the index of the first non-java virtual machine argument
+        int applicationIndex = processBuilder.command().size();
+
         processBuilder.command().add(applicationLauncherClassName);
 
         // set the Java application class name we need to launch
@@ -560,6 +559,120 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
         diagnosticsTable.addRow("Application Launch Time",
                                 new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
 
+        // ----- provide the java virtual machine arguments using a file (when required) -----
+
+        ArgumentFile argumentFile = launchOptions.get(ArgumentFile.class);
+
+        if (argumentFile.getMode() != ArgumentFile.Mode.DISABLED &&!useModules)
+        {
+            try
+            {
+                // locate the class path in the command (arguments may precede it)
+                int classPathIndex = processBuilder.command().indexOf("-cp");
+
+                if (argumentFile.getMode() == ArgumentFile.Mode.ARGUMENT_FILE)
+                {
+                    // replace the class path, system properties and java virtual machine options with an @argfile
+                    List<String> fileArguments = processBuilder.command().subList(classPathIndex, applicationIndex);
+                    File         file          = argumentFile.createArgumentFile(new ArrayList<>(fileArguments));
+                    String       fileArgument  = "@" + file.getAbsolutePath();
+
+                    fileArguments.clear();
+                    fileArguments.add(fileArgument);
+
+                    // the parent uri must follow the @argfile
+                    parentURIIndex = processBuilder.command().indexOf(fileArgument) + 1;
+
+                    diagnosticsTable.addRow("Argument File", file.getAbsolutePath());
+                }
+                else
+                {
+                    // replace the class path with a pathing jar
+                    // (manifest class paths don't support wildcards)
+                    List<String> urls = new ArrayList<>();
+
+                    for (String path : classPath)
+                    {
+                        urls.add(path.endsWith("*") ? null : ArgumentFile.toURL(path));
+                    }
+
+                    if (!urls.contains(null))
+                    {
+                        File jar = argumentFile.createPathingJar(urls);
+
+                        processBuilder.command().set(classPathIndex + 1, jar.getAbsolutePath());
+
+                        diagnosticsTable.addRow("Pathing Jar", jar.getAbsolutePath());
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                // when the file can't be created we provide the arguments directly
+                LOGGER.log(Level.WARNING, "Failed to create an argument file for the application", e);
+            }
+        }
+
+        // ----- establish the remote channel server (using a standby virtual machine when possible) -----
+
+        WarmPool         warmPool = launchOptions.get(WarmPool.class);
+        WarmPool.Standby standby  = null;
+
+        if (warmPool.isEnabled() &&!useModules)
+        {
+            WarmPool.Template template = new WarmPool.Template(javaExecutable,
+                                                               classPathString,
+                                                               parentAddress.getHostAddress(),
+                                                               jvmArguments,
+                                                               directory,
+                                                               processBuilder.environment(),
+                                                               redirection.isEnabled());
+
+            standby = warmPool.acquire(template, applicationSystemProperties);
+
+            diagnosticsTable.addRow("Warm Pool", standby == null ? "(miss)" : "(hit)");
+        }
+
+        // configure a server channel to communicate with the native process
+        final SocketBasedRemoteChannelServer server = standby == null
+                                                      ? new SocketBasedRemoteChannelServer()
+                                                      : standby.getServer();
+
+        // register the defined RemoteEventListeners with the server so that when the application starts
+        // the listeners can immediately start receiving RemoteEvents
+        RemoteEvents remoteEvents = launchOptions.get(RemoteEvents.class);
+
+        remoteEvents.forEach((remoteEventListener, listenerOptions) -> server.addListener(remoteEventListener,
+                                                                                          listenerOptions));
+
+        String parentURI;
+
+        if (standby == null)
+        {
+            try
+            {
+                // NOTE: this listens on the wildcard address on an ephemeral port
+                server.open();
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeException("Failed to create remote execution server for the application", e);
+            }
+
+            // establish the URI for this (parent) process
+            parentURI = "//" + parentAddress.getHostAddress() + ":" + server.getPort();
+
+            processBuilder.command().add(parentURIIndex, "-D" + Settings.PARENT_URI + "=" + parentURI);
+        }
+        else
+        {
+            parentURI = standby.getParentURI();
+        }
+
+        systemPropertiesTable.addRow(Settings.PARENT_URI, parentURI);
+
+        diagnosticsTable.addRow("System Properties", systemPropertiesTable.toString());
+
         // TODO: add all of the Profile options to the table
 
         // ----- start the local process -----
@@ -578,13 +691,37 @@ public class LocalJavaApplicationLauncher<A extends JavaApplication> implements
         // create and start the native process
         Process process;
 
-        try
+        if (standby == null)
         {
-            process = processBuilder.start();
+            // allow redirectors to have the operating system redirect the streams of the process
+            OutputRedirector.redirectProcess(processBuilder, launchOptions);
+
+            try
+            {
+                process = processBuilder.start();
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeException("Failed to build the underlying native process for the application", e);
+            }
         }
-        catch (IOException e)
+        else
         {
-            throw new RuntimeException("Failed to build the underlying native process for the application", e);
+            process = standby.getProcess();
+
+            // provide the application to run to the standby virtual machine
+            // (waiting for the system properties to be defined)
+            try
+            {
+                standby.start(applicationClassName, argList, applicationSystemProperties).get();
+            }
+            catch (Exception e)
+            {
+                process.destroy();
+                server.close();
+
+                throw new RuntimeException("Failed to start the application using a standby virtual machine", e);
+            }
         }
 
         // ----- create the local process and application -----
@@ -0,0 +1,82 @@
+/*
+ * File: BatchedMBeanServerConnection.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.features;
+
+import javax.management.AttributeList;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.QueryExp;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@link MBeanServerConnection} that may acquire the attributes of many MBeans
+ * in a single request, instead of one request per MBean.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see RemoteChannelJMXConnector
+ */
+public interface BatchedMBeanServerConnection extends MBeanServerConnection
+{
+    /**
+     * Obtains the specified attributes of each of the specified MBeans.
+     * <p>
+     * MBeans that are not registered are omitted from the result, as are attributes
+     * that can't be read, in the same manner as {@link #getAttributes(ObjectName, String[])}.
+     *
+     * @param names       the {@link ObjectName}s of the MBeans
+     * @param attributes  the names of the attributes to obtain
+     *
+     * @return a {@link Map} of the {@link AttributeList} for each registered MBean
+     *
+     * @throws IOException  should communication with the MBean server fail
+     */
+    Map<ObjectName, AttributeList> getAttributes(Set<ObjectName> names,
+                                                 String...       attributes) throws IOException;
+
+
+    /**
+     * Obtains the specified attributes of the MBeans matching a pattern and query, as
+     * if {@link #queryNames(ObjectName, QueryExp)} was followed by
+     * {@link #getAttributes(Set, String...)}.
+     *
+     * @param pattern     the {@link ObjectName} pattern identifying the MBeans
+     *                    (<code>null</code> for all MBeans)
+     * @param query       the query expression to select the MBeans
+     *                    (<code>null</code> for no query)
+     * @param attributes  the names of the attributes to obtain
+     *
+     * @return a {@link Map} of the {@link AttributeList} for each matching MBean
+     *
+     * @throws IOException  should communication with the MBean server fail
+     */
+    Map<ObjectName, AttributeList> queryAttributes(ObjectName pattern,
+                                                   QueryExp   query,
+                                                   String...  attributes) throws IOException;
+}
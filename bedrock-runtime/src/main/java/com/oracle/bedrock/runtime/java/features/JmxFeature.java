@@ -27,6 +27,7 @@ package com.oracle.bedrock.runtime.java.features;
 
 import com.oracle.bedrock.deferred.Cached;
 import com.oracle.bedrock.deferred.Deferred;
+import com.oracle.bedrock.deferred.Existing;
 import com.oracle.bedrock.deferred.PermanentlyUnavailableException;
 import com.oracle.bedrock.deferred.jmx.DeferredJMXConnector;
 import com.oracle.bedrock.deferred.jmx.DeferredMBeanAttribute;
@@ -39,12 +40,18 @@ import com.oracle.bedrock.options.Timeout;
 import com.oracle.bedrock.runtime.java.JavaApplication;
 import com.oracle.bedrock.runtime.java.profiles.JmxProfile;
 
+import javax.management.AttributeList;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
 import javax.management.MBeanInfo;
+import javax.management.MBeanServerConnection;
 import javax.management.ObjectInstance;
 import javax.management.ObjectName;
 import javax.management.QueryExp;
 import javax.management.remote.JMXConnector;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import static com.oracle.bedrock.deferred.DeferredHelper.cached;
@@ -110,6 +117,15 @@ public class JmxFeature extends AbstractFeature
      */
     public static final String SUN_MANAGEMENT_JMXREMOTE_ACCESS_FILE = "com.sun.management.jmxremote.access.file";
 
+    /**
+     * The JVM property indicating that JMX operations should be performed over the
+     * {@link com.oracle.bedrock.runtime.concurrent.RemoteChannel} to an application,
+     * using a {@link RemoteChannelJMXConnector}, instead of RMI.
+     * <p>
+     * (the property name doesn't start with "bedrock" so that it's provided to launched applications)
+     */
+    public static final String BEDROCK_JMX_REMOTE_CHANNEL = "com.oracle.bedrock.jmx.remotechannel";
+
     /**
      * The {@link Cached} representing the {@link JMXConnector}.
      */
@@ -126,7 +142,23 @@ public class JmxFeature extends AbstractFeature
      */
     public static boolean isSupportedBy(JavaApplication application)
     {
-        return application.getSystemProperties().containsKey(SUN_MANAGEMENT_JMXREMOTE);
+        return application.getSystemProperties().containsKey(SUN_MANAGEMENT_JMXREMOTE)
+               || isRemoteChannelEnabledFor(application);
+    }
+
+
+    /**
+     * Determines if JMX operations for the specified {@link JavaApplication} should be performed
+     * over its {@link com.oracle.bedrock.runtime.concurrent.RemoteChannel}.
+     *
+     * @param application  the {@link JavaApplication}
+     *
+     * @return  <code>true</code> if the {@link JavaApplication} was launched with
+     *          {@link #BEDROCK_JMX_REMOTE_CHANNEL}, <code>false</code> otherwise
+     */
+    public static boolean isRemoteChannelEnabledFor(JavaApplication application)
+    {
+        return Boolean.parseBoolean(application.getSystemProperties().getProperty(BEDROCK_JMX_REMOTE_CHANNEL));
     }
 
 
@@ -160,6 +192,17 @@ public class JmxFeature extends AbstractFeature
 
         JavaApplication application = getJavaApplication();
 
+        if (isRemoteChannelEnabledFor(application))
+        {
+            // the remote channel is available as soon as the application is launched,
+            // so there's no need to wait for a connection to be established
+            cachedJmxConnector =
+                cached(new Existing<>(new RemoteChannelJMXConnector(application, getDefaultTimeout()),
+                                      JMXConnector.class));
+
+            return;
+        }
+
         int jmxRemotePort =
             Integer.parseInt(application.getSystemProperties().getProperty(SUN_MANAGEMENT_JMXREMOTE_PORT).toString());
 
@@ -361,6 +404,63 @@ public class JmxFeature extends AbstractFeature
     }
 
 
+    /**
+     * Obtains the specified attributes of the MBeans matching a pattern and query using the
+     * JMX infrastructure of the {@link JmxFeature}.
+     * <p>
+     * When the {@link JMXConnector} provides a {@link BatchedMBeanServerConnection}, the
+     * attributes of all of the MBeans are obtained in a single request.  MBeans that are
+     * unregistered while the attributes are being obtained are omitted.
+     * <p>
+     * If the JMX infrastructure in the {@link JmxFeature} is not yet
+     * available, it will block and wait for the default application timeout
+     * until it becomes available.
+     *
+     * @param pattern     the object name pattern identifying the MBeans.
+     *                    If <code>null</code> all the MBeans registered will be used
+     * @param query       the query expression to be applied for selecting MBeans
+     *                    If <code>null</code> no query expression will be applied
+     * @param attributes  the names of the attributes to obtain
+     *
+     * @return a {@link Map} of the {@link AttributeList} for each MBean
+     */
+    public Map<ObjectName, AttributeList> getMBeanAttributes(ObjectName pattern,
+                                                             QueryExp   query,
+                                                             String...  attributes)
+    {
+        try
+        {
+            MBeanServerConnection connection = ensured(getDeferredJMXConnector(),
+                                                       within(getDefaultTimeout())).get().getMBeanServerConnection();
+
+            if (connection instanceof BatchedMBeanServerConnection)
+            {
+                return ((BatchedMBeanServerConnection) connection).queryAttributes(pattern, query, attributes);
+            }
+
+            Map<ObjectName, AttributeList> result = new HashMap<>();
+
+            for (ObjectName name : connection.queryNames(pattern, query))
+            {
+                try
+                {
+                    result.put(name, connection.getAttributes(name, attributes));
+                }
+                catch (InstanceNotFoundException e)
+                {
+                    // the MBean was unregistered after being queried, so we skip it
+                }
+            }
+
+            return result;
+        }
+        catch (IOException | JMException e)
+        {
+            throw new PermanentlyUnavailableException(getDeferredJMXConnector(), e);
+        }
+    }
+
+
     /**
      * Obtains a {@link JmxProfile} that configures Remote Java Management Extensions (JMX)
      * for the current platform, <strong>without</strong> authentication and ssl.
@@ -421,4 +521,20 @@ public class JmxFeature extends AbstractFeature
     {
         return JmxProfile.hostname(hostname);
     }
+
+
+    /**
+     * Obtains a {@link JmxProfile} that configures JMX operations to be performed over the
+     * {@link com.oracle.bedrock.runtime.concurrent.RemoteChannel} to an application, instead of RMI.
+     *
+     * @param enabled  to enable / disable JMX over the remote channel
+     *
+     * @return a {@link JmxProfile}
+     *
+     * @see JmxProfile#remoteChannel(boolean)
+     */
+    public static JmxProfile remoteChannel(boolean enabled)
+    {
+        return JmxProfile.remoteChannel(enabled);
+    }
 }
@@ -0,0 +1,516 @@
+/*
+ * File: RemoteChannelJMXConnector.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.features;
+
+import com.oracle.bedrock.options.Timeout;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
+
+import javax.management.AttributeList;
+import javax.management.InstanceNotFoundException;
+import javax.management.ListenerNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.NotificationBroadcasterSupport;
+import javax.management.NotificationFilter;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+import javax.management.QueryExp;
+import javax.management.remote.JMXConnectionNotification;
+import javax.management.remote.JMXConnector;
+import javax.security.auth.Subject;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link JMXConnector} that performs MBean operations against the platform
+ * {@link MBeanServer} of a remote application by submitting them over a
+ * {@link RemoteChannel}, instead of connecting to an RMI based JMX agent.
+ * <p>
+ * As the {@link RemoteChannel} to an application is established when the application is
+ * launched, a {@link RemoteChannelJMXConnector} is immediately available, requiring neither an
+ * additional port nor an RMI registry in the application.
+ * <p>
+ * The {@link MBeanServerConnection} provided by a {@link RemoteChannelJMXConnector} is a
+ * {@link BatchedMBeanServerConnection}, allowing the attributes of many MBeans to be acquired
+ * in a single request.  As local {@link NotificationListener}s can't be sent to the remote
+ * application, only the {@link ObjectName} based forms of the notification listener
+ * operations are supported.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see JmxFeature
+ * @see BatchedMBeanServerConnection
+ */
+public class RemoteChannelJMXConnector implements JMXConnector
+{
+    /**
+     * The {@link RemoteChannel} over which MBean operations are submitted.
+     */
+    private final RemoteChannel channel;
+
+    /**
+     * The {@link Timeout} to wait for each MBean operation to complete.
+     */
+    private final Timeout timeout;
+
+    /**
+     * The identity of the connection.
+     */
+    private final String connectionId;
+
+    /**
+     * The {@link BatchedMBeanServerConnection} submitting operations over the {@link RemoteChannel}.
+     */
+    private final BatchedMBeanServerConnection connection;
+
+    /**
+     * The {@link NotificationBroadcasterSupport} for {@link JMXConnectionNotification}s.
+     */
+    private final NotificationBroadcasterSupport broadcaster;
+
+    /**
+     * The sequence number of the {@link JMXConnectionNotification}s.
+     */
+    private final AtomicLong sequenceNumber;
+
+    /**
+     * Has the {@link RemoteChannelJMXConnector} been closed?
+     */
+    private volatile boolean closed;
+
+
+    /**
+     * Constructs a {@link RemoteChannelJMXConnector}.
+     *
+     * @param channel  the {@link RemoteChannel} to the application
+     * @param timeout  the {@link Timeout} to wait for each MBean operation
+     */
+    public RemoteChannelJMXConnector(RemoteChannel channel,
+                                     Timeout       timeout)
+    {
+        this.channel        = channel;
+        this.timeout        = timeout == null ? Timeout.autoDetect() : timeout;
+        this.connectionId   = "remote-channel " + UUID.randomUUID();
+        this.broadcaster    = new NotificationBroadcasterSupport();
+        this.sequenceNumber = new AtomicLong();
+        this.closed         = false;
+
+        this.connection =
+            (BatchedMBeanServerConnection) Proxy.newProxyInstance(BatchedMBeanServerConnection.class.getClassLoader(),
+                                                                  new Class<?>[] {BatchedMBeanServerConnection.class},
+                                                                  new Connection());
+    }
+
+
+    @Override
+    public void connect() throws IOException
+    {
+        connect(null);
+    }
+
+
+    @Override
+    public void connect(Map<String, ?> environment) throws IOException
+    {
+        // the remote channel is established when the application is launched
+        ensureOpen();
+    }
+
+
+    @Override
+    public MBeanServerConnection getMBeanServerConnection() throws IOException
+    {
+        ensureOpen();
+
+        return connection;
+    }
+
+
+    @Override
+    public MBeanServerConnection getMBeanServerConnection(Subject delegationSubject) throws IOException
+    {
+        if (delegationSubject == null)
+        {
+            return getMBeanServerConnection();
+        }
+        else
+        {
+            throw new IOException("Delegation subjects are not supported over a RemoteChannel");
+        }
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        if (!closed)
+        {
+            closed = true;
+
+            broadcaster.sendNotification(new JMXConnectionNotification(JMXConnectionNotification.CLOSED,
+                                                                       this,
+                                                                       connectionId,
+                                                                       sequenceNumber.incrementAndGet(),
+                                                                       "Connection closed",
+                                                                       null));
+        }
+    }
+
+
+    @Override
+    public void addConnectionNotificationListener(NotificationListener listener,
+                                                  NotificationFilter   filter,
+                                                  Object               handback)
+    {
+        broadcaster.addNotificationListener(listener, filter, handback);
+    }
+
+
+    @Override
+    public void removeConnectionNotificationListener(NotificationListener listener) throws ListenerNotFoundException
+    {
+        broadcaster.removeNotificationListener(listener);
+    }
+
+
+    @Override
+    public void removeConnectionNotificationListener(NotificationListener listener,
+                                                     NotificationFilter   filter,
+                                                     Object               handback) throws ListenerNotFoundException
+    {
+        broadcaster.removeNotificationListener(listener, filter, handback);
+    }
+
+
+    @Override
+    public String getConnectionId() throws IOException
+    {
+        ensureOpen();
+
+        return connectionId;
+    }
+
+
+    /**
+     * Ensures that the {@link RemoteChannelJMXConnector} has not been closed.
+     *
+     * @throws IOException  when the {@link RemoteChannelJMXConnector} has been closed
+     */
+    private void ensureOpen() throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("The JMXConnector " + connectionId + " has been closed");
+        }
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "RemoteChannelJMXConnector{" + connectionId + (closed ? ", closed" : "") + "}";
+    }
+
+
+    /**
+     * The {@link InvocationHandler} for the {@link BatchedMBeanServerConnection}, submitting
+     * each operation to the {@link RemoteChannel} and waiting for the result.
+     */
+    private class Connection implements InvocationHandler
+    {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object   proxy,
+                             Method   method,
+                             Object[] arguments) throws Throwable
+        {
+            if (method.getDeclaringClass() == Object.class)
+            {
+                switch (method.getName())
+                {
+                case "equals" :
+                    return proxy == arguments[0];
+
+                case "hashCode" :
+                    return System.identityHashCode(proxy);
+
+                default :
+                    return "MBeanServerConnection{" + connectionId + "}";
+                }
+            }
+
+            ensureOpen();
+
+            RemoteCallable<?> callable;
+
+            if (method.getDeclaringClass() == BatchedMBeanServerConnection.class)
+            {
+                String[] attributes = (String[]) arguments[arguments.length - 1];
+
+                callable = method.getName().equals("queryAttributes")
+                           ? new QueryAttributes((ObjectName) arguments[0], (QueryExp) arguments[1], attributes)
+                           : new GetAttributes((Set<ObjectName>) arguments[0], attributes);
+            }
+            else if (Arrays.asList(method.getParameterTypes()).contains(NotificationListener.class))
+            {
+                // all of the notification listener operations declare IOException
+                throw new IOException("Local NotificationListeners can't be registered over a RemoteChannel, "
+                                      + "use the ObjectName of a listener MBean");
+            }
+            else
+            {
+                callable = new Invocation(method.getName(), method.getParameterTypes(), arguments);
+            }
+
+            CompletableFuture<?> future = channel.submit(callable);
+
+            try
+            {
+                return future.get(timeout.to(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+
+                // re-throw unchecked and declared exceptions as they were raised by the MBeanServer
+                if (cause instanceof RuntimeException || cause instanceof Error)
+                {
+                    throw cause;
+                }
+
+                for (Class<?> exceptionClass : method.getExceptionTypes())
+                {
+                    if (exceptionClass.isInstance(cause))
+                    {
+                        throw cause;
+                    }
+                }
+
+                throw new IOException("Failed to perform " + method.getName() + " over the RemoteChannel", cause);
+            }
+            catch (TimeoutException e)
+            {
+                future.cancel(true);
+
+                throw new IOException("Timed out performing " + method.getName() + " over the RemoteChannel", e);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+
+                throw new InterruptedIOException("Interrupted performing " + method.getName()
+                                                 + " over the RemoteChannel");
+            }
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to invoke a method of the platform {@link MBeanServer}.
+     */
+    public static class Invocation implements RemoteCallable<Object>
+    {
+        /**
+         * The name of the {@link MBeanServerConnection} method to invoke.
+         */
+        private String methodName;
+
+        /**
+         * The parameter types of the {@link MBeanServerConnection} method.
+         */
+        private Class<?>[] parameterTypes;
+
+        /**
+         * The arguments for the method.
+         */
+        private Object[] arguments;
+
+
+        /**
+         * Constructs an {@link Invocation}.
+         *
+         * @param methodName      the name of the {@link MBeanServerConnection} method
+         * @param parameterTypes  the parameter types of the method
+         * @param arguments       the arguments for the method
+         */
+        public Invocation(String     methodName,
+                          Class<?>[] parameterTypes,
+                          Object[]   arguments)
+        {
+            this.methodName     = methodName;
+            this.parameterTypes = parameterTypes;
+            this.arguments      = arguments;
+        }
+
+
+        @Override
+        public Object call() throws Exception
+        {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Method      method = MBeanServerConnection.class.getMethod(methodName, parameterTypes);
+
+            try
+            {
+                return method.invoke(server, arguments);
+            }
+            catch (InvocationTargetException e)
+            {
+                Throwable cause = e.getCause();
+
+                if (cause instanceof Exception)
+                {
+                    throw (Exception) cause;
+                }
+                else
+                {
+                    throw (Error) cause;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to obtain attributes of a number of MBeans registered with the
+     * platform {@link MBeanServer}.
+     */
+    public static class GetAttributes implements RemoteCallable<Map<ObjectName, AttributeList>>
+    {
+        /**
+         * The {@link ObjectName}s of the MBeans.
+         */
+        private LinkedHashSet<ObjectName> names;
+
+        /**
+         * The names of the attributes to obtain.
+         */
+        private String[] attributes;
+
+
+        /**
+         * Constructs a {@link GetAttributes}.
+         *
+         * @param names       the {@link ObjectName}s of the MBeans
+         * @param attributes  the names of the attributes to obtain
+         */
+        public GetAttributes(Collection<ObjectName> names,
+                             String...              attributes)
+        {
+            this.names      = new LinkedHashSet<>(names);
+            this.attributes = attributes;
+        }
+
+
+        @Override
+        public Map<ObjectName, AttributeList> call() throws Exception
+        {
+            MBeanServer                        server = ManagementFactory.getPlatformMBeanServer();
+            HashMap<ObjectName, AttributeList> result = new HashMap<>();
+
+            for (ObjectName name : names)
+            {
+                try
+                {
+                    result.put(name, server.getAttributes(name, attributes));
+                }
+                catch (InstanceNotFoundException e)
+                {
+                    // the MBean may have been unregistered since it was named, so we skip it
+                }
+            }
+
+            return result;
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to obtain attributes of the MBeans registered with the
+     * platform {@link MBeanServer} that match a pattern and query.
+     */
+    public static class QueryAttributes implements RemoteCallable<Map<ObjectName, AttributeList>>
+    {
+        /**
+         * The {@link ObjectName} pattern identifying the MBeans.
+         */
+        private ObjectName pattern;
+
+        /**
+         * The query expression to select the MBeans.
+         */
+        private QueryExp query;
+
+        /**
+         * The names of the attributes to obtain.
+         */
+        private String[] attributes;
+
+
+        /**
+         * Constructs a {@link QueryAttributes}.
+         *
+         * @param pattern     the {@link ObjectName} pattern identifying the MBeans
+         * @param query       the query expression to select the MBeans
+         * @param attributes  the names of the attributes to obtain
+         */
+        public QueryAttributes(ObjectName pattern,
+                               QueryExp   query,
+                               String...  attributes)
+        {
+            this.pattern    = pattern;
+            this.query      = query;
+            this.attributes = attributes;
+        }
+
+
+        @Override
+        public Map<ObjectName, AttributeList> call() throws Exception
+        {
+            Set<ObjectName> names = ManagementFactory.getPlatformMBeanServer().queryNames(pattern, query);
+
+            return new GetAttributes(names, attributes).call();
+        }
+    }
+}
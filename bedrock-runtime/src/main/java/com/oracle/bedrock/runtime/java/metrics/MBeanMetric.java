@@ -0,0 +1,201 @@
+/*
+ * File: MBeanMetric.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.metrics;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+/**
+ * Defines the numeric MBean attributes to be sampled by an {@link MBeanSampler}, for the
+ * MBeans matching an {@link ObjectName} pattern.
+ * <p>
+ * An attribute of type {@link CompositeData} may be sampled by specifying the key of the
+ * item to sample after the attribute name, separated by a ".", for example
+ * <code>MBeanMetric.of("java.lang:type=Memory", "HeapMemoryUsage.used")</code>.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see MBeanSampler
+ */
+public class MBeanMetric implements Serializable
+{
+    /**
+     * The {@link ObjectName} pattern of the MBeans to sample.
+     */
+    private final ObjectName pattern;
+
+    /**
+     * The attributes to sample.
+     */
+    private final String[] attributes;
+
+
+    /**
+     * Constructs an {@link MBeanMetric}.
+     *
+     * @param pattern     the {@link ObjectName} pattern of the MBeans to sample
+     * @param attributes  the attributes to sample
+     */
+    private MBeanMetric(ObjectName pattern,
+                        String[]   attributes)
+    {
+        if (attributes == null || attributes.length == 0)
+        {
+            throw new IllegalArgumentException("At least one attribute must be specified to sample " + pattern);
+        }
+
+        this.pattern    = pattern;
+        this.attributes = attributes;
+    }
+
+
+    /**
+     * Obtains the {@link ObjectName} pattern of the MBeans to sample.
+     *
+     * @return  the {@link ObjectName} pattern
+     */
+    public ObjectName getPattern()
+    {
+        return pattern;
+    }
+
+
+    /**
+     * Obtains the attributes to sample, including the {@link CompositeData} keys when specified.
+     *
+     * @return  the attributes to sample
+     */
+    public String[] getAttributes()
+    {
+        return attributes.clone();
+    }
+
+
+    /**
+     * Obtains the distinct names of the MBean attributes to acquire in order to sample the
+     * attributes, without the {@link CompositeData} keys.
+     *
+     * @return  the MBean attribute names
+     */
+    String[] getAttributeNames()
+    {
+        LinkedHashSet<String> names = new LinkedHashSet<>();
+
+        for (String attribute : attributes)
+        {
+            int dot = attribute.indexOf('.');
+
+            names.add(dot < 0 ? attribute : attribute.substring(0, dot));
+        }
+
+        return names.toArray(new String[names.size()]);
+    }
+
+
+    /**
+     * Resolves the value of an attribute to sample from the value of the MBean attribute,
+     * navigating into {@link CompositeData} when a key was specified.
+     *
+     * @param attribute  the attribute being sampled
+     * @param value      the value of the MBean attribute
+     *
+     * @return  the resolved value or <code>null</code> if it can't be resolved
+     */
+    static Object resolve(String attribute,
+                          Object value)
+    {
+        int dot = attribute.indexOf('.');
+
+        if (dot < 0)
+        {
+            return value;
+        }
+        else if (value instanceof CompositeData)
+        {
+            CompositeData data = (CompositeData) value;
+            String        key  = attribute.substring(dot + 1);
+
+            return data.containsKey(key) ? data.get(key) : null;
+        }
+        else
+        {
+            return null;
+        }
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "MBeanMetric{" + pattern + ", " + Arrays.toString(attributes) + "}";
+    }
+
+
+    /**
+     * Obtains an {@link MBeanMetric} for the specified attributes of the MBeans
+     * matching an {@link ObjectName} pattern.
+     *
+     * @param pattern     the {@link ObjectName} pattern
+     * @param attributes  the attributes to sample
+     *
+     * @return  a new {@link MBeanMetric}
+     */
+    public static MBeanMetric of(ObjectName pattern,
+                                 String...  attributes)
+    {
+        return new MBeanMetric(pattern, attributes);
+    }
+
+
+    /**
+     * Obtains an {@link MBeanMetric} for the specified attributes of the MBeans
+     * matching an {@link ObjectName} pattern.
+     *
+     * @param pattern     the {@link ObjectName} pattern
+     * @param attributes  the attributes to sample
+     *
+     * @return  a new {@link MBeanMetric}
+     *
+     * @throws IllegalArgumentException  when the pattern is not a valid {@link ObjectName}
+     */
+    public static MBeanMetric of(String    pattern,
+                                 String... attributes)
+    {
+        try
+        {
+            return new MBeanMetric(new ObjectName(pattern), attributes);
+        }
+        catch (MalformedObjectNameException e)
+        {
+            throw new IllegalArgumentException("Invalid ObjectName pattern [" + pattern + "]", e);
+        }
+    }
+}
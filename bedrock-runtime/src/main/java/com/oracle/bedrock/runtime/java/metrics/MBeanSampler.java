@@ -0,0 +1,1080 @@
+/*
+ * File: MBeanSampler.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.metrics;
+
+import com.oracle.bedrock.lang.ThreadFactories;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
+import com.oracle.bedrock.runtime.concurrent.RemoteEvent;
+import com.oracle.bedrock.runtime.concurrent.RemoteEventListener;
+import com.oracle.bedrock.runtime.concurrent.options.StreamName;
+import com.oracle.bedrock.runtime.java.JavaApplication;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples numeric MBean attributes of {@link JavaApplication}s at a fixed rate, recording
+ * the sampled values in a {@link MetricStore}.
+ * <p>
+ * Rather than acquiring each attribute with a request to an application, the {@link MBeanMetric}s
+ * are registered once with each application, which then samples the attributes locally using its
+ * platform {@link javax.management.MBeanServer}.  Samples are pushed over the
+ * {@link RemoteChannel} to the application in batches, each containing only the values that
+ * changed since the previous sample, encoded as deltas of the previous values.  Should a batch
+ * fail to be pushed, the next sample is a keyframe containing all of the values, from which the
+ * deltas of subsequent samples may again be decoded.  Batches are numbered, so that the samples
+ * following a lost batch are discarded, rather than being decoded incorrectly, until a keyframe arrives.
+ * <p>
+ * As sampling uses the {@link RemoteChannel}, it doesn't require the
+ * {@link com.oracle.bedrock.runtime.java.features.JmxFeature} to be configured for the applications.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see MBeanMetric
+ * @see MetricStore
+ */
+public class MBeanSampler implements AutoCloseable
+{
+    /**
+     * The identity of the {@link MBeanSampler}.
+     */
+    private final String samplerId;
+
+    /**
+     * The {@link StreamName} on which applications push samples.
+     */
+    private final StreamName streamName;
+
+    /**
+     * The {@link MBeanMetric}s to sample.
+     */
+    private final MBeanMetric[] metrics;
+
+    /**
+     * The period between samples (in milliseconds).
+     */
+    private final long period;
+
+    /**
+     * The number of samples to push in each batch.
+     */
+    private final int samplesPerBatch;
+
+    /**
+     * The {@link MetricStore} in which samples are recorded.
+     */
+    private final MetricStore store;
+
+    /**
+     * The {@link Receiver} for each sampled {@link JavaApplication}.
+     */
+    private final LinkedHashMap<JavaApplication, Receiver> receivers;
+
+
+    /**
+     * Constructs an {@link MBeanSampler}.
+     *
+     * @param period           the period between samples
+     * @param units            the {@link TimeUnit} of the period
+     * @param samplesPerBatch  the number of samples to push in each batch
+     * @param metrics          the {@link MBeanMetric}s to sample
+     */
+    public MBeanSampler(long           period,
+                        TimeUnit       units,
+                        int            samplesPerBatch,
+                        MBeanMetric... metrics)
+    {
+        if (period <= 0)
+        {
+            throw new IllegalArgumentException("The sampling period must be positive");
+        }
+        else if (samplesPerBatch <= 0)
+        {
+            throw new IllegalArgumentException("The number of samples per batch must be positive");
+        }
+        else if (metrics == null || metrics.length == 0)
+        {
+            throw new IllegalArgumentException("At least one MBeanMetric must be specified");
+        }
+
+        this.samplerId       = UUID.randomUUID().toString();
+        this.streamName      = StreamName.of("MBeanSampler-" + samplerId);
+        this.metrics         = metrics.clone();
+        this.period          = Math.max(1, units.toMillis(period));
+        this.samplesPerBatch = samplesPerBatch;
+        this.store           = new MetricStore();
+        this.receivers       = new LinkedHashMap<>();
+    }
+
+
+    /**
+     * Obtains the {@link MetricStore} in which samples are recorded.
+     *
+     * @return  the {@link MetricStore}
+     */
+    public MetricStore getStore()
+    {
+        return store;
+    }
+
+
+    /**
+     * Starts sampling the specified {@link JavaApplication}, recording its samples using
+     * the {@link JavaApplication#getName()}.
+     *
+     * @param application  the {@link JavaApplication}
+     *
+     * @return  the {@link MBeanSampler} to permit fluent-style method calls
+     */
+    public synchronized MBeanSampler add(JavaApplication application)
+    {
+        if (!receivers.containsKey(application))
+        {
+            Receiver receiver = new Receiver(application.getName(), store);
+
+            application.addListener(receiver, streamName);
+
+            try
+            {
+                application.invoke(new Start(samplerId, streamName.get(), metrics, period, samplesPerBatch));
+            }
+            catch (RuntimeException e)
+            {
+                application.removeListener(receiver, streamName);
+
+                throw e;
+            }
+
+            receivers.put(application, receiver);
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Starts sampling the specified {@link JavaApplication}s, for example those of an
+     * {@link com.oracle.bedrock.runtime.Assembly}.
+     *
+     * @param applications  the {@link JavaApplication}s
+     *
+     * @return  the {@link MBeanSampler} to permit fluent-style method calls
+     */
+    public MBeanSampler addAll(Iterable<? extends JavaApplication> applications)
+    {
+        for (JavaApplication application : applications)
+        {
+            add(application);
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Stops sampling the specified {@link JavaApplication}, after recording the samples
+     * it has yet to push.  The samples recorded for the {@link JavaApplication} remain in
+     * the {@link MetricStore}.
+     *
+     * @param application  the {@link JavaApplication}
+     *
+     * @return  <code>true</code> if the {@link JavaApplication} was being sampled
+     */
+    public synchronized boolean remove(JavaApplication application)
+    {
+        Receiver receiver = receivers.remove(application);
+
+        if (receiver == null)
+        {
+            return false;
+        }
+
+        try
+        {
+            application.invoke(new Stop(samplerId));
+        }
+        catch (RuntimeException e)
+        {
+            // the application may have already terminated, in which case sampling has stopped
+        }
+        finally
+        {
+            application.removeListener(receiver, streamName);
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public synchronized void close()
+    {
+        for (JavaApplication application : new ArrayList<>(receivers.keySet()))
+        {
+            remove(application);
+        }
+    }
+
+
+    /**
+     * Encodes a sampled value, as a long for integral values, otherwise as the bits of a double.
+     *
+     * @param value          the value
+     * @param floatingPoint  is the value floating point
+     *
+     * @return  the encoded value
+     */
+    static long encode(Number  value,
+                       boolean floatingPoint)
+    {
+        return floatingPoint ? Double.doubleToLongBits(value.doubleValue()) : value.longValue();
+    }
+
+
+    /**
+     * Determines if a sampled value is floating point.
+     *
+     * @param value  the value
+     *
+     * @return  <code>true</code> if the value is floating point
+     */
+    static boolean isFloatingPoint(Number value)
+    {
+        return value instanceof Double || value instanceof Float || value instanceof BigDecimal;
+    }
+
+
+    /**
+     * Determines the delta between an encoded value and the previous encoded value, being the
+     * difference for integral values and the exclusive-or of the bits for floating point values,
+     * so that values are always reconstructed exactly.
+     *
+     * @param previous       the previous encoded value
+     * @param value          the encoded value
+     * @param floatingPoint  are the values floating point
+     *
+     * @return  the delta
+     */
+    static long delta(long    previous,
+                      long    value,
+                      boolean floatingPoint)
+    {
+        return floatingPoint ? value ^ previous : value - previous;
+    }
+
+
+    /**
+     * Applies a delta produced by {@link #delta(long, long, boolean)} to a previous encoded value.
+     *
+     * @param previous       the previous encoded value
+     * @param delta          the delta
+     * @param floatingPoint  are the values floating point
+     *
+     * @return  the encoded value
+     */
+    static long apply(long    previous,
+                      long    delta,
+                      boolean floatingPoint)
+    {
+        return floatingPoint ? previous ^ delta : previous + delta;
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to start sampling in an application.
+     */
+    public static class Start implements RemoteCallable<Boolean>
+    {
+        /**
+         * The identity of the {@link MBeanSampler}.
+         */
+        private String samplerId;
+
+        /**
+         * The name of the stream on which to push samples.
+         */
+        private String streamName;
+
+        /**
+         * The {@link MBeanMetric}s to sample.
+         */
+        private MBeanMetric[] metrics;
+
+        /**
+         * The period between samples (in milliseconds).
+         */
+        private long period;
+
+        /**
+         * The number of samples to push in each batch.
+         */
+        private int samplesPerBatch;
+
+        /**
+         * The {@link RemoteChannel} on which to push samples.
+         */
+        @RemoteChannel.Inject
+        public RemoteChannel channel;
+
+
+        /**
+         * Constructs a {@link Start}.
+         *
+         * @param samplerId        the identity of the {@link MBeanSampler}
+         * @param streamName       the name of the stream on which to push samples
+         * @param metrics          the {@link MBeanMetric}s to sample
+         * @param period           the period between samples (in milliseconds)
+         * @param samplesPerBatch  the number of samples to push in each batch
+         */
+        public Start(String        samplerId,
+                     String        streamName,
+                     MBeanMetric[] metrics,
+                     long          period,
+                     int           samplesPerBatch)
+        {
+            this.samplerId       = samplerId;
+            this.streamName      = streamName;
+            this.metrics         = metrics;
+            this.period          = period;
+            this.samplesPerBatch = samplesPerBatch;
+        }
+
+
+        @Override
+        public Boolean call()
+        {
+            RemoteChannel remoteChannel = channel == null ? RemoteChannel.get() : channel;
+            Sampling      sampling      = new Sampling(metrics,
+                                                       remoteChannel,
+                                                       StreamName.of(streamName),
+                                                       samplesPerBatch);
+
+            if (Sampling.SAMPLINGS.putIfAbsent(samplerId, sampling) == null)
+            {
+                sampling.start(period);
+
+                return true;
+            }
+            else
+            {
+                return false;
+            }
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} to stop sampling in an application, after pushing
+     * the samples that have yet to be pushed.
+     */
+    public static class Stop implements RemoteCallable<Boolean>
+    {
+        /**
+         * The identity of the {@link MBeanSampler}.
+         */
+        private String samplerId;
+
+
+        /**
+         * Constructs a {@link Stop}.
+         *
+         * @param samplerId  the identity of the {@link MBeanSampler}
+         */
+        public Stop(String samplerId)
+        {
+            this.samplerId = samplerId;
+        }
+
+
+        @Override
+        public Boolean call() throws Exception
+        {
+            Sampling sampling = Sampling.SAMPLINGS.remove(samplerId);
+
+            if (sampling == null)
+            {
+                return false;
+            }
+            else
+            {
+                sampling.stop();
+
+                return true;
+            }
+        }
+    }
+
+
+    /**
+     * The definition of a series of values, identified by an index in the batches pushed by an application.
+     */
+    public static class SeriesDefinition implements Serializable
+    {
+        /**
+         * The index of the series.
+         */
+        private final int index;
+
+        /**
+         * The {@link ObjectName} of the MBean.
+         */
+        private final ObjectName objectName;
+
+        /**
+         * The sampled attribute.
+         */
+        private final String attribute;
+
+        /**
+         * Are the values floating point.
+         */
+        private final boolean floatingPoint;
+
+
+        /**
+         * Constructs a {@link SeriesDefinition}.
+         *
+         * @param index          the index of the series
+         * @param objectName     the {@link ObjectName} of the MBean
+         * @param attribute      the sampled attribute
+         * @param floatingPoint  are the values floating point
+         */
+        SeriesDefinition(int        index,
+                         ObjectName objectName,
+                         String     attribute,
+                         boolean    floatingPoint)
+        {
+            this.index         = index;
+            this.objectName    = objectName;
+            this.attribute     = attribute;
+            this.floatingPoint = floatingPoint;
+        }
+    }
+
+
+    /**
+     * A single sample, containing the series that were defined, removed and changed since
+     * the previous sample.
+     */
+    public static class Frame implements Serializable
+    {
+        /**
+         * Is the {@link Frame} a keyframe, replacing all of the series previously defined.
+         */
+        private final boolean keyframe;
+
+        /**
+         * The time since the previous sample (in milliseconds), or the time of the sample for a keyframe.
+         */
+        private final long timeDelta;
+
+        /**
+         * The {@link SeriesDefinition}s of the series first sampled.
+         */
+        private final SeriesDefinition[] definitions;
+
+        /**
+         * The indexes of the series that are no longer sampled.
+         */
+        private final int[] removed;
+
+        /**
+         * The indexes of the series whose values changed.
+         */
+        private final int[] indexes;
+
+        /**
+         * The deltas of the values of the changed series.
+         */
+        private final long[] deltas;
+
+
+        /**
+         * Constructs a {@link Frame}.
+         *
+         * @param keyframe     is the frame a keyframe
+         * @param timeDelta    the time since the previous sample, or the time of the sample for a keyframe
+         * @param definitions  the {@link SeriesDefinition}s of the series first sampled
+         * @param removed      the indexes of the series no longer sampled
+         * @param indexes      the indexes of the series whose values changed
+         * @param deltas       the deltas of the values
+         */
+        Frame(boolean            keyframe,
+              long               timeDelta,
+              SeriesDefinition[] definitions,
+              int[]              removed,
+              int[]              indexes,
+              long[]             deltas)
+        {
+            this.keyframe    = keyframe;
+            this.timeDelta   = timeDelta;
+            this.definitions = definitions;
+            this.removed     = removed;
+            this.indexes     = indexes;
+            this.deltas      = deltas;
+        }
+    }
+
+
+    /**
+     * A {@link RemoteEvent} containing a batch of {@link Frame}s pushed by an application.
+     */
+    public static class SampleBatch implements RemoteEvent
+    {
+        /**
+         * The sequence number of the batch, incremented for each batch pushed by an application.
+         */
+        private final long sequence;
+
+        /**
+         * The {@link Frame}s in the order they were sampled.
+         */
+        private final Frame[] frames;
+
+
+        /**
+         * Constructs a {@link SampleBatch}.
+         *
+         * @param sequence  the sequence number of the batch
+         * @param frames    the {@link Frame}s
+         */
+        SampleBatch(long    sequence,
+                    Frame[] frames)
+        {
+            this.sequence = sequence;
+            this.frames   = frames;
+        }
+    }
+
+
+    /**
+     * The sampling performed in an application for an {@link MBeanSampler}.
+     */
+    static class Sampling implements Runnable
+    {
+        /**
+         * The {@link Sampling}s in this application, by {@link MBeanSampler} identity.
+         */
+        static final ConcurrentHashMap<String, Sampling> SAMPLINGS = new ConcurrentHashMap<>();
+
+        /**
+         * The {@link MBeanMetric}s to sample.
+         */
+        private final MBeanMetric[] metrics;
+
+        /**
+         * The {@link RemoteChannel} on which to push samples.
+         */
+        private final RemoteChannel channel;
+
+        /**
+         * The {@link StreamName} on which to push samples.
+         */
+        private final StreamName streamName;
+
+        /**
+         * The number of samples to push in each batch.
+         */
+        private final int samplesPerBatch;
+
+        /**
+         * The {@link ScheduledExecutorService} performing the sampling.
+         */
+        private final ScheduledExecutorService executor;
+
+        /**
+         * The {@link Tracked} series, by {@link ObjectName} and attribute.
+         */
+        private final HashMap<String, Tracked> tracked;
+
+        /**
+         * The {@link Frame}s that are yet to be pushed.
+         */
+        private final ArrayList<Frame> pending;
+
+        /**
+         * The index of the next series to be defined.
+         */
+        private int nextIndex;
+
+        /**
+         * The sequence number of the next {@link SampleBatch}.
+         */
+        private long nextSequence;
+
+        /**
+         * The time of the previous sample.
+         */
+        private long previousTime;
+
+        /**
+         * Should the next sample be a keyframe, as a previous sample failed to be taken or pushed
+         * and the deltas of subsequent samples can't be decoded.
+         */
+        private volatile boolean keyframe;
+
+
+        /**
+         * Constructs a {@link Sampling}.
+         *
+         * @param metrics          the {@link MBeanMetric}s to sample
+         * @param channel          the {@link RemoteChannel} on which to push samples
+         * @param streamName       the {@link StreamName} on which to push samples
+         * @param samplesPerBatch  the number of samples to push in each batch
+         */
+        Sampling(MBeanMetric[] metrics,
+                 RemoteChannel channel,
+                 StreamName    streamName,
+                 int           samplesPerBatch)
+        {
+            this.metrics         = metrics;
+            this.channel         = channel;
+            this.streamName      = streamName;
+            this.samplesPerBatch = samplesPerBatch;
+            this.executor        = Executors.newSingleThreadScheduledExecutor(ThreadFactories.usingDaemonThreads(true));
+            this.tracked         = new HashMap<>();
+            this.pending         = new ArrayList<>();
+            this.nextIndex       = 0;
+            this.nextSequence    = 0;
+            this.previousTime    = 0;
+            this.keyframe        = true;
+        }
+
+
+        /**
+         * Starts sampling at the specified rate.
+         *
+         * @param period  the period between samples (in milliseconds)
+         */
+        void start(long period)
+        {
+            executor.scheduleAtFixedRate(this, 0, period, TimeUnit.MILLISECONDS);
+        }
+
+
+        /**
+         * Stops sampling, waiting for the samples yet to be pushed to be processed.
+         *
+         * @throws Exception  should the samples fail to be pushed
+         */
+        void stop() throws Exception
+        {
+            // allow a sample that is in progress to complete
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+
+            SampleBatch batch;
+
+            synchronized (this)
+            {
+                batch = drain();
+            }
+
+            if (batch != null)
+            {
+                channel.raise(batch, streamName, RemoteChannel.AcknowledgeWhen.PROCESSED).get(1, TimeUnit.MINUTES);
+            }
+        }
+
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                SampleBatch batch;
+
+                synchronized (this)
+                {
+                    sample();
+
+                    batch = pending.size() >= samplesPerBatch ? drain() : null;
+                }
+
+                if (batch != null)
+                {
+                    channel.raise(batch, streamName).whenComplete((result, failure) -> {
+                            if (failure != null)
+                            {
+                                keyframe = true;
+                            }
+                        });
+                }
+            }
+            catch (RuntimeException e)
+            {
+                // failing to sample or push must not stop subsequent sampling, but the receiver
+                // will no longer be able to decode deltas, so the next sample must be a keyframe
+                keyframe = true;
+            }
+        }
+
+
+        /**
+         * Samples the {@link MBeanMetric}s, adding a {@link Frame} to those pending.  When a keyframe
+         * is required, the pending {@link Frame}s are discarded and every series is redefined.
+         */
+        private void sample()
+        {
+            boolean isKeyframe = keyframe;
+
+            if (isKeyframe)
+            {
+                keyframe = false;
+
+                pending.clear();
+                tracked.clear();
+            }
+
+            MBeanServer                 server      = ManagementFactory.getPlatformMBeanServer();
+            long                        time        = System.currentTimeMillis();
+            HashSet<String>             sampled     = new HashSet<>();
+            ArrayList<SeriesDefinition> definitions = new ArrayList<>();
+            ArrayList<Integer>          removed     = new ArrayList<>();
+            ArrayList<Integer>          indexes     = new ArrayList<>();
+            ArrayList<Long>             deltas      = new ArrayList<>();
+
+            for (MBeanMetric metric : metrics)
+            {
+                for (ObjectName objectName : server.queryNames(metric.getPattern(), null))
+                {
+                    Map<String, Object> values = new HashMap<>();
+
+                    try
+                    {
+                        // acquire all of the attributes of the MBean at once
+                        AttributeList attributes = server.getAttributes(objectName, metric.getAttributeNames());
+
+                        for (Attribute attribute : attributes.asList())
+                        {
+                            values.put(attribute.getName(), attribute.getValue());
+                        }
+                    }
+                    catch (JMException e)
+                    {
+                        // the MBean may have been unregistered, in which case its series are removed
+                        continue;
+                    }
+
+                    for (String attribute : metric.getAttributes())
+                    {
+                        int    dot   = attribute.indexOf('.');
+                        String name  = dot < 0 ? attribute : attribute.substring(0, dot);
+                        Object value = MBeanMetric.resolve(attribute, values.get(name));
+                        String key   = objectName.getCanonicalName() + "\n" + attribute;
+
+                        if (!(value instanceof Number) ||!sampled.add(key))
+                        {
+                            continue;
+                        }
+
+                        boolean floatingPoint = isFloatingPoint((Number) value);
+                        long    encoded       = encode((Number) value, floatingPoint);
+                        Tracked series        = tracked.get(key);
+
+                        if (series == null || series.floatingPoint != floatingPoint)
+                        {
+                            if (series != null)
+                            {
+                                removed.add(series.index);
+                            }
+
+                            series = new Tracked(nextIndex++, floatingPoint, encoded);
+
+                            tracked.put(key, series);
+                            definitions.add(new SeriesDefinition(series.index, objectName, attribute, floatingPoint));
+                            indexes.add(series.index);
+                            deltas.add(delta(0, encoded, floatingPoint));
+                        }
+                        else if (series.value != encoded)
+                        {
+                            indexes.add(series.index);
+                            deltas.add(delta(series.value, encoded, floatingPoint));
+
+                            series.value = encoded;
+                        }
+                    }
+                }
+            }
+
+            // remove the series that are no longer sampled
+            for (Iterator<Map.Entry<String, Tracked>> iterator = tracked.entrySet().iterator(); iterator.hasNext(); )
+            {
+                Map.Entry<String, Tracked> entry = iterator.next();
+
+                if (!sampled.contains(entry.getKey()))
+                {
+                    removed.add(entry.getValue().index);
+                    iterator.remove();
+                }
+            }
+
+            pending.add(new Frame(isKeyframe,
+                                  isKeyframe ? time : time - previousTime,
+                                  definitions.toArray(new SeriesDefinition[definitions.size()]),
+                                  removed.stream().mapToInt(Integer::intValue).toArray(),
+                                  indexes.stream().mapToInt(Integer::intValue).toArray(),
+                                  deltas.stream().mapToLong(Long::longValue).toArray()));
+
+            previousTime = time;
+        }
+
+
+        /**
+         * Drains the pending {@link Frame}s into a {@link SampleBatch}.
+         *
+         * @return  the {@link SampleBatch} or <code>null</code> if there are no pending {@link Frame}s
+         */
+        private SampleBatch drain()
+        {
+            if (pending.isEmpty())
+            {
+                return null;
+            }
+
+            SampleBatch batch = new SampleBatch(nextSequence++, pending.toArray(new Frame[pending.size()]));
+
+            pending.clear();
+
+            return batch;
+        }
+    }
+
+
+    /**
+     * The state of a series that is being sampled.
+     */
+    static class Tracked
+    {
+        /**
+         * The index of the series.
+         */
+        private final int index;
+
+        /**
+         * Are the values floating point.
+         */
+        private final boolean floatingPoint;
+
+        /**
+         * The most recent encoded value.
+         */
+        private long value;
+
+
+        /**
+         * Constructs a {@link Tracked}.
+         *
+         * @param index          the index of the series
+         * @param floatingPoint  are the values floating point
+         * @param value          the encoded value
+         */
+        Tracked(int     index,
+                boolean floatingPoint,
+                long    value)
+        {
+            this.index         = index;
+            this.floatingPoint = floatingPoint;
+            this.value         = value;
+        }
+    }
+
+
+    /**
+     * A {@link RemoteEventListener} that decodes the {@link SampleBatch}es pushed by an
+     * application, recording the values in a {@link MetricStore}.
+     */
+    static class Receiver implements RemoteEventListener
+    {
+        /**
+         * The name of the application.
+         */
+        private final String applicationName;
+
+        /**
+         * The {@link MetricStore} in which to record values.
+         */
+        private final MetricStore store;
+
+        /**
+         * The {@link Tracked} series, by index.
+         */
+        private final HashMap<Integer, Tracked> tracked;
+
+        /**
+         * The {@link MetricSeries} in which to record the values of each series, by index.
+         */
+        private final HashMap<Integer, MetricSeries> series;
+
+        /**
+         * The time of the previous sample.
+         */
+        private long time;
+
+        /**
+         * The sequence number of the previous {@link SampleBatch} (-1 when none has been received).
+         */
+        private long sequence;
+
+        /**
+         * Are {@link Frame}s being discarded until a keyframe arrives, as a {@link SampleBatch} was lost.
+         */
+        private boolean awaitingKeyframe;
+
+
+        /**
+         * Constructs a {@link Receiver}.
+         *
+         * @param applicationName  the name of the application
+         * @param store            the {@link MetricStore} in which to record values
+         */
+        Receiver(String      applicationName,
+                 MetricStore store)
+        {
+            this.applicationName  = applicationName;
+            this.store            = store;
+            this.tracked          = new HashMap<>();
+            this.series           = new HashMap<>();
+            this.time             = 0;
+            this.sequence         = -1;
+            this.awaitingKeyframe = true;
+        }
+
+
+        @Override
+        public synchronized void onEvent(RemoteEvent event)
+        {
+            if (event instanceof SampleBatch)
+            {
+                SampleBatch batch = (SampleBatch) event;
+
+                // the deltas following a lost batch can't be decoded
+                if (batch.sequence != sequence + 1)
+                {
+                    awaitingKeyframe = true;
+                }
+
+                sequence = batch.sequence;
+
+                for (Frame frame : batch.frames)
+                {
+                    if (frame.keyframe)
+                    {
+                        time             = frame.timeDelta;
+                        awaitingKeyframe = false;
+
+                        tracked.clear();
+                        series.clear();
+                    }
+                    else if (awaitingKeyframe)
+                    {
+                        continue;
+                    }
+                    else
+                    {
+                        time += frame.timeDelta;
+                    }
+
+                    for (int index : frame.removed)
+                    {
+                        tracked.remove(index);
+                        series.remove(index);
+                    }
+
+                    for (SeriesDefinition definition : frame.definitions)
+                    {
+                        tracked.put(definition.index, new Tracked(definition.index, definition.floatingPoint, 0));
+                        series.put(definition.index,
+                                   store.ensureSeries(applicationName,
+                                                      definition.objectName,
+                                                      definition.attribute,
+                                                      definition.floatingPoint));
+                    }
+
+                    for (int i = 0; i < frame.indexes.length; i++)
+                    {
+                        Tracked      state        = tracked.get(frame.indexes[i]);
+                        MetricSeries metricSeries = series.get(frame.indexes[i]);
+
+                        if (state != null)
+                        {
+                            state.value = apply(state.value, frame.deltas[i], state.floatingPoint);
+
+                            metricSeries.record(time, convert(state.value, state.floatingPoint, metricSeries));
+                        }
+                    }
+
+                    store.onSampled(applicationName);
+                }
+            }
+        }
+
+
+        /**
+         * Converts an encoded value to the encoding of a {@link MetricSeries}, which may differ
+         * should the type of an attribute have changed since the {@link MetricSeries} was created.
+         *
+         * @param value          the encoded value
+         * @param floatingPoint  is the value floating point
+         * @param metricSeries   the {@link MetricSeries}
+         *
+         * @return  the value encoded for the {@link MetricSeries}
+         */
+        private long convert(long         value,
+                             boolean      floatingPoint,
+                             MetricSeries metricSeries)
+        {
+            if (floatingPoint == metricSeries.isFloatingPoint())
+            {
+                return value;
+            }
+            else
+            {
+                return floatingPoint
+                       ? (long) Double.longBitsToDouble(value) : Double.doubleToLongBits((double) value);
+            }
+        }
+    }
+}
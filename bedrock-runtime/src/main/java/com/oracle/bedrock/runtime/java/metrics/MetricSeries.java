@@ -0,0 +1,333 @@
+/*
+ * File: MetricSeries.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.metrics;
+
+import javax.management.ObjectName;
+import java.util.Arrays;
+
+/**
+ * A time-series of the values of a single MBean attribute sampled in an application
+ * by an {@link MBeanSampler}.
+ * <p>
+ * To remain compact a {@link MetricSeries} only records a value when it changes, in
+ * primitive arrays, so the value of a {@link MetricSeries} at any time is that of the
+ * most recently recorded value at or before the time.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see MetricStore
+ */
+public class MetricSeries
+{
+    /**
+     * The initial capacity of a {@link MetricSeries}.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The name of the application in which the attribute was sampled.
+     */
+    private final String applicationName;
+
+    /**
+     * The {@link ObjectName} of the MBean.
+     */
+    private final ObjectName objectName;
+
+    /**
+     * The sampled attribute.
+     */
+    private final String attribute;
+
+    /**
+     * Are the values floating point, in which case they are recorded as the bits of a double,
+     * otherwise they are recorded as longs.
+     */
+    private final boolean floatingPoint;
+
+    /**
+     * The times (in milliseconds since the epoch) at which the values were sampled.
+     */
+    private long[] times;
+
+    /**
+     * The encoded values.
+     */
+    private long[] values;
+
+    /**
+     * The number of recorded values.
+     */
+    private int size;
+
+
+    /**
+     * Constructs a {@link MetricSeries}.
+     *
+     * @param applicationName  the name of the application
+     * @param objectName       the {@link ObjectName} of the MBean
+     * @param attribute        the sampled attribute
+     * @param floatingPoint    are the values floating point
+     */
+    MetricSeries(String     applicationName,
+                 ObjectName objectName,
+                 String     attribute,
+                 boolean    floatingPoint)
+    {
+        this.applicationName = applicationName;
+        this.objectName      = objectName;
+        this.attribute       = attribute;
+        this.floatingPoint   = floatingPoint;
+        this.times           = new long[INITIAL_CAPACITY];
+        this.values          = new long[INITIAL_CAPACITY];
+        this.size            = 0;
+    }
+
+
+    /**
+     * Records an encoded value, unless it's the same as the last recorded value.
+     *
+     * @param time   the time at which the value was sampled
+     * @param value  the encoded value
+     */
+    synchronized void record(long time,
+                             long value)
+    {
+        if (size == 0 || values[size - 1] != value)
+        {
+            if (size == times.length)
+            {
+                times  = Arrays.copyOf(times, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            times[size]  = time;
+            values[size] = value;
+            size++;
+        }
+    }
+
+
+    /**
+     * Obtains the name of the application in which the attribute was sampled.
+     *
+     * @return  the application name
+     */
+    public String getApplicationName()
+    {
+        return applicationName;
+    }
+
+
+    /**
+     * Obtains the {@link ObjectName} of the sampled MBean.
+     *
+     * @return  the {@link ObjectName}
+     */
+    public ObjectName getObjectName()
+    {
+        return objectName;
+    }
+
+
+    /**
+     * Obtains the sampled attribute.
+     *
+     * @return  the attribute
+     */
+    public String getAttribute()
+    {
+        return attribute;
+    }
+
+
+    /**
+     * Determines if the values of the {@link MetricSeries} are floating point {@link Double}s,
+     * otherwise they are {@link Long}s.
+     *
+     * @return  <code>true</code> if the values are floating point
+     */
+    public boolean isFloatingPoint()
+    {
+        return floatingPoint;
+    }
+
+
+    /**
+     * Obtains the number of values recorded in the {@link MetricSeries}.
+     *
+     * @return  the number of values
+     */
+    public synchronized int size()
+    {
+        return size;
+    }
+
+
+    /**
+     * Obtains the time at which the specified recorded value was sampled.
+     *
+     * @param index  the index of the value
+     *
+     * @return  the time in milliseconds since the epoch
+     */
+    public synchronized long getTime(int index)
+    {
+        checkIndex(index);
+
+        return times[index];
+    }
+
+
+    /**
+     * Obtains the specified recorded value.
+     *
+     * @param index  the index of the value
+     *
+     * @return  the value, a {@link Double} or a {@link Long}
+     */
+    public synchronized Number getValue(int index)
+    {
+        checkIndex(index);
+
+        return decode(values[index]);
+    }
+
+
+    /**
+     * Obtains the most recently recorded value.
+     *
+     * @return  the value or <code>null</code> if no values have been recorded
+     */
+    public synchronized Number getLatestValue()
+    {
+        return size == 0 ? null : decode(values[size - 1]);
+    }
+
+
+    /**
+     * Obtains the value of the {@link MetricSeries} at the specified time, being the
+     * most recently recorded value at or before the time.
+     *
+     * @param time  the time in milliseconds since the epoch
+     *
+     * @return  the value or <code>null</code> if no value was recorded at or before the time
+     */
+    public synchronized Number getValueAt(long time)
+    {
+        int index = Arrays.binarySearch(times, 0, size, time);
+
+        if (index >= 0)
+        {
+            // many values may have been recorded at the same time, so use the last of them
+            while (index + 1 < size && times[index + 1] == time)
+            {
+                index++;
+            }
+        }
+        else
+        {
+            index = -index - 2;
+        }
+
+        return index < 0 ? null : decode(values[index]);
+    }
+
+
+    /**
+     * Obtains the minimum recorded value.
+     *
+     * @return  the minimum value or {@link Double#NaN} if no values have been recorded
+     */
+    public synchronized double getMinimum()
+    {
+        double minimum = Double.NaN;
+
+        for (int i = 0; i < size; i++)
+        {
+            double value = decode(values[i]).doubleValue();
+
+            minimum = Double.isNaN(minimum) ? value : Math.min(minimum, value);
+        }
+
+        return minimum;
+    }
+
+
+    /**
+     * Obtains the maximum recorded value.
+     *
+     * @return  the maximum value or {@link Double#NaN} if no values have been recorded
+     */
+    public synchronized double getMaximum()
+    {
+        double maximum = Double.NaN;
+
+        for (int i = 0; i < size; i++)
+        {
+            double value = decode(values[i]).doubleValue();
+
+            maximum = Double.isNaN(maximum) ? value : Math.max(maximum, value);
+        }
+
+        return maximum;
+    }
+
+
+    /**
+     * Decodes a recorded value.
+     *
+     * @param value  the encoded value
+     *
+     * @return  the decoded value
+     */
+    private Number decode(long value)
+    {
+        return floatingPoint ? (Number) Double.longBitsToDouble(value) : (Number) value;
+    }
+
+
+    /**
+     * Ensures the specified index refers to a recorded value.
+     *
+     * @param index  the index
+     */
+    private void checkIndex(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "MetricSeries{" + applicationName + ", " + objectName + ", " + attribute + ", size=" + size() + "}";
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * File: MetricStore.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.metrics;
+
+import com.oracle.bedrock.diagnostics.DiagnosticsRecording;
+
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A store of the {@link MetricSeries} sampled by an {@link MBeanSampler}, that may be
+ * queried while sampling is in progress.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see MBeanSampler
+ */
+public class MetricStore
+{
+    /**
+     * The {@link MetricSeries}, by application name, {@link ObjectName} and attribute.
+     */
+    private final ConcurrentHashMap<String, MetricSeries> series;
+
+    /**
+     * The number of samples received, by application name.
+     */
+    private final ConcurrentHashMap<String, AtomicLong> sampleCounts;
+
+
+    /**
+     * Constructs an empty {@link MetricStore}.
+     */
+    public MetricStore()
+    {
+        this.series       = new ConcurrentHashMap<>();
+        this.sampleCounts = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Obtains the {@link MetricSeries} for an attribute, creating it if it doesn't exist.
+     *
+     * @param applicationName  the name of the application
+     * @param objectName       the {@link ObjectName} of the MBean
+     * @param attribute        the sampled attribute
+     * @param floatingPoint    are the values floating point
+     *
+     * @return  the {@link MetricSeries}
+     */
+    MetricSeries ensureSeries(String     applicationName,
+                              ObjectName objectName,
+                              String     attribute,
+                              boolean    floatingPoint)
+    {
+        return series.computeIfAbsent(keyOf(applicationName, objectName, attribute),
+                                      key -> new MetricSeries(applicationName, objectName, attribute, floatingPoint));
+    }
+
+
+    /**
+     * Records that a sample was received from an application.
+     *
+     * @param applicationName  the name of the application
+     */
+    void onSampled(String applicationName)
+    {
+        sampleCounts.computeIfAbsent(applicationName, name -> new AtomicLong()).incrementAndGet();
+    }
+
+
+    /**
+     * Obtains the {@link MetricSeries} for the specified attribute.
+     *
+     * @param applicationName  the name of the application
+     * @param objectName       the {@link ObjectName} of the MBean
+     * @param attribute        the sampled attribute
+     *
+     * @return  the {@link MetricSeries} or <code>null</code> if the attribute hasn't been sampled
+     */
+    public MetricSeries getSeries(String     applicationName,
+                                  ObjectName objectName,
+                                  String     attribute)
+    {
+        return series.get(keyOf(applicationName, objectName, attribute));
+    }
+
+
+    /**
+     * Obtains the {@link MetricSeries} matching the specified criteria, ordered by
+     * application name, {@link ObjectName} and attribute.
+     *
+     * @param applicationName  the name of the application (<code>null</code> for all applications)
+     * @param pattern          the {@link ObjectName} pattern (<code>null</code> for all MBeans)
+     * @param attribute        the sampled attribute (<code>null</code> for all attributes)
+     *
+     * @return  the matching {@link MetricSeries}
+     */
+    public List<MetricSeries> query(String     applicationName,
+                                    ObjectName pattern,
+                                    String     attribute)
+    {
+        List<MetricSeries> result = new ArrayList<>();
+
+        for (MetricSeries metricSeries : series.values())
+        {
+            if ((applicationName == null || applicationName.equals(metricSeries.getApplicationName()))
+                && (pattern == null || pattern.apply(metricSeries.getObjectName()))
+                && (attribute == null || attribute.equals(metricSeries.getAttribute())))
+            {
+                result.add(metricSeries);
+            }
+        }
+
+        result.sort(Comparator.comparing(MetricSeries::getApplicationName)
+                    .thenComparing(metricSeries -> metricSeries.getObjectName().getCanonicalName())
+                    .thenComparing(MetricSeries::getAttribute));
+
+        return result;
+    }
+
+
+    /**
+     * Obtains the names of the applications for which samples have been received.
+     *
+     * @return  the application names
+     */
+    public Set<String> getApplicationNames()
+    {
+        return new TreeSet<>(sampleCounts.keySet());
+    }
+
+
+    /**
+     * Obtains the number of samples received from an application.
+     *
+     * @param applicationName  the name of the application
+     *
+     * @return  the number of samples
+     */
+    public long getSampleCount(String applicationName)
+    {
+        AtomicLong count = sampleCounts.get(applicationName);
+
+        return count == null ? 0 : count.get();
+    }
+
+
+    /**
+     * Obtains the number of {@link MetricSeries} in the {@link MetricStore}.
+     *
+     * @return  the number of {@link MetricSeries}
+     */
+    public int size()
+    {
+        return series.size();
+    }
+
+
+    /**
+     * Adds a summary of each {@link MetricSeries} to a {@link DiagnosticsRecording}.
+     *
+     * @param recording  the {@link DiagnosticsRecording}
+     *
+     * @return  the {@link DiagnosticsRecording} to permit fluent-style method calls
+     */
+    public DiagnosticsRecording addTo(DiagnosticsRecording recording)
+    {
+        for (MetricSeries metricSeries : query(null, null, null))
+        {
+            recording.add(metricSeries.getApplicationName(),
+                          metricSeries.getObjectName() + " " + metricSeries.getAttribute(),
+                          "latest: " + metricSeries.getLatestValue() + ", minimum: " + metricSeries.getMinimum()
+                          + ", maximum: " + metricSeries.getMaximum() + ", changes: " + metricSeries.size());
+        }
+
+        return recording;
+    }
+
+
+    /**
+     * Determines the key of a {@link MetricSeries}.
+     *
+     * @param applicationName  the name of the application
+     * @param objectName       the {@link ObjectName} of the MBean
+     * @param attribute        the sampled attribute
+     *
+     * @return  the key
+     */
+    private static String keyOf(String     applicationName,
+                                ObjectName objectName,
+                                String     attribute)
+    {
+        return applicationName + "\n" + objectName.getCanonicalName() + "\n" + attribute;
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ * File: ArgumentFile.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.options;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.runtime.java.JavaApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * An {@link Option} defining if and how the class path, Java Virtual Machine options and system
+ * properties of a {@link JavaApplication} are provided using a file instead of directly on the
+ * command line, avoiding very large process argument vectors (and shell commands) when launching
+ * applications with long class paths.
+ * <p>
+ * Two modes are supported:
+ * <ol>
+ *     <li>{@link Mode#ARGUMENT_FILE} - the class path, Java Virtual Machine options and system properties
+ *         are written to a Java <code>@argfile</code> (requires Java 9 or later)</li>
+ *     <li>{@link Mode#PATHING_JAR} - the class path is written to the <code>Class-Path</code> attribute
+ *         of the manifest of an otherwise empty "pathing" jar, which is then used as the class path
+ *         (supported by all Java Virtual Machines)</li>
+ * </ol>
+ * Files are named using a hash of their content, allowing them to be reused by later launches.
+ * They are created in the directory defined by the {@link #CACHE_DIRECTORY_PROPERTY} system
+ * property, or by default, a directory in the temporary directory.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class ArgumentFile implements Option
+{
+    /**
+     * The system property defining the default cache directory.
+     */
+    public static final String CACHE_DIRECTORY_PROPERTY = "bedrock.argfile.cache";
+
+    /**
+     * The modes of providing arguments using a file.
+     */
+    public enum Mode
+    {
+        /**
+         * Arguments are provided directly on the command line.
+         */
+        DISABLED,
+
+        /**
+         * Arguments are provided using a Java <code>@argfile</code>.
+         */
+        ARGUMENT_FILE,
+
+        /**
+         * The class path is provided using the manifest of a "pathing" jar.
+         */
+        PATHING_JAR
+    }
+
+
+    /**
+     * The {@link Mode}.
+     */
+    private final Mode mode;
+
+    /**
+     * The directory in which files are created (<code>null</code> when using the default).
+     */
+    private final File directory;
+
+
+    /**
+     * Constructs an {@link ArgumentFile}.
+     *
+     * @param mode       the {@link Mode}
+     * @param directory  the directory in which to create files (<code>null</code> for the default)
+     */
+    private ArgumentFile(Mode mode,
+                         File directory)
+    {
+        this.mode      = mode;
+        this.directory = directory;
+    }
+
+
+    /**
+     * Obtains an {@link ArgumentFile} that provides arguments directly on the command line.
+     *
+     * @return an {@link ArgumentFile}
+     */
+    @OptionsByType.Default
+    public static ArgumentFile disabled()
+    {
+        return new ArgumentFile(Mode.DISABLED, null);
+    }
+
+
+    /**
+     * Obtains an {@link ArgumentFile} that provides the class path, Java Virtual Machine options
+     * and system properties using a Java <code>@argfile</code> (requires Java 9 or later).
+     *
+     * @return an {@link ArgumentFile}
+     */
+    public static ArgumentFile enabled()
+    {
+        return new ArgumentFile(Mode.ARGUMENT_FILE, null);
+    }
+
+
+    /**
+     * Obtains an {@link ArgumentFile} that provides the class path using the manifest of a "pathing" jar.
+     *
+     * @return an {@link ArgumentFile}
+     */
+    public static ArgumentFile pathingJar()
+    {
+        return new ArgumentFile(Mode.PATHING_JAR, null);
+    }
+
+
+    /**
+     * Obtains an {@link ArgumentFile} based on this one, that creates files in the specified directory.
+     *
+     * @param directory  the directory
+     *
+     * @return an {@link ArgumentFile}
+     */
+    public ArgumentFile in(File directory)
+    {
+        return new ArgumentFile(mode, directory);
+    }
+
+
+    /**
+     * Obtains the {@link Mode} of the {@link ArgumentFile}.
+     *
+     * @return the {@link Mode}
+     */
+    public Mode getMode()
+    {
+        return mode;
+    }
+
+
+    /**
+     * Obtains the directory in which files are created.
+     *
+     * @return the directory
+     */
+    public File getDirectory()
+    {
+        if (directory == null)
+        {
+            String path = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+
+            return path == null || path.trim().isEmpty()
+                   ? new File(System.getProperty("java.io.tmpdir"), "bedrock-args") : new File(path.trim());
+        }
+        else
+        {
+            return directory;
+        }
+    }
+
+
+    /**
+     * Obtains a Java <code>@argfile</code> containing the specified arguments, creating it if
+     * it doesn't already exist.
+     *
+     * @param arguments  the (unquoted) arguments
+     *
+     * @return the argument {@link File}
+     *
+     * @throws IOException  when the file could not be created
+     */
+    public File createArgumentFile(List<String> arguments) throws IOException
+    {
+        StringBuilder builder = new StringBuilder();
+
+        for (String argument : arguments)
+        {
+            // each argument is quoted (and escaped) so that it's treated as a single argument
+            builder.append('"').append(argument.replace("\\", "\\\\").replace("\"", "\\\"")).append('"').append('\n');
+        }
+
+        byte[] content = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        return create(content, ".args", target -> Files.write(target, content));
+    }
+
+
+    /**
+     * Obtains a "pathing" jar with a manifest <code>Class-Path</code> containing the specified URLs,
+     * creating it if it doesn't already exist.
+     *
+     * @param urls  the class path URLs (directories must end with a "/")
+     *
+     * @return the pathing jar {@link File}
+     *
+     * @throws IOException  when the file could not be created
+     */
+    public File createPathingJar(List<String> urls) throws IOException
+    {
+        String classPath = String.join(" ", urls);
+
+        return create(classPath.getBytes(StandardCharsets.UTF_8),
+                      ".jar",
+                      target -> {
+                          Manifest manifest = new Manifest();
+
+                          manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+                          manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+
+                          try (OutputStream stream = Files.newOutputStream(target);
+                              JarOutputStream jar = new JarOutputStream(stream, manifest))
+                          {
+                              jar.flush();
+                          }
+                      });
+    }
+
+
+    /**
+     * Obtains the URL to use in the manifest of a pathing jar for a local class path entry.
+     *
+     * @param path  the class path entry
+     *
+     * @return the URL
+     */
+    public static String toURL(String path)
+    {
+        String url = new File(path).getAbsoluteFile().toURI().toString();
+
+        // directories must end with a "/" (even if they don't exist)
+        return path.endsWith(File.separator) && !url.endsWith("/") ? url + "/" : url;
+    }
+
+
+    /**
+     * Obtains the URL to use in the manifest of a pathing jar for a class path entry of another platform,
+     * for example one to which the pathing jar is deployed.  Relative entries remain relative to the
+     * directory in which the pathing jar is deployed.
+     *
+     * @param path  the class path entry
+     *
+     * @return the URL
+     */
+    public static String toPortableURL(String path)
+    {
+        String url = path.replace('\\', '/').replace(" ", "%20");
+
+        if (url.startsWith("/"))
+        {
+            return "file:" + url;
+        }
+        else if (url.length() > 1 && url.charAt(1) == ':')
+        {
+            // a windows path that includes a drive
+            return "file:/" + url;
+        }
+        else
+        {
+            return url;
+        }
+    }
+
+
+    /**
+     * Obtains a file named using a hash of the specified content, writing it when it doesn't exist.
+     *
+     * @param content    the content used to determine the name of the file
+     * @param extension  the file extension
+     * @param writer     the {@link ContentWriter} of the file
+     *
+     * @return the {@link File}
+     *
+     * @throws IOException  when the file could not be created
+     */
+    private File create(byte[]        content,
+                        String        extension,
+                        ContentWriter writer) throws IOException
+    {
+        File cache = getDirectory();
+
+        Files.createDirectories(cache.toPath());
+
+        File file = new File(cache, "bedrock-" + digest(content) + extension);
+
+        if (!file.isFile())
+        {
+            // write to a temporary file first so that concurrent launches never see a partial file
+            Path temporary = Files.createTempFile(cache.toPath(), "bedrock-", extension + ".tmp");
+
+            try
+            {
+                writer.write(temporary);
+
+                Files.move(temporary,
+                           file.toPath(),
+                           StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally
+            {
+                Files.deleteIfExists(temporary);
+            }
+        }
+
+        return file;
+    }
+
+
+    /**
+     * Obtains a hexadecimal SHA-1 digest of the specified content.
+     *
+     * @param content  the content
+     *
+     * @return the digest
+     */
+    private static String digest(byte[] content)
+    {
+        try
+        {
+            StringBuilder builder = new StringBuilder();
+
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(content))
+            {
+                builder.append(String.format("%02x", b));
+            }
+
+            return builder.toString();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-1 is not supported", e);
+        }
+    }
+
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+
+        if (!(other instanceof ArgumentFile))
+        {
+            return false;
+        }
+
+        ArgumentFile that = (ArgumentFile) other;
+
+        return mode == that.mode && (directory == null ? that.directory == null : directory.equals(that.directory));
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * mode.hashCode() + (directory == null ? 0 : directory.hashCode());
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "ArgumentFile{mode=" + mode + ", directory=" + getDirectory() + "}";
+    }
+
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    private interface ContentWriter
+    {
+        /**
+         * Writes the content to the specified {@link Path}.
+         *
+         * @param path  the {@link Path}
+         *
+         * @throws IOException  when the content could not be written
+         */
+        void write(Path path) throws IOException;
+    }
+}
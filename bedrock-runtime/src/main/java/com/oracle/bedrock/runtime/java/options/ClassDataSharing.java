@@ -0,0 +1,621 @@
+/*
+ * File: ClassDataSharing.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.options;
+
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.runtime.Application;
+import com.oracle.bedrock.runtime.ApplicationListener;
+import com.oracle.bedrock.runtime.LocalPlatform;
+import com.oracle.bedrock.runtime.MetaClass;
+import com.oracle.bedrock.runtime.Platform;
+import com.oracle.bedrock.runtime.Profile;
+import com.oracle.bedrock.runtime.java.ClassPath;
+import com.oracle.bedrock.runtime.java.JavaApplication;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link JvmOption} to automatically create and use application Class Data Sharing (AppCDS)
+ * archives for launched {@link JavaApplication}s, reducing the time spent loading and verifying
+ * classes when they start.
+ * <p>
+ * The first launch of a particular {@link ClassPath}, {@link ClassName} and {@link JavaHome}
+ * combination creates an archive using <code>-XX:ArchiveClassesAtExit</code>, which is written
+ * when the application terminates.  Subsequent launches use the archive by way of
+ * <code>-XX:SharedArchiveFile</code>.
+ * <p>
+ * Archives are stored in a local cache directory, by default defined by the
+ * {@link #CACHE_DIRECTORY_PROPERTY} system property (or a directory in the temporary directory),
+ * An archive is no longer used when the fingerprint of the class path (the size and modification
+ * time of each class path entry, including the files contained in directory entries) changes.
+ * <p>
+ * Archives created for previous fingerprints are deleted, and the least recently used archives
+ * evicted when the cache exceeds its maximum size, when a cache directory is first used by this
+ * process or explicitly using {@link #cleanup()}.  Launches otherwise don't modify existing archives.
+ * <p>
+ * Should an application fail to create its archive, the next launch of the same combination will
+ * attempt to create it again once the application has been closed.
+ * <p>
+ * Dynamic archives are only supported by Java 13 and later.  For earlier Java Virtual Machines
+ * this option has no effect.
+ * <p>
+ * As archives are stored, and the version of the Java Virtual Machine is determined, using the local
+ * file system, archives are only created and used for applications launched on the {@link LocalPlatform}.
+ * For applications launched on other {@link Platform}s this option has no effect.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class ClassDataSharing implements JvmOption, Profile, ApplicationListener<Application>
+{
+    /**
+     * The system property defining the default cache directory.
+     */
+    public static final String CACHE_DIRECTORY_PROPERTY = "bedrock.cds.cache";
+
+    /**
+     * The default maximum size of the cache directory, in bytes.
+     */
+    public static final long DEFAULT_MAXIMUM_CACHE_SIZE = 1024L * 1024L * 1024L;
+
+    /**
+     * The file extension of archives.
+     */
+    private static final String ARCHIVE_EXTENSION = ".jsa";
+
+    /**
+     * The archives currently being created by applications launched by this process.
+     */
+    private static final Set<String> CREATING = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * The cache directories that have been cleaned up by this process.
+     */
+    private static final Set<String> CLEANED = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Is Class Data Sharing enabled?
+     */
+    private final boolean enabled;
+
+    /**
+     * The cache directory (<code>null</code> when using the default).
+     */
+    private final File directory;
+
+    /**
+     * The maximum size of the cache directory, in bytes.
+     */
+    private final long maximumSize;
+
+
+    /**
+     * Constructs a {@link ClassDataSharing}.
+     *
+     * @param enabled      is Class Data Sharing enabled
+     * @param directory    the cache directory (<code>null</code> for the default)
+     * @param maximumSize  the maximum size of the cache directory, in bytes
+     */
+    private ClassDataSharing(boolean enabled,
+                             File    directory,
+                             long    maximumSize)
+    {
+        this.enabled     = enabled;
+        this.directory   = directory;
+        this.maximumSize = maximumSize;
+    }
+
+
+    /**
+     * Obtains a {@link ClassDataSharing} that is enabled, using the default cache directory.
+     *
+     * @return a {@link ClassDataSharing}
+     */
+    public static ClassDataSharing enabled()
+    {
+        return new ClassDataSharing(true, null, DEFAULT_MAXIMUM_CACHE_SIZE);
+    }
+
+
+    /**
+     * Obtains a {@link ClassDataSharing} that is disabled.
+     *
+     * @return a {@link ClassDataSharing}
+     */
+    @OptionsByType.Default
+    public static ClassDataSharing disabled()
+    {
+        return new ClassDataSharing(false, null, DEFAULT_MAXIMUM_CACHE_SIZE);
+    }
+
+
+    /**
+     * Obtains a {@link ClassDataSharing} that is enabled, storing archives in the specified directory.
+     *
+     * @param directory  the cache directory
+     *
+     * @return a {@link ClassDataSharing}
+     */
+    public static ClassDataSharing at(File directory)
+    {
+        return new ClassDataSharing(true, directory, DEFAULT_MAXIMUM_CACHE_SIZE);
+    }
+
+
+    /**
+     * Obtains a {@link ClassDataSharing} based on this one, but with the specified maximum cache size.
+     *
+     * @param bytes  the maximum size of the cache directory, in bytes
+     *
+     * @return a {@link ClassDataSharing}
+     */
+    public ClassDataSharing withMaximumSize(long bytes)
+    {
+        return new ClassDataSharing(enabled, directory, bytes);
+    }
+
+
+    /**
+     * Determines if {@link ClassDataSharing} is enabled.
+     *
+     * @return <code>true</code> when enabled, <code>false</code> otherwise
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+
+    /**
+     * Obtains the cache directory in which archives are stored.
+     *
+     * @return the cache directory
+     */
+    public File getDirectory()
+    {
+        if (directory == null)
+        {
+            String path = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+
+            return path == null || path.trim().isEmpty()
+                   ? new File(System.getProperty("java.io.tmpdir"), "bedrock-cds") : new File(path.trim());
+        }
+        else
+        {
+            return directory;
+        }
+    }
+
+
+    /**
+     * Obtains the maximum size of the cache directory, in bytes.
+     *
+     * @return the maximum size
+     */
+    public long getMaximumSize()
+    {
+        return maximumSize;
+    }
+
+
+    @Override
+    public Iterable<String> resolve(OptionsByType optionsByType)
+    {
+        String key = getKey(optionsByType);
+
+        if (key == null)
+        {
+            return Collections.emptyList();
+        }
+
+        File cache = getDirectory();
+
+        if (!cache.isDirectory() && !cache.mkdirs())
+        {
+            return Collections.emptyList();
+        }
+
+        // clean up the cache directory when first used by this process
+        if (CLEANED.add(cache.getAbsolutePath()))
+        {
+            cleanup(cache);
+        }
+
+        // the archive name is determined by what's being launched and the current content of the class path
+        String fingerprint = fingerprint(optionsByType.get(ClassPath.class));
+        File   archive     = new File(cache, key + "-" + fingerprint + ARCHIVE_EXTENSION);
+
+        List<String> values = new ArrayList<>(1);
+
+        if (archive.isFile() && archive.length() > 0)
+        {
+            // record the use of the archive for least-recently-used eviction
+            archive.setLastModified(System.currentTimeMillis());
+
+            values.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        }
+        else if (CREATING.add(archive.getAbsolutePath()))
+        {
+            // only a single application may create the archive
+            // (others launched before it is closed won't use an archive)
+            values.add("-XX:ArchiveClassesAtExit=" + archive.getAbsolutePath());
+        }
+
+        return values;
+    }
+
+
+    @Override
+    public void onLaunching(Platform      platform,
+                            MetaClass     metaClass,
+                            OptionsByType optionsByType)
+    {
+        // the archives and java home of applications on other platforms aren't on the local file system
+        if (enabled && !(platform instanceof LocalPlatform))
+        {
+            optionsByType.add(ClassDataSharing.disabled());
+        }
+    }
+
+
+    @Override
+    public void onLaunched(Platform      platform,
+                           Application   application,
+                           OptionsByType optionsByType)
+    {
+        // nothing to do when launched
+    }
+
+
+    @Override
+    public void onClosing(Platform      platform,
+                          Application   application,
+                          OptionsByType optionsByType)
+    {
+        // nothing to do when closing
+    }
+
+
+    @Override
+    public void onClosing(Application   application,
+                          OptionsByType optionsByType)
+    {
+        // nothing to do when closing
+    }
+
+
+    @Override
+    public void onClosed(Application   application,
+                         OptionsByType optionsByType)
+    {
+        String key = getKey(application.getOptions());
+
+        if (key != null)
+        {
+            // the archive has been written (or failed to be written) so allow it to be created again when missing
+            String prefix = new File(getDirectory(), key + "-").getAbsolutePath();
+
+            CREATING.removeIf(path -> path.startsWith(prefix));
+        }
+    }
+
+
+    @Override
+    public void onLaunched(Application application)
+    {
+        // nothing to do when launched
+    }
+
+
+    /**
+     * Deletes the archives created for previous class path fingerprints and evicts the least recently
+     * used archives from the cache directory until it's within the maximum size.
+     * <p>
+     * This is performed automatically when a cache directory is first used by this process.
+     */
+    public void cleanup()
+    {
+        File cache = getDirectory();
+
+        if (cache.isDirectory())
+        {
+            cleanup(cache);
+        }
+    }
+
+
+    /**
+     * Determines the key of the archives for the {@link JavaApplication} being launched, based on its
+     * {@link JavaHome}, {@link ClassName} and {@link ClassPath}.
+     *
+     * @param optionsByType  the launch {@link OptionsByType}
+     *
+     * @return the key or <code>null</code> if Class Data Sharing is not to be used
+     */
+    private String getKey(OptionsByType optionsByType)
+    {
+        ClassName className = optionsByType.get(ClassName.class);
+        ClassPath classPath = optionsByType.get(ClassPath.class);
+
+        if (!enabled || className == null || classPath == null || classPath.isEmpty())
+        {
+            return null;
+        }
+
+        JavaHome javaHome = optionsByType.get(JavaHome.class);
+        String   home     = javaHome == null ? System.getProperty("java.home") : javaHome.get();
+
+        if (getJavaVersion(home) < 13)
+        {
+            return null;
+        }
+
+        return digest(home + "\n" + className.getName() + "\n" + classPath.toString());
+    }
+
+
+    /**
+     * Cleans up the specified cache directory, deleting all but the most recently used archive for each key
+     * and then evicting the least recently used archives until it's within the maximum size.
+     *
+     * @param cache  the cache directory
+     */
+    private void cleanup(File cache)
+    {
+        File[] archives = cache.listFiles((dir, name) -> name.endsWith(ARCHIVE_EXTENSION));
+
+        if (archives == null)
+        {
+            return;
+        }
+
+        List<File> files = new ArrayList<>();
+
+        Collections.addAll(files, archives);
+        files.sort(Comparator.comparingLong(File::lastModified).reversed());
+
+        Set<String> keys  = new HashSet<>();
+        long        total = 0;
+
+        for (File file : files)
+        {
+            String name  = file.getName();
+            int    index = name.indexOf('-');
+            String key   = index < 0 ? name : name.substring(0, index);
+
+            // archives for previous content of the class path are older than the most recently used
+            boolean stale = !keys.add(key);
+
+            total += file.length();
+
+            if ((stale || total > maximumSize) && !CREATING.contains(file.getAbsolutePath()))
+            {
+                total -= file.length();
+
+                file.delete();
+            }
+        }
+    }
+
+
+    /**
+     * Determines the fingerprint of a {@link ClassPath}, based on the size and modification time of each entry,
+     * including each of the files contained in directory entries.
+     *
+     * @param classPath  the {@link ClassPath}
+     *
+     * @return the fingerprint
+     */
+    static String fingerprint(ClassPath classPath)
+    {
+        StringBuilder builder = new StringBuilder();
+
+        for (String path : classPath)
+        {
+            File file = new File(path);
+
+            if (file.isDirectory())
+            {
+                try (Stream<Path> stream = Files.walk(file.toPath()))
+                {
+                    for (Path entry : stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList()))
+                    {
+                        append(builder, entry.toString(), entry.toFile());
+                    }
+                }
+                catch (IOException | UncheckedIOException e)
+                {
+                    // an unreadable directory is fingerprinted by its path alone
+                    builder.append(path).append('|').append(e.getClass().getName()).append('\n');
+                }
+            }
+            else
+            {
+                append(builder, path, file);
+            }
+        }
+
+        return digest(builder.toString());
+    }
+
+
+    /**
+     * Appends the fingerprint of a file, being its path, size and modification time.
+     *
+     * @param builder  the {@link StringBuilder} to which to append
+     * @param path     the path of the file
+     * @param file     the file
+     */
+    private static void append(StringBuilder builder,
+                               String        path,
+                               File          file)
+    {
+        builder.append(path).append('|').append(file.length()).append('|').append(file.lastModified()).append('\n');
+    }
+
+
+    /**
+     * Determines the major version of the Java Virtual Machine installed in the specified Java home,
+     * based on its <code>release</code> file.
+     *
+     * @param home  the Java home
+     *
+     * @return the major version or <code>0</code> if unknown
+     */
+    static int getJavaVersion(String home)
+    {
+        if (home == null)
+        {
+            return 0;
+        }
+
+        File directory = new File(home.trim());
+
+        // the release file for a Java 8 "jre" home is in the parent directory
+        File[] candidates = {new File(directory, "release"), new File(directory.getParentFile(), "release")};
+
+        for (File candidate : candidates)
+        {
+            if (candidate.isFile())
+            {
+                Properties properties = new Properties();
+
+                try (InputStream stream = Files.newInputStream(candidate.toPath()))
+                {
+                    properties.load(stream);
+                }
+                catch (IOException e)
+                {
+                    return 0;
+                }
+
+                String version = properties.getProperty("JAVA_VERSION", "").replace("\"", "").trim();
+
+                if (version.startsWith("1."))
+                {
+                    version = version.substring(2);
+                }
+
+                int end = 0;
+
+                while (end < version.length() && Character.isDigit(version.charAt(end)))
+                {
+                    end++;
+                }
+
+                return end == 0 ? 0 : Integer.parseInt(version.substring(0, end));
+            }
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Obtains a hexadecimal SHA-1 digest of the specified text.
+     *
+     * @param text  the text
+     *
+     * @return the digest
+     */
+    private static String digest(String text)
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            StringBuilder builder = new StringBuilder();
+
+            for (byte b : digest.digest(text.getBytes(StandardCharsets.UTF_8)))
+            {
+                builder.append(String.format("%02x", b));
+            }
+
+            return builder.toString();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-1 is not supported", e);
+        }
+    }
+
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+
+        if (!(other instanceof ClassDataSharing))
+        {
+            return false;
+        }
+
+        ClassDataSharing that = (ClassDataSharing) other;
+
+        return enabled == that.enabled && maximumSize == that.maximumSize
+               && (directory == null ? that.directory == null : directory.equals(that.directory));
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        int result = enabled ? 1 : 0;
+
+        result = 31 * result + (directory == null ? 0 : directory.hashCode());
+        result = 31 * result + (int) (maximumSize ^ (maximumSize >>> 32));
+
+        return result;
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "ClassDataSharing{enabled=" + enabled + ", directory=" + getDirectory() + ", maximumSize="
+               + maximumSize + "}";
+    }
+}
@@ -0,0 +1,843 @@
+/*
+ * File: WarmPool.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.options;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.annotations.Internal;
+import com.oracle.bedrock.lang.ThreadFactories;
+import com.oracle.bedrock.runtime.Platform;
+import com.oracle.bedrock.runtime.Settings;
+import com.oracle.bedrock.runtime.concurrent.socket.SocketBasedRemoteChannelServer;
+import com.oracle.bedrock.runtime.java.JavaApplication;
+import com.oracle.bedrock.runtime.java.JavaApplicationRunner;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An {@link Option} defining a pool of pre-started "standby" Java Virtual Machines that a
+ * {@link Platform} may use to launch local {@link JavaApplication}s, avoiding the cost of
+ * starting a new Java Virtual Machine for each launch.
+ * <p>
+ * A launch is served from the pool when it requires the same java executable, Java Virtual
+ * Machine options (including {@link JavaHome} and {@link HeapSize}), environment and working
+ * directory as a previous launch, and its class path is a prefix of the class path of the
+ * pooled Java Virtual Machines.   When served, only the application class name, arguments and
+ * system properties are sent to the standby Java Virtual Machine.   Launches that define system
+ * properties that a Java Virtual Machine only reads while booting (eg: <code>java.*</code>,
+ * <code>sun.*</code>) are never served from the pool.
+ * <p>
+ * Standby Java Virtual Machines are only started for a launch configuration once it has been
+ * launched more than once, so that one-off launches never start an unused Java Virtual Machine.
+ * Thereafter the pool is replenished in the background, replacing the standby Java Virtual
+ * Machines that have been used, such that the number of standby Java Virtual Machines, including
+ * those being started, never exceeds the configured size.  As a {@link WarmPool} maintains
+ * the state of the pool, the same instance should be added to the {@link Platform} options (or
+ * provided to each launch) for the pool to be effective.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class WarmPool implements Option, Closeable
+{
+    /**
+     * The {@link Logger} for this class.
+     */
+    private static final Logger LOGGER = Logger.getLogger(WarmPool.class.getName());
+
+    /**
+     * The maximum number of distinct {@link Template}s for which standby Java Virtual Machines are maintained.
+     */
+    private static final int MAXIMUM_TEMPLATES = 4;
+
+    /**
+     * The maximum time to wait for a standby Java Virtual Machine to connect, in milliseconds.
+     */
+    private static final long CONNECT_TIMEOUT_MS = 60000;
+
+    /**
+     * The system property prefixes that a Java Virtual Machine reads while booting.
+     */
+    private static final String[] BOOT_PROPERTY_PREFIXES = {"java.", "javax.", "jdk.", "sun.", "com.sun.management.",
+                                                            "file.", "user.", "os.", "line.separator",
+                                                            "path.separator"};
+
+    /**
+     * The number of standby Java Virtual Machines to maintain for each {@link Template}.
+     */
+    private final int size;
+
+    /**
+     * The standby Java Virtual Machines by {@link Template}, in least-recently-used order.
+     */
+    private final LinkedHashMap<Template, Deque<Standby>> standbys;
+
+    /**
+     * The number of standby Java Virtual Machines being started, by {@link Template}.
+     */
+    private final Map<Template, Integer> starting;
+
+    /**
+     * The number of launches served from the pool.
+     */
+    private final AtomicLong hits;
+
+    /**
+     * The number of launches that could not be served from the pool.
+     */
+    private final AtomicLong misses;
+
+    /**
+     * The {@link ExecutorService} used to replenish the pool (created on demand).
+     */
+    private ExecutorService executor;
+
+    /**
+     * The shutdown hook closing the {@link WarmPool} (registered on demand).
+     */
+    private Thread shutdownHook;
+
+    /**
+     * Has the {@link WarmPool} been closed?
+     */
+    private volatile boolean closed;
+
+
+    /**
+     * Constructs a {@link WarmPool}.
+     *
+     * @param size  the number of standby Java Virtual Machines to maintain for each
+     *              distinct launch configuration
+     */
+    private WarmPool(int size)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("The WarmPool size must not be negative");
+        }
+
+        this.size      = size;
+        this.standbys  = new LinkedHashMap<>(16, 0.75f, true);
+        this.starting  = new HashMap<>();
+        this.hits      = new AtomicLong();
+        this.misses    = new AtomicLong();
+        this.executor  = null;
+        this.closed    = false;
+    }
+
+
+    /**
+     * Obtains a {@link WarmPool} that maintains the specified number of standby Java Virtual Machines
+     * for each distinct launch configuration.
+     *
+     * @param size  the number of standby Java Virtual Machines
+     *
+     * @return a {@link WarmPool}
+     */
+    public static WarmPool of(int size)
+    {
+        return new WarmPool(size);
+    }
+
+
+    /**
+     * Obtains a {@link WarmPool} that is disabled, in which case Java Virtual Machines are
+     * always started on demand.
+     *
+     * @return a disabled {@link WarmPool}
+     */
+    @OptionsByType.Default
+    public static WarmPool disabled()
+    {
+        return new WarmPool(0);
+    }
+
+
+    /**
+     * Determines if the {@link WarmPool} is enabled.
+     *
+     * @return <code>true</code> if the {@link WarmPool} is enabled, <code>false</code> otherwise
+     */
+    public boolean isEnabled()
+    {
+        return size > 0 && !closed;
+    }
+
+
+    /**
+     * Obtains the number of standby Java Virtual Machines maintained for each distinct launch configuration.
+     *
+     * @return the size of the {@link WarmPool}
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Obtains the number of launches that were served by a standby Java Virtual Machine.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+
+
+    /**
+     * Obtains the number of launches that required a new Java Virtual Machine to be started.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount()
+    {
+        return misses.get();
+    }
+
+
+    /**
+     * Obtains the number of standby Java Virtual Machines currently available in the {@link WarmPool}.
+     *
+     * @return the number of idle Java Virtual Machines
+     */
+    public synchronized int getIdleCount()
+    {
+        return standbys.values().stream().mapToInt(Deque::size).sum();
+    }
+
+
+    /**
+     * Attempts to acquire a standby Java Virtual Machine for a launch, recording a hit or a miss.
+     * <p>
+     * Unless the {@link Template} has not previously been launched, the {@link WarmPool} will be
+     * replenished in the background for the specified {@link Template}.
+     *
+     * @param template          the {@link Template} describing the Java Virtual Machine to launch
+     * @param systemProperties  the system properties of the application to launch
+     *
+     * @return a {@link Standby} Java Virtual Machine or <code>null</code> if one is not available
+     */
+    @Internal
+    public Standby acquire(Template   template,
+                           Properties systemProperties)
+    {
+        if (!isEnabled())
+        {
+            return null;
+        }
+
+        // applications requiring boot-time system properties can't be served by a running virtual machine
+        for (String propertyName : systemProperties.stringPropertyNames())
+        {
+            if (isBootProperty(propertyName))
+            {
+                misses.incrementAndGet();
+
+                return null;
+            }
+        }
+
+        Template registered = null;
+        Standby  standby    = null;
+
+        synchronized (this)
+        {
+            for (Map.Entry<Template, Deque<Standby>> entry : standbys.entrySet())
+            {
+                if (entry.getKey().isSatisfiedBy(template))
+                {
+                    registered = entry.getKey();
+
+                    Deque<Standby> available = entry.getValue();
+
+                    // discard any standby virtual machines that have since terminated
+                    while (standby == null && !available.isEmpty())
+                    {
+                        Standby candidate = available.poll();
+
+                        if (candidate.isUsable())
+                        {
+                            standby = candidate;
+                        }
+                        else
+                        {
+                            candidate.destroy();
+                        }
+                    }
+
+                    break;
+                }
+            }
+
+            if (registered == null)
+            {
+                standbys.put(template, new ArrayDeque<>());
+
+                // evict the least recently used templates (and their standby virtual machines)
+                Iterator<Map.Entry<Template, Deque<Standby>>> iterator = standbys.entrySet().iterator();
+
+                while (standbys.size() > MAXIMUM_TEMPLATES && iterator.hasNext())
+                {
+                    iterator.next().getValue().forEach(Standby::destroy);
+                    iterator.remove();
+                }
+            }
+            else
+            {
+                // touch the template so that it's the most recently used
+                standbys.get(registered);
+            }
+        }
+
+        if (standby == null)
+        {
+            misses.incrementAndGet();
+        }
+        else
+        {
+            hits.incrementAndGet();
+        }
+
+        // only replenish for templates that have been launched before
+        if (registered != null)
+        {
+            replenish(registered);
+        }
+
+        return standby;
+    }
+
+
+    /**
+     * Asynchronously starts standby Java Virtual Machines for the specified {@link Template}
+     * until the {@link WarmPool} is full.
+     *
+     * @param template  the {@link Template}
+     */
+    private synchronized void replenish(Template template)
+    {
+        if (closed)
+        {
+            return;
+        }
+
+        if (executor == null)
+        {
+            executor = Executors.newSingleThreadExecutor(ThreadFactories.usingDaemonThreads(true));
+
+            // ensure standby virtual machines don't outlive this process
+            shutdownHook = new Thread(this::close);
+
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+
+        executor.submit(() -> {
+                            while (reserve(template))
+                            {
+                                Standby standby = null;
+                                boolean added;
+
+                                try
+                                {
+                                    standby = start(template);
+                                }
+                                finally
+                                {
+                                    added = release(template, standby);
+                                }
+
+                                if (!added)
+                                {
+                                    return;
+                                }
+                            }
+                        });
+    }
+
+
+    /**
+     * Reserves the start of another standby Java Virtual Machine for the specified {@link Template},
+     * when the number of available and starting standby Java Virtual Machines is less than the size.
+     *
+     * @param template  the {@link Template}
+     *
+     * @return <code>true</code> if a standby Java Virtual Machine should be started
+     */
+    private synchronized boolean reserve(Template template)
+    {
+        Deque<Standby> available = closed ? null : standbys.get(template);
+
+        if (available != null && available.size() + starting.getOrDefault(template, 0) < size)
+        {
+            starting.merge(template, 1, Integer::sum);
+
+            return true;
+        }
+        else
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * Releases a reservation made with {@link #reserve(Template)}, adding the started standby Java Virtual
+     * Machine to the pool.
+     *
+     * @param template  the {@link Template}
+     * @param standby   the started {@link Standby} (<code>null</code> if it could not be started)
+     *
+     * @return <code>true</code> if the {@link Standby} was added to the pool
+     */
+    private synchronized boolean release(Template template,
+                                         Standby  standby)
+    {
+        starting.computeIfPresent(template, (key, count) -> count > 1 ? count - 1 : null);
+
+        Deque<Standby> available = standbys.get(template);
+
+        if (standby == null)
+        {
+            return false;
+        }
+        else if (closed || available == null)
+        {
+            standby.destroy();
+
+            return false;
+        }
+        else
+        {
+            available.add(standby);
+
+            return true;
+        }
+    }
+
+
+    /**
+     * Starts a standby Java Virtual Machine for the specified {@link Template}, waiting for it to connect.
+     *
+     * @param template  the {@link Template}
+     *
+     * @return the connected {@link Standby} or <code>null</code> if it could not be started
+     */
+    private Standby start(Template template)
+    {
+        SocketBasedRemoteChannelServer server = new SocketBasedRemoteChannelServer();
+        Process                        process;
+
+        try
+        {
+            server.open();
+
+            String       parentURI = "//" + template.parentAddress + ":" + server.getPort();
+            List<String> command   = new ArrayList<>();
+
+            command.add(template.javaExecutable);
+            command.add("-cp");
+            command.add(template.classPath);
+            command.add("-D" + Settings.PARENT_URI + "=" + parentURI);
+            command.addAll(template.jvmArguments);
+            command.add(JavaApplicationRunner.class.getName());
+            command.add(JavaApplicationRunner.STANDBY);
+
+            ProcessBuilder processBuilder = new ProcessBuilder(command);
+
+            if (template.directory != null)
+            {
+                processBuilder.directory(template.directory);
+            }
+
+            processBuilder.environment().clear();
+            processBuilder.environment().putAll(template.environment);
+            processBuilder.redirectErrorStream(template.redirectErrorStream);
+
+            process = processBuilder.start();
+
+            Standby standby  = new Standby(process, server, parentURI);
+            long    deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MS;
+
+            while (!standby.isUsable())
+            {
+                if (!process.isAlive() || System.currentTimeMillis() > deadline || closed)
+                {
+                    standby.destroy();
+
+                    return null;
+                }
+
+                Thread.sleep(10);
+            }
+
+            return standby;
+        }
+        catch (IOException e)
+        {
+            LOGGER.log(Level.WARNING, "Failed to start a standby Java Virtual Machine", e);
+
+            server.close();
+
+            return null;
+        }
+        catch (InterruptedException e)
+        {
+            server.close();
+
+            return null;
+        }
+    }
+
+
+    /**
+     * Determines if the specified system property is read by a Java Virtual Machine while booting.
+     *
+     * @param propertyName  the name of the system property
+     *
+     * @return <code>true</code> if the system property is only effective when booting
+     */
+    private static boolean isBootProperty(String propertyName)
+    {
+        for (String prefix : BOOT_PROPERTY_PREFIXES)
+        {
+            if (propertyName.startsWith(prefix))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Closes the {@link WarmPool}, terminating any standby Java Virtual Machines.
+     */
+    @Override
+    public void close()
+    {
+        List<Standby> terminating = new ArrayList<>();
+
+        synchronized (this)
+        {
+            closed = true;
+
+            standbys.values().forEach(terminating::addAll);
+            standbys.clear();
+
+            if (executor != null)
+            {
+                executor.shutdownNow();
+            }
+
+            if (shutdownHook != null && Thread.currentThread() != shutdownHook)
+            {
+                try
+                {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                }
+                catch (IllegalStateException e)
+                {
+                    // SKIP: the virtual machine is already shutting down
+                }
+            }
+
+            shutdownHook = null;
+        }
+
+        terminating.forEach(Standby::destroy);
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "WarmPool{size=" + size + ", hits=" + hits.get() + ", misses=" + misses.get() + "}";
+    }
+
+
+    /**
+     * Describes the launch-invariant configuration of a Java Virtual Machine, which must be satisfied
+     * by a standby Java Virtual Machine for it to be used for a launch.
+     */
+    @Internal
+    public static class Template
+    {
+        /**
+         * The java executable.
+         */
+        private final String javaExecutable;
+
+        /**
+         * The class path.
+         */
+        private final String classPath;
+
+        /**
+         * The address to which the Java Virtual Machine connects back.
+         */
+        private final String parentAddress;
+
+        /**
+         * The arguments for the Java Virtual Machine, excluding those for the application.
+         */
+        private final List<String> jvmArguments;
+
+        /**
+         * The working directory (may be <code>null</code>).
+         */
+        private final File directory;
+
+        /**
+         * The environment variables.
+         */
+        private final Map<String, String> environment;
+
+        /**
+         * Is the standard error stream redirected to the standard output stream?
+         */
+        private final boolean redirectErrorStream;
+
+
+        /**
+         * Constructs a {@link Template}.
+         *
+         * @param javaExecutable       the java executable
+         * @param classPath            the class path
+         * @param parentAddress        the address to which the Java Virtual Machine connects back
+         * @param jvmArguments         the Java Virtual Machine arguments (excluding application system properties)
+         * @param directory            the working directory
+         * @param environment          the environment variables
+         * @param redirectErrorStream  is the standard error stream redirected to the standard output stream
+         */
+        public Template(String              javaExecutable,
+                        String              classPath,
+                        String              parentAddress,
+                        List<String>        jvmArguments,
+                        File                directory,
+                        Map<String, String> environment,
+                        boolean             redirectErrorStream)
+        {
+            this.javaExecutable      = javaExecutable;
+            this.classPath           = classPath;
+            this.parentAddress       = parentAddress;
+            this.jvmArguments        = Collections.unmodifiableList(new ArrayList<>(jvmArguments));
+            this.directory           = directory;
+            this.environment         = Collections.unmodifiableMap(new HashMap<>(environment));
+            this.redirectErrorStream = redirectErrorStream;
+        }
+
+
+        /**
+         * Determines if a Java Virtual Machine started with this {@link Template} may be used to
+         * launch an application requiring the specified {@link Template}, that is, all of the
+         * configuration is the same and the required class path is a prefix of this class path.
+         *
+         * @param required  the required {@link Template}
+         *
+         * @return <code>true</code> if this {@link Template} satisfies the required {@link Template}
+         */
+        public boolean isSatisfiedBy(Template required)
+        {
+            return (classPath.equals(required.classPath)
+                    || classPath.startsWith(required.classPath + File.pathSeparator))
+                   && javaExecutable.equals(required.javaExecutable)
+                   && parentAddress.equals(required.parentAddress)
+                   && jvmArguments.equals(required.jvmArguments)
+                   && Objects.equals(directory, required.directory)
+                   && environment.equals(required.environment)
+                   && redirectErrorStream == required.redirectErrorStream;
+        }
+
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+
+            if (!(other instanceof Template))
+            {
+                return false;
+            }
+
+            Template template = (Template) other;
+
+            return classPath.equals(template.classPath) && isSatisfiedBy(template);
+        }
+
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(javaExecutable, classPath, parentAddress, jvmArguments, directory, redirectErrorStream);
+        }
+    }
+
+
+    /**
+     * A started and connected standby Java Virtual Machine, waiting for an application to run.
+     */
+    @Internal
+    public static class Standby
+    {
+        /**
+         * The {@link Process} of the Java Virtual Machine.
+         */
+        private final Process process;
+
+        /**
+         * The {@link SocketBasedRemoteChannelServer} to which the Java Virtual Machine is connected.
+         */
+        private final SocketBasedRemoteChannelServer server;
+
+        /**
+         * The parent URI provided to the Java Virtual Machine.
+         */
+        private final String parentURI;
+
+
+        /**
+         * Constructs a {@link Standby}.
+         *
+         * @param process    the {@link Process}
+         * @param server     the {@link SocketBasedRemoteChannelServer}
+         * @param parentURI  the parent URI
+         */
+        private Standby(Process                        process,
+                        SocketBasedRemoteChannelServer server,
+                        String                         parentURI)
+        {
+            this.process   = process;
+            this.server    = server;
+            this.parentURI = parentURI;
+        }
+
+
+        /**
+         * Obtains the {@link Process} of the standby Java Virtual Machine.
+         *
+         * @return the {@link Process}
+         */
+        public Process getProcess()
+        {
+            return process;
+        }
+
+
+        /**
+         * Obtains the {@link SocketBasedRemoteChannelServer} to which the standby Java Virtual Machine is connected.
+         *
+         * @return the {@link SocketBasedRemoteChannelServer}
+         */
+        public SocketBasedRemoteChannelServer getServer()
+        {
+            return server;
+        }
+
+
+        /**
+         * Obtains the parent URI provided to the standby Java Virtual Machine.
+         *
+         * @return the parent URI
+         */
+        public String getParentURI()
+        {
+            return parentURI;
+        }
+
+
+        /**
+         * Starts an application in the standby Java Virtual Machine.
+         *
+         * @param className         the name of the application class
+         * @param arguments         the application arguments
+         * @param systemProperties  the system properties to define before starting the application
+         *
+         * @return a {@link CompletableFuture} that completes once the application is about to start
+         */
+        public CompletableFuture<Void> start(String       className,
+                                             List<String> arguments,
+                                             Properties   systemProperties)
+        {
+            return server.submit(new JavaApplicationRunner.StartApplication(className, arguments, systemProperties));
+        }
+
+
+        /**
+         * Determines if the standby Java Virtual Machine is running and connected.
+         *
+         * @return <code>true</code> if the standby Java Virtual Machine may be used
+         */
+        private boolean isUsable()
+        {
+            return process.isAlive() && server.getRemoteChannels().iterator().hasNext();
+        }
+
+
+        /**
+         * Terminates the standby Java Virtual Machine.
+         */
+        private void destroy()
+        {
+            process.destroy();
+            server.close();
+
+            try
+            {
+                process.waitFor(1, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -76,16 +76,23 @@ public class JmxProfile implements Profile, ComposableOption<JmxProfile>
      */
     private Optional<Boolean> ssl;
 
+    /**
+     * The {@link Optional} flag to determine if JMX should be performed over the
+     * {@link com.oracle.bedrock.runtime.concurrent.RemoteChannel} instead of RMI.
+     */
+    private Optional<Boolean> remoteChannel;
+
 
     /**
      * Constructs a {@link JmxProfile}.
      */
     private JmxProfile()
     {
-        this.hostName     = Optional.empty();
-        this.port         = Optional.empty();
-        this.authenticate = Optional.empty();
-        this.ssl          = Optional.empty();
+        this.hostName      = Optional.empty();
+        this.port          = Optional.empty();
+        this.authenticate  = Optional.empty();
+        this.ssl           = Optional.empty();
+        this.remoteChannel = Optional.empty();
     }
 
 
@@ -96,10 +103,11 @@ public class JmxProfile implements Profile, ComposableOption<JmxProfile>
      */
     private JmxProfile(JmxProfile other)
     {
-        this.hostName     = other.hostName;
-        this.port         = other.port;
-        this.authenticate = other.authenticate;
-        this.ssl          = other.ssl;
+        this.hostName      = other.hostName;
+        this.port          = other.port;
+        this.authenticate  = other.authenticate;
+        this.ssl           = other.ssl;
+        this.remoteChannel = other.remoteChannel;
     }
 
 
@@ -111,6 +119,15 @@ public class JmxProfile implements Profile, ComposableOption<JmxProfile>
         // acquire the system properties to update
         SystemProperties systemProperties = optionsByType.get(SystemProperties.class);
 
+        // ----- configure jmx over the remote channel (without rmi) -----
+        if (remoteChannel.orElse(false))
+        {
+            optionsByType.add(systemProperties.addIfAbsent(SystemProperty.of(JmxFeature.BEDROCK_JMX_REMOTE_CHANNEL,
+                                                                             true)));
+
+            return;
+        }
+
         // ----- configure remote jmx -----
         systemProperties = systemProperties.addIfAbsent(SystemProperty.of(JmxFeature.SUN_MANAGEMENT_JMXREMOTE));
 
@@ -220,10 +237,11 @@ public class JmxProfile implements Profile, ComposableOption<JmxProfile>
         // establish the composed JmxProfile
         JmxProfile composed = new JmxProfile();
 
-        composed.hostName     = oneOf(other.hostName, this.hostName);
-        composed.port         = oneOf(other.port, this.port);
-        composed.authenticate = oneOf(other.authenticate, this.authenticate);
-        composed.ssl          = oneOf(other.ssl, this.ssl);
+        composed.hostName      = oneOf(other.hostName, this.hostName);
+        composed.port          = oneOf(other.port, this.port);
+        composed.authenticate  = oneOf(other.authenticate, this.authenticate);
+        composed.ssl           = oneOf(other.ssl, this.ssl);
+        composed.remoteChannel = oneOf(other.remoteChannel, this.remoteChannel);
 
         return composed;
     }
@@ -298,4 +316,26 @@ public class JmxProfile implements Profile, ComposableOption<JmxProfile>
 
         return jmxProfile;
     }
+
+
+    /**
+     * Obtains a {@link JmxProfile} that configures JMX operations to be performed over the
+     * {@link com.oracle.bedrock.runtime.concurrent.RemoteChannel} to a {@link JavaApplication},
+     * using a {@link com.oracle.bedrock.runtime.java.features.RemoteChannelJMXConnector}.
+     * <p>
+     * When enabled, neither an RMI based JMX agent nor a JMX port is configured for the
+     * {@link JavaApplication}.
+     *
+     * @param enabled  to enable / disable JMX over the remote channel
+     *
+     * @return a {@link JmxProfile}
+     */
+    public static JmxProfile remoteChannel(boolean enabled)
+    {
+        JmxProfile jmxProfile = new JmxProfile();
+
+        jmxProfile.remoteChannel = Optional.of(enabled);
+
+        return jmxProfile;
+    }
 }
@@ -28,6 +28,8 @@ package com.oracle.bedrock.runtime.options;
 import com.oracle.bedrock.Option;
 import com.oracle.bedrock.runtime.ApplicationConsole;
 import com.oracle.bedrock.runtime.ApplicationConsoleBuilder;
+import com.oracle.bedrock.runtime.console.AsyncFileApplicationConsole;
+import com.oracle.bedrock.runtime.console.AsyncLogSink;
 import com.oracle.bedrock.runtime.console.FileWriterApplicationConsole;
 import com.oracle.bedrock.runtime.console.NullApplicationConsole;
 import com.oracle.bedrock.runtime.console.SystemApplicationConsole;
@@ -109,6 +111,40 @@ public class Console implements ApplicationConsoleBuilder
     }
 
 
+    /**
+     * Constructs an {@link ApplicationConsoleBuilder} for the {@link AsyncFileApplicationConsole},
+     * asynchronously writing files using the shared {@link AsyncLogSink}.
+     *
+     * @param directory  the directory in which to write the files
+     * @param prefix     the file-name prefix
+     *
+     * @return an {@link ApplicationConsoleBuilder}
+     */
+    public static ApplicationConsoleBuilder asyncFile(String directory,
+                                                      String prefix)
+    {
+        return AsyncFileApplicationConsole.builder(directory, prefix, null);
+    }
+
+
+    /**
+     * Constructs an {@link ApplicationConsoleBuilder} for the {@link AsyncFileApplicationConsole},
+     * asynchronously writing files using the specified {@link AsyncLogSink}.
+     *
+     * @param sink       the {@link AsyncLogSink} to write the files
+     * @param directory  the directory in which to write the files
+     * @param prefix     the file-name prefix
+     *
+     * @return an {@link ApplicationConsoleBuilder}
+     */
+    public static ApplicationConsoleBuilder asyncFile(AsyncLogSink sink,
+                                                      String       directory,
+                                                      String       prefix)
+    {
+        return AsyncFileApplicationConsole.builder(sink, directory, prefix, null);
+    }
+
+
     @Override
     public ApplicationConsole build(String applicationName)
     {
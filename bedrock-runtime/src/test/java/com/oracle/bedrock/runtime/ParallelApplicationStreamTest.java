@@ -0,0 +1,206 @@
+/*
+ * File: ParallelApplicationStreamTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime;
+
+import com.oracle.bedrock.OptionsByType;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ApplicationStream#parallel(int)} {@link ApplicationStream}s produced by an {@link Assembly}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class ParallelApplicationStreamTest
+{
+    /**
+     * Ensure that predicates are evaluated concurrently, without exceeding the parallelism.
+     */
+    @Test
+    public void shouldEvaluateConcurrentlyWithinParallelism()
+    {
+        SimpleAssembly<Application> assembly   = createAssembly(8);
+        AtomicInteger               concurrent = new AtomicInteger();
+        AtomicInteger               maximum    = new AtomicInteger();
+
+        long count = assembly.parallel(3).filter(application -> {
+                                                     int current = concurrent.incrementAndGet();
+
+                                                     maximum.accumulateAndGet(current, Math::max);
+                                                     pause(50);
+                                                     concurrent.decrementAndGet();
+
+                                                     return !application.getName().equals("app-5");
+                                                 }).count();
+
+        assertThat(count, is(7L));
+        assertThat(maximum.get(), is(greaterThan(1)));
+        assertThat(maximum.get(), is(lessThanOrEqualTo(3)));
+    }
+
+
+    /**
+     * Ensure that a short-circuiting operation returns on the first decisive result and
+     * cancels the outstanding evaluations.
+     */
+    @Test
+    public void shouldShortCircuitAndCancelOutstandingEvaluations() throws InterruptedException
+    {
+        SimpleAssembly<Application> assembly    = createAssembly(4);
+        CountDownLatch              started     = new CountDownLatch(3);
+        CountDownLatch              interrupted = new CountDownLatch(3);
+
+        boolean matched = assembly.parallel(4).anyMatch(application -> {
+                                                            if (application.getName().equals("app-2"))
+                                                            {
+                                                                awaitQuietly(started);
+
+                                                                return true;
+                                                            }
+
+                                                            started.countDown();
+
+                                                            try
+                                                            {
+                                                                // simulate a remote call that never returns
+                                                                Thread.sleep(60000);
+                                                            }
+                                                            catch (InterruptedException e)
+                                                            {
+                                                                interrupted.countDown();
+                                                            }
+
+                                                            return false;
+                                                        });
+
+        assertThat(matched, is(true));
+        assertThat(interrupted.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+
+    /**
+     * Ensure that the encounter order is preserved for ordered operations, regardless of
+     * the order in which evaluations complete.
+     */
+    @Test
+    public void shouldPreserveEncounterOrder()
+    {
+        SimpleAssembly<Application> assembly = createAssembly(6);
+
+        ApplicationStream<Application> stream = assembly.parallel().peek(application -> {
+                                                                              // earlier applications are slower
+                                                                              int index = Integer.parseInt(application
+                                                                                  .getName().substring(4));
+
+                                                                              pause(10 * (6 - index));
+                                                                          });
+
+        List<String> names = stream.filter(application -> !application.getName().equals("app-1"))
+                                   .limit(3)
+                                   .collect(Collectors.mapping(Application::getName, Collectors.toList()));
+
+        assertThat(names, is(Arrays.asList("app-0", "app-2", "app-3")));
+        assertThat(assembly.parallel(2).findFirst().get().getName(), is("app-0"));
+        assertThat(assembly.parallel(2).allMatch(application -> application.getName().startsWith("app-")), is(true));
+        assertThat(assembly.parallel(2).noneMatch(application -> application.getName().equals("app-6")), is(true));
+    }
+
+
+    /**
+     * Creates a {@link SimpleAssembly} containing the specified number of mock {@link Application}s,
+     * named "app-0", "app-1" and so on.
+     *
+     * @param count  the number of {@link Application}s
+     *
+     * @return  a {@link SimpleAssembly}
+     */
+    private SimpleAssembly<Application> createAssembly(int count)
+    {
+        SimpleAssembly<Application> assembly = new SimpleAssembly<>(OptionsByType.empty());
+
+        for (int i = 0; i < count; i++)
+        {
+            Application application = mock(Application.class);
+
+            when(application.getName()).thenReturn("app-" + i);
+            when(application.getOptions()).thenReturn(OptionsByType.empty());
+
+            assembly.add(application);
+        }
+
+        return assembly;
+    }
+
+
+    /**
+     * Sleeps for the specified number of milliseconds, preserving any interrupt.
+     *
+     * @param millis  the number of milliseconds
+     */
+    private static void pause(long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Awaits the specified {@link CountDownLatch}, preserving any interrupt.
+     *
+     * @param latch  the {@link CountDownLatch}
+     */
+    private static void awaitQuietly(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
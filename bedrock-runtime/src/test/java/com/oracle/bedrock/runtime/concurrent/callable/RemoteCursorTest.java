@@ -0,0 +1,282 @@
+/*
+ * File: RemoteCursorTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.concurrent.callable;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Unit tests for {@link RemoteCursor}s over cursors in the {@link RemoteHandleRegistry}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class RemoteCursorTest
+{
+    /**
+     * Ensure that all of the items are streamed in pages.
+     */
+    @Test
+    public void shouldStreamItemsInPages() throws Exception
+    {
+        List<RemoteCallable<?>> submitted = new ArrayList<>();
+        RemoteChannel           channel   = createChannel(submitted);
+        long                    handle    = registerMap(2500);
+        int                     keySet    = getMethodId("keySet");
+
+        try (Stream<String> keys = RemoteCursor.<String>open(channel, handle, keySet, new Object[0], 1000).stream())
+        {
+            List<String> list = keys.collect(Collectors.toList());
+
+            assertThat(list.size(), is(2500));
+            assertThat(list.get(0), is("key-0"));
+            assertThat(list.get(2499), is("key-2499"));
+        }
+
+        // one request to open the cursor and two for the remaining pages
+        assertThat(submitted.size(), is(3));
+        assertThat(submitted.get(0), instanceOf(RemoteHandleRegistry.OpenCursor.class));
+        assertThat(submitted.get(2), instanceOf(RemoteHandleRegistry.NextPage.class));
+
+        // entries are copied as they are paged
+        RemoteCursor<Map.Entry<String, Integer>> entries = RemoteCursor.open(channel,
+                                                                             handle,
+                                                                             getMethodId("entrySet"),
+                                                                             new Object[0],
+                                                                             10);
+
+        Map.Entry<String, Integer> entry = entries.next();
+
+        assertThat(entry.getKey(), is("key-0"));
+        assertThat(entry.getValue(), is(0));
+
+        entries.close();
+
+        RemoteHandleRegistry.release(handle);
+    }
+
+
+    /**
+     * Ensure that closing a {@link RemoteCursor} before it has been exhausted closes the remote cursor.
+     */
+    @Test
+    public void shouldCloseRemoteCursor() throws Exception
+    {
+        List<RemoteCallable<?>>   submitted = new ArrayList<>();
+        RemoteChannel             channel   = createChannel(submitted);
+        long                      handle    = registerMap(100);
+        RemoteHandleRegistry.Page page      = RemoteHandleRegistry.openCursor(handle,
+                                                                              getMethodId("values"),
+                                                                              new Object[0],
+                                                                              10);
+        RemoteCursor<Integer>     cursor    = new RemoteCursor<>(channel, CompletableFuture.completedFuture(page), 10);
+
+        assertThat(cursor.next(), is(0));
+
+        cursor.close();
+
+        assertThat(cursor.hasNext(), is(false));
+        assertThat(submitted.get(submitted.size() - 1), instanceOf(RemoteHandleRegistry.CloseCursor.class));
+
+        try
+        {
+            RemoteHandleRegistry.nextPage(page.getCursor(), 10);
+            fail("An IllegalStateException should have been thrown");
+        }
+        catch (IllegalStateException e)
+        {
+            // expected as the cursor was closed
+        }
+
+        RemoteHandleRegistry.release(handle);
+    }
+
+
+    /**
+     * Ensure that cursors that are not exhausted nor closed are expired once idle, and that the least
+     * recently used cursors are closed when there are too many open.
+     */
+    @Test
+    public void shouldExpireAbandonedCursors() throws Exception
+    {
+        long handle = registerMap(100);
+        int  keySet = getMethodId("keySet");
+
+        // open cursors that are never exhausted (like a stream that uses findFirst)
+        long first  = RemoteHandleRegistry.openCursor(handle, keySet, new Object[0], 10).getCursor();
+
+        Thread.sleep(5);
+
+        long second = RemoteHandleRegistry.openCursor(handle, keySet, new Object[0], 10).getCursor();
+
+        // the least recently used cursor is closed when too many are open
+        assertThat(RemoteHandleRegistry.expireCursors(RemoteHandleRegistry.CURSOR_IDLE_TIMEOUT_MS, 1), is(1));
+        assertThat(RemoteHandleRegistry.closeCursor(first), is(false));
+        assertThat(RemoteHandleRegistry.nextPage(second, 10).getItems().size(), is(10));
+
+        // idle cursors are closed
+        Thread.sleep(5);
+
+        assertThat(RemoteHandleRegistry.expireCursors(1, RemoteHandleRegistry.MAXIMUM_OPEN_CURSORS), is(1));
+        assertThat(RemoteHandleRegistry.closeCursor(second), is(false));
+
+        RemoteHandleRegistry.release(handle);
+    }
+
+
+    /**
+     * Ensure that a {@link RemoteHandleRegistry.CursorSource} is used to lazily provide the items of a cursor.
+     */
+    @Test
+    public void shouldUseCursorSourceToProvideItems() throws Exception
+    {
+        RemoteMethodInvocation.Interceptor interceptor =
+            mock(RemoteMethodInvocation.Interceptor.class,
+                 withSettings().extraInterfaces(RemoteHandleRegistry.CursorSource.class));
+
+        RemoteHandleRegistry.CursorSource source = (RemoteHandleRegistry.CursorSource) interceptor;
+        Method                            keySet = Map.class.getMethod("keySet");
+
+        when(source.iterate(any(), eq(keySet), any(Object[].class)))
+            .then(invocation -> Arrays.asList("a", "b", "c").iterator());
+
+        long handle = RemoteHandleRegistry.register(UUID.randomUUID().toString(),
+                                                    LinkedHashMap::new,
+                                                    Map.class,
+                                                    interceptor);
+
+        RemoteHandleRegistry.Page page = RemoteHandleRegistry.openCursor(handle,
+                                                                         getMethodId("keySet"),
+                                                                         new Object[0],
+                                                                         10);
+
+        assertThat(page.getItems(), is(Arrays.<Object>asList("a", "b", "c")));
+        assertThat(page.isExhausted(), is(true));
+
+        // methods the source doesn't provide for are invoked
+        page = RemoteHandleRegistry.openCursor(handle, getMethodId("values"), new Object[0], 10);
+
+        assertThat(page.getItems().isEmpty(), is(true));
+
+        RemoteHandleRegistry.release(handle);
+    }
+
+
+    /**
+     * Registers a {@link Map} in the {@link RemoteHandleRegistry}, containing the specified number of entries.
+     *
+     * @param size  the number of entries
+     *
+     * @return  the handle of the {@link Map}
+     */
+    private long registerMap(int size)
+    {
+        return RemoteHandleRegistry.register(UUID.randomUUID().toString(),
+                                             () -> {
+                                                 Map<String, Integer> map = new LinkedHashMap<>();
+
+                                                 for (int i = 0; i < size; i++)
+                                                 {
+                                                     map.put("key-" + i, i);
+                                                 }
+
+                                                 return map;
+                                             },
+                                             Map.class,
+                                             null);
+    }
+
+
+    /**
+     * Obtains the method-id of the specified no-argument {@link Map} method.
+     *
+     * @param methodName  the name of the method
+     *
+     * @return  the method-id
+     */
+    private int getMethodId(String methodName) throws NoSuchMethodException
+    {
+        return RemoteHandleRegistry.MethodTable.of(Map.class).getMethodId(Map.class.getMethod(methodName));
+    }
+
+
+    /**
+     * Creates a mock {@link RemoteChannel} that executes submitted {@link RemoteCallable}s locally.
+     *
+     * @param submitted  the {@link List} in which to record the submitted {@link RemoteCallable}s
+     *
+     * @return  a mock {@link RemoteChannel}
+     */
+    @SuppressWarnings("unchecked")
+    private RemoteChannel createChannel(List<RemoteCallable<?>> submitted)
+    {
+        RemoteChannel channel = mock(RemoteChannel.class);
+
+        when(channel.submit(any(RemoteCallable.class), any(Option[].class))).thenAnswer(invocation -> {
+                RemoteCallable<?> callable = invocation.getArgument(0);
+
+                submitted.add(callable);
+
+                try
+                {
+                    return CompletableFuture.completedFuture(callable.call());
+                }
+                catch (Exception e)
+                {
+                    CompletableFuture<Object> future = new CompletableFuture<>();
+
+                    future.completeExceptionally(e);
+
+                    return future;
+                }
+            });
+
+        return channel;
+    }
+}
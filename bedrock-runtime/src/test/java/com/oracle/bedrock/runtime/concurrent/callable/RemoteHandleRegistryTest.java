@@ -0,0 +1,281 @@
+/*
+ * File: RemoteHandleRegistryTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.concurrent.callable;
+
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for the {@link RemoteHandleRegistry}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class RemoteHandleRegistryTest
+{
+    /**
+     * The number of instances produced by {@link MapProducer}s.
+     */
+    private static final AtomicInteger PRODUCED = new AtomicInteger();
+
+
+    /**
+     * Ensure that an instance is produced once per key and invoked by method-id.
+     */
+    @Test
+    public void shouldProduceOnceAndInvokeByMethodId() throws Exception
+    {
+        String                           key   = UUID.randomUUID().toString();
+        int                              count = PRODUCED.get();
+        RemoteHandleRegistry.MethodTable table = RemoteHandleRegistry.MethodTable.of(Map.class);
+
+        long handle = new RemoteHandleRegistry.Registration(key, new MapProducer(), Map.class, null).call();
+
+        assertThat(new RemoteHandleRegistry.Registration(key, new MapProducer(), Map.class, null).call(), is(handle));
+        assertThat(PRODUCED.get(), is(count + 1));
+
+        int put  = table.getMethodId(Map.class.getMethod("put", Object.class, Object.class));
+        int get  = table.getMethodId(Map.class.getMethod("get", Object.class));
+        int size = table.getMethodId(Map.class.getMethod("size"));
+
+        assertThat(new RemoteHandleRegistry.Invocation(handle, put, new Object[] {"a", 1}).call(), is(nullValue()));
+        assertThat(new RemoteHandleRegistry.Invocation(handle, put, new Object[] {"a", 2}).call(), is(1));
+        assertThat(new RemoteHandleRegistry.Invocation(handle, get, new Object[] {"a"}).call(), is(2));
+        assertThat(new RemoteHandleRegistry.Invocation(handle, size, new Object[0]).call(), is(1));
+
+        // the handle remains usable until both registrations are released
+        assertThat(new RemoteHandleRegistry.Release(handle).call(), is(true));
+        assertThat(new RemoteHandleRegistry.Invocation(handle, size, new Object[0]).call(), is(1));
+
+        // once released the handle can no longer be used
+        assertThat(new RemoteHandleRegistry.Release(handle).call(), is(true));
+        assertThat(new RemoteHandleRegistry.Release(handle).call(), is(false));
+
+        try
+        {
+            new RemoteHandleRegistry.Invocation(handle, size, new Object[0]).call();
+            fail("An IllegalStateException should have been thrown");
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Ensure that the {@link RemoteMethodInvocation.Interceptor} of a registration is used
+     * and that exceptions thrown by methods are not wrapped.
+     */
+    @Test
+    public void shouldInterceptInvocationsAndPropagateExceptions() throws Exception
+    {
+        RecordingInterceptor interceptor = new RecordingInterceptor();
+        long                 handle      = RemoteHandleRegistry.register(UUID.randomUUID().toString(),
+                                                                             new MapProducer(),
+                                                                             Map.class,
+                                                                             interceptor);
+
+        RemoteHandleRegistry.MethodTable table  = RemoteHandleRegistry.MethodTable.of(Map.class);
+        Method                           remove = Map.class.getMethod("remove", Object.class);
+
+        RemoteHandleRegistry.invoke(handle, table.getMethodId(remove), new Object[] {"a"});
+
+        assertThat(interceptor.events.toString(), is("[before:remove, after:remove]"));
+
+        try
+        {
+            RemoteHandleRegistry.invoke(handle,
+                                        table.getMethodId(Map.class.getMethod("putAll", Map.class)),
+                                        new Object[] {null});
+            fail("A NullPointerException should have been thrown");
+        }
+        catch (NullPointerException e)
+        {
+            assertThat(interceptor.events.get(interceptor.events.size() - 1), is("exception:putAll"));
+        }
+
+        RemoteHandleRegistry.release(handle);
+    }
+
+
+    /**
+     * Ensure that an instance that is no longer valid is produced again, without changing its handle.
+     */
+    @Test
+    public void shouldProduceInvalidInstancesAgain() throws Exception
+    {
+        int  count  = PRODUCED.get();
+        long handle = RemoteHandleRegistry.register(UUID.randomUUID().toString(),
+                                                    new MapProducer(),
+                                                    Map.class,
+                                                    new ValidatingInterceptor());
+
+        RemoteHandleRegistry.MethodTable table = RemoteHandleRegistry.MethodTable.of(Map.class);
+        int put  = table.getMethodId(Map.class.getMethod("put", Object.class, Object.class));
+        int size = table.getMethodId(Map.class.getMethod("size"));
+
+        RemoteHandleRegistry.invoke(handle, put, new Object[] {"a", 1});
+
+        assertThat(RemoteHandleRegistry.invoke(handle, size, new Object[0]), is(1));
+        assertThat(PRODUCED.get(), is(count + 1));
+
+        // invalidate the instance
+        RemoteHandleRegistry.invoke(handle, put, new Object[] {"closed", 1});
+
+        assertThat(RemoteHandleRegistry.invoke(handle, size, new Object[0]), is(0));
+        assertThat(PRODUCED.get(), is(count + 2));
+
+        RemoteHandleRegistry.release(handle);
+    }
+
+
+    /**
+     * Ensure that method-ids are independent of the order in which methods are reported.
+     */
+    @Test
+    public void shouldAssignConsistentMethodIds()
+    {
+        RemoteHandleRegistry.MethodTable table = RemoteHandleRegistry.MethodTable.of(Map.class);
+
+        for (Method method : Map.class.getMethods())
+        {
+            assertThat(table.getMethod(table.getMethodId(method)), is(method));
+        }
+
+        assertThat(RemoteHandleRegistry.MethodTable.of(Map.class) == table, is(true));
+    }
+
+
+    /**
+     * A {@link RemoteCallable} producing a new {@link HashMap}.
+     */
+    public static class MapProducer implements RemoteCallable<Map<String, Integer>>
+    {
+        @Override
+        public Map<String, Integer> call()
+        {
+            PRODUCED.incrementAndGet();
+
+            return new HashMap<>();
+        }
+    }
+
+
+    /**
+     * A {@link RemoteMethodInvocation.Interceptor} that records the invocations it intercepts.
+     */
+    public static class RecordingInterceptor implements RemoteMethodInvocation.Interceptor
+    {
+        private final List<String> events = new ArrayList<>();
+
+
+        @Override
+        public void onBeforeRemoteInvocation(Method   method,
+                                             Object[] arguments)
+        {
+        }
+
+
+        @Override
+        public Object onAfterRemoteInvocation(Method   method,
+                                              Object[] arguments,
+                                              Object   result)
+        {
+            return result;
+        }
+
+
+        @Override
+        public Exception onRemoteInvocationException(Method    method,
+                                                     Object[]  arguments,
+                                                     Exception exception)
+        {
+            return exception;
+        }
+
+
+        @Override
+        public void onBeforeInvocation(Object   instance,
+                                       Method   method,
+                                       Object[] arguments)
+        {
+            events.add("before:" + method.getName());
+        }
+
+
+        @Override
+        public Object onAfterInvocation(Object   instance,
+                                        Method   method,
+                                        Object[] arguments,
+                                        Object   result)
+        {
+            events.add("after:" + method.getName());
+
+            return result;
+        }
+
+
+        @Override
+        public Exception onInvocationException(Object    instance,
+                                               Method    method,
+                                               Object[]  arguments,
+                                               Exception exception)
+        {
+            events.add("exception:" + method.getName());
+
+            return exception;
+        }
+    }
+
+
+    /**
+     * A {@link RecordingInterceptor} that is also a {@link RemoteHandleRegistry.InstanceValidator}, considering
+     * {@link Map}s to be invalid once they contain a <code>"closed"</code> key.
+     */
+    public static class ValidatingInterceptor extends RecordingInterceptor
+        implements RemoteHandleRegistry.InstanceValidator
+    {
+        @Override
+        public boolean isValid(Object instance)
+        {
+            return !((Map) instance).containsKey("closed");
+        }
+    }
+}
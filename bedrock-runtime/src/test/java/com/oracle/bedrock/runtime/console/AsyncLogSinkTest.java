@@ -0,0 +1,199 @@
+/*
+ * File: AsyncLogSinkTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import com.oracle.bedrock.runtime.LocalPlatform;
+import com.oracle.bedrock.runtime.java.JavaApplication;
+import com.oracle.bedrock.runtime.java.options.ClassName;
+import com.oracle.bedrock.runtime.options.Arguments;
+import com.oracle.bedrock.runtime.options.Console;
+import com.oracle.bedrock.runtime.options.DisplayName;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Tests for {@link AsyncLogSink} and {@link AsyncFileApplicationConsole}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class AsyncLogSinkTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    @Test
+    public void shouldWriteManyFilesUsingSharedSink() throws Exception
+    {
+        File folder = temporaryFolder.newFolder();
+
+        try (AsyncLogSink sink = new AsyncLogSink())
+        {
+            List<AsyncFileApplicationConsole> consoles = new ArrayList<>();
+
+            for (int i = 0; i < 10; i++)
+            {
+                consoles.add(new AsyncFileApplicationConsole(sink, new File(folder, "app-" + i + ".log"), false));
+            }
+
+            for (int line = 0; line < 100; line++)
+            {
+                for (AsyncFileApplicationConsole console : consoles)
+                {
+                    console.getOutputWriter().println("Line " + line);
+                    console.getOutputWriter().flush();
+                }
+            }
+
+            assertThat(sink.flush(1, TimeUnit.MINUTES), is(true));
+
+            for (AsyncFileApplicationConsole console : consoles)
+            {
+                List<String> lines = Files.readAllLines(console.getFile().toPath());
+
+                assertThat(lines.size(), is(100));
+                assertThat(lines.get(99), is("Line 99"));
+
+                console.close();
+            }
+        }
+    }
+
+
+    @Test
+    public void shouldRotateAndCompressFiles() throws Exception
+    {
+        File folder = temporaryFolder.newFolder();
+        File file   = new File(folder, "app.log");
+
+        try (AsyncLogSink sink = new AsyncLogSink(100, 2, true))
+        {
+            AsyncFileApplicationConsole console = new AsyncFileApplicationConsole(sink, file, false);
+
+            for (int line = 0; line < 50; line++)
+            {
+                console.getOutputWriter().println("Line " + line);
+                console.getOutputWriter().flush();
+
+                // ensure lines are written in separate batches
+                sink.flush(1, TimeUnit.MINUTES);
+            }
+
+            console.close();
+        }
+
+        assertThat(file.length(), lessThanOrEqualTo(100L));
+        assertThat(new File(folder, "app.log.1.gz").exists(), is(true));
+        assertThat(new File(folder, "app.log.2.gz").exists(), is(true));
+        assertThat(new File(folder, "app.log.3.gz").exists(), is(false));
+        assertThat(new File(folder, "app.log.1").exists(), is(false));
+
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(new GZIPInputStream(new FileInputStream(new File(folder,
+                                                                                                           "app.log.1.gz"))))))
+        {
+            List<String> lines = reader.lines().collect(Collectors.toList());
+
+            assertThat(lines.get(0).startsWith("Line "), is(true));
+        }
+
+        List<String> lines = Files.readAllLines(file.toPath());
+
+        assertThat(lines.get(lines.size() - 1), is("Line 49"));
+    }
+
+
+    @Test
+    public void shouldRotateFilesInOrder() throws Exception
+    {
+        File folder = temporaryFolder.newFolder();
+        File file   = new File(folder, "app.log");
+
+        try (AsyncLogSink sink = new AsyncLogSink(10, 3, false))
+        {
+            AsyncFileApplicationConsole console = new AsyncFileApplicationConsole(sink, file, false);
+
+            for (int line = 0; line < 4; line++)
+            {
+                console.getOutputWriter().println("Line " + line);
+                console.getOutputWriter().flush();
+
+                // ensure lines are written in separate batches
+                sink.flush(1, TimeUnit.MINUTES);
+            }
+
+            console.close();
+        }
+
+        // the most recently rotated file has the lowest number
+        assertThat(Files.readAllLines(file.toPath()).get(0), is("Line 3"));
+        assertThat(Files.readAllLines(new File(folder, "app.log.1").toPath()).get(0), is("Line 2"));
+        assertThat(Files.readAllLines(new File(folder, "app.log.2").toPath()).get(0), is("Line 1"));
+        assertThat(Files.readAllLines(new File(folder, "app.log.3").toPath()).get(0), is("Line 0"));
+
+        // no files remain that are yet to be renumbered
+        assertThat(folder.list().length, is(4));
+    }
+
+
+    @Test
+    public void shouldLaunchApplicationUsingAsyncFileConsole() throws Exception
+    {
+        File folder = temporaryFolder.newFolder();
+
+        try (JavaApplication application = LocalPlatform.get().launch(JavaApplication.class,
+                                                                      ClassName.of(SimpleApp.class),
+                                                                      Arguments.of("1", "2"),
+                                                                      DisplayName.of("simple"),
+                                                                      Console.asyncFile(folder.getAbsolutePath(),
+                                                                                        "test")))
+        {
+            application.waitFor();
+        }
+
+        List<String> lines = Files.readAllLines(new File(folder, "test-simple").toPath());
+
+        assertThat(lines.stream().anyMatch(line -> line.endsWith("Out: 1")), is(true));
+        assertThat(lines.stream().anyMatch(line -> line.endsWith("Err: 2")), is(true));
+    }
+}
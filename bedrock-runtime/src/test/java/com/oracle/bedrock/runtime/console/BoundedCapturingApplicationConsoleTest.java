@@ -0,0 +1,152 @@
+/*
+ * File: BoundedCapturingApplicationConsoleTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import com.oracle.bedrock.runtime.LocalPlatform;
+import com.oracle.bedrock.runtime.java.JavaApplication;
+import com.oracle.bedrock.runtime.java.options.ClassName;
+import com.oracle.bedrock.runtime.options.Arguments;
+import com.oracle.bedrock.runtime.options.Console;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Queue;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link BoundedCapturingApplicationConsole}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class BoundedCapturingApplicationConsoleTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    @Test
+    public void shouldCaptureStdOutAndStdErr() throws Exception
+    {
+        BoundedCapturingApplicationConsole console = new BoundedCapturingApplicationConsole();
+
+        try (JavaApplication application = LocalPlatform.get().launch(JavaApplication.class,
+                                                                      ClassName.of(SimpleApp.class),
+                                                                      Arguments.of("1", "2", "3"),
+                                                                      Console.of(console)))
+        {
+            application.waitFor();
+        }
+
+        console.close();
+
+        assertThat(console.stdoutThread.isAlive(), is(false));
+        assertThat(console.stderrThread.isAlive(), is(false));
+
+        assertThat(console.getOutput().lines().limit(3).collect(Collectors.toList()),
+                   contains("Out: 1", "Out: 2", "Out: 3"));
+        assertThat(console.getError().lines().limit(3).collect(Collectors.toList()),
+                   contains("Err: 1", "Err: 2", "Err: 3"));
+        assertThat(console.getOutput().getSpillFile(), is(nullValue()));
+    }
+
+
+    @Test
+    public void shouldDiscardOldestLines()
+    {
+        BoundedCapturingApplicationConsole console = new BoundedCapturingApplicationConsole(64);
+        PrintWriter                        writer  = console.getOutputWriter();
+        long                               bytes   = 0;
+
+        for (int i = 0; i < 100; i++)
+        {
+            writer.println("Line: " + i);
+
+            bytes += ("Line: " + i + System.lineSeparator()).length();
+        }
+
+        writer.flush();
+        console.close();
+
+        Queue<String> lines = console.getCapturedOutputLines();
+
+        assertThat(lines.size(), lessThan(10));
+        assertThat(lines.stream().allMatch(line -> line.startsWith("Line: ")), is(true));
+        assertThat(lines.peek(), is("Line: " + (100 - lines.size())));
+        assertThat(console.getOutput().getCapturedByteCount(), is(bytes));
+        assertThat(console.getOutput().getCapturedByteCount() - console.getOutput().getDiscardedByteCount(),
+                   lessThan(65L));
+
+        console.getOutput().clear();
+
+        assertThat(console.getCapturedOutputLines().isEmpty(), is(true));
+    }
+
+
+    @Test
+    public void shouldFindLinesInRingAndHistory() throws Exception
+    {
+        BoundedCapturingApplicationConsole console = new BoundedCapturingApplicationConsole(64,
+                                                                                            temporaryFolder.newFolder());
+        PrintWriter                        writer  = console.getOutputWriter();
+
+        for (int i = 0; i < 100; i++)
+        {
+            writer.println("Line: " + i);
+        }
+
+        writer.println("Unicode: é中😀");
+        writer.flush();
+        console.close();
+
+        BoundedCapturingApplicationConsole.CapturedOutput output = console.getOutput();
+
+        assertThat(output.history().count(), is(101L));
+        assertThat(output.history().skip(100).findFirst().get(), is("Unicode: é中😀"));
+
+        List<String> found = output.findInHistory(Pattern.compile("Line: 1\\d$")).collect(Collectors.toList());
+
+        assertThat(found.size(), is(10));
+        assertThat(found.get(0), is("Line: 10"));
+
+        assertThat(output.find(Pattern.compile("Line: 1\\d$")).count(), is(0L));
+        assertThat(output.find(Pattern.compile("Line: 99")).collect(Collectors.toList()), contains("Line: 99"));
+        assertThat(output.lines().reduce((first, second) -> second).get(), is("Unicode: é中😀"));
+
+        // the spill file of the unused error stream is empty
+        assertThat(console.getError().history().count(), is(0L));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * File: MultiPatternMatcherTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests for {@link MultiPatternMatcher} and {@link LinePattern}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class MultiPatternMatcherTest
+{
+    @Test
+    public void shouldDetermineLiteralPrefixes()
+    {
+        assertThat(LinePattern.regex("Member joined: \\d+").getLiteral(), is("Member joined: "));
+        assertThat(LinePattern.regex("^Started (\\w+)").getLiteral(), is("Started "));
+        assertThat(LinePattern.regex("Service\\.start.*").getLiteral(), is("Service.start"));
+        assertThat(LinePattern.regex("colou?r").getLiteral(), is("colo"));
+        assertThat(LinePattern.regex("ab+c").getLiteral(), is("ab"));
+        assertThat(LinePattern.regex("start|stop").getLiteral(), is(""));
+        assertThat(LinePattern.regex(".*joined").getLiteral(), is(""));
+        assertThat(LinePattern.regex(Pattern.compile("joined", Pattern.CASE_INSENSITIVE)).getLiteral(), is(""));
+        assertThat(LinePattern.regex(Pattern.compile("a.b", Pattern.LITERAL)).getLiteral(), is("a.b"));
+    }
+
+
+    @Test
+    public void shouldMatchOverlappingLiterals()
+    {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList(LinePattern.literal("he"),
+                                                                            LinePattern.literal("she"),
+                                                                            LinePattern.literal("his"),
+                                                                            LinePattern.literal("hers")));
+
+        assertThat(matcher.match("ushers"), is(bits(0, 1, 3)));
+        assertThat(matcher.match("this"), is(bits(2)));
+        assertThat(matcher.match("nothing"), is(bits()));
+        assertThat(matcher.match(""), is(bits()));
+    }
+
+
+    @Test
+    public void shouldMatchLiteralsAndRegularExpressions()
+    {
+        List<LinePattern> patterns = Arrays.asList(LinePattern.regex("Member joined: \\d+"),
+                                                   LinePattern.literal("Service started"),
+                                                   LinePattern.regex(".*left$"),
+                                                   LinePattern.regex("Member joined: [a-z]+"));
+
+        MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+
+        assertThat(matcher.match("Member joined: 42"), is(bits(0)));
+        assertThat(matcher.match("Member joined: abc"), is(bits(3)));
+        assertThat(matcher.match("Service started and Member joined: 7"), is(bits(0, 1)));
+        assertThat(matcher.match("Member 3 left"), is(bits(2)));
+        assertThat(matcher.match("Member joined: "), is(bits()));
+
+        // each pattern matches the same as it does on its own
+        for (String line : Arrays.asList("Member joined: 42", "Service started", "Member 3 left", "Other"))
+        {
+            BitSet matched = matcher.match(line);
+
+            for (int i = 0; i < patterns.size(); i++)
+            {
+                assertThat(matched.get(i), is(patterns.get(i).test(line)));
+            }
+        }
+    }
+
+
+    @Test
+    public void shouldDispatchToListenersInRegistrationOrder()
+    {
+        EventsApplicationConsole console = new EventsApplicationConsole();
+        List<String>             events  = Collections.synchronizedList(new ArrayList<>());
+
+        console.withStdOutListener(LinePattern.regex("joined: (\\d+)"), line -> events.add("joined:" + line));
+        console.withStdOutListener(line -> line.endsWith("2"), line -> events.add("predicate:" + line));
+        console.withStdOutListener(LinePattern.literal("joined"), line -> events.add("literal:" + line));
+
+        PrintWriter writer = console.getOutputWriter();
+
+        writer.println("joined: 1");
+        writer.println("joined: 2");
+        writer.println("left: 2");
+        writer.flush();
+
+        console.close();
+
+        assertThat(events,
+                   contains("joined:joined: 1",
+                            "literal:joined: 1",
+                            "joined:joined: 2",
+                            "predicate:joined: 2",
+                            "literal:joined: 2",
+                            "predicate:left: 2"));
+    }
+
+
+    /**
+     * Creates a {@link BitSet} with the specified bits set.
+     *
+     * @param indexes  the bits to set
+     *
+     * @return a {@link BitSet}
+     */
+    private static BitSet bits(int... indexes)
+    {
+        BitSet bits = new BitSet();
+
+        for (int index : indexes)
+        {
+            bits.set(index);
+        }
+
+        return bits;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * File: OutputToFileRedirectorTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.console;
+
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.runtime.ApplicationConsole;
+import com.oracle.bedrock.runtime.LocalPlatform;
+import com.oracle.bedrock.runtime.java.JavaApplication;
+import com.oracle.bedrock.runtime.java.options.ClassName;
+import com.oracle.bedrock.runtime.options.Arguments;
+import com.oracle.bedrock.runtime.options.Console;
+import com.oracle.bedrock.runtime.options.ConsoleErrorRedirector;
+import com.oracle.bedrock.runtime.options.ConsoleInputRedirector;
+import com.oracle.bedrock.runtime.options.ConsoleOutputRedirector;
+import com.oracle.bedrock.runtime.options.ErrorStreamRedirection;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link OutputToFileRedirector} and {@link InputFromFileRedirector}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class OutputToFileRedirectorTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    @Test
+    public void shouldTransferPipedOutputToFile() throws Exception
+    {
+        ApplicationConsole     console    = mock(ApplicationConsole.class);
+        File                   file       = temporaryFolder.newFile();
+        PipedOutputStream      pipe       = new PipedOutputStream();
+        PipedInputStream       in         = new PipedInputStream(pipe);
+        OutputToFileRedirector redirector = new OutputToFileRedirector(file, 4);
+
+        Files.write(file.toPath(), "Existing ".getBytes());
+
+        redirector.start("foo", "x", in, console, 1234, false);
+
+        pipe.write("Hello ".getBytes());
+        pipe.write("World!".getBytes());
+        pipe.flush();
+        pipe.close();
+
+        redirector.join();
+
+        assertThat(redirector.isProcessRedirected(), is(false));
+        assertThat(new String(Files.readAllBytes(file.toPath())), is("Existing Hello World!"));
+    }
+
+
+    @Test
+    public void shouldRedirectProcessStreamsUsingFiles() throws Exception
+    {
+        File input  = temporaryFolder.newFile();
+        File output = temporaryFolder.newFile();
+
+        Files.write(input.toPath(), Arrays.asList("Foo", "Bar"), StandardCharsets.UTF_8);
+
+        OutputToFileRedirector  outputRedirector = new OutputToFileRedirector(output);
+        InputFromFileRedirector inputRedirector  = new InputFromFileRedirector(input);
+
+        try (JavaApplication application = LocalPlatform.get().launch(JavaApplication.class,
+                                                                      ClassName.of(EchoApp.class),
+                                                                      Console.system(),
+                                                                      ConsoleOutputRedirector.of(outputRedirector),
+                                                                      ConsoleInputRedirector.of(inputRedirector)))
+        {
+            assertThat(application.waitFor(), is(0));
+        }
+
+        // the operating system redirected the streams, so the redirectors never started
+        assertThat(outputRedirector.isProcessRedirected(), is(true));
+        assertThat(outputRedirector.getState(), is(Thread.State.NEW));
+        assertThat(inputRedirector.isProcessRedirected(), is(true));
+        assertThat(inputRedirector.getState(), is(Thread.State.NEW));
+
+        List<String> lines = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+
+        assertThat(lines, hasItems("Echo: Foo", "Echo: Bar"));
+    }
+
+
+    @Test
+    public void shouldNotRedirectMergedErrorStream() throws Exception
+    {
+        File                   output           = temporaryFolder.newFile();
+        File                   error            = temporaryFolder.newFile();
+        OutputToFileRedirector outputRedirector = new OutputToFileRedirector(output);
+        OutputToFileRedirector errorRedirector  = new OutputToFileRedirector(error);
+        ProcessBuilder         processBuilder   = new ProcessBuilder("java");
+
+        OutputRedirector.redirectProcess(processBuilder,
+                                         OptionsByType.of(ConsoleOutputRedirector.of(outputRedirector),
+                                                          ConsoleErrorRedirector.of(errorRedirector),
+                                                          ErrorStreamRedirection.enabled()));
+
+        assertThat(outputRedirector.isProcessRedirected(), is(true));
+        assertThat(processBuilder.redirectOutput().file(), is(output));
+
+        // stderr is merged into stdout, so it's not redirected separately
+        assertThat(errorRedirector.isProcessRedirected(), is(false));
+        assertThat(processBuilder.redirectError(), is(ProcessBuilder.Redirect.PIPE));
+    }
+
+
+    @Test
+    public void shouldPipeFileToInput() throws Exception
+    {
+        File input = temporaryFolder.newFile();
+
+        Files.write(input.toPath(), Arrays.asList("Foo", "Bar"), StandardCharsets.UTF_8);
+
+        ApplicationConsole      console    = mock(ApplicationConsole.class);
+        PipedInputStream        sink       = new PipedInputStream();
+        PipedOutputStream       pipe       = new PipedOutputStream(sink);
+        InputFromFileRedirector redirector = new InputFromFileRedirector(input);
+
+        redirector.start(pipe, console);
+        redirector.join();
+
+        assertThat(redirector.isProcessRedirected(), is(false));
+
+        byte[] bytes = new byte[sink.available()];
+
+        sink.read(bytes);
+
+        assertThat(new String(bytes, StandardCharsets.UTF_8), is("Foo" + System.lineSeparator() + "Bar"
+                                                                 + System.lineSeparator()));
+    }
+}
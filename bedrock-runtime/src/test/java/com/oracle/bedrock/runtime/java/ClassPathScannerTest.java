@@ -0,0 +1,163 @@
+/*
+ * File: ClassPathScannerTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit Tests for the {@link ClassPathScanner}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class ClassPathScannerTest
+{
+    /**
+     * A {@link TemporaryFolder} for the class path elements and index.
+     */
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    @After
+    public void clearCache()
+    {
+        ClassPathScanner.clearCache();
+    }
+
+
+    /**
+     * Ensure that the resource names of directories and archives are returned in class path order.
+     */
+    @Test
+    public void shouldGetResourceNamesOfClassPath() throws Exception
+    {
+        File directory = temporaryFolder.newFolder("classes");
+
+        new File(directory, "com/acme").mkdirs();
+        Files.write(new File(directory, "com/acme/A.class").toPath(), new byte[1]);
+        Files.write(new File(directory, "readme.txt").toPath(), new byte[1]);
+
+        File archive = createArchive("library.jar", "com/acme/B.class", "META-INF/MANIFEST.MF");
+
+        ClassPath    classPath = new ClassPath(directory.getAbsolutePath(), archive.getAbsolutePath());
+        List<String> names     = new ClassPathScanner().getResourceNames(classPath, Pattern.compile(".*\\.class"));
+
+        assertThat(names, is(Arrays.asList("com/acme/A.class", "com/acme/B.class")));
+    }
+
+
+    /**
+     * Ensure that the resource names of archives are cached until the archive changes.
+     */
+    @Test
+    public void shouldCacheArchiveResourceNames() throws Exception
+    {
+        File             archive = createArchive("library.jar", "A.class");
+        ClassPathScanner scanner = new ClassPathScanner();
+        List<String>     names   = scanner.getResourceNames(archive);
+
+        assertThat(names, is(Arrays.asList("A.class")));
+        assertThat(scanner.getResourceNames(archive), is(sameInstance(names)));
+
+        // replace the archive with different content (and modification time)
+        createArchive("library.jar", "A.class", "B.class");
+        archive.setLastModified(archive.lastModified() + 2000);
+
+        List<String> changed = scanner.getResourceNames(archive);
+
+        assertThat(changed, is(not(sameInstance(names))));
+        assertThat(changed, is(Arrays.asList("A.class", "B.class")));
+    }
+
+
+    /**
+     * Ensure that the resource names of archives are read from an on-disk index.
+     */
+    @Test
+    public void shouldUseOnDiskIndex() throws Exception
+    {
+        File index   = temporaryFolder.newFolder("index");
+        File archive = createArchive("library.jar", "A.class");
+        long size    = archive.length();
+        long time    = archive.lastModified();
+
+        assertThat(new ClassPathScanner(index).getResourceNames(archive), is(Arrays.asList("A.class")));
+        assertThat(index.list().length, is(1));
+
+        ClassPathScanner.clearCache();
+
+        // corrupt the archive, without changing its size or modification time, so it can only be read from the index
+        Files.write(archive.toPath(), new byte[(int) size]);
+        archive.setLastModified(time);
+
+        assertThat(new ClassPathScanner(index).getResourceNames(archive), is(Arrays.asList("A.class")));
+    }
+
+
+    /**
+     * Creates an archive containing the specified (empty) entries.
+     *
+     * @param name     the name of the archive
+     * @param entries  the entries
+     *
+     * @return the archive
+     */
+    private File createArchive(String    name,
+                               String... entries) throws Exception
+    {
+        File archive = new File(temporaryFolder.getRoot(), name);
+
+        try (ZipOutputStream stream = new ZipOutputStream(new FileOutputStream(archive)))
+        {
+            for (String entry : entries)
+            {
+                stream.putNextEntry(new ZipEntry(entry));
+                stream.write(1);
+                stream.closeEntry();
+            }
+        }
+
+        return archive;
+    }
+}
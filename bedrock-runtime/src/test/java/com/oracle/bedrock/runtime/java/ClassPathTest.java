@@ -33,8 +33,12 @@ import org.junit.Test;
 
 import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -350,4 +354,103 @@ public class ClassPathTest
     {
         ClassPath classPath = ClassPath.ofClass(JavaApplication.MetaClass.class);
     }
+
+
+    /**
+     * Ensure that the {@link ClassPath} of a class is only located once for a {@link ClassLoader}.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void shouldMemoizeClassPathOfClass() throws Exception
+    {
+        ClassPath classPath = ClassPath.ofClass(ClassPathTest.class);
+
+        assertThat(ClassPath.ofClass(ClassPathTest.class), is(sameInstance(classPath)));
+        assertThat(ClassPath.ofResource(ClassPathTest.class.getName().replace(".", "/") + ".class",
+                                        ClassPathTest.class.getClassLoader()),
+                   is(sameInstance(classPath)));
+    }
+
+
+    /**
+     * Ensure that a {@link ClassPath.Builder} produces the same {@link ClassPath} as repeatedly
+     * combining {@link ClassPath}s.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void shouldBuildClassPath() throws Exception
+    {
+        ClassPath first  = new ClassPath("foo.jar", "bar.jar").excluding(".*bar.*");
+        ClassPath second = new ClassPath("bar.jar", "target/classes");
+
+        ClassPath built  = new ClassPath.Builder().add(first).add(second).add(ClassPathTest.class).build();
+
+        assertThat(built, is(new ClassPath(new ClassPath(first, second), ClassPath.ofClass(ClassPathTest.class))));
+        assertThat(built.contains("bar.jar"), is(false));
+    }
+
+
+    /**
+     * Ensure that a {@link ClassPath.Builder} assembles the same {@link ClassPath} as repeatedly combining
+     * {@link ClassPath}s for a large number of {@link Option}s, retaining the order of the paths and
+     * removing duplicate locations.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void shouldAssembleClassPathForManyOptions() throws Exception
+    {
+        // the classes of the options for a launch (many of them share a location)
+        List<Class<?>> optionClasses = new ArrayList<>();
+
+        for (int i = 0; i < 60; i++)
+        {
+            optionClasses.add(i % 3 == 0
+                              ? com.oracle.bedrock.runtime.java.options.ClassName.class
+                              : i % 3 == 1 ? Option.class : ClassPathTest.class);
+        }
+
+        // a large base class path
+        String[] base = new String[200];
+
+        for (int i = 0; i < base.length; i++)
+        {
+            base[i] = "lib/library-" + i + ".jar";
+        }
+
+        ClassPath         baseClassPath = new ClassPath(base);
+        ClassPath         combined      = baseClassPath;
+        ClassPath.Builder builder       = new ClassPath.Builder().add(baseClassPath);
+
+        for (Class<?> optionClass : optionClasses)
+        {
+            combined = new ClassPath(combined, ClassPath.ofClass(optionClass));
+
+            builder.add(optionClass);
+        }
+
+        ClassPath built = builder.build();
+
+        // the base paths come first, followed by the location of each option class in the order first added
+        List<String> expected = new ArrayList<>(Arrays.asList(base));
+
+        for (Class<?> optionClass : optionClasses.subList(0, 3))
+        {
+            for (String path : ClassPath.ofClass(optionClass))
+            {
+                expected.add(path);
+            }
+        }
+
+        List<String> paths = new ArrayList<>();
+
+        built.forEach(paths::add);
+
+        assertThat(paths, is(expected));
+        assertThat(built.size(), is(base.length + 3));
+        assertThat(built, is(combined));
+    }
 }
+
@@ -0,0 +1,267 @@
+/*
+ * File: RemoteChannelJMXConnectorTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.features;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.options.Timeout;
+import com.oracle.bedrock.runtime.LocalPlatform;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
+import com.oracle.bedrock.runtime.java.options.SystemProperties;
+import com.oracle.bedrock.runtime.java.profiles.JmxProfile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.AttributeList;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.security.auth.Subject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link RemoteChannelJMXConnector}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class RemoteChannelJMXConnectorTest
+{
+    /**
+     * Ensure that MBean operations are performed over the {@link RemoteChannel}.
+     */
+    @Test
+    public void shouldPerformOperationsOverRemoteChannel() throws Exception
+    {
+        RemoteChannel             channel    = createChannel();
+        RemoteChannelJMXConnector connector  = new RemoteChannelJMXConnector(channel, Timeout.autoDetect());
+        MBeanServerConnection     connection = connector.getMBeanServerConnection();
+        ObjectName                runtime    = new ObjectName("java.lang:type=Runtime");
+
+        Assert.assertThat(connection, instanceOf(BatchedMBeanServerConnection.class));
+        Assert.assertThat(connection.getAttribute(runtime, "Name"), is(ManagementFactory.getRuntimeMXBean().getName()));
+        Assert.assertThat(connection.isRegistered(runtime), is(true));
+        Assert.assertThat(connection.queryNames(new ObjectName("java.lang:type=Runtime,*"), null).contains(runtime),
+                          is(true));
+
+        verify(channel, times(3)).submit(anyCallable(), any(Option[].class));
+    }
+
+
+    /**
+     * Ensure that the attributes of many MBeans are obtained in a single request.
+     */
+    @Test
+    public void shouldGetAttributesInSingleRequest() throws Exception
+    {
+        RemoteChannel                channel    = createChannel();
+        RemoteChannelJMXConnector    connector  = new RemoteChannelJMXConnector(channel, Timeout.autoDetect());
+        BatchedMBeanServerConnection connection =
+            (BatchedMBeanServerConnection) connector.getMBeanServerConnection();
+
+        ObjectName                     pattern = new ObjectName("java.lang:type=MemoryPool,*");
+        Map<ObjectName, AttributeList> pools   = connection.queryAttributes(pattern, null, "Name", "Type");
+
+        Assert.assertThat(pools.keySet(), is(ManagementFactory.getPlatformMBeanServer().queryNames(pattern, null)));
+
+        for (AttributeList attributes : pools.values())
+        {
+            Assert.assertThat(attributes.size(), is(2));
+        }
+
+        ObjectName                     runtime = new ObjectName("java.lang:type=Runtime");
+        ObjectName                     missing = new ObjectName("bedrock:type=Missing");
+        Set<ObjectName>                names   = new HashSet<>(Arrays.asList(runtime, missing));
+        Map<ObjectName, AttributeList> result  = connection.getAttributes(names, "Name");
+
+        // unregistered MBeans are omitted
+        Assert.assertThat(result.keySet(), is(new HashSet<>(Arrays.asList(runtime))));
+
+        verify(channel, times(2)).submit(anyCallable(), any(Option[].class));
+    }
+
+
+    /**
+     * Ensure that exceptions raised by the MBean server are re-thrown as declared.
+     */
+    @Test(expected = InstanceNotFoundException.class)
+    public void shouldRethrowDeclaredExceptions() throws Exception
+    {
+        RemoteChannelJMXConnector connector = new RemoteChannelJMXConnector(createChannel(), Timeout.autoDetect());
+
+        connector.getMBeanServerConnection().getAttribute(new ObjectName("bedrock:type=Missing"), "Name");
+    }
+
+
+    /**
+     * Ensure that a closed {@link RemoteChannelJMXConnector} can't be used.
+     */
+    @Test(expected = IOException.class)
+    public void shouldNotUseClosedConnector() throws Exception
+    {
+        RemoteChannelJMXConnector connector = new RemoteChannelJMXConnector(createChannel(), Timeout.autoDetect());
+
+        connector.close();
+
+        connector.getMBeanServerConnection();
+    }
+
+
+    /**
+     * Ensure that unsupported operations fail with the {@link IOException}s they declare.
+     */
+    @Test
+    public void shouldFailUnsupportedOperationsWithIOExceptions() throws Exception
+    {
+        RemoteChannelJMXConnector connector  = new RemoteChannelJMXConnector(createChannel(), Timeout.autoDetect());
+        MBeanServerConnection     connection = connector.getMBeanServerConnection();
+        ObjectName                runtime    = new ObjectName("java.lang:type=Runtime");
+
+        try
+        {
+            connector.getMBeanServerConnection(new Subject());
+            Assert.fail("An IOException should have been thrown");
+        }
+        catch (IOException e)
+        {
+            // expected as delegation subjects aren't supported
+        }
+
+        try
+        {
+            connection.addNotificationListener(runtime, (notification, handback) -> {}, null, null);
+            Assert.fail("An IOException should have been thrown");
+        }
+        catch (IOException e)
+        {
+            // expected as local notification listeners aren't supported
+        }
+    }
+
+
+    /**
+     * Ensure that the {@link JmxProfile} doesn't configure RMI when using the {@link RemoteChannel}.
+     */
+    @Test
+    public void shouldConfigureProfileWithoutRmi()
+    {
+        OptionsByType optionsByType = OptionsByType.empty();
+
+        JmxProfile.enabled().compose(JmxProfile.remoteChannel(true)).onLaunching(LocalPlatform.get(),
+                                                                                  null,
+                                                                                  optionsByType);
+
+        SystemProperties systemProperties = optionsByType.get(SystemProperties.class);
+
+        Assert.assertThat(systemProperties.getProperty(JmxFeature.BEDROCK_JMX_REMOTE_CHANNEL), is((Object) true));
+        Assert.assertThat(systemProperties.contains(JmxFeature.SUN_MANAGEMENT_JMXREMOTE), is(false));
+        Assert.assertThat(systemProperties.contains(JmxFeature.SUN_MANAGEMENT_JMXREMOTE_PORT), is(false));
+    }
+
+
+    /**
+     * Create a mock {@link RemoteChannel} that serializes submitted {@link RemoteCallable}s
+     * and their results, executing the {@link RemoteCallable}s locally.
+     *
+     * @return  a mock {@link RemoteChannel}
+     */
+    private RemoteChannel createChannel()
+    {
+        RemoteChannel channel = mock(RemoteChannel.class);
+
+        when(channel.submit(anyCallable(), any(Option[].class))).thenAnswer(invocation -> {
+                CompletableFuture<Object> future = new CompletableFuture<>();
+
+                try
+                {
+                    RemoteCallable<?> callable = (RemoteCallable<?>) copy(invocation.getArgument(0));
+
+                    future.complete(copy(callable.call()));
+                }
+                catch (Exception e)
+                {
+                    future.completeExceptionally(e);
+                }
+
+                return future;
+            });
+
+        return channel;
+    }
+
+
+    /**
+     * Obtains a Mockito argument matcher for any {@link RemoteCallable}.
+     *
+     * @return  <code>null</code>, having registered the matcher
+     */
+    private static RemoteCallable<Object> anyCallable()
+    {
+        return any();
+    }
+
+
+    /**
+     * Copies an {@link Object} using Java serialization.
+     *
+     * @param object  the {@link Object} to copy
+     *
+     * @return  the copy of the {@link Object}
+     */
+    private Object copy(Object object) throws IOException, ClassNotFoundException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes))
+        {
+            output.writeObject(object);
+        }
+
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            return input.readObject();
+        }
+    }
+}
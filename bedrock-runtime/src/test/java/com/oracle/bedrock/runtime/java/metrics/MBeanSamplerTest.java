@@ -0,0 +1,414 @@
+/*
+ * File: MBeanSamplerTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.metrics;
+
+import com.oracle.bedrock.deferred.DeferredHelper;
+import com.oracle.bedrock.diagnostics.DiagnosticsRecording;
+import com.oracle.bedrock.predicate.Predicates;
+import com.oracle.bedrock.runtime.LocalPlatform;
+import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
+import com.oracle.bedrock.runtime.concurrent.options.StreamName;
+import com.oracle.bedrock.runtime.console.CapturingApplicationConsole;
+import com.oracle.bedrock.runtime.console.EchoApp;
+import com.oracle.bedrock.runtime.java.JavaApplication;
+import com.oracle.bedrock.runtime.java.options.ClassName;
+import com.oracle.bedrock.runtime.options.Console;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static com.oracle.bedrock.deferred.DeferredHelper.eventually;
+import static com.oracle.bedrock.deferred.DeferredHelper.invoking;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the {@link MBeanSampler}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class MBeanSamplerTest
+{
+    /**
+     * The value of the {@link Counter} MBean.
+     */
+    private static final AtomicLong COUNT = new AtomicLong();
+
+
+    /**
+     * Ensure that delta encoded samples are decoded to the sampled values.
+     */
+    @Test
+    public void shouldDecodeDeltaEncodedSamples() throws Exception
+    {
+        ObjectName name = new ObjectName("bedrock:type=Counter");
+
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new Counter(), name);
+
+        try
+        {
+            MetricStore           store    = new MetricStore();
+            MBeanSampler.Receiver receiver = new MBeanSampler.Receiver("local", store);
+            MBeanMetric           metric   = MBeanMetric.of(name, "Count", "Ratio");
+
+            // deliver raised batches directly to the receiver
+            RemoteChannel channel = mock(RemoteChannel.class, invocation -> {
+                    if (invocation.getMethod().getName().equals("raise"))
+                    {
+                        receiver.onEvent(invocation.getArgument(0));
+                    }
+
+                    return CompletableFuture.completedFuture(null);
+                });
+
+            MBeanSampler.Sampling sampling = new MBeanSampler.Sampling(new MBeanMetric[] {metric},
+                                                                       channel,
+                                                                       StreamName.of("test"),
+                                                                       3);
+
+            long[] counts = {5, 5, 7, 1000000007, -3, -3, 42};
+
+            for (long count : counts)
+            {
+                COUNT.set(count);
+                sampling.run();
+            }
+
+            // only two batches of three samples have been pushed
+            assertThat(store.getSampleCount("local"), is(6L));
+
+            sampling.stop();
+
+            assertThat(store.getSampleCount("local"), is(7L));
+
+            MetricSeries count = store.getSeries("local", name, "Count");
+            MetricSeries ratio = store.getSeries("local", name, "Ratio");
+
+            assertThat(count.isFloatingPoint(), is(false));
+            assertThat(ratio.isFloatingPoint(), is(true));
+
+            // unchanged values are not recorded
+            assertThat(count.size(), is(5));
+            assertThat(count.getValue(0), is((Number) 5L));
+            assertThat(count.getValue(2), is((Number) 1000000007L));
+            assertThat(count.getValue(3), is((Number) (-3L)));
+            assertThat(count.getLatestValue(), is((Number) 42L));
+            assertThat(count.getValueAt(count.getTime(0) - 1), is((Number) null));
+            assertThat(count.getValueAt(Long.MAX_VALUE), is((Number) 42L));
+            assertThat(count.getMinimum(), is(-3.0));
+            assertThat(count.getMaximum(), is(1000000007.0));
+
+            assertThat(ratio.getLatestValue(), is((Number) 10.5));
+            assertThat(ratio.getValue(2), is((Number) 250000001.75));
+            assertThat(ratio.getValue(3), is((Number) (-0.75)));
+
+            List<MetricSeries> series = store.query("local", new ObjectName("bedrock:*"), null);
+
+            assertThat(series.size(), is(2));
+            assertThat(series.get(0), is(count));
+        }
+        finally
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+
+    /**
+     * Ensure that samples are decoded to the sampled values after a batch fails to be pushed.
+     */
+    @Test
+    public void shouldRecoverFromFailedPush() throws Exception
+    {
+        ObjectName name = new ObjectName("bedrock:type=Counter");
+
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new Counter(), name);
+
+        try
+        {
+            MetricStore           store    = new MetricStore();
+            MBeanSampler.Receiver receiver = new MBeanSampler.Receiver("local", store);
+            MBeanMetric           metric   = MBeanMetric.of(name, "Count");
+            AtomicInteger         raised   = new AtomicInteger();
+
+            // fail to deliver the second batch, synchronously, and the fourth batch, asynchronously
+            RemoteChannel channel = mock(RemoteChannel.class, invocation -> {
+                    CompletableFuture<Void> future = new CompletableFuture<>();
+
+                    if (invocation.getMethod().getName().equals("raise"))
+                    {
+                        int batch = raised.incrementAndGet();
+
+                        if (batch == 2)
+                        {
+                            throw new IllegalStateException("failed to raise");
+                        }
+                        else if (batch == 4)
+                        {
+                            future.completeExceptionally(new IllegalStateException("failed to deliver"));
+
+                            return future;
+                        }
+
+                        receiver.onEvent(invocation.getArgument(0));
+                    }
+
+                    future.complete(null);
+
+                    return future;
+                });
+
+            MBeanSampler.Sampling sampling = new MBeanSampler.Sampling(new MBeanMetric[] {metric},
+                                                                       channel,
+                                                                       StreamName.of("test"),
+                                                                       1);
+
+            long[] counts = {1, 2, 3, 3, 10};
+
+            for (long count : counts)
+            {
+                COUNT.set(count);
+                sampling.run();
+            }
+
+            sampling.stop();
+
+            MetricSeries count = store.getSeries("local", name, "Count");
+
+            // the lost batches are omitted, but the values following them are exact
+            assertThat(raised.get(), is(5));
+            assertThat(store.getSampleCount("local"), is(3L));
+            assertThat(count.getValue(0), is((Number) 1L));
+            assertThat(count.getValue(1), is((Number) 3L));
+            assertThat(count.getLatestValue(), is((Number) 10L));
+        }
+        finally
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+
+    /**
+     * Ensure that the samples following a lost batch are discarded, rather than decoded incorrectly,
+     * when they are pushed before the loss is detected.
+     */
+    @Test
+    public void shouldDiscardSamplesFollowingLostBatch() throws Exception
+    {
+        ObjectName name = new ObjectName("bedrock:type=Counter");
+
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new Counter(), name);
+
+        try
+        {
+            MetricStore             store    = new MetricStore();
+            MBeanSampler.Receiver   receiver = new MBeanSampler.Receiver("local", store);
+            MBeanMetric             metric   = MBeanMetric.of(name, "Count");
+            AtomicInteger           raised   = new AtomicInteger();
+            CompletableFuture<Void> lost     = new CompletableFuture<>();
+
+            // lose the second batch, only reporting the failure after the third batch has been delivered
+            RemoteChannel channel = mock(RemoteChannel.class, invocation -> {
+                    if (invocation.getMethod().getName().equals("raise"))
+                    {
+                        int batch = raised.incrementAndGet();
+
+                        if (batch == 2)
+                        {
+                            return lost;
+                        }
+
+                        receiver.onEvent(invocation.getArgument(0));
+
+                        if (batch == 3)
+                        {
+                            lost.completeExceptionally(new IllegalStateException("failed to deliver"));
+                        }
+                    }
+
+                    return CompletableFuture.completedFuture(null);
+                });
+
+            MBeanSampler.Sampling sampling = new MBeanSampler.Sampling(new MBeanMetric[] {metric},
+                                                                       channel,
+                                                                       StreamName.of("test"),
+                                                                       1);
+
+            long[] counts = {1, 2, 3, 4};
+
+            for (long count : counts)
+            {
+                COUNT.set(count);
+                sampling.run();
+            }
+
+            sampling.stop();
+
+            MetricSeries count = store.getSeries("local", name, "Count");
+
+            // the third batch is discarded as it contains a delta of the lost value
+            assertThat(raised.get(), is(4));
+            assertThat(store.getSampleCount("local"), is(2L));
+            assertThat(count.size(), is(2));
+            assertThat(count.getValue(0), is((Number) 1L));
+            assertThat(count.getLatestValue(), is((Number) 4L));
+        }
+        finally
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+
+    /**
+     * Ensure that MBean attributes are sampled in a launched application.
+     */
+    @Test
+    public void shouldSampleLaunchedApplication() throws Exception
+    {
+        CapturingApplicationConsole console = new CapturingApplicationConsole();
+
+        try (JavaApplication application = LocalPlatform.get().launch(JavaApplication.class,
+                                                                      ClassName.of(EchoApp.class),
+                                                                      Console.of(console));
+            MBeanSampler sampler = new MBeanSampler(10,
+                                                    TimeUnit.MILLISECONDS,
+                                                    5,
+                                                    MBeanMetric.of("java.lang:type=Memory", "HeapMemoryUsage.used"),
+                                                    MBeanMetric.of("java.lang:type=Threading", "ThreadCount")))
+        {
+            MetricStore store = sampler.add(application).getStore();
+            String      name  = application.getName();
+
+            DeferredHelper.ensure(eventually(invoking(store).getSampleCount(name)),
+                                  Predicates.greaterThan(10L));
+
+            sampler.remove(application);
+
+            ObjectName   memory    = new ObjectName("java.lang:type=Memory");
+            ObjectName   threading = new ObjectName("java.lang:type=Threading");
+            MetricSeries used      = store.getSeries(name, memory, "HeapMemoryUsage.used");
+            MetricSeries threads   = store.getSeries(name, threading, "ThreadCount");
+
+            assertThat(used, is(notNullValue()));
+            assertThat(threads, is(notNullValue()));
+            assertThat(threads.getLatestValue().longValue() > 0, is(true));
+            assertThat(store.getApplicationNames().contains(name), is(true));
+
+            // capture the logged recording
+            ArrayList<String> logged = new ArrayList<>();
+            Logger            logger = Logger.getAnonymousLogger();
+
+            logger.setUseParentHandlers(false);
+            logger.addHandler(new Handler()
+                              {
+                                  @Override
+                                  public void publish(LogRecord record)
+                                  {
+                                      logged.add(record.getMessage());
+                                  }
+
+                                  @Override
+                                  public void flush()
+                                  {
+                                  }
+
+                                  @Override
+                                  public void close()
+                                  {
+                                  }
+                              });
+
+            try (DiagnosticsRecording recording = DiagnosticsRecording.create("Sampled Metrics"))
+            {
+                store.addTo(recording.using(logger, Level.INFO));
+            }
+
+            assertThat(logged.size(), is(1));
+            assertThat(logged.get(0).contains("java.lang:type=Memory HeapMemoryUsage.used"), is(true));
+            assertThat(logged.get(0).contains("java.lang:type=Threading ThreadCount"), is(true));
+
+            console.getInputWriter().println("quit");
+        }
+    }
+
+
+    /**
+     * The management interface of the {@link Counter}.
+     */
+    public interface CounterMBean
+    {
+        /**
+         * Obtains the count.
+         *
+         * @return  the count
+         */
+        long getCount();
+
+
+        /**
+         * Obtains a floating point ratio of the count.
+         *
+         * @return  the ratio
+         */
+        double getRatio();
+    }
+
+
+    /**
+     * An MBean exposing the {@link #COUNT}.
+     */
+    public static class Counter implements CounterMBean
+    {
+        @Override
+        public long getCount()
+        {
+            return COUNT.get();
+        }
+
+
+        @Override
+        public double getRatio()
+        {
+            return COUNT.get() / 4.0;
+        }
+    }
+}
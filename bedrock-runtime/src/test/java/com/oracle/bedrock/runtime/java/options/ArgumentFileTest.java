@@ -0,0 +1,113 @@
+/*
+ * File: ArgumentFileTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.options;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Unit tests for {@link ArgumentFile}s.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class ArgumentFileTest
+{
+    /**
+     * A {@link TemporaryFolder} in which to create files.
+     */
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    /**
+     * Ensure that an argument file quotes each argument and is reused for the same arguments.
+     */
+    @Test
+    public void shouldCreateAndReuseArgumentFile() throws Exception
+    {
+        ArgumentFile argumentFile = ArgumentFile.enabled().in(temporaryFolder.getRoot());
+        List<String> arguments    = Arrays.asList("-cp", "a.jar:my dir/", "-Dpath=C:\\temp", "-Dquote=\"x\"");
+
+        File file = argumentFile.createArgumentFile(arguments);
+
+        assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8),
+                   is("\"-cp\"\n\"a.jar:my dir/\"\n\"-Dpath=C:\\\\temp\"\n\"-Dquote=\\\"x\\\"\"\n"));
+
+        assertThat(argumentFile.createArgumentFile(arguments), is(file));
+        assertThat(argumentFile.createArgumentFile(Arrays.asList("-cp", "b.jar")).equals(file), is(false));
+        assertThat(temporaryFolder.getRoot().list().length, is(2));
+    }
+
+
+    /**
+     * Ensure that a pathing jar defines the class path in its manifest.
+     */
+    @Test
+    public void shouldCreatePathingJar() throws Exception
+    {
+        ArgumentFile argumentFile = ArgumentFile.pathingJar().in(temporaryFolder.getRoot());
+        List<String> urls         = Arrays.asList(ArgumentFile.toURL("lib" + File.separator + "a.jar"),
+                                                  ArgumentFile.toURL("classes" + File.separator));
+
+        File jar = argumentFile.createPathingJar(urls);
+
+        try (JarFile jarFile = new JarFile(jar))
+        {
+            String classPath = jarFile.getManifest().getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+
+            assertThat(classPath, is(String.join(" ", urls)));
+        }
+
+        assertThat(urls.get(0).startsWith("file:"), is(true));
+        assertThat(urls.get(1).endsWith("/"), is(true));
+        assertThat(argumentFile.createPathingJar(urls), is(jar));
+    }
+
+
+    /**
+     * Ensure that portable URLs keep relative entries relative and make absolute entries file URLs.
+     */
+    @Test
+    public void shouldCreatePortableURLs()
+    {
+        assertThat(ArgumentFile.toPortableURL("lib/a b.jar"), is("lib/a%20b.jar"));
+        assertThat(ArgumentFile.toPortableURL("/opt/lib/a.jar"), is("file:/opt/lib/a.jar"));
+        assertThat(ArgumentFile.toPortableURL("C:\\lib\\classes\\"), is("file:/C:/lib/classes/"));
+    }
+}
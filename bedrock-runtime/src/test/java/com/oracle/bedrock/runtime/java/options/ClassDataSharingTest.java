@@ -0,0 +1,323 @@
+/*
+ * File: ClassDataSharingTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.runtime.java.options;
+
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.runtime.Application;
+import com.oracle.bedrock.runtime.LocalPlatform;
+import com.oracle.bedrock.runtime.MetaClass;
+import com.oracle.bedrock.runtime.Platform;
+import com.oracle.bedrock.runtime.java.ClassPath;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ClassDataSharing}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class ClassDataSharingTest
+{
+    /**
+     * A {@link TemporaryFolder} for the cache, java home and class path.
+     */
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    /**
+     * Ensure that an archive is created by the first launch, used by later launches and
+     * replaced when the class path changes.
+     */
+    @Test
+    public void shouldCreateUseAndInvalidateArchives() throws Exception
+    {
+        File cache = temporaryFolder.newFolder("cache");
+        File jar   = temporaryFolder.newFile("application.jar");
+
+        Files.write(jar.toPath(), "v1".getBytes(StandardCharsets.UTF_8));
+
+        OptionsByType optionsByType = createOptions(createJavaHome("17.0.2"), jar);
+        ClassDataSharing cds        = ClassDataSharing.at(cache);
+
+        List<String> first = resolve(cds, optionsByType);
+
+        assertThat(first.size(), is(1));
+        assertThat(first.get(0), startsWith("-XX:ArchiveClassesAtExit="));
+
+        // concurrent launches don't also attempt to create the archive
+        assertThat(resolve(cds, optionsByType).isEmpty(), is(true));
+
+        // simulate the archive being written when the application terminated
+        File archive = new File(first.get(0).substring(first.get(0).indexOf('=') + 1));
+
+        Files.write(archive.toPath(), new byte[128]);
+        close(cds, optionsByType);
+
+        assertThat(resolve(cds, optionsByType),
+                   is(Collections.singletonList("-XX:SharedArchiveFile=" + archive.getAbsolutePath())));
+
+        // changing the class path invalidates the archive
+        Files.write(jar.toPath(), "version 2".getBytes(StandardCharsets.UTF_8));
+
+        List<String> changed = resolve(cds, optionsByType);
+
+        assertThat(changed.get(0), startsWith("-XX:ArchiveClassesAtExit="));
+
+        // launches don't delete archives for previous content of the class path
+        assertThat(archive.exists(), is(true));
+
+        // until the replacement archive has been written and the cache is cleaned up
+        File replacement = new File(changed.get(0).substring(changed.get(0).indexOf('=') + 1));
+
+        archive.setLastModified(System.currentTimeMillis() - 60000);
+        Files.write(replacement.toPath(), new byte[128]);
+
+        cds.cleanup();
+
+        assertThat(archive.exists(), is(false));
+        assertThat(replacement.exists(), is(true));
+    }
+
+
+    /**
+     * Ensure that an archive is created again when the application that was to create it
+     * has been closed without creating it.
+     */
+    @Test
+    public void shouldRetryCreatingArchivesThatWereNotCreated() throws Exception
+    {
+        File cache = temporaryFolder.newFolder("cache");
+        File jar   = temporaryFolder.newFile("application.jar");
+
+        OptionsByType    optionsByType = createOptions(createJavaHome("17"), jar);
+        ClassDataSharing cds           = ClassDataSharing.at(cache);
+
+        List<String> first = resolve(cds, optionsByType);
+
+        assertThat(first.get(0), startsWith("-XX:ArchiveClassesAtExit="));
+        assertThat(resolve(cds, optionsByType).isEmpty(), is(true));
+
+        close(cds, optionsByType);
+
+        assertThat(resolve(cds, optionsByType), is(first));
+    }
+
+
+    /**
+     * Ensure that the fingerprint of a directory on the class path changes when the files it contains change.
+     */
+    @Test
+    public void shouldFingerprintContentOfDirectories() throws Exception
+    {
+        File directory = temporaryFolder.newFolder("classes");
+        File nested    = new File(directory, "com/acme");
+
+        nested.mkdirs();
+
+        File      file      = new File(nested, "Application.class");
+        ClassPath classPath = ClassPath.ofFile(directory);
+
+        Files.write(file.toPath(), "v1".getBytes(StandardCharsets.UTF_8));
+
+        String fingerprint = ClassDataSharing.fingerprint(classPath);
+
+        assertThat(ClassDataSharing.fingerprint(classPath), is(fingerprint));
+
+        Files.write(file.toPath(), "version 2".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(ClassDataSharing.fingerprint(classPath), is(not(fingerprint)));
+    }
+
+
+    /**
+     * Ensure that the least recently used archives are evicted from the cache.
+     */
+    @Test
+    public void shouldEvictLeastRecentlyUsedArchives() throws Exception
+    {
+        File cache = temporaryFolder.newFolder("cache");
+        File jar   = temporaryFolder.newFile("application.jar");
+        File old   = new File(cache, "old.jsa");
+        File young = new File(cache, "young.jsa");
+
+        Files.write(old.toPath(), new byte[100]);
+        Files.write(young.toPath(), new byte[100]);
+
+        old.setLastModified(System.currentTimeMillis() - 60000);
+
+        resolve(ClassDataSharing.at(cache).withMaximumSize(150), createOptions(createJavaHome("17"), jar));
+
+        assertThat(old.exists(), is(false));
+        assertThat(young.exists(), is(true));
+    }
+
+
+    /**
+     * Ensure that {@link ClassDataSharing} has no effect for Java Virtual Machines that don't support
+     * dynamic archives.
+     */
+    @Test
+    public void shouldIgnoreUnsupportedJavaVirtualMachines() throws Exception
+    {
+        File cache = temporaryFolder.newFolder("cache");
+        File jar   = temporaryFolder.newFile("application.jar");
+
+        assertThat(resolve(ClassDataSharing.at(cache), createOptions(createJavaHome("1.8.0_392"), jar)).isEmpty(),
+                   is(true));
+
+        assertThat(ClassDataSharing.getJavaVersion(temporaryFolder.getRoot().getAbsolutePath() + "/missing"), is(0));
+    }
+
+
+    /**
+     * Ensure that {@link ClassDataSharing} is disabled for applications launched on platforms
+     * other than the {@link LocalPlatform}.
+     */
+    @Test
+    public void shouldOnlyApplyToLocalPlatform() throws Exception
+    {
+        File             cache = temporaryFolder.newFolder("cache");
+        File             jar   = temporaryFolder.newFile("application.jar");
+        ClassDataSharing cds   = ClassDataSharing.at(cache);
+
+        OptionsByType local = createOptions(createJavaHome("17"), jar).add(cds);
+
+        cds.onLaunching(LocalPlatform.get(), mock(MetaClass.class), local);
+
+        assertThat(local.getInstancesOf(ClassDataSharing.class).iterator().next(), is(sameInstance(cds)));
+
+        OptionsByType remote = createOptions(temporaryFolder.getRoot(), jar).add(cds);
+
+        cds.onLaunching(mock(Platform.class), mock(MetaClass.class), remote);
+
+        ClassDataSharing applied = remote.getInstancesOf(ClassDataSharing.class).iterator().next();
+
+        assertThat(applied.isEnabled(), is(false));
+        assertThat(resolve(applied, remote).isEmpty(), is(true));
+    }
+
+
+    /**
+     * Ensure that a disabled {@link ClassDataSharing} has no values.
+     */
+    @Test
+    public void shouldNotResolveValuesWhenDisabled() throws Exception
+    {
+        File jar = temporaryFolder.newFile("application.jar");
+
+        assertThat(resolve(ClassDataSharing.disabled(), createOptions(createJavaHome("17"), jar)).isEmpty(),
+                   is(true));
+    }
+
+
+    /**
+     * Creates a java home with a release file for the specified version.
+     *
+     * @param version  the java version
+     *
+     * @return the java home
+     */
+    private File createJavaHome(String version) throws Exception
+    {
+        File home = temporaryFolder.newFolder("java-" + version);
+
+        Files.write(new File(home, "release").toPath(),
+                    ("JAVA_VERSION=\"" + version + "\"\n").getBytes(StandardCharsets.UTF_8));
+
+        return home;
+    }
+
+
+    /**
+     * Creates the launch {@link OptionsByType}.
+     *
+     * @param home  the java home
+     * @param jar   the class path jar
+     *
+     * @return the {@link OptionsByType}
+     */
+    private OptionsByType createOptions(File home,
+                                        File jar)
+    {
+        return OptionsByType.of(JavaHome.at(home.getAbsolutePath()),
+                                ClassName.of("com.acme.Application"),
+                                ClassPath.ofFile(jar));
+    }
+
+
+    /**
+     * Notifies a {@link ClassDataSharing} that an application launched with the specified options was closed.
+     *
+     * @param cds            the {@link ClassDataSharing}
+     * @param optionsByType  the launch {@link OptionsByType}
+     */
+    private void close(ClassDataSharing cds,
+                       OptionsByType    optionsByType)
+    {
+        Application application = mock(Application.class);
+
+        when(application.getOptions()).thenReturn(optionsByType);
+
+        cds.onClosed(application, OptionsByType.empty());
+    }
+
+
+    /**
+     * Resolves the values of a {@link ClassDataSharing}.
+     *
+     * @param cds            the {@link ClassDataSharing}
+     * @param optionsByType  the launch {@link OptionsByType}
+     *
+     * @return the resolved values
+     */
+    private List<String> resolve(ClassDataSharing cds,
+                                 OptionsByType    optionsByType)
+    {
+        List<String> values = new ArrayList<>();
+
+        cds.resolve(optionsByType).forEach(values::add);
+
+        return values;
+    }
+}
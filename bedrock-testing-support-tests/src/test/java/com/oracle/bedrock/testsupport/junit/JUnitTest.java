@@ -133,6 +133,28 @@ public class JUnitTest
     }
 
 
+    @Test
+    public void shouldRunJUnitTestsAcrossShards() throws Exception
+    {
+        SimpleJUnitTestListener listener = new SimpleJUnitTestListener();
+        TestClasses             tests    = TestClasses.of(JUnit4Test.class, MyOtherTest.class, MyBadTest.class);
+
+        try (ShardedJUnitTestRun jUnit = ShardedJUnitTestRun.launch(platform, 2, tests, listener.asOption()))
+        {
+            jUnit.waitFor();
+
+            assertThat(listener.awaitCompletion(2, TimeUnit.MINUTES), is(true));
+            assertThat(jUnit.getRemainingTestClassCount(), is(0));
+        }
+
+        assertThat(listener.hasTestFailures(), is(true));
+        assertThat(listener.getTestCount(), is(7));
+        assertThat(listener.getErrorCount(), is(1));
+        assertThat(listener.getFailureCount(), is(2));
+        assertThat(listener.getSkipCount(), is(4));
+    }
+
+
     @Test
     public void shouldRunJUnitTestsAndPrintXmlReport() throws Exception
     {
@@ -0,0 +1,137 @@
+/*
+ * File: TestClassScannerTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.junit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Functional tests for {@link TestClassScanner}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class TestClassScannerTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    @Test
+    public void shouldFindCandidateTestClassesFromClassFileBytes() throws Exception
+    {
+        Path             folder     = getClassesFolder(GoodTest.class);
+        TestClassScanner scanner    = new TestClassScanner(getClass().getClassLoader());
+        List<String>     candidates = scanner.getCandidateClassNames(folder);
+
+        assertThat(candidates,
+                   hasItems(GoodTest.class.getName(),
+                            JUnit3Test.class.getName(),
+                            JUnit3Suite.class.getName(),
+                            JUnit4Test.class.getName(),
+                            RunWithAnnotatedTest.class.getName(),
+                            AbstractRunWithEnclosedTest.class.getName()));
+
+        assertThat(candidates.contains(EmptyTest.class.getName()), is(false));
+        assertThat(candidates.contains(EnumTest.class.getName()), is(false));
+        assertThat(candidates.contains(InterfaceTest.class.getName()), is(false));
+        assertThat(candidates.contains(AbstractJUnit3Test.class.getName()), is(false));
+        assertThat(candidates.contains(AbstractJUnit3Suite.class.getName()), is(false));
+        assertThat(candidates.contains(AbstractJUnit4Test.class.getName()), is(false));
+        assertThat(candidates.contains(SleepingApplication.class.getName()), is(false));
+    }
+
+
+    @Test
+    public void shouldRescanWhenFingerprintChanges() throws Exception
+    {
+        File   cache    = temporaryFolder.newFolder("cache");
+        File   classes  = temporaryFolder.newFolder("classes");
+        String previous = System.setProperty(TestClassScanner.CACHE_DIRECTORY_PROPERTY, cache.getPath());
+
+        try
+        {
+            copyClass(GoodTest.class, classes);
+            copyClass(EmptyTest.class, classes);
+
+            TestClassScanner scanner     = new TestClassScanner(getClass().getClassLoader());
+            String           fingerprint = TestClassScanner.fingerprint(classes.toPath());
+
+            assertThat(scanner.getCandidateClassNames(classes.toPath()), containsInAnyOrder(GoodTest.class.getName()));
+            assertThat(cache.list().length, is(1));
+
+            // an unchanged folder has the same fingerprint
+            assertThat(TestClassScanner.fingerprint(classes.toPath()), is(fingerprint));
+
+            copyClass(JUnit3Test.class, classes);
+
+            assertThat(TestClassScanner.fingerprint(classes.toPath()), is(not(fingerprint)));
+            assertThat(scanner.getCandidateClassNames(classes.toPath()),
+                       containsInAnyOrder(GoodTest.class.getName(), JUnit3Test.class.getName()));
+        }
+        finally
+        {
+            if (previous == null)
+            {
+                System.clearProperty(TestClassScanner.CACHE_DIRECTORY_PROPERTY);
+            }
+            else
+            {
+                System.setProperty(TestClassScanner.CACHE_DIRECTORY_PROPERTY, previous);
+            }
+        }
+    }
+
+
+    private Path getClassesFolder(Class<?> cls) throws Exception
+    {
+        return Paths.get(cls.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+
+    private void copyClass(Class<?> cls,
+                           File     folder) throws Exception
+    {
+        String resource = cls.getName().replace('.', '/') + ".class";
+        Path   target   = folder.toPath().resolve(resource);
+
+        Files.createDirectories(target.getParent());
+        Files.copy(getClassesFolder(cls).resolve(resource), target);
+    }
+}
@@ -25,6 +25,8 @@
 
 package com.oracle.bedrock.testsupport.deferred;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Supporting interfaces for concurrent assertion.
  * <p>
@@ -89,4 +91,61 @@ public class Concurrent
             }
         }
     }
+
+
+    /**
+     * An {@link Assertion} that records statistics concerning its evaluation.
+     */
+    public interface MeasuredAssertion extends Assertion
+    {
+        /**
+         * Obtains the number of times the {@link Assertion} has been evaluated.
+         *
+         * @return  the number of evaluations
+         */
+        long getEvaluationCount();
+
+
+        /**
+         * Obtains the number of evaluations that successfully matched.
+         *
+         * @return  the number of successful matches
+         */
+        long getMatchCount();
+
+
+        /**
+         * Obtains the total time spent evaluating the {@link Assertion}.
+         *
+         * @param units  the {@link TimeUnit} for the result
+         *
+         * @return  the total evaluation time
+         */
+        long getTotalEvaluationTime(TimeUnit units);
+
+
+        /**
+         * Obtains the longest time spent performing a single evaluation of the {@link Assertion}.
+         *
+         * @param units  the {@link TimeUnit} for the result
+         *
+         * @return  the maximum evaluation time
+         */
+        long getMaximumEvaluationTime(TimeUnit units);
+
+
+        /**
+         * Obtains the average time spent performing a single evaluation of the {@link Assertion}.
+         *
+         * @param units  the {@link TimeUnit} for the result
+         *
+         * @return  the average evaluation time (0 when not yet evaluated)
+         */
+        default long getAverageEvaluationTime(TimeUnit units)
+        {
+            long count = getEvaluationCount();
+
+            return count == 0 ? 0 : getTotalEvaluationTime(units) / count;
+        }
+    }
 }
@@ -0,0 +1,883 @@
+/*
+ * File: ConcurrentAssertionScheduler.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.deferred;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.deferred.Deferred;
+import com.oracle.bedrock.deferred.DeferredHelper;
+import com.oracle.bedrock.deferred.PermanentlyUnavailableException;
+import com.oracle.bedrock.deferred.TemporarilyUnavailableException;
+import com.oracle.bedrock.deferred.options.InitialDelay;
+import com.oracle.bedrock.deferred.options.MaximumRetryDelay;
+import com.oracle.bedrock.deferred.options.RetryFrequency;
+import com.oracle.bedrock.lang.ThreadFactories;
+import com.oracle.bedrock.options.Timeout;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
+import com.oracle.bedrock.testsupport.deferred.options.FailFast;
+import com.oracle.bedrock.util.Duration;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A scheduler that evaluates {@link Concurrent.Assertion}s as tasks using a shared
+ * {@link ScheduledExecutorService}, instead of using a {@link Thread} per assertion.
+ * <p>
+ * Assertions on the same {@link Deferred} are coalesced so that the {@link Deferred}
+ * is resolved once per evaluation, with the resolved value then matched against each
+ * assertion.  {@link DeferredRemoteExecution}s are the same when they submit equal
+ * (by serialized form) {@link RemoteCallable}s to the same {@link RemoteChannel}, as a
+ * new {@link DeferredRemoteExecution} is created for each assertion of a
+ * {@link RemoteCallable}.  All other {@link Deferred}s are coalesced by identity.
+ * <p>
+ * The interval between evaluations adapts to the rate at which the resolved value
+ * changes.  It starts at the first {@link RetryFrequency} duration, returning to it
+ * whenever the resolved value changes, and doubles while the value remains the same,
+ * up to the {@link MaximumRetryDelay}.  The interval is never shorter than the time
+ * taken to resolve the value.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see com.oracle.bedrock.testsupport.deferred.options.SharedScheduler
+ */
+class ConcurrentAssertionScheduler
+{
+    /**
+     * The smallest delay between evaluations (in milliseconds).
+     */
+    private static final long MINIMUM_DELAY_MS = 10;
+
+    /**
+     * The shared {@link ConcurrentAssertionScheduler}.
+     */
+    private static final ConcurrentAssertionScheduler INSTANCE = new ConcurrentAssertionScheduler();
+
+    /**
+     * The {@link ScheduledExecutorService} evaluating assertions.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * The {@link Group}s of assertions, by the {@link Key} of their {@link Deferred}.
+     */
+    private final Map<Key, Group<?>> groups;
+
+
+    /**
+     * Constructs a {@link ConcurrentAssertionScheduler}.
+     */
+    private ConcurrentAssertionScheduler()
+    {
+        ScheduledThreadPoolExecutor executor =
+            new ScheduledThreadPoolExecutor(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                                            ThreadFactories.usingDaemonThreads(true));
+
+        executor.setRemoveOnCancelPolicy(true);
+
+        this.executor = executor;
+        this.groups   = new HashMap<>();
+    }
+
+
+    /**
+     * Obtains the shared {@link ConcurrentAssertionScheduler}.
+     *
+     * @return  the {@link ConcurrentAssertionScheduler}
+     */
+    static ConcurrentAssertionScheduler get()
+    {
+        return INSTANCE;
+    }
+
+
+    /**
+     * Schedules the concurrent evaluation of an assertion.
+     *
+     * @param <T>       the type of the value
+     *
+     * @param message   the message for the AssertionError (<code>null</code> ok)
+     * @param deferred  the {@link Deferred} value
+     * @param matcher   the {@link Matcher} for the value
+     * @param options   the {@link Option}s
+     *
+     * @return the {@link Concurrent.MeasuredAssertion}
+     */
+    @SuppressWarnings("unchecked")
+    <T> Concurrent.MeasuredAssertion schedule(String             message,
+                                              Deferred<T>        deferred,
+                                              Matcher<? super T> matcher,
+                                              Option...          options)
+    {
+        Key key = Key.of(deferred);
+
+        synchronized (groups)
+        {
+            Group<T> group = (Group<T>) groups.get(key);
+
+            if (group == null)
+            {
+                group = new Group<>(key, deferred);
+
+                groups.put(key, group);
+            }
+
+            ScheduledAssertion<T> assertion = new ScheduledAssertion<>(message, group, matcher, options);
+
+            group.add(assertion);
+
+            return assertion;
+        }
+    }
+
+
+    /**
+     * Obtains the number of {@link Deferred}s currently being evaluated.
+     *
+     * @return  the number of scheduled {@link Deferred}s
+     */
+    int getScheduledDeferredCount()
+    {
+        synchronized (groups)
+        {
+            return groups.size();
+        }
+    }
+
+
+    /**
+     * A group of {@link ScheduledAssertion}s sharing the same {@link Deferred}.
+     *
+     * @param <T>  the type of value being asserted
+     */
+    private class Group<T> implements Runnable
+    {
+        /**
+         * The {@link Key} of the group.
+         */
+        private final Key key;
+
+        /**
+         * The {@link Deferred} shared by the assertions.
+         */
+        private final Deferred<T> deferred;
+
+        /**
+         * The {@link ScheduledAssertion}s in the group.
+         */
+        private final CopyOnWriteArrayList<ScheduledAssertion<T>> assertions;
+
+        /**
+         * The currently scheduled evaluation.
+         */
+        private ScheduledFuture<?> future;
+
+        /**
+         * The time of the currently scheduled evaluation (in milliseconds).
+         */
+        private long scheduledMS;
+
+        /**
+         * The delay before the next evaluation (in milliseconds).
+         */
+        private volatile long delayMS;
+
+        /**
+         * Has a value been resolved by a previous evaluation?
+         */
+        private boolean hasLastValue;
+
+        /**
+         * The value resolved by the previous evaluation.
+         */
+        private T lastValue;
+
+
+        /**
+         * Constructs a {@link Group}.
+         *
+         * @param key       the {@link Key} of the group
+         * @param deferred  the {@link Deferred}
+         */
+        Group(Key         key,
+              Deferred<T> deferred)
+        {
+            this.key          = key;
+            this.deferred     = deferred;
+            this.assertions   = new CopyOnWriteArrayList<>();
+            this.delayMS      = MINIMUM_DELAY_MS;
+            this.hasLastValue = false;
+        }
+
+
+        /**
+         * Adds a {@link ScheduledAssertion} to the group, resetting the evaluation interval
+         * and ensuring an evaluation is scheduled no later than the initial delay of the
+         * {@link ScheduledAssertion}.
+         * <p>
+         * Must be called while synchronized on the groups.
+         *
+         * @param assertion  the {@link ScheduledAssertion}
+         */
+        void add(ScheduledAssertion<T> assertion)
+        {
+            assertions.add(assertion);
+
+            delayMS = minimumDelayMS();
+
+            // when the scheduled evaluation can't be cancelled, as it's running, the evaluation
+            // will schedule the next no later than the start of the assertion
+            if (future == null || (scheduledMS > assertion.startMS && future.cancel(false)))
+            {
+                schedule(assertion.initialDelayMS);
+            }
+        }
+
+
+        /**
+         * Removes a {@link ScheduledAssertion} from the group, cancelling evaluation
+         * when the group becomes empty.
+         *
+         * @param assertion  the {@link ScheduledAssertion}
+         */
+        void remove(ScheduledAssertion<T> assertion)
+        {
+            synchronized (groups)
+            {
+                assertions.remove(assertion);
+
+                if (assertions.isEmpty() && groups.get(key) == this)
+                {
+                    groups.remove(key);
+
+                    if (future != null)
+                    {
+                        future.cancel(false);
+                    }
+                }
+            }
+        }
+
+
+        /**
+         * Schedules the next evaluation of the group.
+         *
+         * @param delayMS  the delay (in milliseconds)
+         */
+        private void schedule(long delayMS)
+        {
+            scheduledMS = System.currentTimeMillis() + delayMS;
+            future      = executor.schedule(this, delayMS, TimeUnit.MILLISECONDS);
+        }
+
+
+        @Override
+        public void run()
+        {
+            boolean   resolved  = false;
+            T         value     = null;
+            Throwable permanent = null;
+            long      started   = System.nanoTime();
+
+            try
+            {
+                value    = deferred.get();
+                resolved = true;
+            }
+            catch (PermanentlyUnavailableException | UnsupportedOperationException e)
+            {
+                permanent = e;
+            }
+            catch (TemporarilyUnavailableException e)
+            {
+                // SKIP: we will retry if the value is temporarily unavailable
+            }
+            catch (RuntimeException e)
+            {
+                // SKIP: we assume all other runtime exceptions
+                // simply means that we should retry
+            }
+
+            long resolutionNanos = System.nanoTime() - started;
+            long now             = System.currentTimeMillis();
+
+            for (ScheduledAssertion<T> assertion : assertions)
+            {
+                // assertions don't start evaluating until after their initial delay
+                if (now >= assertion.startMS)
+                {
+                    assertion.evaluate(resolved, value, permanent, resolutionNanos);
+                }
+            }
+
+            synchronized (groups)
+            {
+                if (!assertions.isEmpty() && groups.get(key) == this)
+                {
+                    long delay = adapt(resolved, value, TimeUnit.NANOSECONDS.toMillis(resolutionNanos));
+
+                    // don't wait beyond the start of an assertion that has yet to be evaluated
+                    for (ScheduledAssertion<T> assertion : assertions)
+                    {
+                        if (assertion.startMS > now)
+                        {
+                            delay = Math.min(delay, assertion.startMS - now);
+                        }
+                    }
+
+                    schedule(delay);
+                }
+            }
+        }
+
+
+        /**
+         * Adapts the interval between evaluations to the resolved value, returning to the
+         * minimum delay when the value changes and doubling the delay while it remains the same.
+         *
+         * @param resolved      was a value resolved?
+         * @param value         the resolved value
+         * @param resolutionMS  the time taken to resolve the value (in milliseconds)
+         *
+         * @return  the delay before the next evaluation (in milliseconds)
+         */
+        private long adapt(boolean resolved,
+                           T       value,
+                           long    resolutionMS)
+        {
+            long minimum = minimumDelayMS();
+            long maximum = maximumDelayMS();
+            long delay;
+
+            if (!resolved)
+            {
+                // wait for the value at the current interval
+                delay = delayMS;
+            }
+            else if (hasLastValue && Objects.deepEquals(lastValue, value))
+            {
+                delay = Math.min(delayMS * 2, maximum);
+            }
+            else
+            {
+                delay = minimum;
+            }
+
+            if (resolved)
+            {
+                hasLastValue = true;
+                lastValue    = value;
+            }
+
+            delayMS = Math.max(Math.min(delay, maximum), minimum);
+
+            // don't evaluate more often than the value can be resolved
+            return Math.max(delayMS, resolutionMS);
+        }
+
+
+        /**
+         * Determines the smallest minimum delay of the assertions in the group.
+         *
+         * @return  the minimum delay (in milliseconds)
+         */
+        private long minimumDelayMS()
+        {
+            long minimum = Long.MAX_VALUE;
+
+            for (ScheduledAssertion<T> assertion : assertions)
+            {
+                minimum = Math.min(minimum, assertion.minimumDelayMS);
+            }
+
+            return minimum == Long.MAX_VALUE ? MINIMUM_DELAY_MS : minimum;
+        }
+
+
+        /**
+         * Determines the smallest maximum delay of the assertions in the group.
+         *
+         * @return  the maximum delay (in milliseconds)
+         */
+        private long maximumDelayMS()
+        {
+            long maximum = Long.MAX_VALUE;
+
+            for (ScheduledAssertion<T> assertion : assertions)
+            {
+                maximum = Math.min(maximum, assertion.maximumDelayMS);
+            }
+
+            return maximum == Long.MAX_VALUE ? MINIMUM_DELAY_MS : Math.max(maximum, minimumDelayMS());
+        }
+    }
+
+
+    /**
+     * A {@link Concurrent.MeasuredAssertion} evaluated by a {@link Group}.
+     *
+     * @param <T>  the type of value being asserted
+     */
+    private class ScheduledAssertion<T> implements Concurrent.MeasuredAssertion
+    {
+        /**
+         * The optional message for the {@link AssertionError}.
+         */
+        private final String message;
+
+        /**
+         * The {@link Group} evaluating this assertion.
+         */
+        private final Group<T> group;
+
+        /**
+         * The {@link Matcher}.
+         */
+        private final Matcher<? super T> matcher;
+
+        /**
+         * Should the creating {@link Thread} be interrupted on failure?
+         */
+        private final boolean failFast;
+
+        /**
+         * The {@link Thread} that created this {@link ScheduledAssertion}.
+         */
+        private final Thread creatingThread;
+
+        /**
+         * The maximum time without resolving a value before failing (in milliseconds).
+         */
+        private final long timeoutMS;
+
+        /**
+         * The delay before the first evaluation (in milliseconds).
+         */
+        private final long initialDelayMS;
+
+        /**
+         * The time of the first evaluation, after the initial delay (in milliseconds).
+         */
+        private final long startMS;
+
+        /**
+         * The minimum delay between evaluations (in milliseconds).
+         */
+        private final long minimumDelayMS;
+
+        /**
+         * The maximum delay between evaluations (in milliseconds).
+         */
+        private final long maximumDelayMS;
+
+        /**
+         * The number of evaluations.
+         */
+        private final AtomicLong evaluationCount;
+
+        /**
+         * The number of successful matches.
+         */
+        private final AtomicLong matchCount;
+
+        /**
+         * The total evaluation time (in nanoseconds).
+         */
+        private final AtomicLong totalNanos;
+
+        /**
+         * The maximum evaluation time (in nanoseconds).
+         */
+        private final AtomicLong maximumNanos;
+
+        /**
+         * The time a value was last resolved (in milliseconds).
+         */
+        private volatile long lastResolvedMS;
+
+        /**
+         * The encountered {@link AssertionError}.
+         */
+        private volatile AssertionError assertionError;
+
+        /**
+         * A flag indicating if the {@link ScheduledAssertion} is closed.
+         */
+        private volatile boolean closed;
+
+        /**
+         * A flag indicating if the {@link AssertionError} should be thrown
+         * when closing (in the {@link #close()} method).
+         */
+        private volatile boolean throwAssertionErrorWhenClosing;
+
+
+        /**
+         * Constructs a {@link ScheduledAssertion}.
+         *
+         * @param message  the message for the AssertionError (<code>null</code> ok)
+         * @param group    the {@link Group} evaluating the assertion
+         * @param matcher  the {@link Matcher} for the value
+         * @param options  the {@link Option}s
+         */
+        ScheduledAssertion(String             message,
+                           Group<T>           group,
+                           Matcher<? super T> matcher,
+                           Option...          options)
+        {
+            OptionsByType optionsByType = OptionsByType.of(options);
+
+            this.message        = message;
+            this.group          = group;
+            this.matcher        = matcher;
+            this.failFast       = optionsByType.get(FailFast.class).isEnabled();
+            this.creatingThread = Thread.currentThread();
+
+            this.timeoutMS = optionsByType.getOrDefault(Timeout.class,
+                                                        Timeout.after(DeferredHelper
+                                                            .getDefaultEnsuredMaximumRetryDuration()))
+                                                            .to(TimeUnit.MILLISECONDS);
+
+            this.initialDelayMS = optionsByType.getOrDefault(InitialDelay.class,
+                                                             InitialDelay.none()).to(TimeUnit.MILLISECONDS);
+
+            RetryFrequency retryFrequency =
+                optionsByType.getOrDefault(RetryFrequency.class,
+                                           RetryFrequency.of(DeferredHelper.getDefaultEnsuredRetryDurationsIterable()));
+
+            Iterator<Duration> retryDurations = retryFrequency.get().iterator();
+
+            this.minimumDelayMS = Math.max(MINIMUM_DELAY_MS,
+                                           retryDurations.hasNext()
+                                           ? retryDurations.next().to(TimeUnit.MILLISECONDS) : 0);
+
+            this.maximumDelayMS = Math.max(minimumDelayMS,
+                                           optionsByType.getOrDefault(MaximumRetryDelay.class,
+                                                                      MaximumRetryDelay.of(DeferredHelper
+                                                                          .getDefaultEnsuredMaximumPollingDuration()))
+                                                                          .to(TimeUnit.MILLISECONDS));
+
+            this.evaluationCount                = new AtomicLong();
+            this.matchCount                     = new AtomicLong();
+            this.totalNanos                     = new AtomicLong();
+            this.maximumNanos                   = new AtomicLong();
+            this.startMS                        = System.currentTimeMillis() + initialDelayMS;
+            this.lastResolvedMS                 = startMS;
+            this.assertionError                 = null;
+            this.closed                         = false;
+            this.throwAssertionErrorWhenClosing = true;
+        }
+
+
+        /**
+         * Evaluates the assertion for a (possibly) resolved value.
+         *
+         * @param resolved         was a value resolved?
+         * @param value            the resolved value
+         * @param permanent        the {@link Throwable} when the value will never be resolved
+         * @param resolutionNanos  the time taken to resolve the value (in nanoseconds)
+         */
+        void evaluate(boolean   resolved,
+                      T         value,
+                      Throwable permanent,
+                      long      resolutionNanos)
+        {
+            if (closed)
+            {
+                return;
+            }
+
+            long started  = System.nanoTime();
+            long attempts = evaluationCount.incrementAndGet();
+
+            try
+            {
+                if (permanent != null)
+                {
+                    fail(new AssertionError(prefix() + "Failed to resolve value for " + group.deferred, permanent));
+                }
+                else if (resolved)
+                {
+                    lastResolvedMS = System.currentTimeMillis();
+
+                    if (matcher.matches(value))
+                    {
+                        matchCount.incrementAndGet();
+                    }
+                    else
+                    {
+                        StringDescription description = new StringDescription();
+
+                        matcher.describeMismatch(value, description);
+
+                        fail(new AssertionError(prefix() + description.toString() + " (attempted " + attempts
+                                                + " time(s), succeeded " + matchCount.get() + " time(s))"));
+                    }
+                }
+                else if (timeoutMS >= 0 && System.currentTimeMillis() - lastResolvedMS > timeoutMS)
+                {
+                    fail(new AssertionError(prefix() + "Failed to resolve a value for " + group.deferred));
+                }
+            }
+            catch (RuntimeException e)
+            {
+                // SKIP: we assume all other runtime exceptions
+                // simply means that we should retry
+            }
+            finally
+            {
+                long nanos = resolutionNanos + (System.nanoTime() - started);
+
+                totalNanos.addAndGet(nanos);
+                maximumNanos.accumulateAndGet(nanos, Math::max);
+            }
+        }
+
+
+        /**
+         * Obtains the prefix for {@link AssertionError} messages.
+         *
+         * @return  the prefix
+         */
+        private String prefix()
+        {
+            return message == null ? "" : message + ": ";
+        }
+
+
+        /**
+         * Fails the assertion, stopping further evaluation.
+         *
+         * @param error  the {@link AssertionError}
+         */
+        private void fail(AssertionError error)
+        {
+            assertionError = error;
+            closed         = true;
+
+            group.remove(this);
+
+            if (failFast)
+            {
+                // attempt to interrupt the thread that created the assertion
+                creatingThread.interrupt();
+            }
+        }
+
+
+        @Override
+        public void check() throws AssertionError
+        {
+            AssertionError assertionError = this.assertionError;
+
+            if (assertionError != null)
+            {
+                // as we've checked the exception, we no longer need to throw it
+                // (to avoid it being thrown twice)
+                throwAssertionErrorWhenClosing = false;
+
+                throw assertionError;
+            }
+        }
+
+
+        @Override
+        public boolean isClosed()
+        {
+            return closed;
+        }
+
+
+        @Override
+        public void close()
+        {
+            closed = true;
+
+            group.remove(this);
+
+            // throw the AssertionError (if we have one and we're throwing them)
+            // (to allow it to be caught or seen as suppressed)
+            if (assertionError != null && throwAssertionErrorWhenClosing)
+            {
+                throw assertionError;
+            }
+        }
+
+
+        @Override
+        public long getEvaluationCount()
+        {
+            return evaluationCount.get();
+        }
+
+
+        @Override
+        public long getMatchCount()
+        {
+            return matchCount.get();
+        }
+
+
+        @Override
+        public long getTotalEvaluationTime(TimeUnit units)
+        {
+            return units.convert(totalNanos.get(), TimeUnit.NANOSECONDS);
+        }
+
+
+        @Override
+        public long getMaximumEvaluationTime(TimeUnit units)
+        {
+            return units.convert(maximumNanos.get(), TimeUnit.NANOSECONDS);
+        }
+
+
+        @Override
+        public String toString()
+        {
+            return "ScheduledAssertion{deferred=" + group.deferred + ", matcher=" + matcher + ", evaluations="
+                   + evaluationCount.get() + ", matches=" + matchCount.get() + "}";
+        }
+    }
+
+
+    /**
+     * The key used to coalesce assertions on the same {@link Deferred}.
+     */
+    private static class Key
+    {
+        /**
+         * The {@link Deferred} when coalesced by identity, otherwise <code>null</code>.
+         */
+        private final Deferred<?> deferred;
+
+        /**
+         * The {@link RemoteChannel} of a {@link DeferredRemoteExecution}.
+         */
+        private final RemoteChannel remoteChannel;
+
+        /**
+         * The serialized {@link RemoteCallable} of a {@link DeferredRemoteExecution}.
+         */
+        private final byte[] callable;
+
+
+        /**
+         * Constructs a {@link Key}.
+         *
+         * @param deferred       the {@link Deferred} coalesced by identity (<code>null</code> when remote)
+         * @param remoteChannel  the {@link RemoteChannel} (<code>null</code> when by identity)
+         * @param callable       the serialized {@link RemoteCallable} (<code>null</code> when by identity)
+         */
+        private Key(Deferred<?>   deferred,
+                    RemoteChannel remoteChannel,
+                    byte[]        callable)
+        {
+            this.deferred      = deferred;
+            this.remoteChannel = remoteChannel;
+            this.callable      = callable;
+        }
+
+
+        /**
+         * Obtains the {@link Key} for a {@link Deferred}.
+         *
+         * @param deferred  the {@link Deferred}
+         *
+         * @return  the {@link Key}
+         */
+        static Key of(Deferred<?> deferred)
+        {
+            if (deferred instanceof DeferredRemoteExecution)
+            {
+                DeferredRemoteExecution<?> execution = (DeferredRemoteExecution<?>) deferred;
+
+                try
+                {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+                    try (ObjectOutputStream output = new ObjectOutputStream(bytes))
+                    {
+                        output.writeObject(execution.getCallable());
+                    }
+
+                    return new Key(null, execution.getRemoteChannel(), bytes.toByteArray());
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    // SKIP: callables that can't be serialized are coalesced by identity
+                }
+            }
+
+            return new Key(deferred, null, null);
+        }
+
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+
+            if (!(other instanceof Key))
+            {
+                return false;
+            }
+
+            Key key = (Key) other;
+
+            return deferred == key.deferred && remoteChannel == key.remoteChannel
+                   && Arrays.equals(callable, key.callable);
+        }
+
+
+        @Override
+        public int hashCode()
+        {
+            return deferred == null
+                   ? 31 * System.identityHashCode(remoteChannel) + Arrays.hashCode(callable)
+                   : System.identityHashCode(deferred);
+        }
+    }
+}
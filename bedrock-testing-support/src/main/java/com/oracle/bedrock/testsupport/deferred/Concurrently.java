@@ -31,6 +31,7 @@ import com.oracle.bedrock.deferred.Deferred;
 import com.oracle.bedrock.deferred.DeferredFunction;
 import com.oracle.bedrock.deferred.DeferredHelper;
 import com.oracle.bedrock.testsupport.deferred.options.FailFast;
+import com.oracle.bedrock.testsupport.deferred.options.SharedScheduler;
 import com.oracle.bedrock.deferred.options.InitialDelay;
 import com.oracle.bedrock.deferred.options.MaximumRetryDelay;
 import com.oracle.bedrock.deferred.options.RetryFrequency;
@@ -87,6 +88,11 @@ import static com.oracle.bedrock.deferred.DeferredHelper.valueOf;
  * {@link Timeout}, {@link MaximumRetryDelay}, Initial {@link InitialDelay} and
  * {@link RetryFrequency}.
  * <p>
+ * By default each {@link Concurrent.Assertion} is evaluated by its own background {@link Thread}.
+ * When the {@link SharedScheduler} option is enabled, assertions are instead evaluated as tasks
+ * on a shared scheduler, with assertions on the same {@link Deferred} coalesced into a single
+ * evaluation, and the returned {@link Concurrent.Assertion} is a {@link Concurrent.MeasuredAssertion}.
+ * <p>
  * Copyright (c) 2016. All Rights Reserved. Oracle Corporation.<br>
  * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
  *
@@ -197,6 +203,12 @@ public class Concurrently
                                                       Matcher<? super T> matcher,
                                                       Option...          options)
     {
+        // evaluate using the shared scheduler (when enabled)
+        if (OptionsByType.of(options).get(SharedScheduler.class).isEnabled())
+        {
+            return ConcurrentAssertionScheduler.get().schedule(message, deferred, matcher, options);
+        }
+
         // create the assertion
         ConcurrentAssertion<T> assertion = new ConcurrentAssertion<T>(message, deferred, matcher, options);
 
@@ -174,6 +174,28 @@ public class DeferredRemoteExecution<T> implements Deferred<T>
     }
 
 
+    /**
+     * Obtains the {@link RemoteChannel} to which the {@link RemoteCallable} is submitted.
+     *
+     * @return  the {@link RemoteChannel}
+     */
+    RemoteChannel getRemoteChannel()
+    {
+        return remoteChannel;
+    }
+
+
+    /**
+     * Obtains the {@link RemoteCallable} submitted for execution.
+     *
+     * @return  the {@link RemoteCallable}
+     */
+    RemoteCallable<T> getCallable()
+    {
+        return callable;
+    }
+
+
     @Override
     public Class<T> getDeferredClass()
     {
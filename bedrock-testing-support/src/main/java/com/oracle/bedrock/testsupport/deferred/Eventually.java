@@ -26,6 +26,7 @@
 package com.oracle.bedrock.testsupport.deferred;
 
 import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
 import com.oracle.bedrock.deferred.Deferred;
 import com.oracle.bedrock.deferred.DeferredFunction;
 import com.oracle.bedrock.deferred.DeferredHelper;
@@ -37,11 +38,14 @@ import com.oracle.bedrock.deferred.options.RetryFrequency;
 import com.oracle.bedrock.options.Timeout;
 import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
 import com.oracle.bedrock.runtime.java.JavaApplication;
+import com.oracle.bedrock.testsupport.deferred.options.RemoteWatch;
 import org.hamcrest.Matcher;
 import org.hamcrest.StringDescription;
 
 import java.io.NotSerializableException;
+import java.io.Serializable;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 
 import static com.oracle.bedrock.deferred.DeferredHelper.eventually;
@@ -57,6 +61,10 @@ import static com.oracle.bedrock.deferred.DeferredHelper.valueOf;
  * {@link Timeout}, {@link MaximumRetryDelay}, Initial {@link InitialDelay} and
  * {@link RetryFrequency}.
  * <p>
+ * Assertions against a {@link RemoteCallable} submitted to a {@link JavaApplication}
+ * may be evaluated in the {@link JavaApplication} itself, using a single round-trip,
+ * by specifying the {@link RemoteWatch} {@link Option}.
+ * <p>
  * Copyright (c) 2013. All Rights Reserved. Oracle Corporation.<br>
  * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
  *
@@ -336,14 +344,105 @@ public class Eventually
      * @param matcher      the {@link Matcher} representing the desire condition to match
      * @param options      the {@link Option}s
      *
-     * @throws AssertionError  if the assertion fails
+     * @throws AssertionError            if the assertion fails
+     * @throws IllegalArgumentException  if a {@link RemoteWatch} is enabled and the {@link Matcher}
+     *                                   is not {@link Serializable}
      */
     public static <T> void assertThat(JavaApplication    application,
                                       RemoteCallable<T>  callable,
                                       Matcher<? super T> matcher,
                                       Option...          options) throws AssertionError
     {
-        assertThat(valueOf(new DeferredRemoteExecution<T>(application, callable)), matcher, options);
+        RemoteWatch remoteWatch = OptionsByType.of(options).get(RemoteWatch.class);
+
+        if (remoteWatch.isEnabled())
+        {
+            if (!(matcher instanceof Serializable))
+            {
+                throw new IllegalArgumentException("RemoteWatch requires a Serializable Matcher but [" + matcher
+                                                   + "] is not Serializable (use SerializableMatcher.of(...))");
+            }
+
+            assertRemotely(application, callable, matcher, options);
+        }
+        else
+        {
+            assertThat(valueOf(new DeferredRemoteExecution<T>(application, callable)), matcher, options);
+        }
+    }
+
+
+    /**
+     * Asserts that the specified {@link RemoteCallable} will eventually satisfy the
+     * specified {@link Serializable} {@link Matcher} by submitting a {@link RemoteMatch}
+     * to the {@link JavaApplication} that evaluates both in the {@link JavaApplication}.
+     *
+     * @param <T>          the type of the value
+     *
+     * @param application  the {@link JavaApplication} to which the {@link RemoteMatch} will be submitted
+     * @param callable     the {@link RemoteCallable}
+     * @param matcher      the {@link Serializable} {@link Matcher}
+     * @param options      the {@link Option}s
+     *
+     * @throws AssertionError  if the assertion fails
+     */
+    private static <T> void assertRemotely(JavaApplication    application,
+                                           RemoteCallable<T>  callable,
+                                           Matcher<? super T> matcher,
+                                           Option...          options) throws AssertionError
+    {
+        OptionsByType  optionsByType = OptionsByType.of(options);
+        long           timeout       = optionsByType.get(Timeout.class).to(TimeUnit.MILLISECONDS);
+        long           initialDelay  = optionsByType.get(InitialDelay.class).to(TimeUnit.MILLISECONDS);
+        long           interval      = optionsByType.get(RemoteWatch.class).getInterval().to(TimeUnit.MILLISECONDS);
+
+        RemoteMatch<T> remoteMatch   = new RemoteMatch<>(callable, matcher, timeout, initialDelay, interval);
+        RemoteMatch.Result result;
+
+        try
+        {
+            // allow for the remote evaluation to complete and the result to be returned
+            result = application.submit(remoteMatch).get(initialDelay + timeout + Math.max(interval, 1000),
+                                                         TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException e)
+        {
+            AssertionError error = new AssertionError("Failed to receive the result of [" + remoteMatch
+                                                      + "] from [" + application + "]");
+
+            error.initCause(e);
+
+            throw error;
+        }
+        catch (Exception e)
+        {
+            AssertionError error =
+                new AssertionError("Unexpected exception when attempting to evaluate [" + remoteMatch + "] in ["
+                                   + application + "]");
+
+            error.initCause(e);
+
+            throw error;
+        }
+
+        if (!result.isMatched())
+        {
+            if (result.getLastValue() == null)
+            {
+                throw new AssertionError("Failed to resolve a value for [" + callable
+                                         + "] to evaluate with matcher [" + matcher + "] after "
+                                         + result.getEvaluations() + " remote evaluation(s)"
+                                         + (result.getException() == null
+                                            ? "" : " (last exception: " + result.getException() + ")"));
+            }
+            else
+            {
+                throw new AssertionError("Matcher [" + matcher + "] failed to match last resolved value ["
+                                         + result.getLastValue() + "] for [" + callable + "] after "
+                                         + result.getEvaluations() + " remote evaluation(s) due to "
+                                         + result.getMismatch());
+            }
+        }
     }
 
 
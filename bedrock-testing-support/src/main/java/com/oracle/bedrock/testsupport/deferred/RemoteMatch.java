@@ -0,0 +1,294 @@
+/*
+ * File: RemoteMatch.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.deferred;
+
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.concurrent.RemoteChannel;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RemoteCallable} that repeatedly evaluates another {@link RemoteCallable}
+ * in the remote application until its result satisfies a {@link Matcher}, or a
+ * timeout expires, returning a single {@link Result} describing the outcome.
+ * <p>
+ * Submitting a {@link RemoteMatch} to a {@link RemoteChannel} replaces one
+ * round-trip per attempt with a single round-trip for the entire assertion.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @param <T>  the type of value produced by the {@link RemoteCallable} being matched
+ */
+public class RemoteMatch<T> implements RemoteCallable<RemoteMatch.Result>
+{
+    /**
+     * The {@link RemoteCallable} to evaluate.
+     */
+    private final RemoteCallable<T> callable;
+
+    /**
+     * The {@link Matcher} to apply to the results of the {@link RemoteCallable}.
+     */
+    private final Matcher<? super T> matcher;
+
+    /**
+     * The maximum number of milliseconds to attempt matching.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * The number of milliseconds to wait before the first evaluation.
+     */
+    private final long initialDelayMillis;
+
+    /**
+     * The number of milliseconds to wait between evaluations.
+     */
+    private final long intervalMillis;
+
+
+    /**
+     * Constructs a {@link RemoteMatch}.
+     *
+     * @param callable            the {@link RemoteCallable} to evaluate
+     * @param matcher             the {@link Serializable} {@link Matcher} for the result
+     * @param timeoutMillis       the maximum number of milliseconds to attempt matching
+     * @param initialDelayMillis  the number of milliseconds to wait before the first evaluation
+     * @param intervalMillis      the number of milliseconds to wait between evaluations
+     *
+     * @throws IllegalArgumentException  if the {@link Matcher} is not {@link Serializable}
+     */
+    public RemoteMatch(RemoteCallable<T>  callable,
+                       Matcher<? super T> matcher,
+                       long               timeoutMillis,
+                       long               initialDelayMillis,
+                       long               intervalMillis)
+    {
+        if (!(matcher instanceof Serializable))
+        {
+            throw new IllegalArgumentException("The Matcher [" + matcher
+                                               + "] is not Serializable (use SerializableMatcher.of(...))");
+        }
+
+        this.callable           = callable;
+        this.matcher            = matcher;
+        this.timeoutMillis      = timeoutMillis;
+        this.initialDelayMillis = initialDelayMillis;
+        this.intervalMillis     = Math.max(1, intervalMillis);
+    }
+
+
+    @Override
+    public Result call() throws Exception
+    {
+        long      deadline      = System.currentTimeMillis() + timeoutMillis;
+        int       evaluations   = 0;
+        boolean   hasValue      = false;
+        T         value         = null;
+        Throwable lastThrowable = null;
+
+        if (initialDelayMillis > 0)
+        {
+            TimeUnit.MILLISECONDS.sleep(initialDelayMillis);
+        }
+
+        do
+        {
+            evaluations++;
+
+            try
+            {
+                value         = callable.call();
+                hasValue      = true;
+                lastThrowable = null;
+
+                if (matcher.matches(value))
+                {
+                    return new Result(true, evaluations, String.valueOf(value), null, null);
+                }
+            }
+            catch (Throwable throwable)
+            {
+                lastThrowable = throwable;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+
+            if (remaining > 0)
+            {
+                TimeUnit.MILLISECONDS.sleep(Math.min(intervalMillis, remaining));
+            }
+        }
+        while (System.currentTimeMillis() < deadline);
+
+        if (hasValue && lastThrowable == null)
+        {
+            StringDescription description = new StringDescription();
+
+            matcher.describeMismatch(value, description);
+
+            return new Result(false, evaluations, String.valueOf(value), description.toString(), null);
+        }
+        else
+        {
+            return new Result(false, evaluations, null, null, lastThrowable == null ? null : lastThrowable.toString());
+        }
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "RemoteMatch{callable=" + callable + ", matcher=" + matcher + "}";
+    }
+
+
+    /**
+     * The outcome of a {@link RemoteMatch}.
+     */
+    public static class Result implements Serializable
+    {
+        /**
+         * Was the {@link Matcher} satisfied?
+         */
+        private final boolean matched;
+
+        /**
+         * The number of times the {@link RemoteCallable} was evaluated.
+         */
+        private final int evaluations;
+
+        /**
+         * The {@link String} representation of the last resolved value
+         * (null when no value was resolved).
+         */
+        private final String lastValue;
+
+        /**
+         * The description of why the last resolved value failed to match
+         * (null when matched or no value was resolved).
+         */
+        private final String mismatch;
+
+        /**
+         * The {@link String} representation of the last exception raised by the
+         * {@link RemoteCallable} (null when a value was resolved).
+         */
+        private final String exception;
+
+
+        /**
+         * Constructs a {@link Result}.
+         *
+         * @param matched      was the {@link Matcher} satisfied?
+         * @param evaluations  the number of evaluations
+         * @param lastValue    the last resolved value
+         * @param mismatch     the mismatch description
+         * @param exception    the last exception
+         */
+        public Result(boolean matched,
+                      int     evaluations,
+                      String  lastValue,
+                      String  mismatch,
+                      String  exception)
+        {
+            this.matched     = matched;
+            this.evaluations = evaluations;
+            this.lastValue   = lastValue;
+            this.mismatch    = mismatch;
+            this.exception   = exception;
+        }
+
+
+        /**
+         * Determines if the {@link Matcher} was satisfied.
+         *
+         * @return  <code>true</code> if the {@link Matcher} was satisfied
+         */
+        public boolean isMatched()
+        {
+            return matched;
+        }
+
+
+        /**
+         * Obtains the number of times the {@link RemoteCallable} was evaluated.
+         *
+         * @return  the number of evaluations
+         */
+        public int getEvaluations()
+        {
+            return evaluations;
+        }
+
+
+        /**
+         * Obtains the {@link String} representation of the last resolved value.
+         *
+         * @return  the last resolved value or <code>null</code> if no value was resolved
+         */
+        public String getLastValue()
+        {
+            return lastValue;
+        }
+
+
+        /**
+         * Obtains the description of why the last resolved value failed to match.
+         *
+         * @return  the mismatch description or <code>null</code>
+         */
+        public String getMismatch()
+        {
+            return mismatch;
+        }
+
+
+        /**
+         * Obtains the {@link String} representation of the last exception
+         * raised when evaluating the {@link RemoteCallable}.
+         *
+         * @return  the last exception or <code>null</code>
+         */
+        public String getException()
+        {
+            return exception;
+        }
+
+
+        @Override
+        public String toString()
+        {
+            return "RemoteMatch.Result{matched=" + matched + ", evaluations=" + evaluations + ", lastValue="
+                   + lastValue + (mismatch == null ? "" : ", mismatch=" + mismatch)
+                   + (exception == null ? "" : ", exception=" + exception) + "}";
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * File: RemoteWatch.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.deferred.options;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.testsupport.deferred.Eventually;
+import com.oracle.bedrock.util.Duration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link Option} indicating if an {@link Eventually} assertion of a
+ * {@link RemoteCallable} should be evaluated by "watching" in the remote application.
+ * <p>
+ * When enabled, the {@link RemoteCallable} and {@link org.hamcrest.Matcher} are
+ * submitted to the remote application once, where they are repeatedly evaluated
+ * at the specified interval until the {@link org.hamcrest.Matcher} is satisfied or
+ * the assertion times out, after which a single result is returned.  The
+ * {@link org.hamcrest.Matcher} must be {@link java.io.Serializable}; standard
+ * hamcrest {@link org.hamcrest.Matcher}s may be wrapped using a
+ * {@link com.oracle.bedrock.testsupport.matchers.SerializableMatcher}, for example
+ * <code>SerializableMatcher.of(() -&gt; is(42))</code>.  When disabled, the
+ * {@link RemoteCallable} is re-submitted and matched locally for each attempt.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class RemoteWatch implements Option
+{
+    /**
+     * The default interval between remote evaluations.
+     */
+    private static final Duration DEFAULT_INTERVAL = Duration.of(50, TimeUnit.MILLISECONDS);
+
+    /**
+     * Should assertions be evaluated by watching in the remote application?
+     */
+    private final boolean enabled;
+
+    /**
+     * The {@link Duration} between remote evaluations.
+     */
+    private final Duration interval;
+
+
+    /**
+     * Constructs a {@link RemoteWatch}.
+     *
+     * @param enabled   should assertions be evaluated by watching in the remote application?
+     * @param interval  the {@link Duration} between remote evaluations
+     */
+    private RemoteWatch(boolean  enabled,
+                        Duration interval)
+    {
+        this.enabled  = enabled;
+        this.interval = interval;
+    }
+
+
+    /**
+     * Determines if remote watching is enabled.
+     *
+     * @return <code>true</code> if remote watching is enabled,
+     *         <code>false</code> otherwise
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+
+    /**
+     * Obtains the {@link Duration} between remote evaluations.
+     *
+     * @return  the {@link Duration} between remote evaluations
+     */
+    public Duration getInterval()
+    {
+        return interval;
+    }
+
+
+    /**
+     * Obtains an enabled {@link RemoteWatch} using the default interval.
+     *
+     * @return a {@link RemoteWatch}
+     */
+    public static RemoteWatch enabled()
+    {
+        return new RemoteWatch(true, DEFAULT_INTERVAL);
+    }
+
+
+    /**
+     * Obtains an enabled {@link RemoteWatch} that evaluates at the specified interval.
+     *
+     * @param duration  the interval between remote evaluations
+     * @param units     the {@link TimeUnit}s for the interval
+     *
+     * @return a {@link RemoteWatch}
+     */
+    public static RemoteWatch every(long     duration,
+                                    TimeUnit units)
+    {
+        return new RemoteWatch(true, Duration.of(duration, units));
+    }
+
+
+    /**
+     * Obtains a disabled {@link RemoteWatch}.
+     *
+     * @return a {@link RemoteWatch}
+     */
+    @OptionsByType.Default
+    public static RemoteWatch disabled()
+    {
+        return new RemoteWatch(false, DEFAULT_INTERVAL);
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "RemoteWatch{" + (enabled ? "every " + interval : "disabled") + '}';
+    }
+
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (!(o instanceof RemoteWatch))
+        {
+            return false;
+        }
+
+        RemoteWatch that = (RemoteWatch) o;
+
+        return enabled == that.enabled && interval.equals(that.interval);
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * (enabled ? 1 : 0) + interval.hashCode();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * File: SharedScheduler.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.deferred.options;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.testsupport.deferred.Concurrent;
+import com.oracle.bedrock.testsupport.deferred.Concurrently;
+
+/**
+ * An {@link Option} indicating if a {@link Concurrently} created
+ * assertion will be evaluated as a task by a shared scheduler,
+ * instead of by its own dedicated {@link Thread}.
+ * <p>
+ * Assertions evaluated by the shared scheduler use adaptive evaluation intervals,
+ * are coalesced when they share the same {@link com.oracle.bedrock.deferred.Deferred}
+ * and provide evaluation statistics through {@link Concurrent.MeasuredAssertion}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class SharedScheduler implements Option
+{
+    /**
+     * Should a {@link Concurrent.Assertion} be evaluated by the shared scheduler?
+     */
+    private final boolean enabled;
+
+
+    /**
+     * Constructs a {@link SharedScheduler}.
+     *
+     * @param enabled  should a {@link Concurrent.Assertion} be evaluated by the shared scheduler?
+     */
+    private SharedScheduler(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+
+    /**
+     * Determines if the shared scheduler is enabled
+     *
+     * @return <code>true</code> if the shared scheduler is enabled,
+     *         <code>false</code> otherwise
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+
+    /**
+     * Obtains an enabled {@link SharedScheduler}.
+     *
+     * @return a {@link SharedScheduler}
+     */
+    public static SharedScheduler enabled()
+    {
+        return new SharedScheduler(true);
+    }
+
+
+    /**
+     * Obtains a disabled {@link SharedScheduler}.
+     *
+     * @return a {@link SharedScheduler}
+     */
+    @OptionsByType.Default
+    public static SharedScheduler disabled()
+    {
+        return new SharedScheduler(false);
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "SharedScheduler{" + enabled + '}';
+    }
+
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (!(o instanceof SharedScheduler))
+        {
+            return false;
+        }
+
+        SharedScheduler that = (SharedScheduler) o;
+
+        return enabled == that.enabled;
+
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return (enabled ? 1 : 0);
+    }
+}
@@ -28,6 +28,7 @@ package com.oracle.bedrock.testsupport.junit;
 import com.oracle.bedrock.Option;
 import com.oracle.bedrock.OptionsByType;
 import com.oracle.bedrock.testsupport.junit.options.TestClasses;
+import com.oracle.bedrock.testsupport.junit.options.TestShard;
 import com.oracle.bedrock.testsupport.junit.options.Tests;
 import com.oracle.bedrock.options.Decoration;
 import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
@@ -48,7 +49,9 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
@@ -298,6 +301,16 @@ public class JUnitTestRunner implements Runnable
             jUnitCore.addListener(runListener);
         }
 
+        // When running as a shard, run the test classes allocated by the shared queue
+        TestShard shard = optionsByType.get(TestShard.class);
+
+        if (shard != null && channel != null)
+        {
+            runShard(shard, tests, jUnitCore);
+
+            return;
+        }
+
         // Run the tests in each TestClasses instance
         for (TestClasses testClasses : tests)
         {
@@ -325,6 +338,71 @@ public class JUnitTestRunner implements Runnable
     }
 
 
+    /**
+     * Run the test classes allocated to a {@link TestShard} by repeatedly requesting
+     * the next test class from the {@link ShardedJUnitTestRun} over the {@link RemoteChannel},
+     * until there are no more test classes or the {@link JUnitTestRunner} is stopped.
+     *
+     * @param shard      the {@link TestShard}
+     * @param tests      the {@link Tests} to run
+     * @param jUnitCore  the {@link JUnitCore} to use to run tests
+     */
+    private void runShard(TestShard shard,
+                          Tests     tests,
+                          JUnitCore jUnitCore)
+    {
+        // resolve the test classes and their filters (by class name)
+        Map<String, Request> requests = new LinkedHashMap<>();
+
+        for (TestClasses testClasses : tests)
+        {
+            Filter filter = testClasses.getTestFilter();
+
+            for (Class<?> testClass : testClasses.resolveTestClasses())
+            {
+                Request request = Request.aClass(testClass);
+
+                requests.putIfAbsent(testClass.getName(), filter == null ? request : request.filterWith(filter));
+            }
+        }
+
+        // the first request offers the test class names to seed the shared queue
+        ArrayList<String> offered = new ArrayList<>(requests.keySet());
+
+        while (state != State.Stopped)
+        {
+            String className;
+
+            try
+            {
+                className = channel.submit(new ShardedJUnitTestRun.NextTestClass(shard.getQueueId(),
+                                                                                      shard.getIndex(),
+                                                                                      offered)).get();
+            }
+            catch (Exception e)
+            {
+                e.printStackTrace();
+
+                return;
+            }
+
+            if (className == null)
+            {
+                return;
+            }
+
+            offered = null;
+
+            Request request = requests.get(className);
+
+            if (request != null)
+            {
+                jUnitCore.run(request);
+            }
+        }
+    }
+
+
     /**
      * Wait until the {@link JUnitTestRunner} is in the {@link State#Waiting} state
      * and then start a test run using the specified {@link OptionsByType}.
@@ -0,0 +1,955 @@
+/*
+ * File: ShardedJUnitTestRun.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.junit;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.lang.ThreadFactories;
+import com.oracle.bedrock.options.Decoration;
+import com.oracle.bedrock.runtime.Platform;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.testsupport.junit.options.TestShard;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A JUnit test run that is sharded across a number of {@link JUnitTestRun} applications,
+ * each running in its own JVM.
+ * <p>
+ * Rather than statically partitioning the test classes, each shard requests the next
+ * test class to run from a queue held by the {@link ShardedJUnitTestRun}, submitting a
+ * {@link NextTestClass} over its {@link com.oracle.bedrock.runtime.concurrent.RemoteChannel}
+ * each time it completes a test class.  Shards that complete their test classes quickly
+ * simply take more work from the queue, allowing a long test suite to scale with the
+ * number of shards.
+ * <p>
+ * The {@link JUnitTestListener.Event}s raised by each shard are merged into a single
+ * stream for the {@link JUnitTestListener}s provided as {@link Option}s, with the events
+ * for each test class delivered together, a single {@link JUnitTestListener.Event.Type#JUnitStarted}
+ * event when the first shard starts and a single {@link JUnitTestListener.Event.Type#JUnitCompleted}
+ * event when all of the shards have completed.
+ * <p>
+ * The test class each shard is running is tracked.  Should a shard terminate while running
+ * a test class, the test class is returned to the queue to be run by another shard.  Should
+ * no other shard be available, or the test class has already been returned to the queue once,
+ * the test class is reported to the {@link JUnitTestListener}s as an error.
+ * <p>
+ * <code>
+ * try (ShardedJUnitTestRun run = ShardedJUnitTestRun.launch(platform, 4, TestClasses.of(...), listener.asOption())) {
+ *     run.waitFor();
+ * }
+ * </code>
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class ShardedJUnitTestRun implements Closeable
+{
+    /**
+     * The queues of test class names for the currently active {@link ShardedJUnitTestRun}s, by queue identity.
+     */
+    private static final ConcurrentHashMap<String, TestClassQueue> QUEUES = new ConcurrentHashMap<>();
+
+    /**
+     * The number of milliseconds between checks for terminated shards.
+     */
+    private static final long MONITOR_INTERVAL_MS = 500;
+
+    /**
+     * The identity of the queue of test classes for this {@link ShardedJUnitTestRun}.
+     */
+    private final String queueId;
+
+    /**
+     * The {@link Merger} of the {@link JUnitTestListener.Event}s raised by the shards.
+     */
+    private final Merger merger;
+
+    /**
+     * The {@link JUnitTestRun}s for each of the shards.
+     */
+    private final List<JUnitTestRun> shards;
+
+    /**
+     * The indexes of the shards that have terminated.
+     */
+    private final Set<Integer> terminated;
+
+    /**
+     * The {@link ScheduledExecutorService} checking for terminated shards.
+     */
+    private final ScheduledExecutorService monitor;
+
+
+    /**
+     * Constructs a {@link ShardedJUnitTestRun}.
+     *
+     * @param queueId  the identity of the queue of test classes
+     * @param merger   the {@link Merger} for {@link JUnitTestListener.Event}s
+     */
+    private ShardedJUnitTestRun(String queueId,
+                                Merger merger)
+    {
+        this.queueId    = queueId;
+        this.merger     = merger;
+        this.shards     = new ArrayList<>();
+        this.terminated = new HashSet<>();
+        this.monitor    = Executors.newSingleThreadScheduledExecutor(ThreadFactories.usingDaemonThreads(true));
+    }
+
+
+    /**
+     * Launches a {@link ShardedJUnitTestRun} consisting of the specified number of
+     * {@link JUnitTestRun} shards on the specified {@link Platform}.
+     *
+     * @param platform    the {@link Platform} on which to launch the shards
+     * @param shardCount  the number of shards to launch
+     * @param options     the {@link Option}s for the {@link JUnitTestRun}s, including any
+     *                    {@link JUnitTestListener}s to receive the merged events
+     *
+     * @return  the {@link ShardedJUnitTestRun}
+     */
+    public static ShardedJUnitTestRun launch(Platform  platform,
+                                             int       shardCount,
+                                             Option... options)
+    {
+        if (shardCount < 1)
+        {
+            throw new IllegalArgumentException("The number of shards must be at least one");
+        }
+
+        // separate the JUnitTestListeners (which receive merged events) from the other options
+        List<JUnitTestListener> listeners    = new ArrayList<>();
+        List<Option>            shardOptions = new ArrayList<>();
+
+        if (options != null)
+        {
+            for (Option option : options)
+            {
+                if (option instanceof Decoration && ((Decoration) option).get() instanceof JUnitTestListener)
+                {
+                    listeners.add((JUnitTestListener) ((Decoration) option).get());
+                }
+                else if (option != null)
+                {
+                    shardOptions.add(option);
+                }
+            }
+        }
+
+        String              queueId = UUID.randomUUID().toString();
+        ShardedJUnitTestRun run     = new ShardedJUnitTestRun(queueId, new Merger(listeners, shardCount));
+
+        QUEUES.put(queueId, new TestClassQueue());
+
+        try
+        {
+            for (int i = 0; i < shardCount; i++)
+            {
+                List<Option> launchOptions = new ArrayList<>(shardOptions);
+
+                launchOptions.add(TestShard.of(queueId, i));
+                launchOptions.add(Decoration.of(run.merger.createShardListener(i)));
+
+                run.shards.add(platform.launch(JUnitTestRun.class,
+                                               launchOptions.toArray(new Option[launchOptions.size()])));
+            }
+        }
+        catch (RuntimeException e)
+        {
+            run.close();
+
+            throw e;
+        }
+
+        run.monitor.scheduleWithFixedDelay(run::checkShards,
+                                           MONITOR_INTERVAL_MS,
+                                           MONITOR_INTERVAL_MS,
+                                           TimeUnit.MILLISECONDS);
+
+        return run;
+    }
+
+
+    /**
+     * Checks for shards that have terminated, returning the test classes they were running
+     * to the queue, or reporting them as errors when they can't be run by another shard.
+     */
+    synchronized void checkShards()
+    {
+        TestClassQueue queue = QUEUES.get(queueId);
+
+        if (queue == null)
+        {
+            return;
+        }
+
+        for (int i = 0; i < shards.size(); i++)
+        {
+            if (!terminated.contains(i) && hasTerminated(shards.get(i)))
+            {
+                terminated.add(i);
+
+                String className = queue.release(i);
+
+                if (className != null)
+                {
+                    // the shard terminated while running a test class
+                    if (terminated.size() == shards.size() || !queue.requeue(className))
+                    {
+                        merger.publishLost(className, "Shard " + i + " terminated while running " + className);
+                    }
+
+                    merger.shardCompleted(i);
+                }
+            }
+        }
+
+        if (terminated.size() == shards.size())
+        {
+            reportRequeued(queue);
+        }
+    }
+
+
+    /**
+     * Reports the test classes that were returned to the queue, but not run by another shard, as errors.
+     *
+     * @param queue  the {@link TestClassQueue}
+     */
+    private void reportRequeued(TestClassQueue queue)
+    {
+        for (String className : queue.drainRequeued())
+        {
+            merger.publishLost(className, "No shard remained to run " + className + " after its shard terminated");
+        }
+    }
+
+
+    /**
+     * Determines if a shard has terminated.
+     *
+     * @param shard  the {@link JUnitTestRun} shard
+     *
+     * @return  <code>true</code> if the shard has terminated
+     */
+    private static boolean hasTerminated(JUnitTestRun shard)
+    {
+        try
+        {
+            shard.exitValue();
+
+            return true;
+        }
+        catch (RuntimeException e)
+        {
+            // the exit value is unavailable while the shard is running
+            return false;
+        }
+    }
+
+
+    /**
+     * Obtains an immutable {@link List} of the {@link JUnitTestRun}s for each of the shards.
+     *
+     * @return  the {@link JUnitTestRun} shards
+     */
+    public List<JUnitTestRun> getShards()
+    {
+        return Collections.unmodifiableList(shards);
+    }
+
+
+    /**
+     * Obtains the number of test classes that have not yet been taken by a shard.
+     *
+     * @return  the number of remaining test classes
+     */
+    public int getRemainingTestClassCount()
+    {
+        TestClassQueue queue = QUEUES.get(queueId);
+
+        return queue == null ? 0 : queue.size();
+    }
+
+
+    /**
+     * Waits for all of the shards to terminate.
+     *
+     * @param options  the {@link Option}s for waiting, as per {@link JUnitTestRun#waitFor(Option...)}
+     */
+    public void waitFor(Option... options)
+    {
+        for (JUnitTestRun shard : shards)
+        {
+            shard.waitFor(options);
+        }
+    }
+
+
+    @Override
+    public void close()
+    {
+        monitor.shutdownNow();
+
+        for (JUnitTestRun shard : shards)
+        {
+            try
+            {
+                shard.close();
+            }
+            catch (Exception e)
+            {
+                e.printStackTrace();
+            }
+        }
+
+        TestClassQueue queue = QUEUES.remove(queueId);
+
+        if (queue != null)
+        {
+            synchronized (this)
+            {
+                // report the test classes that were being run by a shard or were waiting to be re-run
+                for (String className : queue.drainInFlight())
+                {
+                    merger.publishLost(className, "The test run was closed while running " + className);
+                }
+
+                reportRequeued(queue);
+            }
+        }
+
+        // ensure the listeners are notified of completion, even when shards fail to complete
+        merger.close();
+    }
+
+
+    /**
+     * A queue of test class names shared by the shards of a {@link ShardedJUnitTestRun}.
+     */
+    static class TestClassQueue
+    {
+        /**
+         * The names of the test classes yet to be taken by a shard.
+         */
+        private final Queue<String> classNames = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The name of the test class being run by each shard, by shard index.
+         */
+        private final Map<Integer, String> inFlight = new HashMap<>();
+
+        /**
+         * The names of the test classes that have been returned to the queue.
+         */
+        private final Set<String> requeued = new HashSet<>();
+
+        /**
+         * Has the queue been seeded with test class names?
+         */
+        private boolean seeded;
+
+
+        /**
+         * Seeds the queue with the specified test class names, when it has not already been seeded.
+         *
+         * @param names  the test class names
+         */
+        synchronized void seed(List<String> names)
+        {
+            if (!seeded)
+            {
+                classNames.addAll(names);
+
+                seeded = true;
+            }
+        }
+
+
+        /**
+         * Takes the next test class name from the queue for a shard, which is then tracked
+         * as being run by the shard.  The test class previously taken by the shard is assumed
+         * to have completed.
+         *
+         * @param shard  the index of the shard
+         *
+         * @return  the next test class name or <code>null</code> if the queue is exhausted
+         */
+        synchronized String poll(int shard)
+        {
+            String className = classNames.poll();
+
+            if (className == null)
+            {
+                inFlight.remove(shard);
+            }
+            else
+            {
+                inFlight.put(shard, className);
+            }
+
+            return className;
+        }
+
+
+        /**
+         * Stops tracking the test class being run by a shard.
+         *
+         * @param shard  the index of the shard
+         *
+         * @return  the test class name or <code>null</code> if the shard wasn't running a test class
+         */
+        synchronized String release(int shard)
+        {
+            return inFlight.remove(shard);
+        }
+
+
+        /**
+         * Returns a test class name to the queue, to be run by another shard, unless it has
+         * previously been returned to the queue.
+         *
+         * @param className  the test class name
+         *
+         * @return  <code>true</code> if the test class was returned to the queue
+         */
+        synchronized boolean requeue(String className)
+        {
+            if (requeued.add(className))
+            {
+                classNames.add(className);
+
+                return true;
+            }
+            else
+            {
+                return false;
+            }
+        }
+
+
+        /**
+         * Removes and returns the test class names that were returned to the queue and
+         * have not since been taken by a shard.
+         *
+         * @return  the test class names
+         */
+        synchronized List<String> drainRequeued()
+        {
+            List<String> names = new ArrayList<>();
+
+            for (String className : requeued)
+            {
+                if (classNames.remove(className))
+                {
+                    names.add(className);
+                }
+            }
+
+            return names;
+        }
+
+
+        /**
+         * Removes and returns the test class names being run by the shards.
+         *
+         * @return  the test class names
+         */
+        synchronized List<String> drainInFlight()
+        {
+            List<String> names = new ArrayList<>(inFlight.values());
+
+            inFlight.clear();
+
+            return names;
+        }
+
+
+        /**
+         * Obtains the number of test class names remaining in the queue.
+         *
+         * @return  the number of remaining test class names
+         */
+        int size()
+        {
+            return classNames.size();
+        }
+    }
+
+
+    /**
+     * A {@link RemoteCallable} submitted by a shard to the {@link ShardedJUnitTestRun}
+     * to obtain the name of the next test class to run.
+     */
+    public static class NextTestClass implements RemoteCallable<String>
+    {
+        /**
+         * The identity of the queue of test classes.
+         */
+        private final String queueId;
+
+        /**
+         * The index of the shard requesting the next test class.
+         */
+        private final int shard;
+
+        /**
+         * The test class names offered to seed the queue (may be <code>null</code>).
+         */
+        private final ArrayList<String> offered;
+
+
+        /**
+         * Constructs a {@link NextTestClass}.
+         *
+         * @param queueId  the identity of the queue of test classes
+         * @param shard    the index of the shard requesting the next test class
+         * @param offered  the test class names to seed the queue, should it not have been
+         *                 seeded (<code>null</code> when the queue is known to be seeded)
+         */
+        public NextTestClass(String            queueId,
+                             int               shard,
+                             ArrayList<String> offered)
+        {
+            this.queueId = queueId;
+            this.shard   = shard;
+            this.offered = offered;
+        }
+
+
+        @Override
+        public String call()
+        {
+            TestClassQueue queue = QUEUES.get(queueId);
+
+            if (queue == null)
+            {
+                return null;
+            }
+
+            if (offered != null)
+            {
+                queue.seed(offered);
+            }
+
+            return queue.poll(shard);
+        }
+    }
+
+
+    /**
+     * Merges the {@link JUnitTestListener.Event}s raised by the shards into a single
+     * stream of {@link JUnitTestListener.Event}s for a {@link List} of {@link JUnitTestListener}s.
+     */
+    static class Merger
+    {
+        /**
+         * The {@link JUnitTestListener}s to receive the merged events.
+         */
+        private final List<JUnitTestListener> listeners;
+
+        /**
+         * The number of shards.
+         */
+        private final int shardCount;
+
+        /**
+         * The indexes of the shards that have completed.
+         */
+        private final Set<Integer> completedShards;
+
+        /**
+         * Has the {@link JUnitTestListener.Event.Type#JUnitStarted} event been delivered?
+         */
+        private boolean started;
+
+        /**
+         * Has the {@link JUnitTestListener.Event.Type#JUnitCompleted} event been delivered?
+         */
+        private boolean completed;
+
+        /**
+         * The time the first shard started.
+         */
+        private long startTime;
+
+
+        /**
+         * Constructs a {@link Merger}.
+         *
+         * @param listeners   the {@link JUnitTestListener}s to receive the merged events
+         * @param shardCount  the number of shards
+         */
+        Merger(List<JUnitTestListener> listeners,
+               int                     shardCount)
+        {
+            this.listeners       = new ArrayList<>(listeners);
+            this.shardCount      = shardCount;
+            this.completedShards = new HashSet<>();
+        }
+
+
+        /**
+         * Creates a {@link JUnitTestListener} to receive the events of a single shard.
+         *
+         * @param shard  the index of the shard
+         *
+         * @return  a {@link JUnitTestListener} for a shard
+         */
+        JUnitTestListener createShardListener(int shard)
+        {
+            return new ShardListener(this, shard);
+        }
+
+
+        /**
+         * Handles the start of a shard.
+         */
+        synchronized void shardStarted()
+        {
+            if (!started)
+            {
+                started   = true;
+                startTime = System.currentTimeMillis();
+
+                deliver(JUnitTestListener.Event.junitStarted());
+            }
+        }
+
+
+        /**
+         * Handles the completion of a shard, either normally or due to it terminating.
+         *
+         * @param shard  the index of the shard
+         */
+        synchronized void shardCompleted(int shard)
+        {
+            completedShards.add(shard);
+
+            if (completedShards.size() >= shardCount)
+            {
+                close();
+            }
+        }
+
+
+        /**
+         * Delivers the {@link JUnitTestListener.Event}s reporting a test class that was
+         * not run to completion as an error.
+         *
+         * @param className  the name of the test class
+         * @param message    the message describing why the test class did not complete
+         */
+        synchronized void publishLost(String className,
+                                      String message)
+        {
+            if (!completed)
+            {
+                shardStarted();
+
+                publish(Arrays.asList(JUnitTestListener.Event.testRunStarted(className, null),
+                                      JUnitTestListener.Event.testClassStarted(className),
+                                      JUnitTestListener.Event.testStarted(className, className),
+                                      JUnitTestListener.Event.error(className,
+                                                                    className,
+                                                                    0,
+                                                                    IllegalStateException.class.getName(),
+                                                                    message,
+                                                                    null),
+                                      JUnitTestListener.Event.testClassFinished(className, 0),
+                                      JUnitTestListener.Event.testRunFinsihed(className, 0)));
+            }
+        }
+
+
+        /**
+         * Delivers the specified {@link JUnitTestListener.Event}s, without interleaving
+         * with those of other shards.
+         *
+         * @param events  the {@link JUnitTestListener.Event}s
+         */
+        synchronized void publish(List<JUnitTestListener.Event> events)
+        {
+            events.forEach(this::deliver);
+        }
+
+
+        /**
+         * Delivers the {@link JUnitTestListener.Event.Type#JUnitCompleted} event,
+         * if it hasn't already been delivered.
+         */
+        synchronized void close()
+        {
+            if (!completed)
+            {
+                shardStarted();
+
+                completed = true;
+
+                deliver(JUnitTestListener.Event.junitCompleted(System.currentTimeMillis() - startTime));
+            }
+        }
+
+
+        /**
+         * Delivers a {@link JUnitTestListener.Event} to the {@link JUnitTestListener}s.
+         *
+         * @param event  the {@link JUnitTestListener.Event}
+         */
+        private void deliver(JUnitTestListener.Event event)
+        {
+            for (JUnitTestListener listener : listeners)
+            {
+                try
+                {
+                    switch (event.getType())
+                    {
+                    case JUnitStarted :
+                        listener.junitStarted(event);
+                        break;
+
+                    case JUnitCompleted :
+                        listener.junitCompleted(event);
+                        break;
+
+                    case testRunStarted :
+                        listener.testRunStarted(event);
+                        break;
+
+                    case testRunFinished :
+                        listener.testRunFinished(event);
+                        break;
+
+                    case testClassStarted :
+                        listener.testClassStarted(event);
+                        break;
+
+                    case testClassFinished :
+                        listener.testClassFinished(event);
+                        break;
+
+                    case testStarted :
+                        listener.testStarted(event);
+                        break;
+
+                    case testSuccess :
+                        listener.testSucceeded(event);
+                        break;
+
+                    case testIgnored :
+                        listener.testIgnored(event);
+                        break;
+
+                    case testAssumptionFailure :
+                        listener.testAssumptionFailure(event);
+                        break;
+
+                    case testFailure :
+                        listener.testFailed(event);
+                        break;
+
+                    case testError :
+                        listener.testError(event);
+                        break;
+                    }
+                }
+                catch (Exception e)
+                {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A {@link JUnitTestListener} receiving the events of a single shard, buffering the
+     * events of each test run (a test class) so that they are published together.
+     * <p>
+     * Events for a shard are received sequentially, so no synchronization is required.
+     */
+    static class ShardListener implements JUnitTestListener
+    {
+        /**
+         * The {@link Merger} to which events are published.
+         */
+        private final Merger merger;
+
+        /**
+         * The index of the shard.
+         */
+        private final int shard;
+
+        /**
+         * The events for the current test run (<code>null</code> when not in a test run).
+         */
+        private List<Event> buffer;
+
+
+        /**
+         * Constructs a {@link ShardListener}.
+         *
+         * @param merger  the {@link Merger} to which events are published
+         * @param shard   the index of the shard
+         */
+        ShardListener(Merger merger,
+                      int    shard)
+        {
+            this.merger = merger;
+            this.shard  = shard;
+        }
+
+
+        /**
+         * Buffers or publishes an {@link Event}.
+         *
+         * @param event  the {@link Event}
+         */
+        private void onEvent(Event event)
+        {
+            if (buffer == null)
+            {
+                merger.publish(Collections.singletonList(event));
+            }
+            else
+            {
+                buffer.add(event);
+            }
+        }
+
+
+        @Override
+        public void junitStarted(Event event)
+        {
+            merger.shardStarted();
+        }
+
+
+        @Override
+        public void junitCompleted(Event event)
+        {
+            if (buffer != null)
+            {
+                merger.publish(buffer);
+
+                buffer = null;
+            }
+
+            merger.shardCompleted(shard);
+        }
+
+
+        @Override
+        public void testRunStarted(Event event)
+        {
+            buffer = new ArrayList<>();
+
+            buffer.add(event);
+        }
+
+
+        @Override
+        public void testRunFinished(Event event)
+        {
+            onEvent(event);
+
+            merger.publish(buffer == null ? Collections.emptyList() : buffer);
+
+            buffer = null;
+        }
+
+
+        @Override
+        public void testClassStarted(Event event)
+        {
+            onEvent(event);
+        }
+
+
+        @Override
+        public void testClassFinished(Event event)
+        {
+            onEvent(event);
+        }
+
+
+        @Override
+        public void testStarted(Event event)
+        {
+            onEvent(event);
+        }
+
+
+        @Override
+        public void testSucceeded(Event event)
+        {
+            onEvent(event);
+        }
+
+
+        @Override
+        public void testAssumptionFailure(Event event)
+        {
+            onEvent(event);
+        }
+
+
+        @Override
+        public void testError(Event event)
+        {
+            onEvent(event);
+        }
+
+
+        @Override
+        public void testFailed(Event event)
+        {
+            onEvent(event);
+        }
+
+
+        @Override
+        public void testIgnored(Event event)
+        {
+            onEvent(event);
+        }
+    }
+}
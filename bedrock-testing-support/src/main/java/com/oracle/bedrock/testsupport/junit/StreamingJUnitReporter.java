@@ -0,0 +1,916 @@
+/*
+ * File: StreamingJUnitReporter.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.junit;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.options.Decoration;
+import com.oracle.bedrock.runtime.ApplicationConsole;
+import com.oracle.bedrock.runtime.java.io.NullReader;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * A base class for generating JUnit reports incrementally, as {@link JUnitTestListener.Event}s
+ * arrive, without holding the results of the tests in memory.
+ * <p>
+ * Each completed test case is immediately written and flushed to a "part" file for the test
+ * class, which for a report folder is created alongside the report, allowing the results of a
+ * test class to be observed while it executes.  When a test class finishes, the report is
+ * assembled by writing the summary, followed by transferring the "part" file and any captured
+ * output to the report using {@link FileChannel}s, after which the temporary files are deleted.
+ * <p>
+ * The output of a {@link JUnitTestRun} may be captured in the report of the test class that
+ * is executing by launching the {@link JUnitTestRun} with the {@link #getConsole()}.  Captured
+ * output is written to temporary files, instead of being held in memory.
+ * <p>
+ * As console output doesn't identify the test class that produced it, output can only be attributed
+ * to a test class when test classes execute serially, as they do in a {@link SimpleJUnitTestRun}.
+ * Output produced while several test classes are executing is discarded, rather than being
+ * attributed to the wrong test class, consequently output shouldn't be captured for a
+ * {@link ShardedJUnitTestRun}, whose shards execute test classes concurrently.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @see JUnitReporter
+ */
+public abstract class StreamingJUnitReporter implements JUnitTestListener
+{
+    /**
+     * The size of the buffers used to write reports.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The folder to write the test reports to (<code>null</code> for {@link System#out}).
+     */
+    private final File reportFolder;
+
+    /**
+     * The {@link Suite}s of the test classes that have yet to finish, by class name.
+     */
+    private final Map<String, Suite> suites;
+
+    /**
+     * The {@link ApplicationConsole} capturing output for the executing test class.
+     */
+    private final ApplicationConsole console;
+
+    /**
+     * The {@link Suite}s of the test classes that have started and are yet to finish.
+     */
+    private final Set<Suite> executing;
+
+    /**
+     * The System properties of the JUnit tests.
+     */
+    private Properties testProperties;
+
+
+    /**
+     * Create a {@link StreamingJUnitReporter} with the specified output folder.
+     * <p>
+     * If the output folder is null the reports will be written to {@link System#out}.
+     *
+     * @param reportFolder  the folder to write the report files to or null if the
+     *                      reports should be written to {@link System#out}
+     */
+    protected StreamingJUnitReporter(File reportFolder)
+    {
+        this.reportFolder = reportFolder;
+        this.suites       = new LinkedHashMap<>();
+        this.console      = new CapturingConsole();
+        this.executing    = new LinkedHashSet<>();
+    }
+
+
+    /**
+     * Obtain the folder to use to write the test reports to.
+     *
+     * @return  the folder to use to write the test reports to
+     */
+    public File getReportFolder()
+    {
+        return reportFolder;
+    }
+
+
+    /**
+     * Obtain the System properties used by the test run.
+     *
+     * @return  the System properties used by the test run
+     */
+    public synchronized Properties getTestProperties()
+    {
+        return testProperties;
+    }
+
+
+    /**
+     * Obtain this {@link StreamingJUnitReporter} instance as an {@link Option}
+     *
+     * @return  this {@link StreamingJUnitReporter} instance as an {@link Option}
+     */
+    public Option asOption()
+    {
+        return Decoration.of(this);
+    }
+
+
+    /**
+     * Obtain an {@link ApplicationConsole} that captures the output of a {@link JUnitTestRun}
+     * in the report of the test class that is executing.  Output produced when no test class,
+     * or more than one test class, is executing is discarded.
+     *
+     * @return  the {@link ApplicationConsole}
+     */
+    public ApplicationConsole getConsole()
+    {
+        return console;
+    }
+
+
+    /**
+     * Obtain the file name to use for the test report for the
+     * specified class name.
+     *
+     * @param className  the name of the test class
+     *
+     * @return  the file name to use for the test report for the
+     *          specified class name
+     */
+    public abstract String getReportFileName(String className);
+
+
+    /**
+     * Write the summary of a {@link Suite} that precedes the test cases in a report.
+     *
+     * @param writer  the {@link Writer} for the report
+     * @param suite   the {@link Suite}
+     *
+     * @throws IOException  when the report can't be written
+     */
+    protected abstract void writeHeader(Writer writer,
+                                        Suite  suite) throws IOException;
+
+
+    /**
+     * Write a completed test case.
+     *
+     * @param writer  the {@link Writer} for the test cases
+     * @param event   the {@link Event} completing the test case
+     *
+     * @throws IOException  when the test case can't be written
+     */
+    protected abstract void writeTestCase(Writer writer,
+                                          Event  event) throws IOException;
+
+
+    /**
+     * Write the content that follows the test cases and captured output in a report.
+     *
+     * @param writer  the {@link Writer} for the report
+     * @param suite   the {@link Suite}
+     *
+     * @throws IOException  when the report can't be written
+     */
+    protected abstract void writeFooter(Writer writer,
+                                        Suite  suite) throws IOException;
+
+
+    /**
+     * Determines if output is included in the reports.
+     *
+     * @return  <code>true</code> if output is included in the reports
+     */
+    protected boolean isCapturingOutput()
+    {
+        return false;
+    }
+
+
+    /**
+     * Encodes captured output for inclusion in a report.
+     *
+     * @param output  the output
+     *
+     * @return  the encoded output
+     */
+    protected String encodeOutput(String output)
+    {
+        return output;
+    }
+
+
+    /**
+     * Write the content that precedes captured output in a report.
+     *
+     * @param writer  the {@link Writer} for the report
+     * @param error   is the output from stderr, otherwise stdout
+     *
+     * @throws IOException  when the report can't be written
+     */
+    protected void writeOutputStart(Writer  writer,
+                                    boolean error) throws IOException
+    {
+    }
+
+
+    /**
+     * Write the content that follows captured output in a report.
+     *
+     * @param writer  the {@link Writer} for the report
+     * @param error   is the output from stderr, otherwise stdout
+     *
+     * @throws IOException  when the report can't be written
+     */
+    protected void writeOutputEnd(Writer  writer,
+                                  boolean error) throws IOException
+    {
+    }
+
+
+    /**
+     * Ensure that a {@link Suite} exists for the specified test class.
+     *
+     * @param className  the name of the test class
+     *
+     * @return  the {@link Suite}
+     */
+    private Suite ensureSuite(String className)
+    {
+        return suites.computeIfAbsent(className, Suite::new);
+    }
+
+
+    /**
+     * Write a completed test case to the {@link Suite} of its test class, flushing it immediately.
+     *
+     * @param event  the {@link Event} completing the test case
+     *
+     * @return  the {@link Suite} of the test class
+     */
+    private Suite complete(Event event)
+    {
+        Suite suite = ensureSuite(event.getClassName());
+
+        try
+        {
+            suite.caseCount++;
+
+            writeTestCase(suite.ensureCases(), event);
+
+            suite.cases.flush();
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+
+        return suite;
+    }
+
+
+    /**
+     * Finish a {@link Suite}, assembling the report and deleting the temporary files.
+     *
+     * @param suite  the {@link Suite}
+     */
+    private void finish(Suite suite)
+    {
+        executing.remove(suite);
+
+        try
+        {
+            suite.ensureCases();
+            suite.closeWriters();
+
+            Path report = reportFolder == null
+                          ? Files.createTempFile("bedrock-junit-", ".report")
+                          : reportFolder.toPath().resolve(getReportFileName(suite.getClassName()));
+
+            try (FileChannel channel = FileChannel.open(report,
+                                                        StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING))
+            {
+                Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE);
+
+                writeHeader(writer, suite);
+                writer.flush();
+
+                transfer(suite.casesPath, channel);
+
+                if (isCapturingOutput())
+                {
+                    transferOutput(suite.outputPath, false, writer, channel);
+                    transferOutput(suite.errorPath, true, writer, channel);
+                }
+
+                writeFooter(writer, suite);
+                writer.flush();
+            }
+
+            if (reportFolder == null)
+            {
+                Files.copy(report, System.out);
+                Files.delete(report);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+        finally
+        {
+            suite.deleteFiles();
+        }
+    }
+
+
+    /**
+     * Transfer captured output to a report, when output was captured.
+     *
+     * @param path     the {@link Path} of the captured output (may be <code>null</code>)
+     * @param error    is the output from stderr, otherwise stdout
+     * @param writer   the {@link Writer} for the report
+     * @param channel  the {@link FileChannel} for the report
+     *
+     * @throws IOException  when the report can't be written
+     */
+    private void transferOutput(Path        path,
+                                boolean     error,
+                                Writer      writer,
+                                FileChannel channel) throws IOException
+    {
+        if (path != null && Files.size(path) > 0)
+        {
+            writeOutputStart(writer, error);
+            writer.flush();
+
+            transfer(path, channel);
+
+            writeOutputEnd(writer, error);
+        }
+    }
+
+
+    /**
+     * Transfer the content of a file to the end of a {@link FileChannel}.
+     *
+     * @param path     the {@link Path} of the file
+     * @param channel  the {@link FileChannel}
+     *
+     * @throws IOException  when the content can't be transferred
+     */
+    private static void transfer(Path        path,
+                                 FileChannel channel) throws IOException
+    {
+        try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long size     = source.size();
+            long position = 0;
+
+            while (position < size)
+            {
+                position += source.transferTo(position, size - position, channel);
+            }
+        }
+    }
+
+
+    /**
+     * Capture output for the executing test class, when only one test class is executing.
+     *
+     * @param output  the output
+     * @param error   is the output from stderr, otherwise stdout
+     */
+    private synchronized void capture(String  output,
+                                      boolean error)
+    {
+        if (executing.size() == 1 && isCapturingOutput())
+        {
+            try
+            {
+                executing.iterator().next().ensureOutput(error).write(encodeOutput(output));
+            }
+            catch (IOException e)
+            {
+                // output that can't be captured is discarded
+            }
+        }
+    }
+
+
+    @Override
+    public void junitStarted(Event event)
+    {
+    }
+
+
+    @Override
+    public synchronized void junitCompleted(Event event)
+    {
+        // finish the suites of test classes that didn't finish
+        for (Suite suite : new ArrayList<>(suites.values()))
+        {
+            suites.remove(suite.getClassName());
+
+            finish(suite);
+        }
+    }
+
+
+    @Override
+    public synchronized void testRunStarted(Event event)
+    {
+        testProperties = event.getProperties();
+    }
+
+
+    @Override
+    public void testRunFinished(Event event)
+    {
+    }
+
+
+    @Override
+    public synchronized void testClassStarted(Event event)
+    {
+        if (event.getClassName() != null)
+        {
+            executing.add(ensureSuite(event.getClassName()));
+        }
+    }
+
+
+    @Override
+    public synchronized void testClassFinished(Event event)
+    {
+        String className = event.getClassName();
+
+        if (className != null)
+        {
+            Suite suite = ensureSuite(className);
+
+            suites.remove(className);
+
+            suite.testTimeSeconds = ((float) event.getTime()) / 1000.0f;
+
+            finish(suite);
+        }
+    }
+
+
+    @Override
+    public synchronized void testStarted(Event event)
+    {
+        ensureSuite(event.getClassName()).testCount++;
+    }
+
+
+    @Override
+    public synchronized void testSucceeded(Event event)
+    {
+        complete(event);
+    }
+
+
+    @Override
+    public synchronized void testIgnored(Event event)
+    {
+        complete(event).skipCount++;
+    }
+
+
+    @Override
+    public synchronized void testFailed(Event event)
+    {
+        complete(event).failureCount++;
+    }
+
+
+    @Override
+    public synchronized void testError(Event event)
+    {
+        complete(event).errorCount++;
+    }
+
+
+    @Override
+    public synchronized void testAssumptionFailure(Event event)
+    {
+        complete(event).skipCount++;
+    }
+
+
+    /**
+     * The summary and temporary files of the report for a test class.
+     */
+    public class Suite
+    {
+        /**
+         * The name of the test class.
+         */
+        private final String className;
+
+        /**
+         * The number of tests started.
+         */
+        private int testCount;
+
+        /**
+         * The number of completed test cases.
+         */
+        private int caseCount;
+
+        /**
+         * The number of tests skipped, either due to being ignored or
+         * due to failing {@link org.junit.Assume} assertions.
+         */
+        private int skipCount;
+
+        /**
+         * The number of test failures.
+         */
+        private int failureCount;
+
+        /**
+         * The number of errors.
+         */
+        private int errorCount;
+
+        /**
+         * The time in seconds taken for the tests to run.
+         */
+        private float testTimeSeconds;
+
+        /**
+         * The {@link Path} of the completed test cases.
+         */
+        private Path casesPath;
+
+        /**
+         * The {@link Writer} for the completed test cases.
+         */
+        private BufferedWriter cases;
+
+        /**
+         * The {@link Path} of the captured stdout (<code>null</code> when none captured).
+         */
+        private Path outputPath;
+
+        /**
+         * The {@link Writer} for the captured stdout.
+         */
+        private BufferedWriter output;
+
+        /**
+         * The {@link Path} of the captured stderr (<code>null</code> when none captured).
+         */
+        private Path errorPath;
+
+        /**
+         * The {@link Writer} for the captured stderr.
+         */
+        private BufferedWriter error;
+
+
+        /**
+         * Create a {@link Suite} for the specified class name.
+         *
+         * @param className  the name of the class
+         */
+        private Suite(String className)
+        {
+            this.className = className;
+        }
+
+
+        /**
+         * Ensure the {@link Writer} for completed test cases is open.
+         *
+         * @return  the {@link Writer}
+         *
+         * @throws IOException  when the file can't be created
+         */
+        private Writer ensureCases() throws IOException
+        {
+            if (cases == null)
+            {
+                if (reportFolder == null)
+                {
+                    casesPath = Files.createTempFile("bedrock-junit-", ".part");
+                }
+                else
+                {
+                    Files.createDirectories(reportFolder.toPath());
+
+                    casesPath = reportFolder.toPath().resolve(getReportFileName(className) + ".part");
+                }
+
+                cases = Files.newBufferedWriter(casesPath, StandardCharsets.UTF_8);
+            }
+
+            return cases;
+        }
+
+
+        /**
+         * Ensure the {@link Writer} for captured output is open.
+         *
+         * @param stderr  is the output from stderr, otherwise stdout
+         *
+         * @return  the {@link Writer}
+         *
+         * @throws IOException  when the file can't be created
+         */
+        private Writer ensureOutput(boolean stderr) throws IOException
+        {
+            if (stderr && error == null)
+            {
+                errorPath = Files.createTempFile("bedrock-junit-", ".err");
+                error     = Files.newBufferedWriter(errorPath, StandardCharsets.UTF_8);
+            }
+            else if (!stderr && output == null)
+            {
+                outputPath = Files.createTempFile("bedrock-junit-", ".out");
+                output     = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8);
+            }
+
+            return stderr ? error : output;
+        }
+
+
+        /**
+         * Close the {@link Writer}s of the {@link Suite}.
+         *
+         * @throws IOException  when a {@link Writer} can't be closed
+         */
+        private void closeWriters() throws IOException
+        {
+            for (Writer writer : new Writer[] {cases, output, error})
+            {
+                if (writer != null)
+                {
+                    writer.close();
+                }
+            }
+        }
+
+
+        /**
+         * Delete the temporary files of the {@link Suite}.
+         */
+        private void deleteFiles()
+        {
+            for (Path path : new Path[] {casesPath, outputPath, errorPath})
+            {
+                try
+                {
+                    if (path != null)
+                    {
+                        Files.deleteIfExists(path);
+                    }
+                }
+                catch (IOException e)
+                {
+                    // SKIP: we ignore exceptions when deleting
+                }
+            }
+        }
+
+
+        /**
+         * Obtain the class name the {@link Suite} is for.
+         *
+         * @return  the class name the {@link Suite} is for
+         */
+        public String getClassName()
+        {
+            return className;
+        }
+
+
+        /**
+         * Obtain the total number of seconds taken for the tests to execute.
+         *
+         * @return  the total number of seconds taken for the tests to execute
+         */
+        public float getTestTime()
+        {
+            return testTimeSeconds;
+        }
+
+
+        /**
+         * Obtain the number of tests started.
+         *
+         * @return  the number of tests started
+         */
+        public int getTestCount()
+        {
+            return testCount;
+        }
+
+
+        /**
+         * Obtain the number of completed test cases.
+         *
+         * @return  the number of completed test cases
+         */
+        public int getCaseCount()
+        {
+            return caseCount;
+        }
+
+
+        /**
+         * Obtain the number of skipped tests.
+         *
+         * @return  the number of skipped tests
+         */
+        public int getSkipCount()
+        {
+            return skipCount;
+        }
+
+
+        /**
+         * Obtain the number of failed tests.
+         *
+         * @return  the number of failed tests
+         */
+        public int getFailureCount()
+        {
+            return failureCount;
+        }
+
+
+        /**
+         * Obtain the number of test errors.
+         * <p>
+         * An error is when a test method fails due to an error that
+         * is not an {@link AssertionError}
+         *
+         * @return  the number of test errors
+         */
+        public int getErrorCount()
+        {
+            return errorCount;
+        }
+    }
+
+
+    /**
+     * An {@link ApplicationConsole} that captures output for the executing test class.
+     */
+    private class CapturingConsole implements ApplicationConsole
+    {
+        /**
+         * The {@link PrintWriter} for stdout.
+         */
+        private final PrintWriter outputWriter;
+
+        /**
+         * The {@link PrintWriter} for stderr.
+         */
+        private final PrintWriter errorWriter;
+
+        /**
+         * The {@link Reader} for stdin.
+         */
+        private final NullReader inputReader;
+
+
+        /**
+         * Constructs a {@link CapturingConsole}.
+         */
+        private CapturingConsole()
+        {
+            this.outputWriter = new PrintWriter(new CaptureWriter(false), true);
+            this.errorWriter  = new PrintWriter(new CaptureWriter(true), true);
+            this.inputReader  = new NullReader();
+        }
+
+
+        @Override
+        public PrintWriter getOutputWriter()
+        {
+            return outputWriter;
+        }
+
+
+        @Override
+        public PrintWriter getErrorWriter()
+        {
+            return errorWriter;
+        }
+
+
+        @Override
+        public Reader getInputReader()
+        {
+            return inputReader;
+        }
+
+
+        @Override
+        public void close()
+        {
+            outputWriter.flush();
+            errorWriter.flush();
+        }
+
+
+        @Override
+        public boolean isDiagnosticsEnabled()
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * A {@link Writer} that captures output for the executing test class.
+     */
+    private class CaptureWriter extends Writer
+    {
+        /**
+         * Is the output from stderr, otherwise stdout.
+         */
+        private final boolean error;
+
+
+        /**
+         * Constructs a {@link CaptureWriter}.
+         *
+         * @param error  is the output from stderr, otherwise stdout
+         */
+        private CaptureWriter(boolean error)
+        {
+            this.error = error;
+        }
+
+
+        @Override
+        public void write(char[] buffer,
+                          int    offset,
+                          int    length)
+        {
+            capture(new String(buffer, offset, length), error);
+        }
+
+
+        @Override
+        public void flush()
+        {
+        }
+
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * File: StreamingJUnitTextReporter.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.junit;
+
+import com.oracle.bedrock.Option;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * An implementation of a {@link StreamingJUnitReporter} that produces a text based report
+ * in the same format as the {@link JUnitTextReporter}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class StreamingJUnitTextReporter extends StreamingJUnitReporter
+{
+    /**
+     * Create a {@link StreamingJUnitTextReporter} that prints the
+     * report to {@link System#out}.
+     */
+    public StreamingJUnitTextReporter()
+    {
+        super(null);
+    }
+
+
+    /**
+     * Create a {@link StreamingJUnitTextReporter} that prints the
+     * report to a file in the specified folder.
+     *
+     * @param  reportFolder  the folder to print the report file to
+     */
+    public StreamingJUnitTextReporter(File reportFolder)
+    {
+        super(reportFolder);
+    }
+
+
+    @Override
+    protected void writeHeader(Writer writer,
+                               Suite  suite) throws IOException
+    {
+        String className = suite.getClassName();
+        int    failures  = suite.getFailureCount();
+        int    errors    = suite.getErrorCount();
+
+        writer.write(JUnitTextReporter.DASHES + "\n");
+        writer.write("Test set: " + className + "\n");
+        writer.write(JUnitTextReporter.DASHES + "\n");
+
+        writer.write(String.format("Tests run: %d, Failures: %d, Errors: %d, Skipped: %d, "
+                                   + "Time elapsed: %.3f sec %s - in %s\n",
+                                   suite.getTestCount(),
+                                   failures,
+                                   errors,
+                                   suite.getSkipCount(),
+                                   suite.getTestTime(),
+                                   (errors > 0 || failures > 0) ? "<<< FAILURE!" : "",
+                                   className));
+    }
+
+
+    @Override
+    protected void writeTestCase(Writer writer,
+                                 Event  event) throws IOException
+    {
+        if (event.isError() || event.isFailure())
+        {
+            float               testTime   = ((float) event.getTime()) / 1000.0f;
+            StackTraceElement[] stackTrace = event.getStackTrace();
+
+            writer.write(String.format("%s Time elapsed: %.3f sec  <<< FAILURE!\n", event.getName(), testTime));
+
+            writer.write(String.format("%s : %s\n", event.getException(), event.getMessage()));
+
+            if (stackTrace != null)
+            {
+                for (StackTraceElement element : stackTrace)
+                {
+                    writer.write("\t at " + element + "\n");
+                }
+            }
+        }
+    }
+
+
+    @Override
+    protected void writeFooter(Writer writer,
+                               Suite  suite) throws IOException
+    {
+    }
+
+
+    @Override
+    public String getReportFileName(String className)
+    {
+        return className + ".txt";
+    }
+
+
+    /**
+     * Obtain a {@link StreamingJUnitTextReporter} as an {@link Option}
+     * that will print test reports to the specified folder.
+     *
+     * @param folder  the folder to print test reports to
+     *
+     * @return  a {@link StreamingJUnitTextReporter} as an {@link Option}
+     *          that will print test reports to the specified folder
+     */
+    public static Option at(File folder)
+    {
+        if (folder.exists() &&!folder.isDirectory())
+        {
+            throw new IllegalStateException("Report folder exists but is not a directory " + folder);
+        }
+
+        return new StreamingJUnitTextReporter(folder).asOption();
+    }
+
+
+    /**
+     * Obtain a {@link StreamingJUnitTextReporter} as an {@link Option}
+     * that will print test reports to {@link System#out}.
+     *
+     * @return  a {@link StreamingJUnitTextReporter} as an {@link Option}
+     *          that will print test reports to {@link System#out}
+     */
+    public static Option toConsole()
+    {
+        return new StreamingJUnitTextReporter().asOption();
+    }
+}
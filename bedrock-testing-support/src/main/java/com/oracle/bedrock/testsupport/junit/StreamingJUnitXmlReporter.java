@@ -0,0 +1,293 @@
+/*
+ * File: StreamingJUnitXmlReporter.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.junit;
+
+import com.oracle.bedrock.Option;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * An implementation of a {@link StreamingJUnitReporter} that produces an XML based report
+ * in the same format as that produced by the Maven Surefire plugin, including any output
+ * captured using the {@link #getConsole()}.
+ * <p>
+ * Unlike the {@link JUnitXmlReporter}, text written to the report is escaped.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class StreamingJUnitXmlReporter extends StreamingJUnitReporter
+{
+    /**
+     * Constructs a {@link StreamingJUnitXmlReporter}.
+     */
+    public StreamingJUnitXmlReporter()
+    {
+        super(null);
+    }
+
+
+    /**
+     * Constructs a {@link StreamingJUnitXmlReporter}.
+     *
+     * @param reportFolder  the report folder
+     */
+    public StreamingJUnitXmlReporter(File reportFolder)
+    {
+        super(reportFolder);
+    }
+
+
+    @Override
+    protected void writeHeader(Writer writer,
+                               Suite  suite) throws IOException
+    {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+
+        writer.write(String.format("<testsuite name=\"%s\" time=\"%.3f\" tests=\"%d\" errors=\"%d\" skipped=\"%d\" "
+                                   + "failures=\"%d\">\n",
+                                   escape(suite.getClassName()),
+                                   suite.getTestTime(),
+                                   suite.getCaseCount(),
+                                   suite.getErrorCount(),
+                                   suite.getSkipCount(),
+                                   suite.getFailureCount()));
+
+        Properties properties = getTestProperties();
+
+        if (properties != null)
+        {
+            writer.write("  <properties>\n");
+
+            for (String name : new TreeSet<>(properties.stringPropertyNames()))
+            {
+                writer.write(String.format("    <property name=\"%s\" value=\"%s\"/>\n",
+                                           escape(name),
+                                           escape(properties.getProperty(name))));
+            }
+
+            writer.write("  </properties>\n");
+        }
+    }
+
+
+    @Override
+    protected void writeTestCase(Writer writer,
+                                 Event  event) throws IOException
+    {
+        float testTime = ((float) event.getTime()) / 1000.0f;
+
+        writer.write(String.format("  <testcase name=\"%s\" classname=\"%s\" time=\"%.3f\"",
+                                   escape(event.getName()),
+                                   escape(event.getClassName()),
+                                   testTime));
+
+        if (event.isSkipped())
+        {
+            String message = event.getMessage();
+
+            if (message == null)
+            {
+                writer.write(">\n    <skipped/>\n");
+            }
+            else
+            {
+                writer.write(String.format(">\n    <skipped message=\"%s\"/>\n", escape(message)));
+            }
+
+            writer.write("  </testcase>\n");
+        }
+        else if (event.isFailure() || event.isError())
+        {
+            String exception = event.getException();
+            String message   = event.getMessage();
+
+            writer.write(String.format(">\n    <failure message=\"%s\" type=\"%s\"",
+                                       escape(message),
+                                       escape(exception)));
+
+            StackTraceElement[] stackTrace = event.getStackTrace();
+
+            if (stackTrace != null)
+            {
+                StringBuilder builder = new StringBuilder();
+
+                builder.append(exception).append(": ").append(message).append('\n');
+
+                for (StackTraceElement element : stackTrace)
+                {
+                    builder.append("\tat ").append(element).append('\n');
+                }
+
+                writer.write("><![CDATA[");
+                writer.write(builder.toString().replace("]]>", "]]]]><![CDATA[>"));
+                writer.write("]]></failure>\n");
+            }
+            else
+            {
+                writer.write("/>\n");
+            }
+
+            writer.write("  </testcase>\n");
+        }
+        else
+        {
+            writer.write("/>\n");
+        }
+    }
+
+
+    @Override
+    protected void writeFooter(Writer writer,
+                               Suite  suite) throws IOException
+    {
+        writer.write("</testsuite>\n");
+    }
+
+
+    @Override
+    protected boolean isCapturingOutput()
+    {
+        return true;
+    }
+
+
+    @Override
+    protected String encodeOutput(String output)
+    {
+        // each character is escaped independently, so output may be escaped as it arrives
+        return escape(output);
+    }
+
+
+    @Override
+    protected void writeOutputStart(Writer  writer,
+                                    boolean error) throws IOException
+    {
+        writer.write(error ? "  <system-err>" : "  <system-out>");
+    }
+
+
+    @Override
+    protected void writeOutputEnd(Writer  writer,
+                                  boolean error) throws IOException
+    {
+        writer.write(error ? "</system-err>\n" : "</system-out>\n");
+    }
+
+
+    /**
+     * Escape text for use in XML content or attribute values, dropping
+     * characters that are not permitted in XML.
+     *
+     * @param text  the text to escape (may be <code>null</code>)
+     *
+     * @return  the escaped text
+     */
+    static String escape(String text)
+    {
+        if (text == null)
+        {
+            return "null";
+        }
+
+        StringBuilder builder = new StringBuilder(text.length());
+
+        for (int i = 0; i < text.length(); i++)
+        {
+            char c = text.charAt(i);
+
+            switch (c)
+            {
+            case '&' :
+                builder.append("&amp;");
+                break;
+
+            case '<' :
+                builder.append("&lt;");
+                break;
+
+            case '>' :
+                builder.append("&gt;");
+                break;
+
+            case '"' :
+                builder.append("&quot;");
+                break;
+
+            default :
+                if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r')
+                {
+                    builder.append(c);
+                }
+            }
+        }
+
+        return builder.toString();
+    }
+
+
+    @Override
+    public String getReportFileName(String className)
+    {
+        return "TEST-" + className + ".xml";
+    }
+
+
+    /**
+     * Obtain a {@link StreamingJUnitXmlReporter} as an {@link Option}
+     * that will write test reports to the specified folder.
+     *
+     * @param folder  the folder to write test reports to
+     *
+     * @return  a {@link StreamingJUnitXmlReporter} as an {@link Option}
+     */
+    public static Option at(File folder)
+    {
+        if (folder.exists() &&!folder.isDirectory())
+        {
+            throw new IllegalStateException("Report folder exists but is not a directory " + folder);
+        }
+
+        return new StreamingJUnitXmlReporter(folder).asOption();
+    }
+
+
+    /**
+     * Obtain a {@link StreamingJUnitXmlReporter} as an {@link Option}
+     * that will write test reports to {@link System#out}.
+     *
+     * @return  a {@link StreamingJUnitXmlReporter} as an {@link Option}
+     */
+    public static Option toConsole()
+    {
+        return new StreamingJUnitXmlReporter().asOption();
+    }
+}
@@ -0,0 +1,945 @@
+/*
+ * File: TestClassScanner.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.junit;
+
+import com.oracle.bedrock.runtime.java.ClassPath;
+import com.oracle.bedrock.runtime.java.ClassPathScanner;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Discovers the names of the classes in a {@link ClassPath} entry (a directory or an archive)
+ * that may be JUnit tests, by reading the class file headers and annotations directly
+ * from the class file bytes, without loading (or initializing) any classes.
+ * <p>
+ * A class is considered to be a candidate test class when it is a concrete class that
+ * extends or implements JUnit 3 <code>junit.framework.Test</code> (for example
+ * <code>TestCase</code>), declares a <code>suite</code> method, declares or inherits a
+ * method annotated with <code>org.junit.Test</code> or is (possibly by inheritance)
+ * annotated with <code>org.junit.runner.RunWith</code>.  Abstract classes are only
+ * candidates when annotated with <code>RunWith</code>.  Super classes and interfaces
+ * outside of the entry being scanned are read as resources from the {@link ClassLoader}.
+ * <p>
+ * Candidates are a super-set of the test classes.  Only the candidates need to be loaded
+ * and evaluated using a {@link TestClassPredicate}.
+ * <p>
+ * The candidates for each entry are cached, in memory and on disk, using a fingerprint
+ * of the entry.  For a directory the fingerprint is computed from the names, sizes and
+ * modification times of the class files it contains, and for an archive from its size and
+ * modification time.  The on-disk cache is located in the directory defined by the
+ * {@link #CACHE_DIRECTORY_PROPERTY} system property, defaulting to a directory in
+ * <code>java.io.tmpdir</code>.  Setting the property to an empty value disables the on-disk cache.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class TestClassScanner
+{
+    /**
+     * The system property defining the directory for the on-disk cache of candidate test classes.
+     */
+    public static final String CACHE_DIRECTORY_PROPERTY = "bedrock.junit.scan.cache";
+
+    /**
+     * The {@link Pattern} matching class files.
+     */
+    private static final Pattern CLASS_FILE = Pattern.compile(".*\\.class");
+
+    /**
+     * The in-memory cache of candidate test class names, by canonical entry path.
+     */
+    private static final ConcurrentHashMap<String, CachedCandidates> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The magic number of a class file.
+     */
+    private static final int MAGIC = 0xCAFEBABE;
+
+    // class file access flags
+    private static final int ACC_STATIC     = 0x0008;
+    private static final int ACC_INTERFACE  = 0x0200;
+    private static final int ACC_ABSTRACT   = 0x0400;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM       = 0x4000;
+
+    // internal names and descriptors of the JUnit types of interest
+    private static final String JUNIT3_TEST    = "junit/framework/Test";
+    private static final String JUNIT4_TEST    = "Lorg/junit/Test;";
+    private static final String JUNIT4_RUNWITH = "Lorg/junit/runner/RunWith;";
+
+    /**
+     * The {@link ClassLoader} used to read super classes and interfaces outside of the entry.
+     */
+    private final ClassLoader classLoader;
+
+
+    /**
+     * Constructs a {@link TestClassScanner}.
+     *
+     * @param classLoader  the {@link ClassLoader} used to read the bytes of super classes
+     *                     and interfaces that are not in the entries being scanned
+     */
+    public TestClassScanner(ClassLoader classLoader)
+    {
+        this.classLoader = classLoader == null ? TestClassScanner.class.getClassLoader() : classLoader;
+    }
+
+
+    /**
+     * Obtains the names of the candidate test classes in the specified {@link ClassPath} entry,
+     * using cached results when the entry is unchanged.
+     *
+     * @param path  the {@link Path} of the directory or archive
+     *
+     * @return  the names of the candidate test classes
+     *
+     * @throws IOException  when the entry can't be read
+     */
+    public List<String> getCandidateClassNames(Path path) throws IOException
+    {
+        File   file        = path.toFile().getCanonicalFile();
+        String key         = file.getPath();
+        String fingerprint = fingerprint(file.toPath());
+
+        CachedCandidates cached = CACHE.get(key);
+
+        if (cached == null || !cached.fingerprint.equals(fingerprint))
+        {
+            cached = readCache(key).filter(c -> c.fingerprint.equals(fingerprint)).orElse(null);
+
+            if (cached == null)
+            {
+                cached = new CachedCandidates(fingerprint, scan(file));
+
+                writeCache(key, cached);
+            }
+
+            CACHE.put(key, cached);
+        }
+
+        return cached.classNames;
+    }
+
+
+    /**
+     * Scans the specified directory or archive for candidate test classes.
+     *
+     * @param file  the directory or archive
+     *
+     * @return  the names of the candidate test classes
+     *
+     * @throws IOException  when the entry can't be read
+     */
+    List<String> scan(File file) throws IOException
+    {
+        // read the class file information for every class in the entry
+        Map<String, ClassFileInfo> classes = new TreeMap<>();
+
+        new ClassPathScanner().visitResources(file, CLASS_FILE, (name, stream) -> {
+                                                  ClassFileInfo info = ClassFileInfo.read(stream);
+
+                                                  if (info != null)
+                                                  {
+                                                      classes.put(info.name, info);
+                                                  }
+                                              });
+
+        Resolver     resolver   = new Resolver(classes);
+        List<String> candidates = new ArrayList<>();
+
+        for (ClassFileInfo info : classes.values())
+        {
+            if (resolver.isCandidate(info))
+            {
+                candidates.add(info.name.replace('/', '.'));
+            }
+        }
+
+        return Collections.unmodifiableList(candidates);
+    }
+
+
+    /**
+     * Computes the fingerprint of a directory or archive.
+     *
+     * @param path  the {@link Path} of the directory or archive
+     *
+     * @return  the fingerprint
+     *
+     * @throws IOException  when the entry can't be read
+     */
+    static String fingerprint(Path path) throws IOException
+    {
+        MessageDigest digest = createDigest();
+
+        if (Files.isDirectory(path))
+        {
+            try (Stream<Path> paths = Files.walk(path))
+            {
+                Iterator<Path> iterator = paths.filter(p -> p.toString().endsWith(".class")).sorted().iterator();
+
+                while (iterator.hasNext())
+                {
+                    Path                file       = iterator.next();
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+                    update(digest, path.relativize(file).toString(), attributes);
+                }
+            }
+        }
+        else
+        {
+            update(digest, path.toString(), Files.readAttributes(path, BasicFileAttributes.class));
+        }
+
+        StringBuilder builder = new StringBuilder();
+
+        for (byte b : digest.digest())
+        {
+            builder.append(String.format("%02x", b));
+        }
+
+        return builder.toString();
+    }
+
+
+    /**
+     * Updates a {@link MessageDigest} with the name, size and modification time of a file.
+     *
+     * @param digest      the {@link MessageDigest}
+     * @param name        the name of the file
+     * @param attributes  the {@link BasicFileAttributes} of the file
+     */
+    private static void update(MessageDigest       digest,
+                               String              name,
+                               BasicFileAttributes attributes)
+    {
+        digest.update((name + ':' + attributes.size() + ':' + attributes.lastModifiedTime().toMillis() + '\n')
+            .getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Creates the {@link MessageDigest} used for fingerprints.
+     *
+     * @return  a {@link MessageDigest}
+     */
+    private static MessageDigest createDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-1");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    /**
+     * Obtains the on-disk cache file for an entry.
+     *
+     * @param key  the canonical path of the entry
+     *
+     * @return  the cache {@link File} or <code>null</code> if the on-disk cache is disabled
+     */
+    private static File getCacheFile(String key)
+    {
+        String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY,
+                                              new File(System.getProperty("java.io.tmpdir"),
+                                                       "bedrock-junit-scan").getPath());
+
+        if (directory.trim().isEmpty())
+        {
+            return null;
+        }
+
+        MessageDigest digest  = createDigest();
+        StringBuilder builder = new StringBuilder();
+
+        for (byte b : digest.digest(key.getBytes(StandardCharsets.UTF_8)))
+        {
+            builder.append(String.format("%02x", b));
+        }
+
+        return new File(directory, builder.append(".candidates").toString());
+    }
+
+
+    /**
+     * Reads the on-disk cached candidates for an entry.
+     *
+     * @param key  the canonical path of the entry
+     *
+     * @return  the {@link CachedCandidates}, if present
+     */
+    private static Optional<CachedCandidates> readCache(String key)
+    {
+        File file = getCacheFile(key);
+
+        if (file == null || !file.isFile())
+        {
+            return Optional.empty();
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+        {
+            String       fingerprint = reader.readLine();
+            List<String> classNames  = new ArrayList<>();
+            String       line;
+
+            while ((line = reader.readLine()) != null)
+            {
+                if (!line.isEmpty())
+                {
+                    classNames.add(line);
+                }
+            }
+
+            return fingerprint == null
+                   ? Optional.empty()
+                   : Optional.of(new CachedCandidates(fingerprint, Collections.unmodifiableList(classNames)));
+        }
+        catch (IOException e)
+        {
+            // ignored - the cache will be re-created
+            return Optional.empty();
+        }
+    }
+
+
+    /**
+     * Writes the on-disk cached candidates for an entry.
+     *
+     * @param key     the canonical path of the entry
+     * @param cached  the {@link CachedCandidates}
+     */
+    private static void writeCache(String           key,
+                                   CachedCandidates cached)
+    {
+        File file = getCacheFile(key);
+
+        if (file == null)
+        {
+            return;
+        }
+
+        try
+        {
+            Files.createDirectories(file.getParentFile().toPath());
+
+            // write to a temporary file and then rename, so concurrent readers never see partial content
+            Path temporary = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8))
+            {
+                writer.write(cached.fingerprint);
+                writer.write('\n');
+
+                for (String className : cached.classNames)
+                {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+
+            if (!temporary.toFile().renameTo(file))
+            {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        catch (IOException e)
+        {
+            // ignored - the on-disk cache is an optimization
+        }
+    }
+
+
+    /**
+     * The candidate test class names for an entry, together with the fingerprint of the entry.
+     */
+    private static class CachedCandidates
+    {
+        /**
+         * The fingerprint of the entry.
+         */
+        private final String fingerprint;
+
+        /**
+         * The names of the candidate test classes.
+         */
+        private final List<String> classNames;
+
+
+        /**
+         * Constructs a {@link CachedCandidates}.
+         *
+         * @param fingerprint  the fingerprint of the entry
+         * @param classNames   the names of the candidate test classes
+         */
+        CachedCandidates(String       fingerprint,
+                         List<String> classNames)
+        {
+            this.fingerprint = fingerprint;
+            this.classNames  = classNames;
+        }
+    }
+
+
+    /**
+     * Resolves the {@link ClassFileInfo} hierarchy of classes, to determine if they are candidate test classes.
+     */
+    private class Resolver
+    {
+        /**
+         * The {@link ClassFileInfo}s for the classes, by internal name (<code>null</code> values
+         * are used for classes that could not be read).
+         */
+        private final Map<String, ClassFileInfo> classes;
+
+
+        /**
+         * Constructs a {@link Resolver}.
+         *
+         * @param classes  the {@link ClassFileInfo}s of the classes in the entry
+         */
+        Resolver(Map<String, ClassFileInfo> classes)
+        {
+            this.classes = new HashMap<>(classes);
+        }
+
+
+        /**
+         * Determines if a class is a candidate test class.
+         *
+         * @param info  the {@link ClassFileInfo} of the class
+         *
+         * @return  <code>true</code> if the class may be a test class
+         */
+        boolean isCandidate(ClassFileInfo info)
+        {
+            if ((info.access & (ACC_INTERFACE | ACC_ANNOTATION | ACC_ENUM)) != 0)
+            {
+                return false;
+            }
+
+            if ((info.access & ACC_ABSTRACT) != 0)
+            {
+                return hasRunWith(info);
+            }
+
+            return info.hasSuiteMethod || hasRunWith(info) || hasTestMethod(info) || isJUnit3Test(info.name);
+        }
+
+
+        /**
+         * Determines if a class is (possibly by inheritance) annotated with <code>RunWith</code>.
+         *
+         * @param info  the {@link ClassFileInfo} of the class
+         *
+         * @return  <code>true</code> if the class is annotated with <code>RunWith</code>
+         *          or the super classes could not be read
+         */
+        private boolean hasRunWith(ClassFileInfo info)
+        {
+            for (ClassFileInfo current = info; current != null; current = lookup(current.superName))
+            {
+                if (current.hasRunWith)
+                {
+                    return true;
+                }
+
+                if (current.superName != null && lookup(current.superName) == null && !isPlatformClass(current.superName))
+                {
+                    // conservatively assume the unreadable super class may be a test
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+
+        /**
+         * Determines if a class declares or inherits a method annotated with <code>org.junit.Test</code>.
+         *
+         * @param info  the {@link ClassFileInfo} of the class
+         *
+         * @return  <code>true</code> if a method is annotated with <code>org.junit.Test</code>
+         *          or the super classes could not be read
+         */
+        private boolean hasTestMethod(ClassFileInfo info)
+        {
+            for (ClassFileInfo current = info; current != null; current = lookup(current.superName))
+            {
+                if (current.hasTestMethod)
+                {
+                    return true;
+                }
+
+                if (current.superName != null && lookup(current.superName) == null && !isPlatformClass(current.superName))
+                {
+                    // conservatively assume the unreadable super class may be a test
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+
+        /**
+         * Determines if a class or interface is or extends/implements <code>junit.framework.Test</code>.
+         *
+         * @param name  the internal name of the class or interface
+         *
+         * @return  <code>true</code> if the class is a JUnit 3 test
+         */
+        private boolean isJUnit3Test(String name)
+        {
+            if (name == null || isPlatformClass(name))
+            {
+                return false;
+            }
+
+            if (JUNIT3_TEST.equals(name))
+            {
+                return true;
+            }
+
+            ClassFileInfo info = lookup(name);
+
+            if (info == null)
+            {
+                return false;
+            }
+
+            if (isJUnit3Test(info.superName))
+            {
+                return true;
+            }
+
+            for (String interfaceName : info.interfaces)
+            {
+                if (isJUnit3Test(interfaceName))
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+
+        /**
+         * Determines if a class is a platform class (which is never a test).
+         *
+         * @param name  the internal name of the class
+         *
+         * @return  <code>true</code> if the class is a platform class
+         */
+        private boolean isPlatformClass(String name)
+        {
+            return name.startsWith("java/") || name.startsWith("javax/") || name.startsWith("sun/")
+                   || name.startsWith("jdk/");
+        }
+
+
+        /**
+         * Obtains the {@link ClassFileInfo} for a class, reading the class file bytes
+         * from the {@link ClassLoader} when the class is not in the entry.
+         *
+         * @param name  the internal name of the class
+         *
+         * @return  the {@link ClassFileInfo} or <code>null</code> if it can't be read
+         */
+        private ClassFileInfo lookup(String name)
+        {
+            if (name == null)
+            {
+                return null;
+            }
+
+            if (classes.containsKey(name))
+            {
+                return classes.get(name);
+            }
+
+            ClassFileInfo info = null;
+
+            if (!isPlatformClass(name))
+            {
+                try (InputStream stream = classLoader.getResourceAsStream(name + ".class"))
+                {
+                    info = stream == null ? null : ClassFileInfo.read(stream);
+                }
+                catch (IOException e)
+                {
+                    // ignored - the class can't be read
+                }
+            }
+
+            classes.put(name, info);
+
+            return info;
+        }
+    }
+
+
+    /**
+     * The information about a class read from a class file that is required to
+     * determine if the class may be a test.
+     */
+    static class ClassFileInfo
+    {
+        /**
+         * The internal name of the class.
+         */
+        String name;
+
+        /**
+         * The internal name of the super class (<code>null</code> for <code>java.lang.Object</code>).
+         */
+        String superName;
+
+        /**
+         * The internal names of the implemented interfaces.
+         */
+        String[] interfaces;
+
+        /**
+         * The access flags of the class.
+         */
+        int access;
+
+        /**
+         * Is the class annotated with <code>RunWith</code>?
+         */
+        boolean hasRunWith;
+
+        /**
+         * Does the class declare a method annotated with <code>org.junit.Test</code>?
+         */
+        boolean hasTestMethod;
+
+        /**
+         * Does the class declare a static <code>suite</code> method?
+         */
+        boolean hasSuiteMethod;
+
+
+        /**
+         * Reads the {@link ClassFileInfo} from the bytes of a class file.
+         *
+         * @param stream  the {@link InputStream} of the class file
+         *
+         * @return  the {@link ClassFileInfo} or <code>null</code> if the stream is not a class file
+         *
+         * @throws IOException  when the class file can't be read
+         */
+        static ClassFileInfo read(InputStream stream) throws IOException
+        {
+            DataInputStream input = new DataInputStream(stream);
+
+            if (input.readInt() != MAGIC)
+            {
+                return null;
+            }
+
+            input.readUnsignedShort();    // minor version
+            input.readUnsignedShort();    // major version
+
+            // read the constant pool, retaining the utf8 values and class name indexes
+            int      count     = input.readUnsignedShort();
+            String[] utf8s     = new String[count];
+            int[]    classRefs = new int[count];
+
+            for (int i = 1; i < count; i++)
+            {
+                int tag = input.readUnsignedByte();
+
+                switch (tag)
+                {
+                case 1 :    // Utf8
+                    utf8s[i] = input.readUTF();
+                    break;
+
+                case 7 :    // Class
+                    classRefs[i] = input.readUnsignedShort();
+                    break;
+
+                case 8 :     // String
+                case 16 :    // MethodType
+                case 19 :    // Module
+                case 20 :    // Package
+                    input.skipBytes(2);
+                    break;
+
+                case 15 :    // MethodHandle
+                    input.skipBytes(3);
+                    break;
+
+                case 3 :     // Integer
+                case 4 :     // Float
+                case 9 :     // Fieldref
+                case 10 :    // Methodref
+                case 11 :    // InterfaceMethodref
+                case 12 :    // NameAndType
+                case 17 :    // Dynamic
+                case 18 :    // InvokeDynamic
+                    input.skipBytes(4);
+                    break;
+
+                case 5 :    // Long
+                case 6 :    // Double
+                    input.skipBytes(8);
+                    i++;
+                    break;
+
+                default :
+                    throw new IOException("Unknown constant pool tag " + tag);
+                }
+            }
+
+            ClassFileInfo info = new ClassFileInfo();
+
+            info.access = input.readUnsignedShort();
+            info.name   = utf8s[classRefs[input.readUnsignedShort()]];
+
+            int superIndex = input.readUnsignedShort();
+
+            info.superName  = superIndex == 0 ? null : utf8s[classRefs[superIndex]];
+            info.interfaces = new String[input.readUnsignedShort()];
+
+            for (int i = 0; i < info.interfaces.length; i++)
+            {
+                info.interfaces[i] = utf8s[classRefs[input.readUnsignedShort()]];
+            }
+
+            // skip the fields
+            int fieldCount = input.readUnsignedShort();
+
+            for (int i = 0; i < fieldCount; i++)
+            {
+                input.skipBytes(6);
+                skipAttributes(input);
+            }
+
+            // read the methods, looking for test annotations and suite methods
+            int methodCount = input.readUnsignedShort();
+
+            for (int i = 0; i < methodCount; i++)
+            {
+                int    access     = input.readUnsignedShort();
+                String methodName = utf8s[input.readUnsignedShort()];
+
+                input.readUnsignedShort();    // descriptor
+
+                if ("suite".equals(methodName) && (access & ACC_STATIC) != 0)
+                {
+                    info.hasSuiteMethod = true;
+                }
+
+                int attributeCount = input.readUnsignedShort();
+
+                for (int j = 0; j < attributeCount; j++)
+                {
+                    String attributeName = utf8s[input.readUnsignedShort()];
+                    int    length        = input.readInt();
+
+                    if ("RuntimeVisibleAnnotations".equals(attributeName))
+                    {
+                        for (String type : readAnnotationTypes(input, utf8s))
+                        {
+                            info.hasTestMethod |= JUNIT4_TEST.equals(type);
+                        }
+                    }
+                    else
+                    {
+                        input.skipBytes(length);
+                    }
+                }
+            }
+
+            // read the class attributes, looking for the RunWith annotation
+            int attributeCount = input.readUnsignedShort();
+
+            for (int i = 0; i < attributeCount; i++)
+            {
+                String attributeName = utf8s[input.readUnsignedShort()];
+                int    length        = input.readInt();
+
+                if ("RuntimeVisibleAnnotations".equals(attributeName))
+                {
+                    for (String type : readAnnotationTypes(input, utf8s))
+                    {
+                        info.hasRunWith |= JUNIT4_RUNWITH.equals(type);
+                    }
+                }
+                else
+                {
+                    input.skipBytes(length);
+                }
+            }
+
+            return info;
+        }
+
+
+        /**
+         * Skips the attributes of a field or method.
+         *
+         * @param input  the {@link DataInputStream}
+         *
+         * @throws IOException  when the class file can't be read
+         */
+        private static void skipAttributes(DataInputStream input) throws IOException
+        {
+            int count = input.readUnsignedShort();
+
+            for (int i = 0; i < count; i++)
+            {
+                input.skipBytes(2);
+                input.skipBytes(input.readInt());
+            }
+        }
+
+
+        /**
+         * Reads the type descriptors of the annotations in an annotations attribute.
+         *
+         * @param input  the {@link DataInputStream}
+         * @param utf8s  the utf8 constants
+         *
+         * @return  the annotation type descriptors
+         *
+         * @throws IOException  when the class file can't be read
+         */
+        private static List<String> readAnnotationTypes(DataInputStream input,
+                                                        String[]        utf8s) throws IOException
+        {
+            int          count = input.readUnsignedShort();
+            List<String> types = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++)
+            {
+                types.add(readAnnotation(input, utf8s));
+            }
+
+            return types;
+        }
+
+
+        /**
+         * Reads an annotation, returning its type descriptor.
+         *
+         * @param input  the {@link DataInputStream}
+         * @param utf8s  the utf8 constants
+         *
+         * @return  the annotation type descriptor
+         *
+         * @throws IOException  when the class file can't be read
+         */
+        private static String readAnnotation(DataInputStream input,
+                                             String[]        utf8s) throws IOException
+        {
+            String type  = utf8s[input.readUnsignedShort()];
+            int    pairs = input.readUnsignedShort();
+
+            for (int i = 0; i < pairs; i++)
+            {
+                input.skipBytes(2);    // element name
+                skipElementValue(input, utf8s);
+            }
+
+            return type;
+        }
+
+
+        /**
+         * Skips an annotation element value.
+         *
+         * @param input  the {@link DataInputStream}
+         * @param utf8s  the utf8 constants
+         *
+         * @throws IOException  when the class file can't be read
+         */
+        private static void skipElementValue(DataInputStream input,
+                                             String[]        utf8s) throws IOException
+        {
+            int tag = input.readUnsignedByte();
+
+            switch (tag)
+            {
+            case 'e' :
+                input.skipBytes(4);
+                break;
+
+            case '@' :
+                readAnnotation(input, utf8s);
+                break;
+
+            case '[' :
+                int count = input.readUnsignedShort();
+
+                for (int i = 0; i < count; i++)
+                {
+                    skipElementValue(input, utf8s);
+                }
+
+                break;
+
+            default :
+                // B C D F I J S Z s c
+                input.skipBytes(2);
+                break;
+            }
+        }
+    }
+}
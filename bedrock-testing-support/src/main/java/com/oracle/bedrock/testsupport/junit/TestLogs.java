@@ -239,6 +239,9 @@ public class TestLogs
 
         /**
          * Add a listener to receive stdout console lines as events that match the specified {@link Predicate}.
+         * <p>
+         * Listeners using {@link com.oracle.bedrock.runtime.console.LinePattern}s are matched together,
+         * scanning each line once, and should be preferred when registering many listeners.
          *
          * @param predicate the {@link Predicate} to use to match console output lines
          * @param listener  the {@link EventsApplicationConsole.Listener}
@@ -266,6 +269,9 @@ public class TestLogs
 
         /**
          * Add a listener to receive stderr console lines as events that match the specified {@link Predicate}.
+         * <p>
+         * Listeners using {@link com.oracle.bedrock.runtime.console.LinePattern}s are matched together,
+         * scanning each line once, and should be preferred when registering many listeners.
          *
          * @param predicate the {@link Predicate} to use to match console output lines
          * @param listener  the {@link EventsApplicationConsole.Listener}
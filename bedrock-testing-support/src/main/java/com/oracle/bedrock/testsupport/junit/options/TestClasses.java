@@ -28,6 +28,7 @@ package com.oracle.bedrock.testsupport.junit.options;
 import com.oracle.bedrock.Option;
 import com.oracle.bedrock.OptionsByType;
 import com.oracle.bedrock.testsupport.junit.TestClassPredicate;
+import com.oracle.bedrock.testsupport.junit.TestClassScanner;
 import com.oracle.bedrock.runtime.java.ClassPath;
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
@@ -285,6 +286,9 @@ public abstract class TestClasses implements Option.Collectable, Option, Seriali
     /**
      * A {@link TestClasses} instance that resolves test classes
      * from a specific {@link ClassPath} instance.
+     * <p>
+     * Candidate test classes are determined from the class file bytes using a
+     * {@link TestClassScanner}, so that only the candidates are loaded.
      */
     protected static class ClassPathClasses extends TestClasses implements Serializable
     {
@@ -341,21 +345,44 @@ public abstract class TestClasses implements Option.Collectable, Option, Seriali
                                 paths.add(Paths.get(url.toURI()));
                             }
 
+                            TestClassScanner scanner = new TestClassScanner(getClass().getClassLoader());
+
                             for (Path path : paths)
                             {
-                                if (Files.isDirectory(path))
+                                boolean isDirectory = Files.isDirectory(path);
+                                boolean isArchive   = Files.isRegularFile(path)
+                                                      && ClassPath.isResourceAnArchive(path.getFileName().toString());
+
+                                if (!isDirectory && !isArchive)
+                                {
+                                    continue;
+                                }
+
+                                List<String> candidates;
+
+                                try
+                                {
+                                    // determine the candidate test classes from the class file bytes
+                                    candidates = scanner.getCandidateClassNames(path);
+                                }
+                                catch (IOException e)
+                                {
+                                    candidates = null;
+                                }
+
+                                if (candidates != null)
+                                {
+                                    // only the candidate test classes are loaded
+                                    testClasses.addAll(loadClasses(candidates, predicate));
+                                }
+                                else if (isDirectory)
                                 {
                                     testClasses.addAll(walkPath(path, predicate));
                                 }
                                 else
                                 {
-                                    String fileName = path.getFileName().toString();
-
-                                    if (Files.isRegularFile(path) && ClassPath.isResourceAnArchive(fileName))
-                                    {
-                                        testClasses.addAll(walkFileSystem(FileSystems.newFileSystem(path, null),
-                                                                          predicate));
-                                    }
+                                    testClasses.addAll(walkFileSystem(FileSystems.newFileSystem(path, null),
+                                                                      predicate));
                                 }
                             }
 
@@ -373,6 +400,40 @@ public abstract class TestClasses implements Option.Collectable, Option, Seriali
         }
 
 
+        /**
+         * Load the specified {@link Class}es and return those that match the specified {@link Predicate}.
+         *
+         * @param classNames  the names of the {@link Class}es to load
+         * @param predicate   the {@link Predicate} to use to match {@link Class}es
+         *
+         * @return  the {@link List} of {@link Class}es that match the {@link Predicate}
+         */
+        private List<Class<?>> loadClasses(List<String>        classNames,
+                                           Predicate<Class<?>> predicate)
+        {
+            List<Class<?>> testClasses = new ArrayList<>();
+
+            for (String className : classNames)
+            {
+                try
+                {
+                    Class<?> testClass = Class.forName(className);
+
+                    if (predicate.test(testClass))
+                    {
+                        testClasses.add(testClass);
+                    }
+                }
+                catch (ClassNotFoundException | LinkageError e)
+                {
+                    // ignored - can't load class so do not add it to tests
+                }
+            }
+
+            return testClasses;
+        }
+
+
         /**
          * Walk the specified {@link FileSystem} and return all of the {@link Class}es that
          * match the specified {@link Predicate}.
@@ -0,0 +1,141 @@
+/*
+ * File: TestShard.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.junit.options;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.testsupport.junit.JUnitTestRunner;
+import com.oracle.bedrock.testsupport.junit.ShardedJUnitTestRun;
+
+import java.io.Serializable;
+
+/**
+ * An {@link Option} identifying that a {@link JUnitTestRunner} is one of a number
+ * of shards of a {@link ShardedJUnitTestRun}.
+ * <p>
+ * Rather than running all of the resolved test classes, a {@link JUnitTestRunner}
+ * with a {@link TestShard} repeatedly requests the next test class to run from
+ * the shared queue held by the {@link ShardedJUnitTestRun} that launched it, until
+ * the queue is exhausted.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class TestShard implements Option, Serializable
+{
+    /**
+     * The identity of the queue of test classes shared by the shards.
+     */
+    private final String queueId;
+
+    /**
+     * The index of the shard.
+     */
+    private final int index;
+
+
+    /**
+     * Constructs a {@link TestShard}.
+     *
+     * @param queueId  the identity of the queue of test classes
+     * @param index    the index of the shard
+     */
+    private TestShard(String queueId,
+                      int    index)
+    {
+        this.queueId = queueId;
+        this.index   = index;
+    }
+
+
+    /**
+     * Obtains the identity of the queue of test classes shared by the shards.
+     *
+     * @return  the identity of the queue
+     */
+    public String getQueueId()
+    {
+        return queueId;
+    }
+
+
+    /**
+     * Obtains the index of the shard.
+     *
+     * @return  the index of the shard
+     */
+    public int getIndex()
+    {
+        return index;
+    }
+
+
+    /**
+     * Obtains a {@link TestShard}.
+     *
+     * @param queueId  the identity of the queue of test classes
+     * @param index    the index of the shard
+     *
+     * @return a {@link TestShard}
+     */
+    public static TestShard of(String queueId,
+                               int    index)
+    {
+        return new TestShard(queueId, index);
+    }
+
+
+    @Override
+    public String toString()
+    {
+        return "TestShard{queueId=" + queueId + ", index=" + index + '}';
+    }
+
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (!(o instanceof TestShard))
+        {
+            return false;
+        }
+
+        TestShard that = (TestShard) o;
+
+        return index == that.index && queueId.equals(that.queueId);
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * queueId.hashCode() + index;
+    }
+}
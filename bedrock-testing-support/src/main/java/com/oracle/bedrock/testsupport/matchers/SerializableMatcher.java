@@ -0,0 +1,144 @@
+/*
+ * File: SerializableMatcher.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.matchers;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import java.io.Serializable;
+
+/**
+ * A {@link Serializable} {@link Matcher} that creates the {@link Matcher} it delegates
+ * to using a {@link Serializable} {@link Factory}, typically a lambda expression.
+ * <p>
+ * This allows standard hamcrest {@link Matcher}s, that are not themselves {@link Serializable},
+ * to be sent to and evaluated in a remote application.  For example:
+ * <code>SerializableMatcher.of(() -&gt; is(42))</code>.  Any values captured by the lambda
+ * must be {@link Serializable}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ *
+ * @param <T>  the type of value being matched
+ */
+public class SerializableMatcher<T> extends BaseMatcher<T> implements Serializable
+{
+    /**
+     * The {@link Factory} of the {@link Matcher} to delegate to.
+     */
+    private final Factory<T> factory;
+
+    /**
+     * The {@link Matcher} to delegate to (created lazily after deserialization).
+     */
+    private transient Matcher<? super T> matcher;
+
+
+    /**
+     * Constructs a {@link SerializableMatcher}.
+     *
+     * @param factory  the {@link Factory} of the {@link Matcher} to delegate to
+     */
+    public SerializableMatcher(Factory<T> factory)
+    {
+        if (factory == null)
+        {
+            throw new NullPointerException("The Matcher Factory must not be null");
+        }
+
+        this.factory = factory;
+    }
+
+
+    /**
+     * Obtains a {@link SerializableMatcher} for the {@link Matcher} created by the specified {@link Factory}.
+     *
+     * @param factory  the {@link Factory} of the {@link Matcher}
+     * @param <T>      the type of value being matched
+     *
+     * @return  a {@link SerializableMatcher}
+     */
+    public static <T> SerializableMatcher<T> of(Factory<T> factory)
+    {
+        return new SerializableMatcher<>(factory);
+    }
+
+
+    /**
+     * Obtains the {@link Matcher} to delegate to, creating it when required.
+     *
+     * @return  the {@link Matcher}
+     */
+    private Matcher<? super T> getMatcher()
+    {
+        if (matcher == null)
+        {
+            matcher = factory.create();
+        }
+
+        return matcher;
+    }
+
+
+    @Override
+    public boolean matches(Object item)
+    {
+        return getMatcher().matches(item);
+    }
+
+
+    @Override
+    public void describeTo(Description description)
+    {
+        getMatcher().describeTo(description);
+    }
+
+
+    @Override
+    public void describeMismatch(Object      item,
+                                 Description description)
+    {
+        getMatcher().describeMismatch(item, description);
+    }
+
+
+    /**
+     * A {@link Serializable} factory of a {@link Matcher}.
+     *
+     * @param <T>  the type of value being matched
+     */
+    @FunctionalInterface
+    public interface Factory<T> extends Serializable
+    {
+        /**
+         * Creates the {@link Matcher}.
+         *
+         * @return  the {@link Matcher}
+         */
+        Matcher<? super T> create();
+    }
+}
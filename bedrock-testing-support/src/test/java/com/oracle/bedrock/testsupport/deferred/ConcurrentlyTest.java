@@ -27,7 +27,11 @@ package com.oracle.bedrock.testsupport.deferred;
 
 import com.oracle.bedrock.Option;
 import com.oracle.bedrock.deferred.Deferred;
+import com.oracle.bedrock.deferred.options.InitialDelay;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.java.JavaApplication;
 import com.oracle.bedrock.testsupport.deferred.options.FailFast;
+import com.oracle.bedrock.testsupport.deferred.options.SharedScheduler;
 import com.oracle.bedrock.testsupport.matchers.RecordingMatcher;
 import com.oracle.bedrock.testsupport.deferred.Concurrent;
 import com.oracle.bedrock.testsupport.deferred.Concurrently;
@@ -36,15 +40,22 @@ import com.oracle.bedrock.util.StopWatch;
 import org.hamcrest.Matcher;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.oracle.bedrock.deferred.DeferredHelper.invoking;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Functional Tests for {@link Concurrently}.
@@ -219,4 +230,257 @@ public class ConcurrentlyTest
             Assert.assertThat(e.getMessage(), containsString("succeeded 0"));
         }
     }
+
+
+    /**
+     * Ensure that a constant concurrently matches a value using the {@link SharedScheduler}.
+     */
+    @Test
+    public void shouldConcurrentlyAssertConstantUsingSharedScheduler() throws InterruptedException
+    {
+        RecordingMatcher<Integer> matcher = RecordingMatcher.of(is(42));
+
+        try (Concurrent.Assertion assertion = Concurrently.assertThat(42, matcher, SharedScheduler.enabled()))
+        {
+            Assert.assertThat(assertion, instanceOf(Concurrent.MeasuredAssertion.class));
+
+            Concurrent.MeasuredAssertion measured = (Concurrent.MeasuredAssertion) assertion;
+
+            Eventually.assertThat(invoking(measured).getMatchCount(), greaterThan(2L));
+
+            assertion.check();
+
+            Assert.assertThat(matcher.hasSucceeded(), is(true));
+            Assert.assertThat(matcher.hasFailed(), is(false));
+            Assert.assertThat(measured.getEvaluationCount(), greaterThanOrEqualTo(measured.getMatchCount()));
+        }
+    }
+
+
+    /**
+     * Ensure that assertions on the same {@link Deferred} are coalesced when using the {@link SharedScheduler}.
+     */
+    @Test
+    public void shouldCoalesceAssertionsUsingSharedScheduler()
+    {
+        AtomicInteger     resolutions = new AtomicInteger();
+        Deferred<Integer> deferred    = new Deferred<Integer>()
+        {
+            @Override
+            public Integer get()
+            {
+                resolutions.incrementAndGet();
+
+                return 42;
+            }
+
+            @Override
+            public Class<Integer> getDeferredClass()
+            {
+                return Integer.class;
+            }
+        };
+
+        try (Concurrent.MeasuredAssertion first =
+                (Concurrent.MeasuredAssertion) Concurrently.<Integer>assertThat("first",
+                                                                                deferred,
+                                                                                is(42),
+                                                                                SharedScheduler.enabled());
+            Concurrent.MeasuredAssertion second =
+                (Concurrent.MeasuredAssertion) Concurrently.<Integer>assertThat("second",
+                                                                                deferred,
+                                                                                greaterThan(0),
+                                                                                SharedScheduler.enabled()))
+        {
+            Eventually.assertThat(invoking(second).getMatchCount(), greaterThan(5L));
+
+            first.check();
+            second.check();
+
+            // each resolution of the deferred is shared by both assertions
+            Assert.assertThat((long) resolutions.get(),
+                              lessThan(first.getEvaluationCount() + second.getEvaluationCount()));
+        }
+    }
+
+
+    /**
+     * Ensure an assertion using the {@link SharedScheduler} fails fast when requested
+     * and re-throws the exception.
+     */
+    @Test
+    public void shouldFailFastUsingSharedScheduler()
+    {
+        RecordingMatcher<Integer> matcher   = RecordingMatcher.of(is(1));
+        Concurrent.Assertion      assertion = Concurrently.assertThat(42,
+                                                                      matcher,
+                                                                      FailFast.enabled(),
+                                                                      SharedScheduler.enabled());
+
+        try
+        {
+            // attempt to sleep for a long time (we won't as we'll be interrupted)
+            Thread.sleep(5000);
+
+            Assert.fail("Should have been interrupted!");
+        }
+        catch (InterruptedException e)
+        {
+            try
+            {
+                assertion.check();
+
+                Assert.fail("Should have an AssertionError!");
+            }
+            catch (AssertionError error)
+            {
+                Assert.assertThat(matcher.hasFailed(), is(true));
+                Assert.assertThat(error.getMessage(), containsString("succeeded 0"));
+            }
+        }
+        finally
+        {
+            assertion.close();
+        }
+    }
+
+
+    /**
+     * Ensure that assertions of equal {@link RemoteCallable}s submitted to the same {@link JavaApplication}
+     * are coalesced when using the {@link SharedScheduler}.
+     */
+    @Test
+    public void shouldCoalesceRemoteAssertionsUsingSharedScheduler()
+    {
+        JavaApplication application = createApplication();
+        int             scheduled   = ConcurrentAssertionScheduler.get().getScheduledDeferredCount();
+
+        try (Concurrent.MeasuredAssertion first =
+                (Concurrent.MeasuredAssertion) Concurrently.assertThat(application,
+                                                                       new Answer(42),
+                                                                       is(42),
+                                                                       SharedScheduler.enabled());
+            Concurrent.MeasuredAssertion second =
+                (Concurrent.MeasuredAssertion) Concurrently.assertThat(application,
+                                                                       new Answer(42),
+                                                                       greaterThan(0),
+                                                                       SharedScheduler.enabled());
+            Concurrent.MeasuredAssertion third =
+                (Concurrent.MeasuredAssertion) Concurrently.assertThat(application,
+                                                                       new Answer(7),
+                                                                       is(7),
+                                                                       SharedScheduler.enabled()))
+        {
+            // equal callables share a deferred, different callables don't
+            Assert.assertThat(ConcurrentAssertionScheduler.get().getScheduledDeferredCount(), is(scheduled + 2));
+
+            Eventually.assertThat(invoking(second).getMatchCount(), greaterThan(2L));
+            Eventually.assertThat(invoking(third).getMatchCount(), greaterThan(2L));
+
+            first.check();
+            second.check();
+            third.check();
+        }
+
+        Assert.assertThat(ConcurrentAssertionScheduler.get().getScheduledDeferredCount(), is(scheduled));
+    }
+
+
+    /**
+     * Ensure that the {@link InitialDelay} of an assertion coalesced with another is honored.
+     */
+    @Test
+    public void shouldHonorInitialDelayOfCoalescedAssertion()
+    {
+        Deferred<Integer> deferred = new Deferred<Integer>()
+        {
+            @Override
+            public Integer get()
+            {
+                return 42;
+            }
+
+            @Override
+            public Class<Integer> getDeferredClass()
+            {
+                return Integer.class;
+            }
+        };
+
+        try (Concurrent.MeasuredAssertion first =
+                (Concurrent.MeasuredAssertion) Concurrently.<Integer>assertThat("first",
+                                                                                deferred,
+                                                                                is(42),
+                                                                                SharedScheduler.enabled());
+            Concurrent.MeasuredAssertion second =
+                (Concurrent.MeasuredAssertion) Concurrently.<Integer>assertThat("second",
+                                                                                deferred,
+                                                                                is(42),
+                                                                                SharedScheduler.enabled(),
+                                                                                InitialDelay.of(1, TimeUnit.SECONDS)))
+        {
+            StopWatch watch = new StopWatch();
+
+            watch.start();
+
+            Eventually.assertThat(invoking(first).getMatchCount(), greaterThan(2L));
+            Eventually.assertThat(invoking(second).getMatchCount(), greaterThan(0L));
+
+            // the second assertion isn't evaluated until after its initial delay
+            assertThat(watch.getElapsedTimeIn(TimeUnit.MILLISECONDS), greaterThanOrEqualTo(900L));
+
+            first.check();
+            second.check();
+        }
+    }
+
+
+    /**
+     * Create a mock {@link JavaApplication} that executes submitted {@link RemoteCallable}s locally.
+     *
+     * @return  a mock {@link JavaApplication}
+     */
+    private JavaApplication createApplication()
+    {
+        JavaApplication        application = mock(JavaApplication.class);
+        RemoteCallable<Object> anyCallable = ArgumentMatchers.any();
+
+        when(application.submit(anyCallable)).thenAnswer(invocation -> {
+                RemoteCallable<?> callable = invocation.getArgument(0);
+
+                return CompletableFuture.completedFuture(callable.call());
+            });
+
+        return application;
+    }
+
+
+    /**
+     * A {@link RemoteCallable} that returns a value.
+     */
+    public static class Answer implements RemoteCallable<Integer>
+    {
+        /**
+         * The value to return.
+         */
+        private final int value;
+
+
+        /**
+         * Constructs an {@link Answer}.
+         *
+         * @param value  the value to return
+         */
+        public Answer(int value)
+        {
+            this.value = value;
+        }
+
+
+        @Override
+        public Integer call()
+        {
+            return value;
+        }
+    }
 }
@@ -0,0 +1,284 @@
+/*
+ * File: RemoteMatchTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.deferred;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.java.JavaApplication;
+import com.oracle.bedrock.testsupport.deferred.options.RemoteWatch;
+import com.oracle.bedrock.testsupport.matchers.SerializableMatcher;
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.ArgumentMatchers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RemoteMatch} and {@link Eventually} using the {@link RemoteWatch} option.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class RemoteMatchTest
+{
+    /**
+     * The counter incremented by the {@link Counter} callable.
+     */
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+
+    @Before
+    public void resetCounter()
+    {
+        COUNTER.set(0);
+    }
+
+
+    /**
+     * Ensure that a {@link RemoteMatch} repeatedly evaluates until the {@link org.hamcrest.Matcher} is satisfied.
+     */
+    @Test
+    public void shouldEvaluateUntilMatched() throws Exception
+    {
+        RemoteMatch<Integer> match  = new RemoteMatch<>(new Counter(), new IsAtLeast(5), 10000, 0, 1);
+        RemoteMatch.Result   result = match.call();
+
+        Assert.assertThat(result.isMatched(), is(true));
+        Assert.assertThat(result.getEvaluations(), is(5));
+        Assert.assertThat(result.getLastValue(), is("5"));
+    }
+
+
+    /**
+     * Ensure that a {@link RemoteMatch} describes the mismatch when it times out.
+     */
+    @Test
+    public void shouldDescribeMismatchWhenTimedOut() throws Exception
+    {
+        RemoteMatch<Integer> match  = new RemoteMatch<>(new Counter(), new IsAtLeast(Integer.MAX_VALUE), 200, 0, 10);
+        RemoteMatch.Result   result = match.call();
+
+        Assert.assertThat(result.isMatched(), is(false));
+        Assert.assertThat(result.getMismatch(), containsString("was"));
+    }
+
+
+    /**
+     * Ensure that a {@link RemoteMatch} can't be created with a non-serializable matcher.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonSerializableMatcher()
+    {
+        new RemoteMatch<>(new Counter(), is(1), 1000, 0, 10);
+    }
+
+
+    /**
+     * Ensure that {@link Eventually} submits a single {@link RemoteMatch} when using a {@link RemoteWatch}.
+     */
+    @Test
+    public void shouldSubmitOnceWhenWatchingRemotely()
+    {
+        JavaApplication application = createApplication();
+
+        Eventually.assertThat(application,
+                              new Counter(),
+                              new IsAtLeast(10),
+                              RemoteWatch.every(1, TimeUnit.MILLISECONDS));
+
+        ArgumentMatcher<RemoteCallable<RemoteMatch.Result>> isRemoteMatch = callable -> callable instanceof RemoteMatch;
+
+        verify(application, times(1)).submit(argThat(isRemoteMatch), any(Option[].class));
+        Assert.assertThat(COUNTER.get(), is(10));
+    }
+
+
+    /**
+     * Ensure that a {@link RemoteMatch} using a {@link SerializableMatcher} can be serialized and evaluated.
+     */
+    @Test
+    public void shouldEvaluateSerializedRemoteMatchUsingSerializableMatcher() throws Exception
+    {
+        RemoteMatch<Integer> match = new RemoteMatch<>(new Counter(),
+                                                       SerializableMatcher.of(() -> greaterThanOrEqualTo(3)),
+                                                       10000,
+                                                       0,
+                                                       1);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes))
+        {
+            output.writeObject(match);
+        }
+
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            RemoteMatch<?>     copy   = (RemoteMatch<?>) input.readObject();
+            RemoteMatch.Result result = copy.call();
+
+            Assert.assertThat(result.isMatched(), is(true));
+            Assert.assertThat(result.getEvaluations(), is(3));
+        }
+    }
+
+
+    /**
+     * Ensure that {@link Eventually} rejects a non-serializable {@link org.hamcrest.Matcher}
+     * when using a {@link RemoteWatch}, rather than silently matching locally.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonSerializableMatcherWhenWatchingRemotely()
+    {
+        Eventually.assertThat(createApplication(), new Counter(), is(1), RemoteWatch.enabled());
+    }
+
+
+    /**
+     * Ensure that {@link Eventually} raises an {@link AssertionError} when a remote watch times out.
+     */
+    @Test
+    public void shouldFailWhenRemoteWatchTimesOut()
+    {
+        JavaApplication application = createApplication();
+
+        try
+        {
+            Eventually.assertThat(application,
+                                  new Counter(),
+                                  new IsAtLeast(Integer.MAX_VALUE),
+                                  RemoteWatch.enabled(),
+                                  Eventually.within(250, TimeUnit.MILLISECONDS));
+
+            Assert.fail("An AssertionError should have been raised");
+        }
+        catch (AssertionError e)
+        {
+            Assert.assertThat(e.getMessage(), containsString("failed to match last resolved value"));
+        }
+    }
+
+
+    /**
+     * Create a mock {@link JavaApplication} that executes submitted {@link RemoteCallable}s locally.
+     *
+     * @return  a mock {@link JavaApplication}
+     */
+    private JavaApplication createApplication()
+    {
+        JavaApplication application = mock(JavaApplication.class);
+
+        RemoteCallable<Object> anyCallable = ArgumentMatchers.any();
+
+        when(application.submit(anyCallable, any(Option[].class))).thenAnswer(invocation -> {
+                RemoteCallable<?> callable = invocation.getArgument(0);
+
+                return CompletableFuture.supplyAsync(() -> {
+                                                         try
+                                                         {
+                                                             return callable.call();
+                                                         }
+                                                         catch (Exception e)
+                                                         {
+                                                             throw new RuntimeException(e);
+                                                         }
+                                                     });
+            });
+
+        return application;
+    }
+
+
+    /**
+     * A {@link RemoteCallable} that returns an incrementing counter.
+     */
+    public static class Counter implements RemoteCallable<Integer>
+    {
+        @Override
+        public Integer call()
+        {
+            return COUNTER.incrementAndGet();
+        }
+    }
+
+
+    /**
+     * A {@link Serializable} {@link org.hamcrest.Matcher} for values at least a minimum.
+     */
+    public static class IsAtLeast extends BaseMatcher<Integer> implements Serializable
+    {
+        /**
+         * The minimum value.
+         */
+        private final int minimum;
+
+
+        /**
+         * Constructs an {@link IsAtLeast}.
+         *
+         * @param minimum  the minimum value
+         */
+        public IsAtLeast(int minimum)
+        {
+            this.minimum = minimum;
+        }
+
+
+        @Override
+        public boolean matches(Object item)
+        {
+            return item instanceof Integer && (Integer) item >= minimum;
+        }
+
+
+        @Override
+        public void describeTo(Description description)
+        {
+            description.appendText("at least ").appendValue(minimum);
+        }
+    }
+}
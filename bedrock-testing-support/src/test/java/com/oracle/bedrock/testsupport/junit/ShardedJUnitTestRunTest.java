@@ -0,0 +1,311 @@
+/*
+ * File: ShardedJUnitTestRunTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.junit;
+
+import com.oracle.bedrock.Option;
+import com.oracle.bedrock.OptionsByType;
+import com.oracle.bedrock.runtime.Platform;
+import com.oracle.bedrock.testsupport.deferred.Eventually;
+import com.oracle.bedrock.testsupport.junit.options.TestShard;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.oracle.bedrock.deferred.DeferredHelper.invoking;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ShardedJUnitTestRun}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class ShardedJUnitTestRunTest
+{
+    @Test
+    public void shouldLaunchShardsSharingQueue() throws Exception
+    {
+        Platform                platform = mock(Platform.class);
+        JUnitTestRun            shard    = mock(JUnitTestRun.class);
+        SimpleJUnitTestListener listener = new SimpleJUnitTestListener();
+
+        // each shard is launched with a TestShard and a ShardListener
+        when(platform.launch(eq(JUnitTestRun.class), any(Option.class), any(Option.class))).thenReturn(shard);
+
+        // the shards are running
+        when(shard.exitValue()).thenThrow(new IllegalThreadStateException());
+
+        try (ShardedJUnitTestRun run = ShardedJUnitTestRun.launch(platform, 3, listener.asOption()))
+        {
+            ArgumentCaptor<Option> captor = ArgumentCaptor.forClass(Option.class);
+
+            verify(platform, times(3)).launch(eq(JUnitTestRun.class), captor.capture());
+
+            List<Option> options = captor.getAllValues();
+
+            assertThat(options.size(), is(6));
+
+            OptionsByType optionsByType = OptionsByType.of(options.subList(0, 2).toArray(new Option[2]));
+            TestShard     testShard     = optionsByType.get(TestShard.class);
+
+            assertThat(testShard, is(notNullValue()));
+            assertThat(run.getShards().size(), is(3));
+
+            // the listener is replaced by a shard listener
+            List<JUnitTestListener> listeners = new ArrayList<>();
+
+            optionsByType.getInstancesOf(JUnitTestListener.class).forEach(listeners::add);
+
+            assertThat(listeners.size(), is(1));
+            assertThat(listeners.get(0) instanceof ShardedJUnitTestRun.ShardListener, is(true));
+
+            // only the first offer seeds the queue
+            String            queueId = testShard.getQueueId();
+            ArrayList<String> first   = new ArrayList<>(Arrays.asList("A", "B"));
+            ArrayList<String> second  = new ArrayList<>(Arrays.asList("C"));
+
+            assertThat(new ShardedJUnitTestRun.NextTestClass(queueId, 0, first).call(), is("A"));
+            assertThat(new ShardedJUnitTestRun.NextTestClass(queueId, 1, second).call(), is("B"));
+            assertThat(run.getRemainingTestClassCount(), is(0));
+            assertThat(new ShardedJUnitTestRun.NextTestClass(queueId, 0, null).call(), is(nullValue()));
+            assertThat(new ShardedJUnitTestRun.NextTestClass(queueId, 1, null).call(), is(nullValue()));
+        }
+
+        verify(shard, times(3)).close();
+
+        // closing completes the listener
+        assertThat(listener.awaitCompletion(1, TimeUnit.SECONDS), is(true));
+    }
+
+
+    @Test
+    public void shouldRequeueTestClassesOfTerminatedShards() throws Exception
+    {
+        Platform                platform = mock(Platform.class);
+        JUnitTestRun            shard0   = mock(JUnitTestRun.class);
+        JUnitTestRun            shard1   = mock(JUnitTestRun.class);
+        AtomicBoolean           running0 = new AtomicBoolean(true);
+        AtomicBoolean           running1 = new AtomicBoolean(true);
+        SimpleJUnitTestListener listener = new SimpleJUnitTestListener();
+
+        when(platform.launch(eq(JUnitTestRun.class), any(Option.class), any(Option.class))).thenReturn(shard0,
+                                                                                                       shard1);
+        when(shard0.exitValue()).thenAnswer(invocation -> exitValueWhen(running0));
+        when(shard1.exitValue()).thenAnswer(invocation -> exitValueWhen(running1));
+
+        try (ShardedJUnitTestRun run = ShardedJUnitTestRun.launch(platform, 2, listener.asOption()))
+        {
+            ArgumentCaptor<Option> captor = ArgumentCaptor.forClass(Option.class);
+
+            verify(platform, times(2)).launch(eq(JUnitTestRun.class), captor.capture());
+
+            String queueId = OptionsByType.of(captor.getAllValues().get(0)).get(TestShard.class).getQueueId();
+
+            assertThat(new ShardedJUnitTestRun.NextTestClass(queueId,
+                                                             0,
+                                                             new ArrayList<>(Arrays.asList("A", "B"))).call(),
+                       is("A"));
+            assertThat(new ShardedJUnitTestRun.NextTestClass(queueId, 1, null).call(), is("B"));
+
+            // the first shard terminates while running "A", so "A" is returned to the queue
+            running0.set(false);
+
+            Eventually.assertThat(invoking(run).getRemainingTestClassCount(), is(1));
+
+            assertThat(new ShardedJUnitTestRun.NextTestClass(queueId, 1, null).call(), is("A"));
+
+            // the second shard terminates while running "A", so it is reported as an error
+            running1.set(false);
+
+            assertThat(listener.awaitCompletion(10, TimeUnit.SECONDS), is(true));
+            assertThat(listener.getErrorCount(), is(1));
+            assertThat(run.getRemainingTestClassCount(), is(0));
+        }
+    }
+
+
+    /**
+     * Obtains the exit value of a shard, as per {@link JUnitTestRun#exitValue()}.
+     *
+     * @param running  is the shard running?
+     *
+     * @return  the exit value
+     */
+    private static int exitValueWhen(AtomicBoolean running)
+    {
+        if (running.get())
+        {
+            throw new IllegalThreadStateException();
+        }
+
+        return 1;
+    }
+
+
+    @Test
+    public void shouldMergeEventsFromShards()
+    {
+        RecordingListener          recorder = new RecordingListener();
+        ShardedJUnitTestRun.Merger merger   = new ShardedJUnitTestRun.Merger(Collections.singletonList(recorder), 2);
+        JUnitTestListener          shard1   = merger.createShardListener(0);
+        JUnitTestListener          shard2   = merger.createShardListener(1);
+
+        shard1.junitStarted(JUnitTestListener.Event.junitStarted());
+        shard2.junitStarted(JUnitTestListener.Event.junitStarted());
+
+        shard1.testRunStarted(JUnitTestListener.Event.testRunStarted("A", null));
+        shard2.testRunStarted(JUnitTestListener.Event.testRunStarted("B", null));
+        shard1.testClassStarted(JUnitTestListener.Event.testClassStarted("A"));
+        shard2.testClassStarted(JUnitTestListener.Event.testClassStarted("B"));
+        shard2.testStarted(JUnitTestListener.Event.testStarted("b1", "B"));
+        shard1.testStarted(JUnitTestListener.Event.testStarted("a1", "A"));
+        shard2.testSucceeded(JUnitTestListener.Event.testSucceded("b1", "B", 1));
+        shard1.testSucceeded(JUnitTestListener.Event.testSucceded("a1", "A", 1));
+
+        // nothing other than the start is delivered until a test run finishes
+        assertThat(recorder.events, is(Collections.singletonList("JUnitStarted")));
+
+        shard2.testClassFinished(JUnitTestListener.Event.testClassFinished("B", 2));
+        shard2.testRunFinished(JUnitTestListener.Event.testRunFinsihed("B", 2));
+        shard2.junitCompleted(JUnitTestListener.Event.junitCompleted(2));
+
+        shard1.testClassFinished(JUnitTestListener.Event.testClassFinished("A", 2));
+        shard1.testRunFinished(JUnitTestListener.Event.testRunFinsihed("A", 2));
+
+        assertThat(recorder.completions, is(0));
+
+        shard1.junitCompleted(JUnitTestListener.Event.junitCompleted(2));
+
+        assertThat(recorder.events,
+                   is(Arrays.asList("JUnitStarted",
+                                    "testRunStarted:B",
+                                    "testClassStarted:B",
+                                    "testStarted:b1",
+                                    "testSuccess:b1",
+                                    "testClassFinished:B",
+                                    "testRunFinished:B",
+                                    "testRunStarted:A",
+                                    "testClassStarted:A",
+                                    "testStarted:a1",
+                                    "testSuccess:a1",
+                                    "testClassFinished:A",
+                                    "testRunFinished:A",
+                                    "JUnitCompleted")));
+
+        assertThat(recorder.completions, is(1));
+    }
+
+
+    /**
+     * A {@link JUnitTestListener} that records the events it receives.
+     */
+    public static class RecordingListener extends BaseJUnitTestListener
+    {
+        private final List<String> events = new ArrayList<>();
+
+        private int completions;
+
+
+        private void record(Event event)
+        {
+            String name = event.getClassName() != null && event.getName() == null ? event.getClassName() : event.getName();
+
+            events.add(event.getType() + (event.getType().name().startsWith("JUnit") ? "" : ":" + name));
+        }
+
+
+        @Override
+        public void junitStarted(Event event)
+        {
+            record(event);
+        }
+
+
+        @Override
+        public void junitCompleted(Event event)
+        {
+            completions++;
+            record(event);
+        }
+
+
+        @Override
+        public void testRunStarted(Event event)
+        {
+            record(event);
+        }
+
+
+        @Override
+        public void testRunFinished(Event event)
+        {
+            record(event);
+        }
+
+
+        @Override
+        public void testClassStarted(Event event)
+        {
+            record(event);
+        }
+
+
+        @Override
+        public void testClassFinished(Event event)
+        {
+            record(event);
+        }
+
+
+        @Override
+        public void testStarted(Event event)
+        {
+            record(event);
+        }
+
+
+        @Override
+        public void testSucceeded(Event event)
+        {
+            record(event);
+        }
+    }
+}
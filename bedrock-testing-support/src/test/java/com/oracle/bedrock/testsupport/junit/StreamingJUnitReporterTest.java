@@ -0,0 +1,192 @@
+/*
+ * File: StreamingJUnitReporterTest.java
+ *
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * The contents of this file are subject to the terms and conditions of 
+ * the Common Development and Distribution License 1.0 (the "License").
+ *
+ * You may not use this file except in compliance with the License.
+ *
+ * You can obtain a copy of the License by consulting the LICENSE.txt file
+ * distributed with this file, or by consulting https://oss.oracle.com/licenses/CDDL
+ *
+ * See the License for the specific language governing permissions
+ * and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file LICENSE.txt.
+ *
+ * MODIFICATIONS:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ */
+
+package com.oracle.bedrock.testsupport.junit;
+
+import com.oracle.bedrock.testsupport.junit.JUnitTestListener.Event;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for {@link StreamingJUnitReporter}.
+ * <p>
+ * Copyright (c) 2019. All Rights Reserved. Oracle Corporation.<br>
+ * Oracle is a registered trademark of Oracle Corporation and/or its affiliates.
+ */
+public class StreamingJUnitReporterTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    @Test
+    public void shouldWriteCompletedTestCasesBeforeClassFinishes() throws Exception
+    {
+        File                      folder   = temporaryFolder.newFolder();
+        StreamingJUnitXmlReporter reporter = new StreamingJUnitXmlReporter(folder);
+
+        reporter.testClassStarted(Event.testClassStarted("Foo"));
+        reporter.testStarted(Event.testStarted("one", "Foo"));
+        reporter.testSucceeded(Event.testSucceded("one", "Foo", 10));
+
+        File part = new File(folder, "TEST-Foo.xml.part");
+
+        assertThat(part.exists(), is(true));
+        assertThat(read(part), containsString("<testcase name=\"one\" classname=\"Foo\""));
+        assertThat(new File(folder, "TEST-Foo.xml").exists(), is(false));
+    }
+
+
+    @Test
+    public void shouldAssembleXmlReport() throws Exception
+    {
+        File                      folder   = temporaryFolder.newFolder();
+        StreamingJUnitXmlReporter reporter = new StreamingJUnitXmlReporter(folder);
+        StackTraceElement[]       stack    = new Throwable().getStackTrace();
+
+        reporter.testClassStarted(Event.testClassStarted("Foo"));
+        reporter.testStarted(Event.testStarted("one", "Foo"));
+        reporter.testSucceeded(Event.testSucceded("one", "Foo", 10));
+        reporter.testStarted(Event.testStarted("two", "Foo"));
+        reporter.testFailed(Event.failure("two", "Foo", 20, "java.lang.AssertionError", "a < b ]]>", stack));
+        reporter.testClassFinished(Event.testClassFinished("Foo", 1500));
+
+        String report = read(new File(folder, "TEST-Foo.xml"));
+
+        assertThat(report, containsString("<testsuite name=\"Foo\" time=\"1.500\" tests=\"2\" errors=\"0\" "
+                                          + "skipped=\"0\" failures=\"1\">"));
+        assertThat(report, containsString("<failure message=\"a &lt; b ]]&gt;\" type=\"java.lang.AssertionError\">"));
+        assertThat(report, containsString("a < b ]]]]><![CDATA[>"));
+        assertThat(report.trim().endsWith("</testsuite>"), is(true));
+        assertThat(new File(folder, "TEST-Foo.xml.part").exists(), is(false));
+    }
+
+
+    @Test
+    public void shouldIncludeCapturedOutput() throws Exception
+    {
+        File                      folder   = temporaryFolder.newFolder();
+        StreamingJUnitXmlReporter reporter = new StreamingJUnitXmlReporter(folder);
+
+        reporter.getConsole().getOutputWriter().println("ignored");
+
+        reporter.testClassStarted(Event.testClassStarted("Foo"));
+        reporter.getConsole().getOutputWriter().println("hello <world>");
+        reporter.getConsole().getErrorWriter().println("oops & more");
+        reporter.testStarted(Event.testStarted("one", "Foo"));
+        reporter.testSucceeded(Event.testSucceded("one", "Foo", 10));
+        reporter.testClassFinished(Event.testClassFinished("Foo", 100));
+
+        String report = read(new File(folder, "TEST-Foo.xml"));
+
+        assertThat(report, containsString("<system-out>hello &lt;world&gt;"));
+        assertThat(report, containsString("<system-err>oops &amp; more"));
+        assertThat(report, not(containsString("ignored")));
+    }
+
+
+    @Test
+    public void shouldDiscardOutputOfConcurrentClasses() throws Exception
+    {
+        File                      folder   = temporaryFolder.newFolder();
+        StreamingJUnitXmlReporter reporter = new StreamingJUnitXmlReporter(folder);
+
+        reporter.testClassStarted(Event.testClassStarted("Foo"));
+        reporter.getConsole().getOutputWriter().println("from foo");
+        reporter.testClassStarted(Event.testClassStarted("Bar"));
+        reporter.getConsole().getOutputWriter().println("ambiguous");
+        reporter.testClassFinished(Event.testClassFinished("Foo", 100));
+        reporter.getConsole().getOutputWriter().println("from bar");
+        reporter.testClassFinished(Event.testClassFinished("Bar", 100));
+
+        String foo = read(new File(folder, "TEST-Foo.xml"));
+        String bar = read(new File(folder, "TEST-Bar.xml"));
+
+        assertThat(foo, containsString("from foo"));
+        assertThat(bar, containsString("from bar"));
+        assertThat(foo + bar, not(containsString("ambiguous")));
+        assertThat(bar, not(containsString("from foo")));
+    }
+
+
+    @Test
+    public void shouldAssembleTextReport() throws Exception
+    {
+        File                       folder   = temporaryFolder.newFolder();
+        StreamingJUnitTextReporter reporter = new StreamingJUnitTextReporter(folder);
+
+        reporter.testClassStarted(Event.testClassStarted("Foo"));
+        reporter.testStarted(Event.testStarted("one", "Foo"));
+        reporter.testSucceeded(Event.testSucceded("one", "Foo", 10));
+        reporter.testStarted(Event.testStarted("two", "Foo"));
+        reporter.testFailed(Event.failure("two", "Foo", 20, "java.lang.AssertionError", "bad", null));
+        reporter.testClassFinished(Event.testClassFinished("Foo", 100));
+
+        String report = read(new File(folder, "Foo.txt"));
+
+        assertThat(report, containsString("Tests run: 2, Failures: 1, Errors: 0, Skipped: 0"));
+        assertThat(report, containsString("two Time elapsed: 0.020 sec  <<< FAILURE!"));
+        assertThat(report, containsString("java.lang.AssertionError : bad"));
+    }
+
+
+    @Test
+    public void shouldFinishIncompleteClassesWhenCompleted() throws Exception
+    {
+        File                      folder   = temporaryFolder.newFolder();
+        StreamingJUnitXmlReporter reporter = new StreamingJUnitXmlReporter(folder);
+
+        reporter.testClassStarted(Event.testClassStarted("Foo"));
+        reporter.testStarted(Event.testStarted("one", "Foo"));
+        reporter.testSucceeded(Event.testSucceded("one", "Foo", 10));
+        reporter.junitCompleted(Event.junitCompleted(100));
+
+        assertThat(read(new File(folder, "TEST-Foo.xml")), containsString("tests=\"1\""));
+        assertThat(new File(folder, "TEST-Foo.xml.part").exists(), is(false));
+    }
+
+
+    /**
+     * Read the content of a file.
+     *
+     * @param file  the file
+     *
+     * @return  the content of the file
+     */
+    private static String read(File file) throws Exception
+    {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}